@@ -1,5 +1,5 @@
 <%--
-  ~ Copyright (c) 2025, WSO2 LLC. (https://www.wso2.com).
+  ~ Copyright (c) 2025-2026, WSO2 LLC. (https://www.wso2.com).
   ~
   ~ WSO2 LLC. licenses this file to you under the Apache License,
   ~ Version 2.0 (the "License"); you may not use this file except
@@ -17,6 +17,7 @@
 --%>
 
 <%@ page import="org.apache.commons.text.StringEscapeUtils" %>
+<%@ page import="org.wso2.identity.apps.taglibs.layout.controller.core.LayoutAssetResolver" %>
 <%@ page import="org.wso2.carbon.identity.application.authentication.endpoint.util.AuthenticationEndpointUtil" %>
 <%@ page import="java.io.File" %>
 <%@ page import="java.io.BufferedReader" %>
@@ -148,7 +149,7 @@
             }
         }
     } else {
-        styleFilePath = "includes/layouts/" + layout + "/styles.css";
+        styleFilePath = LayoutAssetResolver.resolve(config.getServletContext(), "includes/layouts/" + layout, "styles.css");
     }
 
     if (StringUtils.isBlank(cssContent) && (styleFilePath.startsWith("http") || config.getServletContext().getResource(styleFilePath) != null)) {
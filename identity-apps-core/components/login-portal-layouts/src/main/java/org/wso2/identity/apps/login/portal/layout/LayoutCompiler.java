@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.com).
+ * Copyright (c) 2022-2026, WSO2 Inc. (http://www.wso2.com).
  *
  * WSO2 Inc. licenses this file to you under the Apache License,
  * Version 2.0 (the "License"); you may not use this file except
@@ -18,48 +18,346 @@
 
 package org.wso2.identity.apps.login.portal.layout;
 
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.ConditionIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.DefaultIdentifier;
 import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.ExecutableIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.NotConditionIdentifier;
 import org.wso2.identity.apps.taglibs.layout.controller.compiler.parsers.DefaultParser;
-import org.wso2.identity.apps.taglibs.layout.controller.compiler.parsers.Parser;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.serializers.BinaryLayoutFormat;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.styles.StyleSheetMinifier;
+import org.wso2.identity.apps.taglibs.layout.controller.core.CompiledLayout;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
-import java.io.ObjectOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * This class will be used to compile the layouts.
+ * Layouts are compiled in parallel on a fork-join pool. A manifest of the content hashes of the compiled layouts is
+ * kept in the build directory, so the layouts which are not changed since the previous build are skipped. A metrics
+ * file is written for each compiled layout (size, identifier count and referenced data keys).
+ * The "styles.css" file of each layout is minified into a content hashed "styles.[hash].css" file, so it can be
+ * cached by the browsers for a long time. The hashed file name is written to the "assets.properties" file of the
+ * layout, which is used by the pages to link the style sheet. Critical style sheets referenced by the style
+ * identifiers of the layout ({{@name}}) are minified and inlined into the compiled layout.
  */
 public class LayoutCompiler {
 
+    private static final String LAYOUT_FILE_NAME = "body.html";
+    private static final String COMPILED_LAYOUT_FILE_NAME = "body.ser";
+    private static final String MANIFEST_FILE_NAME = "manifest.properties";
+    private static final String METRICS_DIRECTORY_NAME = "metrics";
+    private static final String METRICS_FILE_NAME = "metrics.properties";
+    private static final String DEFAULT_BUILD_DIRECTORY_NAME = "layout-compiler";
+    private static final String STYLE_SHEET_FILE_NAME = "styles.css";
+    private static final String ASSETS_FILE_NAME = "assets.properties";
+    private static final String STYLE_SHEET_EXTENSION = ".css";
+    private static final Pattern HASHED_STYLE_SHEET_FILE_NAME = Pattern.compile("styles\\.[0-9a-f]{12}\\.css");
+    private static final int FILE_NAME_HASH_LENGTH = 12;
+
     /**
      * This method will compile the layout files and result will be written to a separate file in the same directory.
-     * This method will expect one argument -> Path to the layouts home directory.
+     * Compiled layouts are written in the {@link BinaryLayoutFormat}.
+     * This method will expect the below arguments.
+     *  - Path to the layouts home directory.
+     *  - Optional path to the build directory, where the manifest and the metrics files are written. Defaults to the
+     *    "layout-compiler" directory next to the layouts home directory, so these files are not copied together with
+     *    the layouts.
      */
     public static void main(String[] args) {
 
-        String homeDir = args[0];
-        Parser parser = new DefaultParser();
-        File dir = new File(homeDir);
-        try {
-            List<String> bodyHTMLFilePaths = findBodyHtmlFiles(dir);
+        Path layoutsHome = Paths.get(args[0]).toAbsolutePath();
+        Path buildDirectory = args.length > 1 ? Paths.get(args[1]).toAbsolutePath() :
+                layoutsHome.resolveSibling(DEFAULT_BUILD_DIRECTORY_NAME);
+        compile(layoutsHome, buildDirectory);
+    }
+
+    /**
+     * Compile the layouts of the layouts home directory, skipping the layouts which are not changed since the
+     * previous build.
+     *
+     * @param layoutsHome    Layouts home directory.
+     * @param buildDirectory Build directory of the manifest and the metrics files.
+     * @return Number of compiled layouts.
+     */
+    static int compile(Path layoutsHome, Path buildDirectory) {
+
+        List<String> bodyHTMLFilePaths = findBodyHtmlFiles(layoutsHome.toFile());
 
+        Properties previousManifest = readManifest(buildDirectory.resolve(MANIFEST_FILE_NAME));
+        Properties manifest = new Properties();
+        List<Future<LayoutResult>> results = new ArrayList<>();
+        ForkJoinPool pool = new ForkJoinPool();
+        try {
             for (String path : bodyHTMLFilePaths) {
-                ExecutableIdentifier compiledLayout =
-                        parser.compile(new File(path).toURI().toURL());
-                try (FileOutputStream compiledLayoutFile =
-                         new FileOutputStream((new File(path)).getParent() + "/body.ser");
-                    ObjectOutputStream out = new ObjectOutputStream(compiledLayoutFile)) {
-                    out.writeObject(compiledLayout);
-                } catch (IOException e) {
-                    throw new RuntimeException("Can't serialized the compiled layout: " + path, e);
+                results.add(pool.submit(layoutTask(layoutsHome, buildDirectory, Paths.get(path), previousManifest)));
+            }
+            RuntimeException failure = null;
+            int compiled = 0;
+            for (Future<LayoutResult> result : results) {
+                try {
+                    LayoutResult layoutResult = result.get();
+                    manifest.setProperty(layoutResult.relativePath, layoutResult.contentHash);
+                    if (layoutResult.compiled) {
+                        compiled++;
+                    }
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (failure == null) {
+                        failure = cause instanceof RuntimeException ? (RuntimeException) cause :
+                                new RuntimeException("Can't compile the layouts", cause);
+                    } else {
+                        failure.addSuppressed(cause);
+                    }
+                }
+            }
+            // The manifest keeps the layouts compiled by this build even if some layouts failed.
+            writeManifest(buildDirectory.resolve(MANIFEST_FILE_NAME), manifest);
+            if (failure != null) {
+                throw failure;
+            }
+            return compiled;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Layout compilation is interrupted", e);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Create the task of compiling a single layout.
+     *
+     * @param layoutsHome      Layouts home directory.
+     * @param buildDirectory   Build directory of the manifest and the metrics files.
+     * @param layoutFile       Path to the body.html file.
+     * @param previousManifest Manifest of the previous build.
+     * @return Task returning the result of the layout.
+     */
+    private static Callable<LayoutResult> layoutTask(Path layoutsHome, Path buildDirectory, Path layoutFile,
+                                                 Properties previousManifest) {
+
+        return () -> {
+            String relativePath = layoutsHome.relativize(layoutFile).toString().replace(File.separatorChar, '/');
+            Path compiledLayoutFile = layoutFile.resolveSibling(COMPILED_LAYOUT_FILE_NAME);
+            Path styleSheetFile = layoutFile.resolveSibling(STYLE_SHEET_FILE_NAME);
+            Path assetsFile = layoutFile.resolveSibling(ASSETS_FILE_NAME);
+            Path metricsFile = buildDirectory.resolve(METRICS_DIRECTORY_NAME).resolve(relativePath)
+                    .resolveSibling(METRICS_FILE_NAME);
+            try {
+                byte[] content = Files.readAllBytes(layoutFile);
+                String hash = contentHash(content, findStyleSheets(layoutFile.getParent()));
+                if (hash.equals(previousManifest.getProperty(relativePath)) && Files.isRegularFile(compiledLayoutFile)
+                        && Files.isRegularFile(metricsFile)
+                        && (!Files.isRegularFile(styleSheetFile) || Files.isRegularFile(assetsFile))) {
+                    return new LayoutResult(relativePath, hash, false);
+                }
+
+                ExecutableIdentifier compiledLayout = new DefaultParser().compile(
+                        StandardCharsets.UTF_8.decode(ByteBuffer.wrap(content)), layoutFile.toUri().toURL());
+                ByteArrayOutputStream compiledLayoutContent = new ByteArrayOutputStream(content.length);
+                BinaryLayoutFormat.write(compiledLayout, compiledLayoutContent);
+                writeAtomically(compiledLayoutFile, compiledLayoutContent.toByteArray());
+
+                Properties metrics = new Properties();
+                metrics.setProperty("layout", relativePath);
+                metrics.setProperty("layoutSize", String.valueOf(content.length));
+                metrics.setProperty("compiledLayoutSize", String.valueOf(compiledLayoutContent.size()));
+                metrics.setProperty("identifierCount", String.valueOf(countIdentifiers(compiledLayout)));
+                metrics.setProperty("referencedKeys",
+                        String.join(",", new CompiledLayout(compiledLayout).getReferencedKeys()));
+                if (Files.isRegularFile(styleSheetFile)) {
+                    byte[] styleSheet = Files.readAllBytes(styleSheetFile);
+                    byte[] minifiedStyleSheet = StyleSheetMinifier.minify(StandardCharsets.UTF_8.decode(
+                            ByteBuffer.wrap(styleSheet))).getBytes(StandardCharsets.UTF_8);
+                    writeHashedStyleSheet(styleSheetFile, assetsFile, minifiedStyleSheet);
+                    metrics.setProperty("styleSheetSize", String.valueOf(styleSheet.length));
+                    metrics.setProperty("minifiedStyleSheetSize", String.valueOf(minifiedStyleSheet.length));
                 }
+                writeAtomically(metricsFile, toBytes(metrics));
+                return new LayoutResult(relativePath, hash, true);
+            } catch (IOException e) {
+                throw new RuntimeException("Can't serialized the compiled layout: " + layoutFile, e);
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Can't compile the layout: " + layoutFile, e);
+            }
+        };
+    }
+
+    /**
+     * Count the identifiers of the compiled layout, including the identifiers inside the blocks.
+     *
+     * @param identifier Compiled layout or a block of it.
+     * @return Number of identifiers.
+     */
+    private static int countIdentifiers(ExecutableIdentifier identifier) {
+
+        if (identifier instanceof DefaultIdentifier) {
+            int count = 0;
+            for (ExecutableIdentifier child : ((DefaultIdentifier) identifier).getIdentifiers()) {
+                count += countIdentifiers(child);
+            }
+            return count;
+        }
+        if (identifier instanceof ConditionIdentifier) {
+            return 1 + countIdentifiers(((ConditionIdentifier) identifier).getChild());
+        }
+        if (identifier instanceof NotConditionIdentifier) {
+            return 1 + countIdentifiers(((NotConditionIdentifier) identifier).getChild());
+        }
+        return 1;
+    }
+
+    /**
+     * Write the minified style sheet into a content hashed file next to the original style sheet, and map the
+     * original style sheet to it in the assets file. Hashed style sheets of the previous builds are removed.
+     *
+     * @param styleSheetFile     Path to the styles.css file.
+     * @param assetsFile         Path to the assets.properties file.
+     * @param minifiedStyleSheet Content of the minified style sheet.
+     * @throws IOException If an error occurs while writing the files.
+     */
+    private static void writeHashedStyleSheet(Path styleSheetFile, Path assetsFile, byte[] minifiedStyleSheet)
+            throws IOException {
+
+        String hashedFileName = "styles." + toHex(sha256().digest(minifiedStyleSheet))
+                .substring(0, FILE_NAME_HASH_LENGTH) + STYLE_SHEET_EXTENSION;
+        writeAtomically(styleSheetFile.resolveSibling(hashedFileName), minifiedStyleSheet);
+        try (Stream<Path> files = Files.list(styleSheetFile.getParent())) {
+            for (Path file : files.collect(Collectors.toList())) {
+                String fileName = file.getFileName().toString();
+                if (!fileName.equals(hashedFileName) && HASHED_STYLE_SHEET_FILE_NAME.matcher(fileName).matches()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+
+        Properties assets = new Properties();
+        assets.setProperty(STYLE_SHEET_FILE_NAME, hashedFileName);
+        writeAtomically(assetsFile, toBytes(assets));
+    }
+
+    /**
+     * Find the style sheets of a layout, which can be inlined into the layout or hashed. Hashed style sheets written
+     * by the previous builds are not included.
+     *
+     * @param layoutDirectory Directory of the layout.
+     * @return Style sheets sorted by the file name.
+     * @throws IOException If an error occurs while listing the directory.
+     */
+    private static List<Path> findStyleSheets(Path layoutDirectory) throws IOException {
+
+        try (Stream<Path> files = Files.list(layoutDirectory)) {
+            return files.filter(file -> {
+                String fileName = file.getFileName().toString();
+                return fileName.endsWith(STYLE_SHEET_EXTENSION) && Files.isRegularFile(file)
+                        && !HASHED_STYLE_SHEET_FILE_NAME.matcher(fileName).matches();
+            }).sorted().collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Compute the content hash of a layout. The style sheets of the layout, the version of the parser and the version
+     * of the compiled layout format are part of the hash, so the layout is compiled again when a style sheet, the
+     * parser or the format changes.
+     *
+     * @param content     Content of the body.html file.
+     * @param styleSheets Style sheets of the layout.
+     * @return Hex encoded hash.
+     * @throws IOException If an error occurs while reading the style sheets.
+     */
+    private static String contentHash(byte[] content, List<Path> styleSheets) throws IOException {
+
+        MessageDigest digest = sha256();
+        digest.update(content);
+        for (Path styleSheet : styleSheets) {
+            digest.update(styleSheet.getFileName().toString().getBytes(StandardCharsets.UTF_8));
+            digest.update(Files.readAllBytes(styleSheet));
+        }
+        digest.update((DefaultParser.VERSION + "/" + BinaryLayoutFormat.VERSION).getBytes(StandardCharsets.UTF_8));
+        return toHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by the platform", e);
+        }
+    }
+
+    private static String toHex(byte[] hash) {
+
+        StringBuilder hex = new StringBuilder(hash.length * 2);
+        for (byte b : hash) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private static Properties readManifest(Path manifestFile) {
+
+        Properties manifest = new Properties();
+        if (Files.isRegularFile(manifestFile)) {
+            try (InputStream inputStream = Files.newInputStream(manifestFile)) {
+                manifest.load(inputStream);
+            } catch (IOException | IllegalArgumentException e) {
+                // A broken manifest only means that all the layouts are compiled again.
+                manifest.clear();
             }
+        }
+        return manifest;
+    }
+
+    private static void writeManifest(Path manifestFile, Properties manifest) {
+
+        try {
+            writeAtomically(manifestFile, toBytes(manifest));
         } catch (IOException e) {
-            throw new RuntimeException("Can't compile the layouts", e);
+            throw new RuntimeException("Can't write the layout manifest: " + manifestFile, e);
+        }
+    }
+
+    private static byte[] toBytes(Properties properties) throws IOException {
+
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        properties.store(content, null);
+        return content.toByteArray();
+    }
+
+    private static void writeAtomically(Path file, byte[] content) throws IOException {
+
+        Files.createDirectories(file.getParent());
+        Path temporaryFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(temporaryFile)) {
+                outputStream.write(content);
+            }
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
         }
     }
 
@@ -75,7 +373,7 @@ public class LayoutCompiler {
         File[] files = directory.listFiles(new FilenameFilter() {
             @Override
             public boolean accept(File dir, String name) {
-                return name.equals("body.html") || new File(dir, name).isDirectory();
+                return name.equals(LAYOUT_FILE_NAME) || new File(dir, name).isDirectory();
             }
         });
 
@@ -92,4 +390,21 @@ public class LayoutCompiler {
 
         return bodyHtmlFiles;
     }
+
+    /**
+     * Result of a single layout -> its manifest entry and whether it was compiled by this build.
+     */
+    private static final class LayoutResult {
+
+        private final String relativePath;
+        private final String contentHash;
+        private final boolean compiled;
+
+        LayoutResult(String relativePath, String contentHash, boolean compiled) {
+
+            this.relativePath = relativePath;
+            this.contentHash = contentHash;
+            this.compiled = compiled;
+        }
+    }
 }
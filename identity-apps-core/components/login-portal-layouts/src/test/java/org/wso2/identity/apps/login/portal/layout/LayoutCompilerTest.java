@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.login.portal.layout;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.serializers.BinaryLayoutFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit test class for LayoutCompiler.
+ */
+public class LayoutCompilerTest {
+
+    private Path directory;
+    private Path layoutsHome;
+    private Path buildDirectory;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+
+        directory = Files.createTempDirectory("layouts");
+        layoutsHome = Files.createDirectories(directory.resolve("layouts"));
+        buildDirectory = directory.resolve("layout-compiler");
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testLayoutsAreCompiled() throws IOException {
+
+        Path centered = writeLayout("centered", "<main>{{title}}{{{MainSection}}}</main>\n");
+        write(centered.resolve("styles.css"), ".main {\n    color: red;\n}\n");
+        writeLayout("custom/left-aligned", "<div>{{#footer}}{{footer}}{{/footer}}</div>\n");
+
+        assertEquals(LayoutCompiler.compile(layoutsHome, buildDirectory), 2);
+
+        try (InputStream inputStream = Files.newInputStream(centered.resolve("body.ser"))) {
+            assertNotNull(BinaryLayoutFormat.read(inputStream));
+        }
+        Properties metrics = read(buildDirectory.resolve("metrics/centered/metrics.properties"));
+        assertEquals(metrics.getProperty("layout"), "centered/body.html");
+        assertEquals(metrics.getProperty("identifierCount"), "3");
+        assertEquals(metrics.getProperty("referencedKeys"), "title");
+        assertTrue(Files.isRegularFile(buildDirectory.resolve("metrics/custom/left-aligned/metrics.properties")));
+
+        String hashedStyleSheet = read(centered.resolve("assets.properties")).getProperty("styles.css");
+        assertTrue(hashedStyleSheet.matches("styles\\.[0-9a-f]{12}\\.css"), hashedStyleSheet);
+        assertEquals(new String(Files.readAllBytes(centered.resolve(hashedStyleSheet)), StandardCharsets.UTF_8),
+                ".main{color:red}");
+
+        Properties manifest = read(buildDirectory.resolve("manifest.properties"));
+        assertEquals(manifest.size(), 2);
+        assertNotNull(manifest.getProperty("custom/left-aligned/body.html"));
+    }
+
+    @Test
+    public void testUnchangedLayoutsAreSkipped() throws IOException {
+
+        Path centered = writeLayout("centered", "<main>{{title}}</main>\n");
+        Path leftAligned = writeLayout("left-aligned", "<div>{{title}}</div>\n");
+        assertEquals(LayoutCompiler.compile(layoutsHome, buildDirectory), 2);
+        assertEquals(LayoutCompiler.compile(layoutsHome, buildDirectory), 0);
+
+        write(centered.resolve("body.html"), "<main>{{heading}}</main>\n");
+        assertEquals(LayoutCompiler.compile(layoutsHome, buildDirectory), 1);
+        assertEquals(read(buildDirectory.resolve("metrics/centered/metrics.properties"))
+                .getProperty("referencedKeys"), "heading");
+
+        Files.delete(leftAligned.resolve("body.ser"));
+        assertEquals(LayoutCompiler.compile(layoutsHome, buildDirectory), 1);
+        assertTrue(Files.isRegularFile(leftAligned.resolve("body.ser")));
+    }
+
+    @Test
+    public void testLayoutIsCompiledAgainWhenStyleSheetChanges() throws IOException {
+
+        Path centered = writeLayout("centered", "<head>{{@critical}}</head>\n");
+        write(centered.resolve("critical.css"), ".a { color: red; }");
+        write(centered.resolve("styles.css"), ".b { color: red; }");
+        assertEquals(LayoutCompiler.compile(layoutsHome, buildDirectory), 1);
+        String hashedStyleSheet = read(centered.resolve("assets.properties")).getProperty("styles.css");
+
+        write(centered.resolve("critical.css"), ".a { color: blue; }");
+        assertEquals(LayoutCompiler.compile(layoutsHome, buildDirectory), 1);
+        assertEquals(read(centered.resolve("assets.properties")).getProperty("styles.css"), hashedStyleSheet);
+
+        write(centered.resolve("styles.css"), ".b { color: blue; }");
+        assertEquals(LayoutCompiler.compile(layoutsHome, buildDirectory), 1);
+        String changedHashedStyleSheet = read(centered.resolve("assets.properties")).getProperty("styles.css");
+        assertFalse(hashedStyleSheet.equals(changedHashedStyleSheet));
+        assertFalse(Files.exists(centered.resolve(hashedStyleSheet)));
+        assertTrue(Files.isRegularFile(centered.resolve(changedHashedStyleSheet)));
+    }
+
+    @Test
+    public void testBrokenManifestCompilesAllLayouts() throws IOException {
+
+        writeLayout("centered", "<main>{{title}}</main>\n");
+        assertEquals(LayoutCompiler.compile(layoutsHome, buildDirectory), 1);
+
+        write(buildDirectory.resolve("manifest.properties"), "centered/body.html=\\u00");
+        assertEquals(LayoutCompiler.compile(layoutsHome, buildDirectory), 1);
+        assertEquals(LayoutCompiler.compile(layoutsHome, buildDirectory), 0);
+    }
+
+    private Path writeLayout(String name, String content) throws IOException {
+
+        Path layoutDirectory = Files.createDirectories(layoutsHome.resolve(name));
+        write(layoutDirectory.resolve("body.html"), content);
+        return layoutDirectory;
+    }
+
+    private static void write(Path file, String content) throws IOException {
+
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Properties read(Path file) throws IOException {
+
+        Properties properties = new Properties();
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            properties.load(inputStream);
+        }
+        return properties;
+    }
+}
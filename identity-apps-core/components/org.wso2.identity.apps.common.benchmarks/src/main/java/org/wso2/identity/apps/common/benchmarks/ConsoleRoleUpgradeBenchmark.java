@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.common.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.api.resource.collection.mgt.model.APIResourceCollection;
+import org.wso2.carbon.identity.role.v2.mgt.core.model.Permission;
+import org.wso2.identity.apps.common.cache.ConsolePermissionModel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of upgrading the permissions of a console role created in 7.0.0, which has only the legacy console
+ * scopes. {@code indexed} resolves the role through the inverted indices of the {@link ConsolePermissionModel}, and
+ * {@code scan} is the previous resolution which scans every collection for every console scope of the role.
+ * <p>
+ * The tenant has the given number of API resource collections, each with the read, write and legacy scopes of a
+ * console feature, shaped like the collections of the console. The role is an editor of every feature of the tenant,
+ * which is the worst case of the legacy upgrade.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConsoleRoleUpgradeBenchmark {
+
+    private static final int READ_SCOPES_PER_COLLECTION = 6;
+    private static final int WRITE_SCOPES_PER_COLLECTION = 10;
+    private static final int OTHER_SYSTEM_SCOPES = 500;
+
+    /**
+     * Number of API resource collections of the tenant. The console has around 50, and more are added by the
+     * organization console and the custom features.
+     */
+    @Param({"50", "150", "400"})
+    private int collections;
+
+    private ConsolePermissionModel permissionModel;
+    private List<Permission> rolePermissions;
+    private List<String> consolePermissionNames;
+    private List<String> rolePermissionNames;
+
+    /**
+     * Build the permission model of the tenant and the role.
+     */
+    @Setup
+    public void setup() {
+
+        List<APIResourceCollection> apiResourceCollections = new ArrayList<>(collections);
+        Map<String, Permission> systemPermissions = new HashMap<>();
+        rolePermissions = new ArrayList<>();
+        for (int i = 0; i < collections; i++) {
+            String feature = "feature" + i;
+            String legacyReadScope = "console:" + feature + "Mgt:view";
+            String legacyWriteScope = "console:" + feature + "Mgt:update";
+            List<String> readScopes = new ArrayList<>(Arrays.asList(legacyReadScope, "console:" + feature + "_view"));
+            for (int j = 0; j < READ_SCOPES_PER_COLLECTION; j++) {
+                readScopes.add("internal_" + feature + "_view_" + j);
+            }
+            List<String> writeScopes = new ArrayList<>(Arrays.asList(legacyWriteScope, "console:" + feature + "_edit"));
+            for (int j = 0; j < WRITE_SCOPES_PER_COLLECTION; j++) {
+                writeScopes.add("internal_" + feature + "_write_" + j);
+            }
+
+            APIResourceCollection collection = new APIResourceCollection();
+            collection.setName(feature);
+            collection.setViewFeatureScope("console:" + feature + "_view");
+            collection.setEditFeatureScope("console:" + feature + "_edit");
+            collection.setReadScopes(readScopes);
+            collection.setWriteScopes(writeScopes);
+            collection.setLegacyReadScopes(Arrays.asList(legacyReadScope));
+            collection.setLegacyWriteScopes(Arrays.asList(legacyWriteScope, "console:" + feature + "Mgt:delete"));
+            apiResourceCollections.add(collection);
+
+            readScopes.forEach(scope -> systemPermissions.put(scope, permission(scope)));
+            writeScopes.forEach(scope -> systemPermissions.put(scope, permission(scope)));
+            rolePermissions.add(permission(legacyReadScope));
+            rolePermissions.add(permission(legacyWriteScope));
+        }
+        for (int i = 0; i < OTHER_SYSTEM_SCOPES; i++) {
+            String scope = "internal_other_" + i;
+            systemPermissions.put(scope, permission(scope));
+        }
+        permissionModel = new ConsolePermissionModel(apiResourceCollections, systemPermissions, true);
+
+        consolePermissionNames = new ArrayList<>();
+        rolePermissionNames = new ArrayList<>();
+        for (Permission permission : rolePermissions) {
+            rolePermissionNames.add(permission.getName());
+            if (permission.getName().endsWith("Mgt:view") || permission.getName().endsWith("Mgt:update")) {
+                consolePermissionNames.add(permission.getName());
+            }
+        }
+    }
+
+    /**
+     * Resolve the legacy role through the inverted indices of the permission model.
+     *
+     * @return Resolved role permissions.
+     */
+    @Benchmark
+    public Set<Permission> indexed() {
+
+        Set<Permission> resolvedRolePermissions = new HashSet<>(rolePermissions);
+        resolvedRolePermissions.addAll(permissionModel.getPermissions(
+            permissionModel.resolveLegacyScopes(consolePermissionNames, rolePermissionNames)));
+        return resolvedRolePermissions;
+    }
+
+    /**
+     * Resolve the legacy role by scanning every collection for every console scope of the role.
+     *
+     * @return Resolved role permissions.
+     */
+    @Benchmark
+    public Set<Permission> scan() {
+
+        Map<String, Permission> systemPermissionsMap = permissionModel.getSystemPermissions();
+        Set<String> addedPermissionNames = new HashSet<>();
+        Set<Permission> resolvedRolePermissions = new HashSet<>(rolePermissions);
+        for (String consolePermissionName : consolePermissionNames) {
+            for (APIResourceCollection collection : permissionModel.getAPIResourceCollections()) {
+                if (!collection.getReadScopes().contains(consolePermissionName)) {
+                    continue;
+                }
+                addPermissions(collection.getReadScopes(), systemPermissionsMap, addedPermissionNames,
+                    resolvedRolePermissions);
+                List<String> legacyWriteScopes = collection.getLegacyWriteScopes();
+                if (rolePermissionNames.stream().anyMatch(legacyWriteScopes::contains)) {
+                    addPermissions(collection.getWriteScopes(), systemPermissionsMap, addedPermissionNames,
+                        resolvedRolePermissions);
+                }
+            }
+        }
+        return resolvedRolePermissions;
+    }
+
+    private static void addPermissions(List<String> scopes, Map<String, Permission> systemPermissionsMap,
+                                       Set<String> addedPermissionNames, Set<Permission> resolvedRolePermissions) {
+
+        for (String scope : scopes) {
+            Permission permission = systemPermissionsMap.get(scope);
+            if (permission != null && addedPermissionNames.add(permission.getName())) {
+                resolvedRolePermissions.add(permission);
+            }
+        }
+    }
+
+    private static Permission permission(String name) {
+
+        return new Permission(name, name, name);
+    }
+}
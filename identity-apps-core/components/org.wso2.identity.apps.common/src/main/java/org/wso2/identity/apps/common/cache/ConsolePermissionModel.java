@@ -0,0 +1,447 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.common.cache;
+
+import org.wso2.carbon.identity.api.resource.collection.mgt.model.APIResourceCollection;
+import org.wso2.carbon.identity.role.v2.mgt.core.model.Permission;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.wso2.carbon.identity.api.resource.collection.mgt.constant.APIResourceCollectionManagementConstants.APIResourceCollectionConfigBuilderConstants.CREATE_FEATURE_SCOPE_SUFFIX;
+import static org.wso2.carbon.identity.api.resource.collection.mgt.constant.APIResourceCollectionManagementConstants.APIResourceCollectionConfigBuilderConstants.DELETE_FEATURE_SCOPE_SUFFIX;
+import static org.wso2.carbon.identity.api.resource.collection.mgt.constant.APIResourceCollectionManagementConstants.APIResourceCollectionConfigBuilderConstants.EDIT_FEATURE_SCOPE_SUFFIX;
+import static org.wso2.carbon.identity.api.resource.collection.mgt.constant.APIResourceCollectionManagementConstants.APIResourceCollectionConfigBuilderConstants.UPDATE_FEATURE_SCOPE_SUFFIX;
+import static org.wso2.carbon.identity.api.resource.collection.mgt.constant.APIResourceCollectionManagementConstants.APIResourceCollectionConfigBuilderConstants.VIEW_FEATURE_SCOPE_SUFFIX;
+import static org.wso2.carbon.identity.role.v2.mgt.core.RoleConstants.CONSOLE_SCOPE_PREFIX;
+
+/**
+ * Immutable snapshot of the console permission model of a tenant.
+ * The snapshot holds everything needed to resolve the permissions of console roles, so reading a role does not need
+ * any backend lookups:
+ *   - API resource collections of the tenant.
+ *   - System API scopes of the tenant as permissions, keyed by the scope name.
+ *   - Transitive closure of every console feature scope.
+ *   - Inverted indices from the read scopes and the legacy write scopes to their collections, used to upgrade the
+ *     console roles created in 7.0.0.
+ * Every scope known to the snapshot is given an integer id, and the closures are kept as bit sets of scope ids, so
+ * the effective permissions of a role are the union of the precomputed bit sets of its feature scopes. Bit sets are
+ * turned into {@link Permission} objects only when the permissions are returned. The permissions returned by
+ * {@link #getPermission(int)} and {@link #getPermissions(BitSet)} are copies owned by the caller, while the
+ * permissions of {@link #getSystemPermissions()} are shared by every role read from the snapshot, hence they must not
+ * be modified.
+ */
+public final class ConsolePermissionModel {
+
+    private static final int NO_SCOPE = -1;
+
+    private final List<APIResourceCollection> apiResourceCollections;
+    private final Map<String, Permission> systemPermissions;
+    private final boolean granularConsolePermissions;
+
+    private final Map<String, Integer> scopeIds = new HashMap<>();
+    private final List<String> scopeNames = new ArrayList<>();
+    private final Permission[] permissions;
+    private final BitSet systemScopes = new BitSet();
+    private final Map<Integer, BitSet> featureScopeClosures = new HashMap<>();
+    private final int[][] writeFeatureScopes;
+    private final Map<String, BitSet> collectionsByReadScope = new HashMap<>();
+    private final Map<String, BitSet> collectionsByLegacyWriteScope = new HashMap<>();
+    private final BitSet[] readScopes;
+    private final BitSet[] writeScopes;
+
+    /**
+     * Constructor.
+     *
+     * @param apiResourceCollections     API resource collections of the tenant.
+     * @param systemPermissions          System permissions of the tenant, keyed by the permission name.
+     * @param granularConsolePermissions Whether the feature scopes are resolved with the granular console permission
+     *                                   model (create/update/delete feature scopes).
+     */
+    public ConsolePermissionModel(List<APIResourceCollection> apiResourceCollections,
+                                  Map<String, Permission> systemPermissions, boolean granularConsolePermissions) {
+
+        this.apiResourceCollections = Collections.unmodifiableList(new ArrayList<>(apiResourceCollections));
+        this.systemPermissions = Collections.unmodifiableMap(new HashMap<>(systemPermissions));
+        this.granularConsolePermissions = granularConsolePermissions;
+
+        for (Permission permission : systemPermissions.values()) {
+            systemScopes.set(addScope(permission.getName()));
+        }
+        for (APIResourceCollection collection : apiResourceCollections) {
+            addScopes(collection);
+        }
+        permissions = new Permission[scopeNames.size()];
+        for (Permission permission : systemPermissions.values()) {
+            permissions[scopeIds.get(permission.getName())] = permission;
+        }
+
+        writeFeatureScopes = new int[apiResourceCollections.size()][];
+        readScopes = new BitSet[apiResourceCollections.size()];
+        writeScopes = new BitSet[apiResourceCollections.size()];
+        for (int i = 0; i < apiResourceCollections.size(); i++) {
+            APIResourceCollection collection = apiResourceCollections.get(i);
+            writeFeatureScopes[i] = new int[]{getScopeId(collection.getEditFeatureScope()),
+                getScopeId(collection.getCreateFeatureScope()), getScopeId(collection.getUpdateFeatureScope()),
+                getScopeId(collection.getDeleteFeatureScope())};
+            readScopes[i] = getSystemScopeIds(collection.getReadScopes());
+            writeScopes[i] = getSystemScopeIds(collection.getWriteScopes());
+            indexCollection(collectionsByReadScope, collection.getReadScopes(), i);
+            indexCollection(collectionsByLegacyWriteScope, collection.getLegacyWriteScopes(), i);
+        }
+        resolveFeatureScopeClosures();
+    }
+
+    /**
+     * Get the API resource collections of the tenant.
+     *
+     * @return Unmodifiable list of API resource collections.
+     */
+    public List<APIResourceCollection> getAPIResourceCollections() {
+
+        return apiResourceCollections;
+    }
+
+    /**
+     * Get the system permissions of the tenant.
+     *
+     * @return Unmodifiable map of system permissions, keyed by the permission name. The permissions are shared and
+     * must not be modified.
+     */
+    public Map<String, Permission> getSystemPermissions() {
+
+        return systemPermissions;
+    }
+
+    /**
+     * Check whether the snapshot is built with the granular console permission model.
+     *
+     * @return True if the create/update/delete feature scopes are resolved.
+     */
+    public boolean isGranularConsolePermissions() {
+
+        return granularConsolePermissions;
+    }
+
+    /**
+     * Get the id of the given scope.
+     *
+     * @param scope Scope name.
+     * @return Scope id, or -1 if the scope is not known to the snapshot.
+     */
+    public int getScopeId(String scope) {
+
+        Integer scopeId = scope == null ? null : scopeIds.get(scope);
+        return scopeId == null ? NO_SCOPE : scopeId;
+    }
+
+    /**
+     * Get the system permission of the given scope id.
+     *
+     * @param scopeId Scope id.
+     * @return Copy of the system permission, or null if the scope is not a system scope.
+     */
+    public Permission getPermission(int scopeId) {
+
+        return scopeId < 0 || scopeId >= permissions.length ? null : copyOf(permissions[scopeId]);
+    }
+
+    /**
+     * Copy the given permission, so a permission shared by the roles can be handed over to a caller which may modify
+     * it.
+     *
+     * @param permission Permission.
+     * @return Copy of the permission, or null if the permission is null.
+     */
+    public static Permission copyOf(Permission permission) {
+
+        return permission == null ? null :
+            new Permission(permission.getName(), permission.getDisplayName(), permission.getApiId());
+    }
+
+    /**
+     * Get the ids of the given permissions. Permissions which are not known to the snapshot are skipped.
+     *
+     * @param rolePermissions Permissions.
+     * @return Bit set of the scope ids.
+     */
+    public BitSet getScopeIds(Collection<Permission> rolePermissions) {
+
+        BitSet scopes = new BitSet(permissions.length);
+        for (Permission permission : rolePermissions) {
+            int scopeId = permission == null ? NO_SCOPE : getScopeId(permission.getName());
+            if (scopeId != NO_SCOPE) {
+                scopes.set(scopeId);
+            }
+        }
+        return scopes;
+    }
+
+    /**
+     * Resolve the system scopes granted by the given feature scopes, including the scopes of the nested feature
+     * scopes.
+     *
+     * @param featureScopes Feature scope names.
+     * @return Bit set of the system scope ids.
+     */
+    public BitSet resolveFeatureScopes(Collection<String> featureScopes) {
+
+        BitSet scopes = new BitSet(permissions.length);
+        for (String featureScope : featureScopes) {
+            BitSet closure = featureScopeClosures.get(getScopeId(featureScope));
+            if (closure != null) {
+                scopes.or(closure);
+            }
+        }
+        scopes.and(systemScopes);
+        return scopes;
+    }
+
+    /**
+     * Resolve the system scopes granted to a console role created in 7.0.0, which has only the legacy console scopes.
+     * A collection is matched when one of its read scopes is a console scope of the role, and it grants its read
+     * scopes, and its write scopes too if the role has one of its legacy write scopes. The collections are found
+     * through the inverted indices of the snapshot, so the cost depends only on the number of role permissions.
+     *
+     * @param consolePermissions Console scope names of the role.
+     * @param rolePermissions    All the permission names of the role.
+     * @return Bit set of the system scope ids.
+     */
+    public BitSet resolveLegacyScopes(Collection<String> consolePermissions, Collection<String> rolePermissions) {
+
+        BitSet scopes = new BitSet(permissions.length);
+        BitSet matchedCollections = getCollections(collectionsByReadScope, consolePermissions);
+        if (matchedCollections.isEmpty()) {
+            return scopes;
+        }
+        BitSet writeCollections = getCollections(collectionsByLegacyWriteScope, rolePermissions);
+        for (int i = matchedCollections.nextSetBit(0); i >= 0; i = matchedCollections.nextSetBit(i + 1)) {
+            scopes.or(readScopes[i]);
+            if (writeCollections.get(i)) {
+                scopes.or(writeScopes[i]);
+            }
+        }
+        return scopes;
+    }
+
+    /**
+     * Get the system permissions of the given scope ids.
+     *
+     * @param scopes Bit set of the scope ids.
+     * @return List of copies of the permissions, in the order of the scope ids.
+     */
+    public List<Permission> getPermissions(BitSet scopes) {
+
+        List<Permission> resolvedPermissions = new ArrayList<>(scopes.cardinality());
+        for (int scopeId = scopes.nextSetBit(0); scopeId >= 0; scopeId = scopes.nextSetBit(scopeId + 1)) {
+            Permission permission = getPermission(scopeId);
+            if (permission != null) {
+                resolvedPermissions.add(permission);
+            }
+        }
+        return resolvedPermissions;
+    }
+
+    /**
+     * Get the ids of the write feature scopes of each API resource collection, in the order of the collections.
+     * Each entry holds the ids of the edit, create, update and delete feature scopes, -1 if the collection doesn't
+     * have the feature scope.
+     *
+     * @return Write feature scope ids of the collections.
+     */
+    public int[][] getWriteFeatureScopeIds() {
+
+        return writeFeatureScopes;
+    }
+
+    private int addScope(String scope) {
+
+        Integer scopeId = scopeIds.get(scope);
+        if (scopeId == null) {
+            scopeId = scopeNames.size();
+            scopeIds.put(scope, scopeId);
+            scopeNames.add(scope);
+        }
+        return scopeId;
+    }
+
+    private BitSet getSystemScopeIds(List<String> scopes) {
+
+        BitSet scopeIdsOfScopes = new BitSet(permissions.length);
+        if (scopes != null) {
+            for (String scope : scopes) {
+                scopeIdsOfScopes.set(scopeIds.get(scope));
+            }
+        }
+        scopeIdsOfScopes.and(systemScopes);
+        return scopeIdsOfScopes;
+    }
+
+    private static void indexCollection(Map<String, BitSet> index, List<String> scopes, int collection) {
+
+        if (scopes != null) {
+            for (String scope : scopes) {
+                index.computeIfAbsent(scope, key -> new BitSet()).set(collection);
+            }
+        }
+    }
+
+    private static BitSet getCollections(Map<String, BitSet> index, Collection<String> scopes) {
+
+        BitSet collections = new BitSet();
+        for (String scope : scopes) {
+            BitSet collectionsOfScope = index.get(scope);
+            if (collectionsOfScope != null) {
+                collections.or(collectionsOfScope);
+            }
+        }
+        return collections;
+    }
+
+    private void addScopes(APIResourceCollection collection) {
+
+        for (String featureScope : new String[]{collection.getViewFeatureScope(), collection.getEditFeatureScope(),
+            collection.getCreateFeatureScope(), collection.getUpdateFeatureScope(),
+            collection.getDeleteFeatureScope()}) {
+            if (featureScope != null) {
+                addScope(featureScope);
+            }
+        }
+        for (List<String> scopes : Arrays.asList(collection.getReadScopes(), collection.getWriteScopes(),
+            collection.getCreateScopes(), collection.getUpdateScopes(), collection.getDeleteScopes())) {
+            if (scopes != null) {
+                scopes.forEach(this::addScope);
+            }
+        }
+    }
+
+    /**
+     * Resolve the transitive closure of every feature scope. A feature scope grants the scopes of its collection, and
+     * a console feature scope among those scopes grants the scopes of its own collection, recursively.
+     */
+    private void resolveFeatureScopeClosures() {
+
+        Map<String, APIResourceCollection> scopeToResourceMap = new HashMap<>();
+        for (APIResourceCollection resource : apiResourceCollections) {
+            putFeatureScope(scopeToResourceMap, resource.getViewFeatureScope(), resource);
+            putFeatureScope(scopeToResourceMap, resource.getEditFeatureScope(), resource);
+            if (granularConsolePermissions) {
+                putFeatureScope(scopeToResourceMap, resource.getCreateFeatureScope(), resource);
+                putFeatureScope(scopeToResourceMap, resource.getUpdateFeatureScope(), resource);
+                putFeatureScope(scopeToResourceMap, resource.getDeleteFeatureScope(), resource);
+            }
+        }
+
+        for (APIResourceCollection resource : apiResourceCollections) {
+            putClosure(resource.getViewFeatureScope(), resource.getReadScopes(), scopeToResourceMap);
+            putClosure(resource.getEditFeatureScope(), resource.getWriteScopes(), scopeToResourceMap);
+            if (granularConsolePermissions) {
+                putClosure(resource.getCreateFeatureScope(), resource.getCreateScopes(), scopeToResourceMap);
+                putClosure(resource.getUpdateFeatureScope(), resource.getUpdateScopes(), scopeToResourceMap);
+                putClosure(resource.getDeleteFeatureScope(), resource.getDeleteScopes(), scopeToResourceMap);
+            }
+        }
+    }
+
+    private static void putFeatureScope(Map<String, APIResourceCollection> scopeToResourceMap, String featureScope,
+                                        APIResourceCollection resource) {
+
+        if (featureScope != null) {
+            scopeToResourceMap.put(featureScope, resource);
+        }
+    }
+
+    private void putClosure(String featureScope, List<String> scopes,
+                            Map<String, APIResourceCollection> scopeToResourceMap) {
+
+        if (featureScope == null) {
+            return;
+        }
+        BitSet closure = new BitSet(scopeNames.size());
+        Set<String> visited = new HashSet<>();
+        visited.add(featureScope);
+        Deque<String> nestedFeatureScopes = new ArrayDeque<>();
+        addScopes(closure, scopes, featureScope, scopeToResourceMap, nestedFeatureScopes);
+        while (!nestedFeatureScopes.isEmpty()) {
+            String nestedFeatureScope = nestedFeatureScopes.pop();
+            List<String> nestedScopes = getScopes(nestedFeatureScope, scopeToResourceMap.get(nestedFeatureScope));
+            if (visited.add(nestedFeatureScope)) {
+                addScopes(closure, nestedScopes, nestedFeatureScope, scopeToResourceMap, nestedFeatureScopes);
+            } else {
+                addScopes(closure, nestedScopes, nestedFeatureScope, scopeToResourceMap, null);
+            }
+        }
+        featureScopeClosures.put(getScopeId(featureScope), closure);
+    }
+
+    /**
+     * Add the given scopes to the closure, and collect the nested console feature scopes among them.
+     *
+     * @param closure             Closure to be updated in place.
+     * @param scopes              Scopes granted by the feature scope.
+     * @param featureScope        Feature scope.
+     * @param scopeToResourceMap  Collections of the feature scopes.
+     * @param nestedFeatureScopes Nested feature scopes to be resolved, or null if the nested feature scopes are
+     *                            already resolved.
+     */
+    private void addScopes(BitSet closure, List<String> scopes, String featureScope,
+                           Map<String, APIResourceCollection> scopeToResourceMap, Deque<String> nestedFeatureScopes) {
+
+        for (String scope : scopes) {
+            closure.set(scopeIds.get(scope));
+            if (nestedFeatureScopes != null && !scope.equals(featureScope) && isConsoleFeatureScope(scope) &&
+                scopeToResourceMap.containsKey(scope)) {
+                nestedFeatureScopes.push(scope);
+            }
+        }
+    }
+
+    private static List<String> getScopes(String featureScope, APIResourceCollection resource) {
+
+        if (featureScope.equals(resource.getViewFeatureScope())) {
+            return resource.getReadScopes();
+        } else if (featureScope.equals(resource.getEditFeatureScope())) {
+            return resource.getWriteScopes();
+        } else if (featureScope.equals(resource.getCreateFeatureScope())) {
+            return resource.getCreateScopes();
+        } else if (featureScope.equals(resource.getUpdateFeatureScope())) {
+            return resource.getUpdateScopes();
+        } else if (featureScope.equals(resource.getDeleteFeatureScope())) {
+            return resource.getDeleteScopes();
+        }
+        return Collections.emptyList();
+    }
+
+    private static boolean isConsoleFeatureScope(String scope) {
+
+        return scope.startsWith(CONSOLE_SCOPE_PREFIX) && (scope.endsWith(VIEW_FEATURE_SCOPE_SUFFIX) ||
+            scope.endsWith(EDIT_FEATURE_SCOPE_SUFFIX) || scope.endsWith(CREATE_FEATURE_SCOPE_SUFFIX) ||
+            scope.endsWith(UPDATE_FEATURE_SCOPE_SUFFIX) || scope.endsWith(DELETE_FEATURE_SCOPE_SUFFIX));
+    }
+}
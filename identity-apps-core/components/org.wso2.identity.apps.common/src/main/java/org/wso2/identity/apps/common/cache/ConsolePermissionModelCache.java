@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.common.cache;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.role.v2.mgt.core.exception.IdentityRoleManagementException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per tenant cache of the {@link ConsolePermissionModel} snapshots.
+ * A snapshot is built once and swapped atomically, so concurrent role reads either see the previous or the new
+ * snapshot, never a partially built one. The snapshots are kept in a {@link ConsoleTenantCache}, which bounds the
+ * number of cached tenants. Concurrent reads of a tenant without a valid snapshot wait for a single build of the
+ * snapshot, instead of building one each.
+ * <p>
+ * The freshness of the snapshots relies on their timeout. The changes of the API resources, their scopes or the API
+ * resource collections of a tenant are not notified to this cache, so they are reflected in the console roles once the
+ * snapshot of the tenant expires, after at most {@code ConsoleSettings.PermissionModelCacheTimeout} seconds (300 by
+ * default, 0 disables the cache). {@link #invalidate(String)} drops the snapshot of a tenant right away, e.g. when the
+ * tenant is deleted.
+ */
+public final class ConsolePermissionModelCache {
+
+    private static final Log LOG = LogFactory.getLog(ConsolePermissionModelCache.class);
+
+    private static final ConsolePermissionModelCache INSTANCE = new ConsolePermissionModelCache();
+
+    private final ConsoleTenantCache<ConsolePermissionModel> models;
+    private final ConcurrentHashMap<String, CompletableFuture<ConsolePermissionModel>> loads =
+        new ConcurrentHashMap<>();
+
+    private ConsolePermissionModelCache() {
+
+        this(new ConsoleTenantCache<>());
+    }
+
+    /**
+     * Create a cache which keeps the snapshots in the given tenant cache.
+     *
+     * @param models Tenant cache of the snapshots.
+     */
+    ConsolePermissionModelCache(ConsoleTenantCache<ConsolePermissionModel> models) {
+
+        this.models = models;
+    }
+
+    /**
+     * Get the shared cache instance.
+     *
+     * @return Console permission model cache.
+     */
+    public static ConsolePermissionModelCache getInstance() {
+
+        return INSTANCE;
+    }
+
+    /**
+     * Get the console permission model of the given tenant, building it if there is no valid snapshot.
+     *
+     * @param tenantDomain               Tenant domain.
+     * @param granularConsolePermissions Whether the granular console permission model is enabled.
+     * @param loader                     Loader used to build the snapshot.
+     * @return Console permission model.
+     * @throws IdentityRoleManagementException If the snapshot can't be built.
+     */
+    public ConsolePermissionModel get(String tenantDomain, boolean granularConsolePermissions,
+                                      ConsolePermissionModelLoader loader) throws IdentityRoleManagementException {
+
+        ConsolePermissionModel cachedModel = models.get(tenantDomain);
+        if (cachedModel != null && cachedModel.isGranularConsolePermissions() == granularConsolePermissions) {
+            return cachedModel;
+        }
+
+        CompletableFuture<ConsolePermissionModel> load = new CompletableFuture<>();
+        CompletableFuture<ConsolePermissionModel> inFlightLoad = loads.putIfAbsent(tenantDomain, load);
+        if (inFlightLoad != null) {
+            ConsolePermissionModel loadedModel = await(inFlightLoad);
+            if (loadedModel.isGranularConsolePermissions() == granularConsolePermissions) {
+                return loadedModel;
+            }
+            // The permission model is switched while the snapshot is built, so it is built again for this read.
+            return load(tenantDomain, loader, null);
+        }
+        return load(tenantDomain, loader, load);
+    }
+
+    /**
+     * Build the console permission model of the given tenant and cache it.
+     *
+     * @param tenantDomain Tenant domain.
+     * @param loader       Loader used to build the snapshot.
+     * @param load         Load to be completed with the snapshot for the concurrent reads, or null.
+     * @return Console permission model.
+     * @throws IdentityRoleManagementException If the snapshot can't be built.
+     */
+    private ConsolePermissionModel load(String tenantDomain, ConsolePermissionModelLoader loader,
+                                        CompletableFuture<ConsolePermissionModel> load)
+        throws IdentityRoleManagementException {
+
+        try {
+            long loaderGeneration = models.getGeneration();
+            ConsolePermissionModel model = loader.load(tenantDomain);
+            models.put(tenantDomain, model, loaderGeneration);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Console permission model is built for the tenant : " + tenantDomain);
+            }
+            if (load != null) {
+                load.complete(model);
+            }
+            return model;
+        } catch (IdentityRoleManagementException | RuntimeException e) {
+            if (load != null) {
+                load.completeExceptionally(e);
+            }
+            throw e;
+        } finally {
+            if (load != null) {
+                loads.remove(tenantDomain, load);
+            }
+        }
+    }
+
+    /**
+     * Wait for the snapshot built by a concurrent read.
+     *
+     * @param load Load of the concurrent read.
+     * @return Console permission model.
+     * @throws IdentityRoleManagementException If the concurrent read can't build the snapshot.
+     */
+    private static ConsolePermissionModel await(CompletableFuture<ConsolePermissionModel> load)
+        throws IdentityRoleManagementException {
+
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IdentityRoleManagementException("Error while building the console permission model.", cause);
+        }
+    }
+
+    /**
+     * Invalidate the console permission model of the given tenant, so the next read builds it again instead of
+     * waiting for the snapshot to expire.
+     *
+     * @param tenantDomain Tenant domain.
+     */
+    public void invalidate(String tenantDomain) {
+
+        models.invalidate(tenantDomain);
+        // Reads after the invalidation don't wait for a snapshot which was being built before it.
+        loads.remove(tenantDomain);
+    }
+
+    /**
+     * Invalidate the console permission models of all the tenants.
+     */
+    public void invalidateAll() {
+
+        models.invalidateAll();
+        loads.clear();
+    }
+
+    /**
+     * Get the generation of the cached models, which changes whenever a model is invalidated. The request memos are
+     * tied to the generation, so the models memoized by the requests of any thread are discarded with the snapshots.
+     *
+     * @return Generation of the cached models.
+     */
+    public long getGeneration() {
+
+        return models.getGeneration();
+    }
+
+    /**
+     * Loader used to build the console permission model of a tenant when there is no valid snapshot.
+     */
+    @FunctionalInterface
+    public interface ConsolePermissionModelLoader {
+
+        /**
+         * Build the console permission model of the given tenant.
+         *
+         * @param tenantDomain Tenant domain.
+         * @return Console permission model.
+         * @throws IdentityRoleManagementException If the model can't be built.
+         */
+        ConsolePermissionModel load(String tenantDomain) throws IdentityRoleManagementException;
+    }
+}
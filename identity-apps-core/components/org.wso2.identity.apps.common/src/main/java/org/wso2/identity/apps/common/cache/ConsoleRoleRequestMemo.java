@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.common.cache;
+
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.role.v2.mgt.core.exception.IdentityRoleManagementException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request scoped memo of the data resolved by the console role listener.
+ * Listing or exporting roles calls the role listener once per role in the same request, so the data which is the same
+ * for every role of the tenant (system roles, the console permission model, permissions of the system roles) is
+ * resolved once and shared by the following calls. The memo is kept in the identity thread local properties, which
+ * are cleared when the request is completed. The memo is tied to the generation of the
+ * {@link ConsolePermissionModelCache}, so it is discarded when the console data is invalidated, even by another thread.
+ * As a safeguard for threads which are not request threads, the memo is also discarded when it is used for another
+ * tenant or when it is older than {@link #MAX_AGE}.
+ * <p>
+ * The memo is confined to the thread of the request, hence it is not thread safe.
+ */
+public final class ConsoleRoleRequestMemo {
+
+    private static final String MEMO_PROPERTY = ConsoleRoleRequestMemo.class.getName();
+    private static final long MAX_AGE = TimeUnit.SECONDS.toMillis(30);
+
+    private final String tenantDomain;
+    private final long generation;
+    private final long expiryTime;
+    private final Map<String, Object> values = new HashMap<>();
+
+    private ConsoleRoleRequestMemo(String tenantDomain, long generation, long expiryTime) {
+
+        this.tenantDomain = tenantDomain;
+        this.generation = generation;
+        this.expiryTime = expiryTime;
+    }
+
+    /**
+     * Get the memo of the current request for the given tenant, creating it if there is no valid memo.
+     *
+     * @param tenantDomain Tenant domain.
+     * @return Request memo.
+     */
+    public static ConsoleRoleRequestMemo getInstance(String tenantDomain) {
+
+        // The generation is taken before any value is resolved, so a value resolved across an invalidation is dropped.
+        long generation = ConsolePermissionModelCache.getInstance().getGeneration();
+        Map<String, Object> threadLocalProperties = IdentityUtil.threadLocalProperties.get();
+        Object memo = threadLocalProperties.get(MEMO_PROPERTY);
+        if (memo instanceof ConsoleRoleRequestMemo &&
+            ((ConsoleRoleRequestMemo) memo).isValid(tenantDomain, generation)) {
+            return (ConsoleRoleRequestMemo) memo;
+        }
+        ConsoleRoleRequestMemo requestMemo = new ConsoleRoleRequestMemo(tenantDomain, generation,
+            System.currentTimeMillis() + MAX_AGE);
+        threadLocalProperties.put(MEMO_PROPERTY, requestMemo);
+        return requestMemo;
+    }
+
+    /**
+     * Clear the memo of the current request, so the following calls resolve the data again.
+     */
+    public static void clear() {
+
+        IdentityUtil.threadLocalProperties.get().remove(MEMO_PROPERTY);
+    }
+
+    /**
+     * Get the value of the given key, resolving it if it is not resolved in the current request.
+     *
+     * @param key    Key of the value.
+     * @param loader Loader used to resolve the value.
+     * @param <T>    Type of the value.
+     * @return Value, which must not be modified as it is shared by the following calls.
+     * @throws IdentityRoleManagementException If the value can't be resolved.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, MemoLoader<T> loader) throws IdentityRoleManagementException {
+
+        T value = (T) values.get(key);
+        if (value == null) {
+            value = loader.load();
+            values.put(key, value);
+        }
+        return value;
+    }
+
+    private boolean isValid(String tenantDomain, long generation) {
+
+        return Objects.equals(this.tenantDomain, tenantDomain) && this.generation == generation &&
+            System.currentTimeMillis() < expiryTime;
+    }
+
+    /**
+     * Loader used to resolve a value which is not resolved in the current request.
+     *
+     * @param <T> Type of the value.
+     */
+    @FunctionalInterface
+    public interface MemoLoader<T> {
+
+        /**
+         * Resolve the value.
+         *
+         * @return Value.
+         * @throws IdentityRoleManagementException If the value can't be resolved.
+         */
+        T load() throws IdentityRoleManagementException;
+    }
+}
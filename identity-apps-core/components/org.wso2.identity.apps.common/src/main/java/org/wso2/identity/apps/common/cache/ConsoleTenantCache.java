@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.common.cache;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded per tenant cache shared by the console caches. Entries expire after the configured timeout, and the least
+ * recently used entries are evicted when the cache is full, so the tenants which are not used any more don't keep
+ * their entries.
+ * <p>
+ * Entries are cached in the memory of the node. The changes made through another node of a cluster are picked up when
+ * the entries expire.
+ * <p>
+ * The cache is configured with the below properties of the identity configuration (identity.xml).
+ *  - {@code ConsoleSettings.PermissionModelCacheTimeout}  : Time an entry is valid for, in seconds. Defaults to 300,
+ *    and 0 disables the cache.
+ *  - {@code ConsoleSettings.PermissionModelCacheCapacity} : Maximum number of tenants kept in the cache. Defaults to
+ *    1000.
+ *
+ * @param <V> Type of the cached values.
+ */
+final class ConsoleTenantCache<V> {
+
+    private static final Log LOG = LogFactory.getLog(ConsoleTenantCache.class);
+    private static final String CACHE_TIMEOUT_CONFIG = "ConsoleSettings.PermissionModelCacheTimeout";
+    private static final String CACHE_CAPACITY_CONFIG = "ConsoleSettings.PermissionModelCacheCapacity";
+    private static final long DEFAULT_CACHE_TIMEOUT = 300; // Unit is seconds.
+    private static final int DEFAULT_CACHE_CAPACITY = 1000;
+
+    private final Map<String, Entry<V>> entries;
+    private final long timeout;
+    private long generation;
+
+    /**
+     * Create a cache with the configured capacity and timeout.
+     */
+    ConsoleTenantCache() {
+
+        this((int) Math.min(getConfig(CACHE_CAPACITY_CONFIG, DEFAULT_CACHE_CAPACITY), Integer.MAX_VALUE),
+            TimeUnit.SECONDS.toMillis(getConfig(CACHE_TIMEOUT_CONFIG, DEFAULT_CACHE_TIMEOUT)));
+    }
+
+    /**
+     * Create a cache with the given capacity and timeout.
+     *
+     * @param capacity Maximum number of tenants kept in the cache.
+     * @param timeout  Time an entry is valid for, in milliseconds.
+     */
+    ConsoleTenantCache(int capacity, long timeout) {
+
+        this.timeout = timeout;
+        this.entries = new LinkedHashMap<String, Entry<V>>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 6311476431726052127L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Get the value of the given tenant.
+     *
+     * @param tenantDomain Tenant domain.
+     * @return Value, or null if there is no valid value.
+     */
+    V get(String tenantDomain) {
+
+        synchronized (entries) {
+            Entry<V> entry = entries.get(tenantDomain);
+            if (entry == null) {
+                return null;
+            }
+            if (System.currentTimeMillis() >= entry.expiryTime) {
+                entries.remove(tenantDomain);
+                return null;
+            }
+            return entry.value;
+        }
+    }
+
+    /**
+     * Get the generation of the cache, which changes whenever the cache is invalidated. The generation is taken
+     * before a value is loaded, and passed to {@link #put(String, Object, long)} with the loaded value.
+     *
+     * @return Generation of the cache.
+     */
+    long getGeneration() {
+
+        synchronized (entries) {
+            return generation;
+        }
+    }
+
+    /**
+     * Cache the value of the given tenant, unless the cache is invalidated while the value is loaded. Such a value may
+     * be stale, so it is only used by the call which loaded it.
+     *
+     * @param tenantDomain     Tenant domain.
+     * @param value            Value.
+     * @param loaderGeneration Generation of the cache when the value started to load.
+     */
+    void put(String tenantDomain, V value, long loaderGeneration) {
+
+        synchronized (entries) {
+            if (generation != loaderGeneration) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            // Expired entries of the other tenants are evicted before they are pushed out as least recently used.
+            for (Iterator<Entry<V>> iterator = entries.values().iterator(); iterator.hasNext(); ) {
+                if (now >= iterator.next().expiryTime) {
+                    iterator.remove();
+                }
+            }
+            entries.put(tenantDomain, new Entry<>(value, now + timeout));
+        }
+    }
+
+    /**
+     * Invalidate the value of the given tenant.
+     *
+     * @param tenantDomain Tenant domain.
+     */
+    void invalidate(String tenantDomain) {
+
+        synchronized (entries) {
+            generation++;
+            entries.remove(tenantDomain);
+        }
+    }
+
+    /**
+     * Invalidate the values of all the tenants.
+     */
+    void invalidateAll() {
+
+        synchronized (entries) {
+            generation++;
+            entries.clear();
+        }
+    }
+
+    /**
+     * Get the number of tenants in the cache.
+     *
+     * @return Number of cached tenants.
+     */
+    int size() {
+
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static long getConfig(String config, long defaultValue) {
+
+        String value = IdentityUtil.getProperty(config);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            long parsedValue = Long.parseLong(value.trim());
+            if (parsedValue >= 0) {
+                return parsedValue;
+            }
+        } catch (NumberFormatException e) {
+            // Invalid values are logged below.
+        }
+        LOG.warn("Invalid value : " + value + " for the config : " + config +
+            ". Hence using the default value : " + defaultValue);
+        return defaultValue;
+    }
+
+    /**
+     * Cached value with its expiry time.
+     *
+     * @param <V> Type of the value.
+     */
+    private static final class Entry<V> {
+
+        private final V value;
+        private final long expiryTime;
+
+        private Entry(V value, long expiryTime) {
+
+            this.value = value;
+            this.expiryTime = expiryTime;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.common.cache;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.role.v2.mgt.core.exception.IdentityRoleManagementException;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per tenant cache of the ids of the system console roles, keyed by the role name.
+ * System console roles are created with the tenant and can't be deleted or renamed, so their ids are looked up once
+ * instead of once per token issuance. The ids are invalidated with the tenant (see {@link #invalidate(String)}), and
+ * also expire after the timeout of the console permission model cache.
+ * <p>
+ * The ids are cached only when all the system console roles are found. The console application and its roles of an
+ * organization are shared with it asynchronously after the organization is created, so the roles looked up before
+ * that are looked up again by the following calls.
+ */
+public final class SystemConsoleRoleCache {
+
+    private static final Log LOG = LogFactory.getLog(SystemConsoleRoleCache.class);
+
+    private static final SystemConsoleRoleCache INSTANCE = new SystemConsoleRoleCache();
+
+    private final ConsoleTenantCache<Map<String, String>> roleIds = new ConsoleTenantCache<>();
+
+    private SystemConsoleRoleCache() {
+
+    }
+
+    /**
+     * Get the shared cache instance.
+     *
+     * @return System console role cache.
+     */
+    public static SystemConsoleRoleCache getInstance() {
+
+        return INSTANCE;
+    }
+
+    /**
+     * Get the ids of the system console roles of the given tenant, looking them up if they are not cached.
+     *
+     * @param tenantDomain Tenant domain.
+     * @param loader       Loader used to look up the role ids.
+     * @return Unmodifiable map of the role ids, keyed by the role name, in the order of the loaded map. System roles
+     * which don't exist in the tenant are not included.
+     * @throws IdentityRoleManagementException If the role ids can't be looked up.
+     */
+    public Map<String, String> get(String tenantDomain, SystemConsoleRoleLoader loader)
+        throws IdentityRoleManagementException {
+
+        Map<String, String> cachedRoleIds = roleIds.get(tenantDomain);
+        if (cachedRoleIds != null) {
+            return cachedRoleIds;
+        }
+
+        long loaderGeneration = roleIds.getGeneration();
+        Map<String, String> loadedRoleIds = new LinkedHashMap<>();
+        if (!loader.load(tenantDomain, loadedRoleIds)) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("System console roles are not fully provisioned for the tenant : " + tenantDomain +
+                    ". Hence the role ids are not cached.");
+            }
+            return Collections.unmodifiableMap(loadedRoleIds);
+        }
+        Map<String, String> systemConsoleRoleIds = Collections.unmodifiableMap(loadedRoleIds);
+        roleIds.put(tenantDomain, systemConsoleRoleIds, loaderGeneration);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("System console role ids are loaded for the tenant : " + tenantDomain);
+        }
+        return systemConsoleRoleIds;
+    }
+
+    /**
+     * Invalidate the system console role ids of the given tenant.
+     *
+     * @param tenantDomain Tenant domain.
+     */
+    public void invalidate(String tenantDomain) {
+
+        roleIds.invalidate(tenantDomain);
+    }
+
+    /**
+     * Invalidate the system console role ids of all the tenants.
+     */
+    public void invalidateAll() {
+
+        roleIds.invalidateAll();
+    }
+
+    /**
+     * Loader used to look up the ids of the system console roles of a tenant when they are not cached.
+     */
+    @FunctionalInterface
+    public interface SystemConsoleRoleLoader {
+
+        /**
+         * Look up the ids of the system console roles of the given tenant.
+         *
+         * @param tenantDomain Tenant domain.
+         * @param roleIds      Map to which the role ids are added, keyed by the role name.
+         * @return Whether all the system console roles are found, so the role ids can be cached.
+         * @throws IdentityRoleManagementException If the role ids can't be looked up.
+         */
+        boolean load(String tenantDomain, Map<String, String> roleIds) throws IdentityRoleManagementException;
+    }
+}
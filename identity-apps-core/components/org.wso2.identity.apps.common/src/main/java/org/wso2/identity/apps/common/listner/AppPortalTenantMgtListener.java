@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019-2023, WSO2 LLC. (http://www.wso2.com).
+ * Copyright (c) 2019-2026, WSO2 LLC. (http://www.wso2.com).
  *
  * WSO2 LLC. licenses this file to you under the Apache License,
  * Version 2.0 (the "License"); you may not use this file except
@@ -22,6 +22,8 @@ import org.wso2.carbon.identity.organization.management.service.util.Organizatio
 import org.wso2.carbon.stratos.common.beans.TenantInfoBean;
 import org.wso2.carbon.stratos.common.exception.StratosException;
 import org.wso2.carbon.stratos.common.listeners.TenantMgtListener;
+import org.wso2.identity.apps.common.cache.ConsolePermissionModelCache;
+import org.wso2.identity.apps.common.cache.SystemConsoleRoleCache;
 import org.wso2.identity.apps.common.util.AppPortalUtils;
 
 /**
@@ -37,6 +39,9 @@ public class AppPortalTenantMgtListener implements TenantMgtListener {
                 return;
             }
             AppPortalUtils.initiatePortals(tenantInfoBean);
+            // Roles read while the tenant is initialized may have cached the permissions of a partially created tenant.
+            ConsolePermissionModelCache.getInstance().invalidate(tenantInfoBean.getTenantDomain());
+            SystemConsoleRoleCache.getInstance().invalidate(tenantInfoBean.getTenantDomain());
         } catch (Exception e) {
             throw new StratosException("Failed to initialize UI portals for the tenant:"
                 + tenantInfoBean.getTenantDomain(), e);
@@ -51,6 +56,9 @@ public class AppPortalTenantMgtListener implements TenantMgtListener {
     @Override
     public void onTenantDelete(int i) {
 
+        // Only the tenant id is known here, hence the console caches of all the tenants are invalidated.
+        ConsolePermissionModelCache.getInstance().invalidateAll();
+        SystemConsoleRoleCache.getInstance().invalidateAll();
     }
 
     @Override
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ * Copyright (c) 2025-2026, WSO2 LLC. (http://www.wso2.com).
  *
  * WSO2 LLC. licenses this file to you under the Apache License,
  * Version 2.0 (the "License"); you may not use this file except
@@ -39,9 +39,14 @@ import org.wso2.carbon.identity.role.v2.mgt.core.listener.AbstractRoleManagement
 import org.wso2.carbon.identity.role.v2.mgt.core.model.Permission;
 import org.wso2.carbon.identity.role.v2.mgt.core.model.Role;
 import org.wso2.carbon.identity.role.v2.mgt.core.model.RoleBasicInfo;
+import org.wso2.identity.apps.common.cache.ConsolePermissionModel;
+import org.wso2.identity.apps.common.cache.ConsolePermissionModelCache;
+import org.wso2.identity.apps.common.cache.ConsoleRoleRequestMemo;
+import org.wso2.identity.apps.common.cache.SystemConsoleRoleCache;
 import org.wso2.identity.apps.common.internal.AppsCommonDataHolder;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -62,12 +67,17 @@ import static org.wso2.carbon.identity.role.v2.mgt.core.RoleConstants.CONSOLE_SC
 
 /**
  * Console role listener to populate organization console application roles permissions.
+ * Permissions are resolved against the per tenant {@link ConsolePermissionModel} snapshot, which is built once and
+ * shared by the role reads until the API resources or the API resource collections of the tenant change.
  */
 public class ConsoleRoleListener extends AbstractRoleManagementListener {
 
     private static final Log LOG = LogFactory.getLog(ConsoleRoleListener.class);
     private static final String SYSTEM = "system";
     private static final String EVERYONE = "everyone";
+    private static final String SYSTEM_ROLES_MEMO_KEY = "systemRoles";
+    private static final String PERMISSION_MODEL_MEMO_KEY = "permissionModel";
+    private static final String SYSTEM_ROLE_PERMISSIONS_MEMO_KEY_PREFIX = "systemRolePermissions:";
     private static final String REQUIRE_FEATURE_PERMISSIONS = "SCIM2.ConsoleRoles.RequireFeaturePermissions";
     private static final String IS_CUSTOM_CONSOLE_ROLES_ENABLED = "SCIM2.ConsoleRoles.EnableCustomRoles";
     private static final String USE_GRANULAR_CONSOLE_PERMISSIONS_CONFIG =
@@ -117,10 +127,10 @@ public class ConsoleRoleListener extends AbstractRoleManagementListener {
             return;
         }
 
-        if (getSystemRoles().contains(role.getName())) {
+        if (getSystemRoles(tenantDomain).contains(role.getName())) {
             // If the role is a system role, we resolve the permissions from the static configuration.
             List<Permission> systemRolePermissions = getSystemRolePermissions(role.getName(), tenantDomain);
-            role.setPermissions(systemRolePermissions);
+            role.setPermissions(copyPermissions(systemRolePermissions));
             return;
         }
 
@@ -139,9 +149,9 @@ public class ConsoleRoleListener extends AbstractRoleManagementListener {
         }
 
         List<Permission> rolePermissions;
-        if (getSystemRoles().contains(role.getName())) {
+        if (getSystemRoles(tenantDomain).contains(role.getName())) {
             // If the role is a system role, we resolve the permissions from the static configuration.
-            rolePermissions = getSystemRolePermissions(role.getName(), tenantDomain);
+            rolePermissions = copyPermissions(getSystemRolePermissions(role.getName(), tenantDomain));
         } else {
             rolePermissions = getUpgradedPermissions(permissionListOfRole, tenantDomain);
         }
@@ -154,36 +164,27 @@ public class ConsoleRoleListener extends AbstractRoleManagementListener {
     public void postGetPermissionListOfRoles(List<String> permissions, List<String> roleIds, String tenantDomain)
         throws IdentityRoleManagementException {
 
-        boolean isConsoleRoleExist = false;
-        boolean isConsoleAdminRoleExist = false;
-
-        for (String roleId : roleIds) {
-            RoleBasicInfo role = getRoleBasicInfo(roleId, tenantDomain);
-            if (CONSOLE_APP_AUDIENCE_NAME.equals(role.getAudienceName())) {
-                isConsoleRoleExist = true;
-                if (ADMINISTRATOR.equals(role.getName())) {
-                    isConsoleAdminRoleExist = true;
-                    break;
-                }
-            }
-        }
+        Set<String> roleIdSet = new HashSet<>(roleIds);
+        Map<String, String> systemConsoleRoleIds = getSystemConsoleRoleIds(tenantDomain);
         /* If a console role exists and there is no console Administrator role, then we need to resolve the
            permissions of console roles from the static configuration. */
-        if (isConsoleRoleExist && !isConsoleAdminRoleExist) {
+        if (!roleIdSet.contains(systemConsoleRoleIds.get(ADMINISTRATOR)) &&
+            isConsoleRoleExist(roleIdSet, systemConsoleRoleIds, tenantDomain)) {
             List<Permission> resolvedRolePermissions = new ArrayList<>();
-            Map<String, Permission> systemPermissionsMap = getSystemPermissionsMap(tenantDomain);
+            ConsolePermissionModel permissionModel = getPermissionModel(tenantDomain);
+            Map<String, Permission> systemPermissionsMap = permissionModel.getSystemPermissions();
             permissions.forEach(permission -> {
                 Permission systemPermission = systemPermissionsMap.get(permission);
                 if (systemPermission != null) {
                     resolvedRolePermissions.add(systemPermission);
                 }
             });
-            List<Permission> rolePermissions = getUpgradedPermissions(resolvedRolePermissions, tenantDomain);
+            List<Permission> rolePermissions = getUpgradedPermissions(resolvedRolePermissions, permissionModel);
             permissions.clear();
             permissions.addAll(rolePermissions.stream().map(Permission::getName).collect(Collectors.toList()));
         }
         // System console roles permissions needs to be populated from the static configuration.
-        populateSystemConsoleRolesPermissions(permissions, roleIds, tenantDomain);
+        populateSystemConsoleRolesPermissions(permissions, roleIdSet, systemConsoleRoleIds, tenantDomain);
     }
 
     @Override
@@ -196,7 +197,7 @@ public class ConsoleRoleListener extends AbstractRoleManagementListener {
             return;
         }
 
-        if (getSystemRoles().contains(role.getName())) {
+        if (getSystemRoles(tenantDomain).contains(role.getName())) {
             // Permissions of system roles cannot be updated.
             throw new IdentityRoleManagementClientException("Role with id: " + roleId + " name : " + role.getName() +
                 " is a system role. Hence its permissions cannot be updated.");
@@ -219,7 +220,8 @@ public class ConsoleRoleListener extends AbstractRoleManagementListener {
     }
 
     /**
-     * This method resolves the permissions for the system console roles.
+     * This method resolves the permissions for the system console roles. The permissions are resolved once per
+     * request, hence the returned list must not be modified.
      *
      * @param roleName     Role name.
      * @param tenantDomain Tenant domain.
@@ -229,36 +231,39 @@ public class ConsoleRoleListener extends AbstractRoleManagementListener {
     private List<Permission> getSystemRolePermissions(String roleName, String tenantDomain)
         throws IdentityRoleManagementException {
 
-        Set<String> featurePermissionsOfRole = IdentityUtil.getSystemRolesWithScopesInOriginalCase().get(roleName);
-        if (featurePermissionsOfRole == null || featurePermissionsOfRole.isEmpty()) {
-            return Collections.emptyList();
-        }
+        return ConsoleRoleRequestMemo.getInstance(tenantDomain).get(SYSTEM_ROLE_PERMISSIONS_MEMO_KEY_PREFIX + roleName,
+            () -> Collections.unmodifiableList(resolveSystemRolePermissions(roleName, tenantDomain)));
+    }
 
-        // Fetch console feature scopes and its mapped permissions.
-        Map<String, Set<String>> consoleFeaturePermissionsMap = getConsoleFeaturePermissionsMap(tenantDomain);
-        Set<String> addedPermissionNames = new HashSet<>();
-        List<Permission> resolvedRolePermissions = new ArrayList<>();
+    /**
+     * Copy the given permissions, so the permissions shared by the roles of the request are not handed over to the
+     * callers, which may modify them.
+     *
+     * @param permissions Permissions.
+     * @return List of copies of the permissions.
+     */
+    private static List<Permission> copyPermissions(List<Permission> permissions) {
 
-        featurePermissionsOfRole.forEach(featurePermission -> {
-            Set<String> scopes = consoleFeaturePermissionsMap.get(featurePermission);
-            if (scopes != null) {
-                addedPermissionNames.addAll(scopes);
-            }
-        });
+        List<Permission> copies = new ArrayList<>(permissions.size());
+        for (Permission permission : permissions) {
+            copies.add(ConsolePermissionModel.copyOf(permission));
+        }
+        return copies;
+    }
 
-        // Fetch all system permissions.
-        Map<String, Permission> systemPermissionsMap = getSystemPermissionsMap(tenantDomain);
-        if (!addedPermissionNames.isEmpty()) {
-            addedPermissionNames.forEach(permissionName -> {
-                Permission permission = systemPermissionsMap.get(permissionName);
-                if (permission != null) {
-                    resolvedRolePermissions.add(permission);
-                }
-            });
+    private List<Permission> resolveSystemRolePermissions(String roleName, String tenantDomain)
+        throws IdentityRoleManagementException {
+
+        Set<String> featurePermissionsOfRole = IdentityUtil.getSystemRolesWithScopesInOriginalCase().get(roleName);
+        if (featurePermissionsOfRole == null || featurePermissionsOfRole.isEmpty()) {
+            return Collections.emptyList();
         }
 
-        resolveWriteFeatureScopes(resolvedRolePermissions, getAPIResourceCollections(tenantDomain),
-            new ArrayList<>(systemPermissionsMap.values()));
+        // Resolve the system scopes granted by the feature scopes of the role from the precomputed closures.
+        ConsolePermissionModel permissionModel = getPermissionModel(tenantDomain);
+        BitSet resolvedScopes = permissionModel.resolveFeatureScopes(featurePermissionsOfRole);
+        List<Permission> resolvedRolePermissions = permissionModel.getPermissions(resolvedScopes);
+        resolveWriteFeatureScopes(resolvedRolePermissions, resolvedScopes, permissionModel);
         return resolvedRolePermissions;
     }
 
@@ -277,11 +282,20 @@ public class ConsoleRoleListener extends AbstractRoleManagementListener {
     private List<Permission> getUpgradedPermissions(List<Permission> rolePermissions, String tenantDomain)
         throws IdentityRoleManagementException {
 
-        // Fetch all system permissions.
-        Map<String, Permission> systemPermissionsMap = getSystemPermissionsMap(tenantDomain);
-        List<APIResourceCollection> apiResourceCollections = getAPIResourceCollections(tenantDomain);
+        return getUpgradedPermissions(rolePermissions, getPermissionModel(tenantDomain));
+    }
+
+    /**
+     * This method resolves the new permissions for the console roles against the given console permission model.
+     *
+     * @param rolePermissions List of permissions of the role.
+     * @param permissionModel Console permission model of the tenant.
+     * @return List of resolved permissions.
+     */
+    private List<Permission> getUpgradedPermissions(List<Permission> rolePermissions,
+                                                    ConsolePermissionModel permissionModel) {
+
         List<Permission> consoleFeaturePermissions = getConsoleFeaturePermissions(rolePermissions);
-        Set<String> addedPermissionNames = new HashSet<>();
         List<Permission> upgradedPermissions;
         if (!consoleFeaturePermissions.isEmpty()) {
             // This is where we handle the new console roles (console roles created after 7.0.0) permissions.
@@ -289,87 +303,139 @@ public class ConsoleRoleListener extends AbstractRoleManagementListener {
             // view feature scope, then we add all the read scopes. If the role has the edit feature scope, then we
             // add all the write scopes. If granular permissions are enabled, we also resolve create/update/delete
             // feature scopes the same way.
-            // Fetch console feature scopes and its mapped permissions.
-            Map<String, Set<String>> consoleFeaturePermissionsMap = getConsoleFeaturePermissionsMap(tenantDomain);
-            List<Permission> resolvedRolePermissions = new ArrayList<>();
-            consoleFeaturePermissions.forEach(featurePermission -> {
-                Set<String> scopes = consoleFeaturePermissionsMap.get(featurePermission.getName());
-                if (scopes != null) {
-                    addedPermissionNames.addAll(scopes);
-                }
-            });
-            if (!addedPermissionNames.isEmpty()) {
-                addedPermissionNames.forEach(permissionName -> {
-                    Permission permission = systemPermissionsMap.get(permissionName);
-                    if (permission != null) {
-                        resolvedRolePermissions.add(permission);
-                    }
-                });
-            }
+            // The scopes of the feature scopes are resolved from the precomputed closures.
+            BitSet resolvedScopes = permissionModel.resolveFeatureScopes(consoleFeaturePermissions.stream()
+                .map(Permission::getName).collect(Collectors.toList()));
+            List<Permission> resolvedRolePermissions = permissionModel.getPermissions(resolvedScopes);
+            resolveWriteFeatureScopes(resolvedRolePermissions, resolvedScopes, permissionModel);
             upgradedPermissions = resolvedRolePermissions;
         } else {
             // This is where we handle the initial console roles (console roles created in 7.0.0) permissions.
             // Here we assume these role only contains legacy feature scope not the new feature scopes.
-            // Fetch all system scopes to resolve permission details from permission name.
-            Set<Permission> resolvedRolePermissions = new HashSet<>(new ArrayList<>(rolePermissions));
-            List<Permission> consolePermissions = getConsolePermissions(rolePermissions);
-            consolePermissions.forEach(permission -> {
-                apiResourceCollections.forEach(apiResourceCollection -> {
-                    // Match the permission with the collection.
-                    if (apiResourceCollection.getReadScopes().contains(permission.getName())) {
-                        // Add new read scopes since we have the feature scope.
-                        apiResourceCollection.getReadScopes().forEach(newReadScope -> {
-                            Permission newPermission = systemPermissionsMap.get(newReadScope);
-                            if (newPermission != null && addedPermissionNames.add(newPermission.getName())) {
-                                resolvedRolePermissions.add(newPermission);
-                            }
-                        });
-                        List<String> legacyWriteScopes = apiResourceCollection.getLegacyWriteScopes();
-                        // if all the writeScopes are in the role's permission list, then add new write scopes.
-                        if (rolePermissions.stream().anyMatch(rolePermission ->
-                            legacyWriteScopes.contains(rolePermission.getName()))) {
-                            apiResourceCollection.getWriteScopes().forEach(newWriteScope -> {
-                                Permission newPermission = systemPermissionsMap.get(newWriteScope);
-                                if (newPermission != null && addedPermissionNames.add(newPermission.getName())) {
-                                    resolvedRolePermissions.add(newPermission);
-                                }
-                            });
-                        }
-                    }
-                });
-            });
+            // The collections of the legacy scopes are looked up from the indices of the permission model.
+            Set<Permission> resolvedRolePermissions = new HashSet<>(rolePermissions);
+            List<String> consolePermissionNames = getConsolePermissions(rolePermissions).stream()
+                .map(Permission::getName).collect(Collectors.toList());
+            List<String> rolePermissionNames = rolePermissions.stream().map(Permission::getName)
+                .collect(Collectors.toList());
+            resolvedRolePermissions.addAll(permissionModel.getPermissions(
+                permissionModel.resolveLegacyScopes(consolePermissionNames, rolePermissionNames)));
             upgradedPermissions = new ArrayList<>(resolvedRolePermissions);
+            resolveWriteFeatureScopes(upgradedPermissions, permissionModel.getScopeIds(upgradedPermissions),
+                permissionModel);
         }
-        resolveWriteFeatureScopes(upgradedPermissions, apiResourceCollections,
-            new ArrayList<>(systemPermissionsMap.values()));
         return upgradedPermissions;
     }
 
-    private void populateSystemConsoleRolesPermissions(List<String> permissions, List<String> roleIds,
+    private void populateSystemConsoleRolesPermissions(List<String> permissions, Set<String> roleIds,
+                                                       Map<String, String> systemConsoleRoleIds,
                                                        String tenantDomain) throws IdentityRoleManagementException {
 
-        Set<String> systemRoleNames = getSystemRoles();
+        Set<String> addedPermissionNames = null;
+        for (Map.Entry<String, String> systemConsoleRole : systemConsoleRoleIds.entrySet()) {
+            String systemRoleName = systemConsoleRole.getKey();
+            if (ADMINISTRATOR.equalsIgnoreCase(systemRoleName) || !roleIds.contains(systemConsoleRole.getValue())) {
+                continue;
+            }
+            if (addedPermissionNames == null) {
+                addedPermissionNames = new HashSet<>(permissions);
+            }
+            List<Permission> systemRolePermissions = getSystemRolePermissions(systemRoleName, tenantDomain);
+            for (Permission permission : systemRolePermissions) {
+                if (addedPermissionNames.add(permission.getName())) {
+                    permissions.add(permission.getName());
+                }
+            }
+        }
+    }
+
+    /**
+     * Check whether at least one of the given roles is a console role. The system console roles are found from their
+     * cached ids, and the other roles are looked up until a console role is found.
+     *
+     * @param roleIds              Role ids.
+     * @param systemConsoleRoleIds Ids of the system console roles, keyed by the role name.
+     * @param tenantDomain         Tenant domain.
+     * @return True if a console role exists, and it is not the console Administrator role.
+     * @throws IdentityRoleManagementException If an error occurs while retrieving the roles.
+     */
+    private boolean isConsoleRoleExist(Set<String> roleIds, Map<String, String> systemConsoleRoleIds,
+                                       String tenantDomain) throws IdentityRoleManagementException {
+
+        Set<String> remainingRoleIds = new HashSet<>(roleIds);
+        boolean isConsoleRoleExist = remainingRoleIds.removeAll(systemConsoleRoleIds.values());
+        // When the Administrator role id is known, it is already ruled out, so the first console role is enough.
+        boolean isConsoleAdminRoleKnown = systemConsoleRoleIds.containsKey(ADMINISTRATOR);
+        if (isConsoleRoleExist && isConsoleAdminRoleKnown) {
+            return true;
+        }
+        for (String roleId : remainingRoleIds) {
+            RoleBasicInfo role = getRoleBasicInfo(roleId, tenantDomain);
+            if (role != null && CONSOLE_APP_AUDIENCE_NAME.equals(role.getAudienceName())) {
+                if (ADMINISTRATOR.equals(role.getName())) {
+                    return false;
+                }
+                isConsoleRoleExist = true;
+                if (isConsoleAdminRoleKnown) {
+                    break;
+                }
+            }
+        }
+        return isConsoleRoleExist;
+    }
+
+    /**
+     * Get the ids of the system console roles of the tenant, keyed by the role name.
+     *
+     * @param tenantDomain Tenant domain.
+     * @return Ids of the system console roles which exist in the tenant.
+     * @throws IdentityRoleManagementException If an error occurs while retrieving the role ids.
+     */
+    private Map<String, String> getSystemConsoleRoleIds(String tenantDomain) throws IdentityRoleManagementException {
+
+        return SystemConsoleRoleCache.getInstance().get(tenantDomain, this::loadSystemConsoleRoleIds);
+    }
+
+    /**
+     * Look up the ids of the system console roles of the tenant.
+     *
+     * @param tenantDomain         Tenant domain.
+     * @param systemConsoleRoleIds Map to which the role ids are added, keyed by the role name.
+     * @return Whether all the system console roles are found. The console application and its roles of an
+     * organization are shared with it asynchronously, so they may not exist yet.
+     * @throws IdentityRoleManagementException If an error occurs while retrieving the role ids.
+     */
+    private boolean loadSystemConsoleRoleIds(String tenantDomain, Map<String, String> systemConsoleRoleIds)
+        throws IdentityRoleManagementException {
+
+        Set<String> systemRoleNames = getSystemRoles(tenantDomain);
+        if (systemRoleNames == null || systemRoleNames.isEmpty()) {
+            return true;
+        }
         String consoleAppId = getConsoleAppId(tenantDomain);
+        if (consoleAppId == null) {
+            return false;
+        }
+        boolean allRolesFound = true;
+        RoleManagementService roleManagementService = AppsCommonDataHolder.getInstance().getRoleManagementServiceV2();
         for (String systemRoleName : systemRoleNames) {
-            if (ADMINISTRATOR.equalsIgnoreCase(systemRoleName) || SYSTEM.equalsIgnoreCase(systemRoleName) ||
-                EVERYONE.equalsIgnoreCase(systemRoleName)) {
+            if (SYSTEM.equalsIgnoreCase(systemRoleName) || EVERYONE.equalsIgnoreCase(systemRoleName)) {
                 continue;
             }
             try {
-                String systemRoleId = AppsCommonDataHolder.getInstance().getRoleManagementServiceV2()
-                    .getRoleIdByName(systemRoleName, RoleConstants.APPLICATION, consoleAppId, tenantDomain);
-                if (roleIds.contains(systemRoleId)) {
-                    List<Permission> systemRolePermissions = getSystemRolePermissions(systemRoleName, tenantDomain);
-                    for (Permission permission : systemRolePermissions) {
-                        if (!permissions.contains(permission.getName())) {
-                            permissions.add(permission.getName());
-                        }
-                    }
+                String systemRoleId = roleManagementService.getRoleIdByName(systemRoleName, RoleConstants.APPLICATION,
+                    consoleAppId, tenantDomain);
+                if (systemRoleId != null) {
+                    systemConsoleRoleIds.put(systemRoleName, systemRoleId);
+                } else {
+                    allRolesFound = false;
                 }
             } catch (IdentityRoleManagementClientException e) {
                 // Role does not exist, continue.
+                allRolesFound = false;
             }
         }
+        return allRolesFound;
     }
 
     private RoleBasicInfo getRoleBasicInfo(String roleId, String tenantDomain)
@@ -417,6 +483,39 @@ public class ConsoleRoleListener extends AbstractRoleManagementListener {
         }
     }
 
+    /**
+     * Get the console permission model snapshot of the tenant, building it when there is no valid snapshot. The
+     * snapshot is resolved once per request, so the roles read in the same request share it.
+     *
+     * @param tenantDomain Tenant domain.
+     * @return Console permission model.
+     * @throws IdentityRoleManagementException If an error occurs while building the console permission model.
+     */
+    private ConsolePermissionModel getPermissionModel(String tenantDomain) throws IdentityRoleManagementException {
+
+        return ConsoleRoleRequestMemo.getInstance(tenantDomain).get(PERMISSION_MODEL_MEMO_KEY, () -> {
+            boolean granular = isGranularConsolePermissionsEnabled();
+            return ConsolePermissionModelCache.getInstance().get(tenantDomain, granular,
+                domain -> buildPermissionModel(domain, granular));
+        });
+    }
+
+    /**
+     * Build the console permission model of the tenant. The API resource collections and the system scopes are
+     * fetched only once, and the feature scope closures are precomputed from the fetched collections.
+     *
+     * @param tenantDomain Tenant domain.
+     * @param granular     Whether granular console permissions are enabled.
+     * @return Console permission model.
+     * @throws IdentityRoleManagementException If an error occurs while retrieving the API resources.
+     */
+    private ConsolePermissionModel buildPermissionModel(String tenantDomain, boolean granular)
+        throws IdentityRoleManagementException {
+
+        List<APIResourceCollection> apiResourceCollections = getAPIResourceCollections(tenantDomain);
+        return new ConsolePermissionModel(apiResourceCollections, getSystemPermissionsMap(tenantDomain), granular);
+    }
+
     /**
      * Get API resource collections for the tenant. This will return all the tenant and organization specific API
      * collections.
@@ -442,126 +541,6 @@ public class ConsoleRoleListener extends AbstractRoleManagementListener {
         }
     }
 
-    /**
-     * Get console feature permissions map for the tenant.
-     *
-     * @param tenantDomain Tenant domain.
-     * @return Map of console feature permissions.
-     * @throws IdentityRoleManagementException If an error occurs while retrieving the console feature permissions.
-     */
-    private Map<String, Set<String>> getConsoleFeaturePermissionsMap(String tenantDomain)
-        throws IdentityRoleManagementException {
-
-        Map<String, Set<String>> featurePermissions = new HashMap<>();
-        List<APIResourceCollection> apiResources = getAPIResourceCollections(tenantDomain);
-        Map<String, APIResourceCollection> scopeToResourceMap = new HashMap<>();
-        boolean granular = isGranularConsolePermissionsEnabled();
-        for (APIResourceCollection resource : apiResources) {
-            if (resource.getViewFeatureScope() != null) {
-                scopeToResourceMap.put(resource.getViewFeatureScope(), resource);
-            }
-            if (resource.getEditFeatureScope() != null) {
-                scopeToResourceMap.put(resource.getEditFeatureScope(), resource);
-            }
-            if (granular) {
-                if (resource.getCreateFeatureScope() != null) {
-                    scopeToResourceMap.put(resource.getCreateFeatureScope(), resource);
-                }
-                if (resource.getUpdateFeatureScope() != null) {
-                    scopeToResourceMap.put(resource.getUpdateFeatureScope(), resource);
-                }
-                if (resource.getDeleteFeatureScope() != null) {
-                    scopeToResourceMap.put(resource.getDeleteFeatureScope(), resource);
-                }
-            }
-        }
-
-        // Resolve permissions for each feature scope recursively.
-        for (APIResourceCollection apiResource : apiResources) {
-            if (apiResource.getViewFeatureScope() != null) {
-                Set<String> viewPermissions = resolveScopes(apiResource.getReadScopes(),
-                    apiResource.getViewFeatureScope(), scopeToResourceMap, new HashSet<>());
-                featurePermissions.put(apiResource.getViewFeatureScope(), viewPermissions);
-            }
-
-            if (apiResource.getEditFeatureScope() != null) {
-                Set<String> editPermissions = resolveScopes(apiResource.getWriteScopes(),
-                    apiResource.getEditFeatureScope(), scopeToResourceMap, new HashSet<>());
-                featurePermissions.put(apiResource.getEditFeatureScope(), editPermissions);
-            }
-
-            if (granular) {
-                if (apiResource.getCreateFeatureScope() != null) {
-                    Set<String> createPermissions = resolveScopes(apiResource.getCreateScopes(),
-                        apiResource.getCreateFeatureScope(), scopeToResourceMap, new HashSet<>());
-                    featurePermissions.put(apiResource.getCreateFeatureScope(), createPermissions);
-                }
-                if (apiResource.getUpdateFeatureScope() != null) {
-                    Set<String> updatePermissions = resolveScopes(apiResource.getUpdateScopes(),
-                        apiResource.getUpdateFeatureScope(), scopeToResourceMap, new HashSet<>());
-                    featurePermissions.put(apiResource.getUpdateFeatureScope(), updatePermissions);
-                }
-                if (apiResource.getDeleteFeatureScope() != null) {
-                    Set<String> deletePermissions = resolveScopes(apiResource.getDeleteScopes(),
-                        apiResource.getDeleteFeatureScope(), scopeToResourceMap, new HashSet<>());
-                    featurePermissions.put(apiResource.getDeleteFeatureScope(), deletePermissions);
-                }
-            }
-        }
-
-        return featurePermissions;
-    }
-
-    private Set<String> resolveScopes(List<String> scopes, String currentFeatureScope,
-                                      Map<String, APIResourceCollection> scopeToResourceMap, Set<String> visited) {
-
-        Set<String> resolvedScopes = new HashSet<>(scopes);
-        if (visited.contains(currentFeatureScope)) {
-            return resolvedScopes;
-        }
-        visited.add(currentFeatureScope);
-
-        // Process each scope to find and resolve nested feature scopes
-        for (String scope : scopes) {
-            if (scope.equals(currentFeatureScope)) {
-                continue;
-            }
-
-            // Check if this is a console feature scope
-            if (scope.startsWith(CONSOLE_SCOPE_PREFIX) &&
-                (scope.endsWith(VIEW_FEATURE_SCOPE_SUFFIX) || scope.endsWith(EDIT_FEATURE_SCOPE_SUFFIX) ||
-                    scope.endsWith(CREATE_FEATURE_SCOPE_SUFFIX) ||
-                    scope.endsWith(UPDATE_FEATURE_SCOPE_SUFFIX) ||
-                    scope.endsWith(DELETE_FEATURE_SCOPE_SUFFIX))) {
-
-                APIResourceCollection nestedResource = scopeToResourceMap.get(scope);
-                if (nestedResource != null) {
-                    // Get the appropriate scopes based on feature scope type
-                    List<String> nestedScopes;
-                    if (scope.equals(nestedResource.getViewFeatureScope())) {
-                        nestedScopes = nestedResource.getReadScopes();
-                    } else if (scope.equals(nestedResource.getEditFeatureScope())) {
-                        nestedScopes = nestedResource.getWriteScopes();
-                    } else if (scope.equals(nestedResource.getCreateFeatureScope())) {
-                        nestedScopes = nestedResource.getCreateScopes();
-                    } else if (scope.equals(nestedResource.getUpdateFeatureScope())) {
-                        nestedScopes = nestedResource.getUpdateScopes();
-                    } else if (scope.equals(nestedResource.getDeleteFeatureScope())) {
-                        nestedScopes = nestedResource.getDeleteScopes();
-                    } else {
-                        nestedScopes = new ArrayList<>();
-                    }
-
-                    // Recursively resolve nested scopes
-                    Set<String> deeplyResolvedScopes = resolveScopes(nestedScopes, scope, scopeToResourceMap, visited);
-                    resolvedScopes.addAll(deeplyResolvedScopes);
-                }
-            }
-        }
-
-        return resolvedScopes;
-    }
-
     /**
      * Get console feature permissions from the role permissions.
      *
@@ -636,9 +615,17 @@ public class ConsoleRoleListener extends AbstractRoleManagementListener {
         }
     }
 
-    private Set<String> getSystemRoles() {
+    /**
+     * Get the system roles, resolved once per request.
+     *
+     * @param tenantDomain Tenant domain.
+     * @return Names of the system roles.
+     * @throws IdentityRoleManagementException If an error occurs while resolving the system roles.
+     */
+    private Set<String> getSystemRoles(String tenantDomain) throws IdentityRoleManagementException {
 
-        return AppsCommonDataHolder.getInstance().getRoleManagementServiceV2().getSystemRoles();
+        return ConsoleRoleRequestMemo.getInstance(tenantDomain).get(SYSTEM_ROLES_MEMO_KEY,
+            () -> AppsCommonDataHolder.getInstance().getRoleManagementServiceV2().getSystemRoles());
     }
 
     private boolean isCustomConsoleRoleEnabled() {
@@ -687,71 +674,62 @@ public class ConsoleRoleListener extends AbstractRoleManagementListener {
      * resolved earlier in {@link #getUpgradedPermissions}.
      *
      * @param resolvedRolePermissions Resolved role permissions to be updated in place.
-     * @param apiResourceCollections  API resource collections.
-     * @param systemPermissions       System permissions used to resolve permission details from permission names.
+     * @param resolvedScopes          Ids of the resolved role permissions, updated in place.
+     * @param permissionModel         Console permission model of the tenant.
      */
-    private void resolveWriteFeatureScopes(List<Permission> resolvedRolePermissions,
-                                           List<APIResourceCollection> apiResourceCollections,
-                                           List<Permission> systemPermissions) {
-
-        Set<String> resolvedPermissionNames = resolvedRolePermissions.stream().map(Permission::getName)
-            .collect(Collectors.toCollection(HashSet::new));
-        boolean granular = isGranularConsolePermissionsEnabled();
-        apiResourceCollections.forEach(apiResourceCollection -> {
-            String editFeatureScope = apiResourceCollection.getEditFeatureScope();
-            String createFeatureScope = apiResourceCollection.getCreateFeatureScope();
-            String updateFeatureScope = apiResourceCollection.getUpdateFeatureScope();
-            String deleteFeatureScope = apiResourceCollection.getDeleteFeatureScope();
-
-            boolean hasEdit = editFeatureScope != null && resolvedPermissionNames.contains(editFeatureScope);
-            boolean hasCreate = createFeatureScope != null && resolvedPermissionNames.contains(createFeatureScope);
-            boolean hasUpdate = updateFeatureScope != null && resolvedPermissionNames.contains(updateFeatureScope);
-            boolean hasDelete = deleteFeatureScope != null && resolvedPermissionNames.contains(deleteFeatureScope);
+    private void resolveWriteFeatureScopes(List<Permission> resolvedRolePermissions, BitSet resolvedScopes,
+                                           ConsolePermissionModel permissionModel) {
+
+        boolean granular = permissionModel.isGranularConsolePermissions();
+        for (int[] writeFeatureScopes : permissionModel.getWriteFeatureScopeIds()) {
+            int editFeatureScope = writeFeatureScopes[0];
+            int createFeatureScope = writeFeatureScopes[1];
+            int updateFeatureScope = writeFeatureScopes[2];
+            int deleteFeatureScope = writeFeatureScopes[3];
+
+            boolean hasEdit = editFeatureScope >= 0 && resolvedScopes.get(editFeatureScope);
+            boolean hasCreate = createFeatureScope >= 0 && resolvedScopes.get(createFeatureScope);
+            boolean hasUpdate = updateFeatureScope >= 0 && resolvedScopes.get(updateFeatureScope);
+            boolean hasDelete = deleteFeatureScope >= 0 && resolvedScopes.get(deleteFeatureScope);
 
             // The edit feature scope is equivalent to having the create, update and delete feature scopes.
             if (hasEdit && granular) {
                 if (!hasCreate) {
-                    addResolvedScope(createFeatureScope, systemPermissions, resolvedRolePermissions,
-                        resolvedPermissionNames);
+                    addResolvedScope(createFeatureScope, permissionModel, resolvedRolePermissions, resolvedScopes);
                 }
                 if (!hasUpdate) {
-                    addResolvedScope(updateFeatureScope, systemPermissions, resolvedRolePermissions,
-                        resolvedPermissionNames);
+                    addResolvedScope(updateFeatureScope, permissionModel, resolvedRolePermissions, resolvedScopes);
                 }
                 if (!hasDelete) {
-                    addResolvedScope(deleteFeatureScope, systemPermissions, resolvedRolePermissions,
-                        resolvedPermissionNames);
+                    addResolvedScope(deleteFeatureScope, permissionModel, resolvedRolePermissions, resolvedScopes);
                 }
             }
             // If the role has all the granular write feature scopes, it is equivalent to the edit feature scope.
             if (hasCreate && hasUpdate && hasDelete && !hasEdit) {
-                addResolvedScope(editFeatureScope, systemPermissions, resolvedRolePermissions,
-                    resolvedPermissionNames);
+                addResolvedScope(editFeatureScope, permissionModel, resolvedRolePermissions, resolvedScopes);
             }
-        });
+        }
     }
 
     /**
-     * Resolve the given scope name against the system permissions and add it to the resolved role permissions if it is
+     * Resolve the given scope against the system permissions and add it to the resolved role permissions if it is
      * not already present.
      *
-     * @param scope                   Scope name to resolve and add.
-     * @param systemPermissions       System permissions used to resolve permission details from permission names.
+     * @param scopeId                 Id of the scope to resolve and add, -1 if there is no scope.
+     * @param permissionModel         Console permission model used to resolve permission details from the scope id.
      * @param resolvedRolePermissions Resolved role permissions to be updated in place.
-     * @param resolvedPermissionNames Names of the already resolved permissions, used to avoid duplicates.
+     * @param resolvedScopes          Ids of the already resolved scopes, used to avoid duplicates.
      */
-    private void addResolvedScope(String scope, List<Permission> systemPermissions,
-                                  List<Permission> resolvedRolePermissions, Set<String> resolvedPermissionNames) {
+    private void addResolvedScope(int scopeId, ConsolePermissionModel permissionModel,
+                                  List<Permission> resolvedRolePermissions, BitSet resolvedScopes) {
 
-        if (scope == null || resolvedPermissionNames.contains(scope)) {
+        if (scopeId < 0 || resolvedScopes.get(scopeId)) {
             return;
         }
-        systemPermissions.stream()
-            .filter(systemPermission -> systemPermission.getName().equals(scope))
-            .findFirst()
-            .ifPresent(systemPermission -> {
-                resolvedRolePermissions.add(systemPermission);
-                resolvedPermissionNames.add(scope);
-            });
+        Permission systemPermission = permissionModel.getPermission(scopeId);
+        if (systemPermission != null) {
+            resolvedRolePermissions.add(systemPermission);
+            resolvedScopes.set(scopeId);
+        }
     }
 }
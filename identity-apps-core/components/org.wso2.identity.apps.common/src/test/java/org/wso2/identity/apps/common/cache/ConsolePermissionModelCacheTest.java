@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.common.cache;
+
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.role.v2.mgt.core.exception.IdentityRoleManagementException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link ConsolePermissionModelCache}.
+ */
+public class ConsolePermissionModelCacheTest {
+
+    private static final String TENANT_DOMAIN = "carbon.super";
+    private static final int THREADS = 8;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    public void testConcurrentReadsBuildTheModelOnce() throws Exception {
+
+        ConsolePermissionModelCache cache = new ConsolePermissionModelCache(new ConsoleTenantCache<>(8, 60000));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<ConsolePermissionModel>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(() -> cache.get(TENANT_DOMAIN, true,
+                    tenantDomain -> loadAfter(loading, release))));
+            }
+            assertTrue(loading.await(10, TimeUnit.SECONDS));
+            // Let the other reads reach the cache before the model is built.
+            Thread.sleep(100);
+            release.countDown();
+
+            ConsolePermissionModel model = results.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<ConsolePermissionModel> result : results) {
+                assertSame(result.get(10, TimeUnit.SECONDS), model);
+            }
+            assertEquals(loads.get(), 1);
+            assertSame(cache.get(TENANT_DOMAIN, true, tenantDomain -> load()), model);
+            assertEquals(loads.get(), 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailedBuildIsNotCached() throws Exception {
+
+        ConsolePermissionModelCache cache = new ConsolePermissionModelCache(new ConsoleTenantCache<>(8, 60000));
+        try {
+            cache.get(TENANT_DOMAIN, true, tenantDomain -> {
+                throw new IdentityRoleManagementException("Can't build the model.");
+            });
+        } catch (IdentityRoleManagementException e) {
+            ConsolePermissionModel model = cache.get(TENANT_DOMAIN, true, tenantDomain -> load());
+            assertSame(cache.get(TENANT_DOMAIN, true, tenantDomain -> load()), model);
+            assertEquals(loads.get(), 1);
+            return;
+        }
+        throw new AssertionError("Failure of the build is not thrown.");
+    }
+
+    @Test
+    public void testInvalidatedModelIsBuiltAgain() throws Exception {
+
+        ConsolePermissionModelCache cache = new ConsolePermissionModelCache(new ConsoleTenantCache<>(8, 60000));
+        ConsolePermissionModel model = cache.get(TENANT_DOMAIN, true, tenantDomain -> load());
+
+        cache.invalidate(TENANT_DOMAIN);
+        assertNotSame(cache.get(TENANT_DOMAIN, true, tenantDomain -> load()), model);
+        assertEquals(loads.get(), 2);
+    }
+
+    /**
+     * Build a model once the given latch is released.
+     *
+     * @param loading Latch counted down when the build starts.
+     * @param release Latch which holds the build.
+     * @return Console permission model.
+     */
+    private ConsolePermissionModel loadAfter(CountDownLatch loading, CountDownLatch release) {
+
+        loading.countDown();
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return load();
+    }
+
+    private ConsolePermissionModel load() {
+
+        loads.incrementAndGet();
+        return new ConsolePermissionModel(Collections.emptyList(), Collections.emptyMap(), true);
+    }
+}
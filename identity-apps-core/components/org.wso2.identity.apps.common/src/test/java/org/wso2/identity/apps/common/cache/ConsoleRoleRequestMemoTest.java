@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.common.cache;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Unit tests for {@link ConsoleRoleRequestMemo}.
+ */
+public class ConsoleRoleRequestMemoTest {
+
+    private static final String TENANT_DOMAIN = "carbon.super";
+    private static final String KEY = "key";
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeMethod
+    public void setUp() {
+
+        loads.set(0);
+        ConsoleRoleRequestMemo.clear();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        ConsoleRoleRequestMemo.clear();
+    }
+
+    @Test
+    public void testValueIsResolvedOncePerRequest() throws Exception {
+
+        ConsoleRoleRequestMemo.getInstance(TENANT_DOMAIN).get(KEY, this::load);
+        ConsoleRoleRequestMemo.getInstance(TENANT_DOMAIN).get(KEY, this::load);
+        assertEquals(loads.get(), 1);
+
+        // The memo of another tenant doesn't share the values.
+        ConsoleRoleRequestMemo.getInstance("wso2.com").get(KEY, this::load);
+        assertEquals(loads.get(), 2);
+    }
+
+    @Test
+    public void testInvalidationOnAnotherThreadDiscardsTheMemo() throws Exception {
+
+        ConsoleRoleRequestMemo.getInstance(TENANT_DOMAIN).get(KEY, this::load);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> ConsolePermissionModelCache.getInstance().invalidate(TENANT_DOMAIN))
+                .get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        ConsoleRoleRequestMemo.getInstance(TENANT_DOMAIN).get(KEY, this::load);
+        assertEquals(loads.get(), 2);
+    }
+
+    private Integer load() {
+
+        return loads.incrementAndGet();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.common.cache;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Unit tests for {@link ConsoleTenantCache}.
+ */
+public class ConsoleTenantCacheTest {
+
+    private static final long TIMEOUT = 60000;
+
+    @Test
+    public void testValueIsCachedPerTenant() {
+
+        ConsoleTenantCache<String> cache = new ConsoleTenantCache<>(8, TIMEOUT);
+        cache.put("carbon.super", "super", cache.getGeneration());
+        cache.put("wso2.com", "wso2", cache.getGeneration());
+
+        assertEquals(cache.get("carbon.super"), "super");
+        assertEquals(cache.get("wso2.com"), "wso2");
+        assertNull(cache.get("abc.com"));
+
+        cache.invalidate("carbon.super");
+        assertNull(cache.get("carbon.super"));
+        assertEquals(cache.get("wso2.com"), "wso2");
+        cache.invalidateAll();
+        assertEquals(cache.size(), 0);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedTenantIsEvicted() {
+
+        ConsoleTenantCache<String> cache = new ConsoleTenantCache<>(2, TIMEOUT);
+        cache.put("tenant-1", "1", cache.getGeneration());
+        cache.put("tenant-2", "2", cache.getGeneration());
+        assertEquals(cache.get("tenant-1"), "1");
+        cache.put("tenant-3", "3", cache.getGeneration());
+
+        assertEquals(cache.size(), 2);
+        assertEquals(cache.get("tenant-1"), "1");
+        assertNull(cache.get("tenant-2"));
+    }
+
+    @Test
+    public void testExpiredValuesAreEvicted() throws InterruptedException {
+
+        ConsoleTenantCache<String> cache = new ConsoleTenantCache<>(8, 20);
+        cache.put("tenant-1", "1", cache.getGeneration());
+        cache.put("tenant-2", "2", cache.getGeneration());
+        Thread.sleep(50);
+
+        assertNull(cache.get("tenant-1"));
+        cache.put("tenant-3", "3", cache.getGeneration());
+        // The expired value of tenant-2 is evicted without being read.
+        assertEquals(cache.size(), 1);
+    }
+
+    @Test
+    public void testValueLoadedBeforeInvalidationIsNotCached() {
+
+        ConsoleTenantCache<String> cache = new ConsoleTenantCache<>(8, TIMEOUT);
+        long loaderGeneration = cache.getGeneration();
+        cache.invalidate("carbon.super");
+        cache.put("carbon.super", "stale", loaderGeneration);
+
+        assertNull(cache.get("carbon.super"));
+    }
+}
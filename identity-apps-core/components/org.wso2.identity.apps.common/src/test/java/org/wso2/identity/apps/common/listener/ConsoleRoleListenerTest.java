@@ -28,30 +28,45 @@ import org.wso2.carbon.identity.api.resource.collection.mgt.model.APIResourceCol
 import org.wso2.carbon.identity.api.resource.collection.mgt.model.APIResourceCollectionSearchResult;
 import org.wso2.carbon.identity.api.resource.mgt.APIResourceManager;
 import org.wso2.carbon.identity.application.common.model.Scope;
+import org.wso2.carbon.identity.application.mgt.ApplicationManagementService;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.role.v2.mgt.core.RoleManagementService;
+import org.wso2.carbon.identity.role.v2.mgt.core.exception.IdentityRoleManagementClientException;
 import org.wso2.carbon.identity.role.v2.mgt.core.model.Permission;
 import org.wso2.carbon.identity.role.v2.mgt.core.model.Role;
+import org.wso2.identity.apps.common.cache.ConsolePermissionModel;
+import org.wso2.identity.apps.common.cache.ConsolePermissionModelCache;
+import org.wso2.identity.apps.common.cache.ConsoleRoleRequestMemo;
+import org.wso2.identity.apps.common.cache.SystemConsoleRoleCache;
 import org.wso2.identity.apps.common.internal.AppsCommonDataHolder;
 import org.wso2.identity.apps.common.listner.ConsoleRoleListener;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
 import static org.testng.Assert.assertTrue;
 import static org.wso2.carbon.identity.role.v2.mgt.core.RoleConstants.ADMINISTRATOR;
 import static org.wso2.carbon.identity.role.v2.mgt.core.RoleConstants.CONSOLE_APP_AUDIENCE_NAME;
@@ -62,7 +77,8 @@ import static org.wso2.carbon.identity.role.v2.mgt.core.RoleConstants.CONSOLE_AP
  * Covers the public {@code postGetRole} entry point (which funnels through the private
  * {@code getUpgradedPermissions}) for both the new-roles branch and the legacy (7.0.0) branch, plus direct
  * reflection-based tests for the {@code resolveWriteFeatureScopes} / {@code addResolvedScope} consolidation helpers
- * that keep the edit (write) feature scope and the granular create/update/delete feature scopes consistent.
+ * that keep the edit (write) feature scope and the granular create/update/delete feature scopes consistent. The
+ * helpers work on the scope ids of a {@link ConsolePermissionModel} built from the given collections.
  */
 public class ConsoleRoleListenerTest {
 
@@ -109,6 +125,8 @@ public class ConsoleRoleListenerTest {
         identityUtil = mockStatic(IdentityUtil.class);
         identityUtil.when(() -> IdentityUtil.getProperty(anyString())).thenReturn("true");
         closeable = MockitoAnnotations.openMocks(this);
+        ConsolePermissionModelCache.getInstance().invalidateAll();
+        SystemConsoleRoleCache.getInstance().invalidateAll();
     }
 
     @AfterMethod
@@ -117,6 +135,8 @@ public class ConsoleRoleListenerTest {
         identityUtil.close();
         appsCommonDataHolder.close();
         closeable.close();
+        ConsolePermissionModelCache.getInstance().invalidateAll();
+        SystemConsoleRoleCache.getInstance().invalidateAll();
     }
 
     /**
@@ -270,6 +290,95 @@ public class ConsoleRoleListenerTest {
             "Edit feature scope present must add the granular create/update/delete feature scopes.");
     }
 
+    @Test
+    public void testPostGetRoleLegacyRoleWithoutLegacyWriteScopeResolvesReadScopes() throws Exception {
+
+        // Only the collections matched by a read scope grant scopes, and only the read scopes without a legacy write.
+        APIResourceCollection groupsCollection = new APIResourceCollection();
+        groupsCollection.setReadScopes(Collections.singletonList("console:groupMgt:view"));
+        groupsCollection.setWriteScopes(Collections.singletonList(INTERNAL_USER_DELETE));
+        mockDataHolder(allSystemScopes(), Arrays.asList(legacyCollection(INTERNAL_USER_WRITE_SCOPES),
+            groupsCollection));
+        Role role = buildRole("legacy", CONSOLE_APP_AUDIENCE_NAME, Collections.singletonList(perm(LEGACY_VIEW)));
+
+        consoleRoleListener.postGetRole(role, "roleId", TENANT_DOMAIN);
+
+        assertEquals(names(role.getPermissions()), new HashSet<>(Arrays.asList(LEGACY_VIEW, INTERNAL_USER_VIEW)));
+    }
+
+    @Test
+    public void testPermissionModelIsBuiltOncePerTenant() throws Exception {
+
+        mockDataHolder(allSystemScopes(), Collections.singletonList(usersCollection()));
+        for (int i = 0; i < 3; i++) {
+            Role role = buildRole("viewer", CONSOLE_APP_AUDIENCE_NAME, Collections.singletonList(perm(USERS_VIEW)));
+            consoleRoleListener.postGetRole(role, "roleId", TENANT_DOMAIN);
+            assertEquals(names(role.getPermissions()), new HashSet<>(Arrays.asList(INTERNAL_USER_VIEW,
+                INTERNAL_USER_LIST)));
+        }
+
+        // The collections and the system scopes are fetched once, and reused by the following role reads.
+        verify(apiResourceCollectionManager, times(1)).getAPIResourceCollections(anyString(), anyList(),
+            anyString());
+        verify(apiResourceManager, times(1)).getSystemAPIScopes(anyString());
+    }
+
+    @Test
+    public void testInvalidatedPermissionModelIsRebuilt() throws Exception {
+
+        mockDataHolder(allSystemScopes(), Collections.singletonList(usersCollection()));
+        Role role = buildRole("viewer", CONSOLE_APP_AUDIENCE_NAME, Collections.singletonList(perm(USERS_VIEW)));
+        consoleRoleListener.postGetRole(role, "roleId", TENANT_DOMAIN);
+
+        // The view feature scope of the collection is changed to resolve only the view scope.
+        APIResourceCollection collection = usersCollection();
+        collection.setReadScopes(Collections.singletonList(INTERNAL_USER_VIEW));
+        when(apiResourceCollectionManager.getAPIResourceCollections(anyString(), anyList(), anyString()))
+            .thenReturn(new APIResourceCollectionSearchResult(Collections.singletonList(collection)));
+        ConsolePermissionModelCache.getInstance().invalidate(TENANT_DOMAIN);
+
+        role = buildRole("viewer", CONSOLE_APP_AUDIENCE_NAME, Collections.singletonList(perm(USERS_VIEW)));
+        consoleRoleListener.postGetRole(role, "roleId", TENANT_DOMAIN);
+        assertEquals(names(role.getPermissions()), new HashSet<>(Collections.singletonList(INTERNAL_USER_VIEW)));
+        verify(apiResourceManager, times(2)).getSystemAPIScopes(anyString());
+    }
+
+    @Test
+    public void testResolvedPermissionsAreNotShared() throws Exception {
+
+        mockDataHolder(allSystemScopes(), Collections.singletonList(usersCollection()));
+        Role role = buildRole("viewer", CONSOLE_APP_AUDIENCE_NAME, Collections.singletonList(perm(USERS_VIEW)));
+        consoleRoleListener.postGetRole(role, "roleId", TENANT_DOMAIN);
+        Role otherRole = buildRole("viewer", CONSOLE_APP_AUDIENCE_NAME, Collections.singletonList(perm(USERS_VIEW)));
+        consoleRoleListener.postGetRole(otherRole, "otherRoleId", TENANT_DOMAIN);
+
+        // Each role gets its own permissions, so modifying them doesn't affect the permission model or other roles.
+        assertEquals(names(otherRole.getPermissions()), names(role.getPermissions()));
+        for (Permission permission : role.getPermissions()) {
+            for (Permission otherPermission : otherRole.getPermissions()) {
+                assertNotSame(permission, otherPermission);
+            }
+        }
+    }
+
+    @Test
+    public void testSystemRolesAreResolvedOncePerRequest() throws Exception {
+
+        RoleManagementService roleManagementService = mockDataHolder(allSystemScopes(),
+            Collections.singletonList(usersCollection()));
+        for (int i = 0; i < 3; i++) {
+            Role role = buildRole("viewer" + i, CONSOLE_APP_AUDIENCE_NAME, Collections.singletonList(perm(USERS_VIEW)));
+            consoleRoleListener.postGetRole(role, "roleId" + i, TENANT_DOMAIN);
+        }
+        verify(roleManagementService, times(1)).getSystemRoles();
+
+        // A new request resolves the system roles again.
+        ConsoleRoleRequestMemo.clear();
+        Role role = buildRole("viewer", CONSOLE_APP_AUDIENCE_NAME, Collections.singletonList(perm(USERS_VIEW)));
+        consoleRoleListener.postGetRole(role, "roleId", TENANT_DOMAIN);
+        verify(roleManagementService, times(2)).getSystemRoles();
+    }
+
     @Test
     public void testResolveWriteFeatureScopesForwardAddsEdit() throws Exception {
 
@@ -355,7 +464,85 @@ public class ConsoleRoleListenerTest {
         assertTrue(resolved.isEmpty(), "A scope absent from system permissions must not be added.");
     }
 
-    private void mockDataHolder(List<Scope> systemScopes, List<APIResourceCollection> collections) throws Exception {
+    @Test
+    public void testPostGetPermissionListOfRolesLooksUpSystemConsoleRolesOnce() throws Exception {
+
+        RoleManagementService roleManagementService = mockDataHolder(allSystemScopes(),
+            Collections.singletonList(usersCollection()));
+        when(roleManagementService.getSystemRoles()).thenReturn(new LinkedHashSet<>(Arrays.asList(ADMINISTRATOR,
+            "Billing")));
+        when(roleManagementService.getRoleIdByName(eq(ADMINISTRATOR), anyString(), anyString(), anyString()))
+            .thenReturn("adminRoleId");
+        when(roleManagementService.getRoleIdByName(eq("Billing"), anyString(), anyString(), anyString()))
+            .thenReturn("billingRoleId");
+        identityUtil.when(IdentityUtil::getSystemRolesWithScopesInOriginalCase)
+            .thenReturn(Collections.singletonMap("Billing", Collections.singleton(USERS_VIEW)));
+
+        for (int i = 0; i < 3; i++) {
+            List<String> permissions = new ArrayList<>();
+            consoleRoleListener.postGetPermissionListOfRoles(permissions, Collections.singletonList("billingRoleId"),
+                TENANT_DOMAIN);
+            assertEquals(new HashSet<>(permissions), new HashSet<>(Arrays.asList(INTERNAL_USER_VIEW,
+                INTERNAL_USER_LIST)));
+        }
+
+        // The system console role ids are looked up once, and the roles are matched by id without role lookups.
+        verify(roleManagementService, times(2)).getRoleIdByName(anyString(), anyString(), anyString(), anyString());
+        verify(roleManagementService, never()).getRoleBasicInfoById(anyString(), anyString());
+    }
+
+    @Test
+    public void testMissingSystemConsoleRolesAreLookedUpAgain() throws Exception {
+
+        RoleManagementService roleManagementService = mockDataHolder(allSystemScopes(),
+            Collections.singletonList(usersCollection()));
+        when(roleManagementService.getSystemRoles()).thenReturn(new LinkedHashSet<>(Arrays.asList(ADMINISTRATOR,
+            "Billing")));
+        when(roleManagementService.getRoleIdByName(eq(ADMINISTRATOR), anyString(), anyString(), anyString()))
+            .thenReturn("adminRoleId");
+        // The Billing role is not shared with the organization yet on the first lookup.
+        when(roleManagementService.getRoleIdByName(eq("Billing"), anyString(), anyString(), anyString()))
+            .thenThrow(new IdentityRoleManagementClientException("Role not found"))
+            .thenReturn("billingRoleId");
+        identityUtil.when(IdentityUtil::getSystemRolesWithScopesInOriginalCase)
+            .thenReturn(Collections.singletonMap("Billing", Collections.singleton(USERS_VIEW)));
+
+        List<String> permissions = new ArrayList<>();
+        consoleRoleListener.postGetPermissionListOfRoles(permissions, Collections.singletonList("billingRoleId"),
+            TENANT_DOMAIN);
+        assertTrue(permissions.isEmpty());
+
+        for (int i = 0; i < 2; i++) {
+            permissions = new ArrayList<>();
+            consoleRoleListener.postGetPermissionListOfRoles(permissions, Collections.singletonList("billingRoleId"),
+                TENANT_DOMAIN);
+            assertEquals(new HashSet<>(permissions), new HashSet<>(Arrays.asList(INTERNAL_USER_VIEW,
+                INTERNAL_USER_LIST)));
+        }
+        // The partial role ids of the first call are not cached, and the complete ones of the second call are.
+        verify(roleManagementService, times(4)).getRoleIdByName(anyString(), anyString(), anyString(), anyString());
+    }
+
+    @Test
+    public void testFeatureScopeClosureIncludesNestedFeatureScopes() {
+
+        // The groups view feature scope nests the users view feature scope, so its closure includes the users scopes.
+        APIResourceCollection groupsCollection = new APIResourceCollection();
+        groupsCollection.setViewFeatureScope("console:groups_view");
+        groupsCollection.setReadScopes(Arrays.asList("internal_group_view", USERS_VIEW));
+        List<String> scopeNames = new ArrayList<>(allScopeNames());
+        scopeNames.addAll(Arrays.asList("console:groups_view", "internal_group_view"));
+        ConsolePermissionModel permissionModel = new ConsolePermissionModel(Arrays.asList(usersCollection(),
+            groupsCollection), permissionsMap(permissions(scopeNames)), true);
+
+        List<Permission> resolved = permissionModel.getPermissions(
+            permissionModel.resolveFeatureScopes(Collections.singletonList("console:groups_view")));
+        assertEquals(names(resolved), new HashSet<>(Arrays.asList("internal_group_view", USERS_VIEW,
+            INTERNAL_USER_VIEW, INTERNAL_USER_LIST)));
+    }
+
+    private RoleManagementService mockDataHolder(List<Scope> systemScopes, List<APIResourceCollection> collections)
+        throws Exception {
 
         AppsCommonDataHolder dataHolder = mock(AppsCommonDataHolder.class);
         appsCommonDataHolder.when(AppsCommonDataHolder::getInstance).thenReturn(dataHolder);
@@ -368,6 +555,11 @@ public class ConsoleRoleListenerTest {
         APIResourceCollectionSearchResult searchResult = new APIResourceCollectionSearchResult(collections);
         when(apiResourceCollectionManager.getAPIResourceCollections(anyString(), anyList(), anyString()))
             .thenReturn(searchResult);
+        ApplicationManagementService applicationManagementService = mock(ApplicationManagementService.class);
+        when(dataHolder.getApplicationManagementService()).thenReturn(applicationManagementService);
+        when(applicationManagementService.getApplicationUUIDByName(anyString(), anyString()))
+            .thenReturn("consoleAppId");
+        return roleManagementService;
     }
 
     private static Role buildRole(String name, String audienceName, List<Permission> permissions) {
@@ -466,19 +658,45 @@ public class ConsoleRoleListenerTest {
                                                  List<APIResourceCollection> collections,
                                                  List<Permission> systemPermissions) throws Exception {
 
+        ConsolePermissionModel permissionModel = new ConsolePermissionModel(collections,
+            permissionsMap(systemPermissions), true);
         Method method = ConsoleRoleListener.class.getDeclaredMethod("resolveWriteFeatureScopes", List.class,
-            List.class, List.class);
+            BitSet.class, ConsolePermissionModel.class);
         method.setAccessible(true);
-        method.invoke(consoleRoleListener, resolvedRolePermissions, collections, systemPermissions);
+        method.invoke(consoleRoleListener, resolvedRolePermissions,
+            permissionModel.getScopeIds(resolvedRolePermissions), permissionModel);
     }
 
     private void invokeAddResolvedScope(String scope, List<Permission> systemPermissions,
                                         List<Permission> resolvedRolePermissions, Set<String> resolvedPermissionNames)
         throws Exception {
 
-        Method method = ConsoleRoleListener.class.getDeclaredMethod("addResolvedScope", String.class, List.class,
-            List.class, Set.class);
+        ConsolePermissionModel permissionModel = new ConsolePermissionModel(Collections.emptyList(),
+            permissionsMap(systemPermissions), true);
+        BitSet resolvedScopes = new BitSet();
+        for (String resolvedPermissionName : resolvedPermissionNames) {
+            int scopeId = permissionModel.getScopeId(resolvedPermissionName);
+            if (scopeId >= 0) {
+                resolvedScopes.set(scopeId);
+            }
+        }
+        Method method = ConsoleRoleListener.class.getDeclaredMethod("addResolvedScope", int.class,
+            ConsolePermissionModel.class, List.class, BitSet.class);
         method.setAccessible(true);
-        method.invoke(consoleRoleListener, scope, systemPermissions, resolvedRolePermissions, resolvedPermissionNames);
+        method.invoke(consoleRoleListener, permissionModel.getScopeId(scope), permissionModel,
+            resolvedRolePermissions, resolvedScopes);
+        for (int scopeId = resolvedScopes.nextSetBit(0); scopeId >= 0;
+             scopeId = resolvedScopes.nextSetBit(scopeId + 1)) {
+            resolvedPermissionNames.add(permissionModel.getPermission(scopeId).getName());
+        }
+    }
+
+    private static Map<String, Permission> permissionsMap(List<Permission> permissions) {
+
+        Map<String, Permission> permissionsMap = new HashMap<>();
+        for (Permission permission : permissions) {
+            permissionsMap.put(permission.getName(), permission);
+        }
+        return permissionsMap;
     }
 }
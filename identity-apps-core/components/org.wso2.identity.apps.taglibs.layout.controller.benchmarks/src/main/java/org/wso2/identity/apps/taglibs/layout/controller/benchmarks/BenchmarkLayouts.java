@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.benchmarks;
+
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.ExecutableIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.parsers.DefaultParser;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.serializers.BinaryLayoutFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Benchmark inputs. The bundled login portal layouts are copied from the class path and the synthetic layouts are
+ * generated into a temporary layouts home directory, together with their compiled layout files in both the binary
+ * format and the legacy Java serialized format.
+ *
+ * Layouts:
+ *  - centered, left-image, right-image, left-aligned, right-aligned : Bundled login portal layouts.
+ *  - synthetic-large : Generated layout of 200 sections (~100 KB).
+ *  - synthetic-huge  : Generated layout of 2000 sections (~1 MB).
+ */
+public final class BenchmarkLayouts {
+
+    public static final String BINARY_FORMAT = "binary";
+    public static final String JAVA_SERIALIZATION_FORMAT = "java";
+
+    private static final String[] BUNDLED_LAYOUTS =
+            {"centered", "left-image", "right-image", "left-aligned", "right-aligned"};
+    private static final String SYNTHETIC_LARGE_LAYOUT = "synthetic-large";
+    private static final String SYNTHETIC_HUGE_LAYOUT = "synthetic-huge";
+    private static final int SYNTHETIC_LARGE_SECTIONS = 200;
+    private static final int SYNTHETIC_HUGE_SECTIONS = 2000;
+    private static final int SYNTHETIC_VARIANTS = 8;
+
+    private static Path layoutsHome;
+
+    private BenchmarkLayouts() {
+
+    }
+
+    /**
+     * Get the layout file (body.html) of the given layout.
+     *
+     * @param layout Layout name.
+     * @return Layout file path as a URL object.
+     */
+    public static URL getLayoutFile(String layout) {
+
+        return toURL(getLayoutDirectory(layout).resolve("body.html"));
+    }
+
+    /**
+     * Get the compiled layout file of the given layout.
+     *
+     * @param layout Layout name.
+     * @param format Either {@link #BINARY_FORMAT} or {@link #JAVA_SERIALIZATION_FORMAT}.
+     * @return Compiled layout file path as a URL object.
+     */
+    public static URL getCompiledLayoutFile(String layout, String format) {
+
+        return toURL(getLayoutDirectory(layout).resolve(compiledLayoutFileName(format)));
+    }
+
+    /**
+     * Get the raw HTML content of the given layout.
+     *
+     * @param layout Layout name.
+     * @return Layout content.
+     */
+    public static String getLayoutContent(String layout) {
+
+        try {
+            return new String(Files.readAllBytes(getLayoutDirectory(layout).resolve("body.html")),
+                    StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't read the layout: " + layout, e);
+        }
+    }
+
+    /**
+     * Create the data to execute the given layout. Every condition of the layout is set, so both the condition and
+     * the not condition paths are exercised, and data values contain characters to be encoded.
+     *
+     * @param layout Layout name.
+     * @return Layout data.
+     */
+    public static Map<String, Object> createData(String layout) {
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("BASE_URL", "libs/themes/default/layouts/" + layout);
+        data.put("isPolicyPage", false);
+        data.put("isErrorResponse", "");
+        data.put("isSuccessResponse", true);
+        data.put("sideImgUrl", "images/side-image.png");
+        data.put("sideImgAltText", "Side image of \"" + layout + "\"");
+        data.put("productTagLine", "Identity & Access Management <IAM>");
+        for (int i = 0; i < SYNTHETIC_VARIANTS; i++) {
+            data.put("showSection-" + i, i % 2 == 0);
+            data.put("title-" + i, "Section <" + i + ">");
+            data.put("description-" + i, "Description of the section " + i + " & its \"content\"");
+        }
+        data.put("hideFooter", false);
+        return data;
+    }
+
+    private static Path getLayoutDirectory(String layout) {
+
+        Path directory = getLayoutsHome().resolve(layout);
+        if (!Files.isDirectory(directory)) {
+            throw new IllegalArgumentException("Unknown benchmark layout: " + layout);
+        }
+        return directory;
+    }
+
+    private static synchronized Path getLayoutsHome() {
+
+        if (layoutsHome == null) {
+            try {
+                Path home = Files.createTempDirectory("layout-benchmarks");
+                for (String layout : BUNDLED_LAYOUTS) {
+                    try (InputStream layoutFile = BenchmarkLayouts.class.getClassLoader()
+                            .getResourceAsStream("layouts/" + layout + "/body.html")) {
+                        if (layoutFile == null) {
+                            throw new IllegalStateException("Bundled layout is not available: " + layout);
+                        }
+                        Files.createDirectories(home.resolve(layout));
+                        Files.copy(layoutFile, home.resolve(layout).resolve("body.html"));
+                    }
+                }
+                writeSyntheticLayout(home.resolve(SYNTHETIC_LARGE_LAYOUT), SYNTHETIC_LARGE_SECTIONS);
+                writeSyntheticLayout(home.resolve(SYNTHETIC_HUGE_LAYOUT), SYNTHETIC_HUGE_SECTIONS);
+                try (Stream<Path> directories = Files.list(home)) {
+                    directories.forEach(BenchmarkLayouts::writeCompiledLayouts);
+                }
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> delete(home)));
+                layoutsHome = home;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Can't prepare the benchmark layouts", e);
+            }
+        }
+        return layoutsHome;
+    }
+
+    private static void writeSyntheticLayout(Path directory, int sections) throws IOException {
+
+        StringBuilder layout = new StringBuilder();
+        layout.append("<div class=\"synthetic-layout\">\n")
+                .append("    <div class=\"header\">{{{ProductHeader}}}</div>\n");
+        for (int i = 0; i < sections; i++) {
+            int variant = i % SYNTHETIC_VARIANTS;
+            layout.append("    <section class=\"section section-").append(i).append("\">\n")
+                    .append("        {{#showSection-").append(variant).append("}}\n")
+                    .append("        <h2 class=\"ui header\">{{title-").append(variant).append("}}</h2>\n")
+                    .append("        <p class=\"description\">{{description-").append(variant).append("}}</p>\n")
+                    .append("        {{/showSection-").append(variant).append("}}\n")
+                    .append("        {{^hideFooter}}\n")
+                    .append("        <div class=\"section-footer\">\n")
+                    .append("            <a href=\"{{BASE_URL}}/sections/").append(i)
+                    .append("\" class=\"link\">Read more about the section ").append(i).append("</a>\n")
+                    .append("        </div>\n")
+                    .append("        {{/hideFooter}}\n")
+                    .append("        <div class=\"component\">{{{Component-").append(variant).append("}}}</div>\n")
+                    .append("    </section>\n");
+        }
+        layout.append("    <div class=\"footer\">{{{ProductFooter}}}</div>\n")
+                .append("</div>\n");
+        Files.createDirectories(directory);
+        Files.write(directory.resolve("body.html"), layout.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeCompiledLayouts(Path directory) {
+
+        try {
+            ExecutableIdentifier compiledLayout =
+                    new DefaultParser().compile(directory.resolve("body.html").toUri().toURL());
+            try (OutputStream out = Files.newOutputStream(directory.resolve(compiledLayoutFileName(BINARY_FORMAT)))) {
+                BinaryLayoutFormat.write(compiledLayout, out);
+            }
+            try (ObjectOutputStream out = new ObjectOutputStream(
+                    Files.newOutputStream(directory.resolve(compiledLayoutFileName(JAVA_SERIALIZATION_FORMAT))))) {
+                out.writeObject(compiledLayout);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't compile the benchmark layout: " + directory, e);
+        }
+    }
+
+    private static String compiledLayoutFileName(String format) {
+
+        if (BINARY_FORMAT.equals(format)) {
+            return "body.ser";
+        } else if (JAVA_SERIALIZATION_FORMAT.equals(format)) {
+            return "body-java.ser";
+        }
+        throw new IllegalArgumentException("Unknown compiled layout format: " + format);
+    }
+
+    private static URL toURL(Path path) {
+
+        try {
+            return path.toUri().toURL();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void delete(Path home) {
+
+        try (Stream<Path> paths = Files.walk(home)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            // Ignore the exception as this is a cleanup operation.
+        }
+    }
+}
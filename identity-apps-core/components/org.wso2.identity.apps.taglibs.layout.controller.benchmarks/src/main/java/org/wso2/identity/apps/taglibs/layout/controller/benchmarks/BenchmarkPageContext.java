@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.benchmarks;
+
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.servlet.Servlet;
+import javax.servlet.ServletConfig;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpSession;
+import javax.servlet.jsp.JspWriter;
+import javax.servlet.jsp.PageContext;
+import javax.servlet.jsp.el.ExpressionEvaluator;
+import javax.servlet.jsp.el.VariableResolver;
+
+/**
+ * Minimal page context for the benchmarks. Only the page scope attributes, the output writer and the servlet context
+ * are supported, which is all the layout processors use.
+ */
+public class BenchmarkPageContext extends PageContext {
+
+    private final Map<String, Object> attributes = new HashMap<>();
+    private final JspWriter out;
+    private final ServletContext servletContext;
+
+    /**
+     * Constructor.
+     *
+     * @param out Output writer of the page.
+     */
+    public BenchmarkPageContext(JspWriter out) {
+
+        this(out, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param out            Output writer of the page.
+     * @param servletContext Servlet context of the page.
+     */
+    public BenchmarkPageContext(JspWriter out, ServletContext servletContext) {
+
+        this.out = out;
+        this.servletContext = servletContext;
+    }
+
+    @Override
+    public void initialize(Servlet servlet, ServletRequest request, ServletResponse response, String errorPageURL,
+                           boolean needsSession, int bufferSize, boolean autoFlush) {
+
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void release() {
+
+        attributes.clear();
+    }
+
+    @Override
+    public HttpSession getSession() {
+
+        return null;
+    }
+
+    @Override
+    public Object getPage() {
+
+        return null;
+    }
+
+    @Override
+    public ServletRequest getRequest() {
+
+        return null;
+    }
+
+    @Override
+    public ServletResponse getResponse() {
+
+        return null;
+    }
+
+    @Override
+    public Exception getException() {
+
+        return null;
+    }
+
+    @Override
+    public ServletConfig getServletConfig() {
+
+        return null;
+    }
+
+    @Override
+    public ServletContext getServletContext() {
+
+        return servletContext;
+    }
+
+    @Override
+    public void forward(String relativeUrlPath) {
+
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void include(String relativeUrlPath) {
+
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void include(String relativeUrlPath, boolean flush) {
+
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void handlePageException(Exception e) {
+
+        throw new UnsupportedOperationException(e);
+    }
+
+    @Override
+    public void handlePageException(Throwable t) {
+
+        throw new UnsupportedOperationException(t);
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+
+        attributes.put(name, value);
+    }
+
+    @Override
+    public void setAttribute(String name, Object value, int scope) {
+
+        attributes.put(name, value);
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+
+        return attributes.get(name);
+    }
+
+    @Override
+    public Object getAttribute(String name, int scope) {
+
+        return attributes.get(name);
+    }
+
+    @Override
+    public Object findAttribute(String name) {
+
+        return attributes.get(name);
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+
+        attributes.remove(name);
+    }
+
+    @Override
+    public void removeAttribute(String name, int scope) {
+
+        attributes.remove(name);
+    }
+
+    @Override
+    public int getAttributesScope(String name) {
+
+        return attributes.containsKey(name) ? PAGE_SCOPE : 0;
+    }
+
+    @Override
+    public Enumeration getAttributeNamesInScope(int scope) {
+
+        return Collections.enumeration(attributes.keySet());
+    }
+
+    @Override
+    public JspWriter getOut() {
+
+        return out;
+    }
+
+    @Override
+    public ExpressionEvaluator getExpressionEvaluator() {
+
+        return null;
+    }
+
+    @Override
+    public VariableResolver getVariableResolver() {
+
+        return null;
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.servlet.RequestDispatcher;
+import javax.servlet.Servlet;
+import javax.servlet.ServletContext;
+
+/**
+ * Minimal servlet context for the benchmarks. Resources are registered up front, so resolving a resource doesn't
+ * allocate and the measured allocation belongs to the tag library. Only the resources and the attributes are
+ * supported.
+ */
+public class BenchmarkServletContext implements ServletContext {
+
+    private final Map<String, URL> resources = new HashMap<>();
+    private final Map<String, Object> attributes = new HashMap<>();
+
+    /**
+     * Register a resource of the servlet context.
+     *
+     * @param path     Resource path.
+     * @param resource Location of the resource.
+     */
+    public void addResource(String path, URL resource) {
+
+        resources.put(path, resource);
+    }
+
+    @Override
+    public URL getResource(String path) {
+
+        return resources.get(path);
+    }
+
+    @Override
+    public InputStream getResourceAsStream(String path) {
+
+        URL resource = resources.get(path);
+        if (resource == null) {
+            return null;
+        }
+        try {
+            return resource.openStream();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Set<String> getResourcePaths(String path) {
+
+        return Collections.emptySet();
+    }
+
+    @Override
+    public String getRealPath(String path) {
+
+        return null;
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+
+        return attributes.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+
+        return Collections.enumeration(attributes.keySet());
+    }
+
+    @Override
+    public void setAttribute(String name, Object object) {
+
+        attributes.put(name, object);
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+
+        attributes.remove(name);
+    }
+
+    @Override
+    public ServletContext getContext(String uripath) {
+
+        return this;
+    }
+
+    @Override
+    public String getContextPath() {
+
+        return "";
+    }
+
+    @Override
+    public int getMajorVersion() {
+
+        return 2;
+    }
+
+    @Override
+    public int getMinorVersion() {
+
+        return 5;
+    }
+
+    @Override
+    public String getMimeType(String file) {
+
+        return null;
+    }
+
+    @Override
+    public RequestDispatcher getRequestDispatcher(String path) {
+
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public RequestDispatcher getNamedDispatcher(String name) {
+
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Servlet getServlet(String name) {
+
+        return null;
+    }
+
+    @Override
+    public Enumeration<Servlet> getServlets() {
+
+        return Collections.emptyEnumeration();
+    }
+
+    @Override
+    public Enumeration<String> getServletNames() {
+
+        return Collections.emptyEnumeration();
+    }
+
+    @Override
+    public void log(String msg) {
+
+    }
+
+    @Override
+    public void log(Exception exception, String msg) {
+
+    }
+
+    @Override
+    public void log(String message, Throwable throwable) {
+
+    }
+
+    @Override
+    public String getServerInfo() {
+
+        return "benchmarks";
+    }
+
+    @Override
+    public String getInitParameter(String name) {
+
+        return null;
+    }
+
+    @Override
+    public Enumeration<String> getInitParameterNames() {
+
+        return Collections.emptyEnumeration();
+    }
+
+    @Override
+    public String getServletContextName() {
+
+        return "benchmarks";
+    }
+}
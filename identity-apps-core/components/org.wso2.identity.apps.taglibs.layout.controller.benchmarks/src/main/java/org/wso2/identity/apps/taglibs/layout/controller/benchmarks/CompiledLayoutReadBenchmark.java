@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.executors.DefaultExecutor;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.ExecutableIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.core.LocalTemplateEngine;
+
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of reading the compiled layout files (body.ser), both in the binary format and in the legacy Java
+ * serialized format.
+ *  - readCompiledLayout    : Reading the compiled layout file, which is what a cache miss costs.
+ *  - executeWithoutCompile : Reading and executing the compiled layout file, as done by
+ *                            {@link LocalTemplateEngine#executeWithoutCompile} on a cache miss. The file is read
+ *                            directly, not through the compiled layout cache, so every call reads the file.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompiledLayoutReadBenchmark {
+
+    @Param({"centered", "left-image", "right-image", "left-aligned", "right-aligned", "synthetic-large",
+            "synthetic-huge"})
+    private String layout;
+
+    @Param({BenchmarkLayouts.BINARY_FORMAT, BenchmarkLayouts.JAVA_SERIALIZATION_FORMAT})
+    private String format;
+
+    private URL compiledLayoutFile;
+    private Map<String, Object> data;
+    private CountingJspWriter out;
+
+    /**
+     * Resolve the compiled layout file and the layout data.
+     */
+    @Setup
+    public void setup() {
+
+        compiledLayoutFile = BenchmarkLayouts.getCompiledLayoutFile(layout, format);
+        data = BenchmarkLayouts.createData(layout);
+        out = new CountingJspWriter();
+    }
+
+    /**
+     * Read the compiled layout file.
+     *
+     * @return Compiled layout.
+     */
+    @Benchmark
+    public ExecutableIdentifier readCompiledLayout() {
+
+        return LocalTemplateEngine.readCompiledLayout(compiledLayoutFile);
+    }
+
+    /**
+     * Read and execute the compiled layout file.
+     *
+     * @return Number of written characters.
+     */
+    @Benchmark
+    public long executeWithoutCompile() {
+
+        out.reset();
+        LocalTemplateEngine.readCompiledLayout(compiledLayoutFile).accept(new DefaultExecutor(data), out);
+        return out.getCount();
+    }
+}
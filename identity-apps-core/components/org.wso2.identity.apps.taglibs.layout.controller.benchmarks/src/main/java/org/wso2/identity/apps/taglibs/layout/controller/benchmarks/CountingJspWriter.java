@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.benchmarks;
+
+import java.io.IOException;
+
+import javax.servlet.jsp.JspWriter;
+
+/**
+ * Unbuffered JSP writer which discards the output and only counts the written characters, so the benchmarks measure
+ * the layout engine instead of the output buffering.
+ */
+public class CountingJspWriter extends JspWriter {
+
+    private long count;
+
+    /**
+     * Constructor.
+     */
+    public CountingJspWriter() {
+
+        super(NO_BUFFER, true);
+    }
+
+    /**
+     * Get the number of characters written since the last reset.
+     *
+     * @return Number of written characters.
+     */
+    public long getCount() {
+
+        return count;
+    }
+
+    /**
+     * Reset the written character count.
+     */
+    public void reset() {
+
+        count = 0;
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) {
+
+        count += len;
+    }
+
+    @Override
+    public void write(String str, int off, int len) {
+
+        count += len;
+    }
+
+    @Override
+    public void write(int c) {
+
+        count++;
+    }
+
+    @Override
+    public void newLine() {
+
+        count++;
+    }
+
+    @Override
+    public void print(boolean b) {
+
+        print(String.valueOf(b));
+    }
+
+    @Override
+    public void print(char c) {
+
+        count++;
+    }
+
+    @Override
+    public void print(int i) {
+
+        print(String.valueOf(i));
+    }
+
+    @Override
+    public void print(long l) {
+
+        print(String.valueOf(l));
+    }
+
+    @Override
+    public void print(float f) {
+
+        print(String.valueOf(f));
+    }
+
+    @Override
+    public void print(double d) {
+
+        print(String.valueOf(d));
+    }
+
+    @Override
+    public void print(char[] s) {
+
+        count += s.length;
+    }
+
+    @Override
+    public void print(String s) {
+
+        count += s == null ? 4 : s.length();
+    }
+
+    @Override
+    public void print(Object obj) {
+
+        print(String.valueOf(obj));
+    }
+
+    @Override
+    public void println() {
+
+        newLine();
+    }
+
+    @Override
+    public void println(boolean x) {
+
+        print(x);
+        newLine();
+    }
+
+    @Override
+    public void println(char x) {
+
+        print(x);
+        newLine();
+    }
+
+    @Override
+    public void println(int x) {
+
+        print(x);
+        newLine();
+    }
+
+    @Override
+    public void println(long x) {
+
+        print(x);
+        newLine();
+    }
+
+    @Override
+    public void println(float x) {
+
+        print(x);
+        newLine();
+    }
+
+    @Override
+    public void println(double x) {
+
+        print(x);
+        newLine();
+    }
+
+    @Override
+    public void println(char[] x) {
+
+        print(x);
+        newLine();
+    }
+
+    @Override
+    public void println(String x) {
+
+        print(x);
+        newLine();
+    }
+
+    @Override
+    public void println(Object x) {
+
+        print(x);
+        newLine();
+    }
+
+    @Override
+    public void clear() throws IOException {
+
+        throw new IOException("Unbuffered writer can't be cleared");
+    }
+
+    @Override
+    public void clearBuffer() {
+
+        // Nothing is buffered.
+    }
+
+    @Override
+    public void flush() {
+
+        // Nothing is buffered.
+    }
+
+    @Override
+    public void close() {
+
+        // Nothing to close.
+    }
+
+    @Override
+    public int getRemaining() {
+
+        return 0;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.identity.apps.taglibs.layout.controller.processor.LayoutContentProcessor;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.jsp.tagext.Tag;
+
+/**
+ * Benchmark of processing custom layout HTML with the {@link LayoutContentProcessor}, handing over to every component
+ * on the way.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LayoutContentProcessorBenchmark {
+
+    @Param({"centered", "left-image", "right-image", "left-aligned", "right-aligned", "synthetic-large",
+            "synthetic-huge"})
+    private String layout;
+
+    private String layoutHtml;
+    private CountingJspWriter out;
+    private BenchmarkPageContext pageContext;
+
+    /**
+     * Read the layout content.
+     */
+    @Setup
+    public void setup() {
+
+        layoutHtml = BenchmarkLayouts.getLayoutContent(layout);
+        out = new CountingJspWriter();
+        pageContext = new BenchmarkPageContext(out);
+    }
+
+    /**
+     * Process the layout content.
+     *
+     * @return Number of written characters.
+     * @throws IOException If the layout content can't be processed.
+     */
+    @Benchmark
+    public long processLayout() throws IOException {
+
+        out.reset();
+        LayoutContentProcessor processor = new LayoutContentProcessor(pageContext, layoutHtml);
+        int result = processor.processLayoutUntilNextComponent();
+        while (result != Tag.SKIP_BODY) {
+            result = processor.processRemainingLayoutAfterComponent();
+        }
+        processor.release();
+        return out.getCount();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.ExecutableIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.parsers.DefaultParser;
+
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of compiling the layout files (body.html) with the {@link DefaultParser}, including reading the file.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LayoutParserBenchmark {
+
+    @Param({"centered", "left-image", "right-image", "left-aligned", "right-aligned", "synthetic-large",
+            "synthetic-huge"})
+    private String layout;
+
+    private URL layoutFile;
+
+    /**
+     * Resolve the layout file.
+     */
+    @Setup
+    public void setup() {
+
+        layoutFile = BenchmarkLayouts.getLayoutFile(layout);
+    }
+
+    /**
+     * Compile the layout file.
+     *
+     * @return Compiled layout.
+     */
+    @Benchmark
+    public ExecutableIdentifier compile() {
+
+        return new DefaultParser().compile(layoutFile);
+    }
+}
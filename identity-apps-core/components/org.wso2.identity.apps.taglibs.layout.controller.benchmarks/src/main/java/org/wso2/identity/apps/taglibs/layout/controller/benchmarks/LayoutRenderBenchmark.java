@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.executors.DefaultExecutor;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.ExecutableIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.core.CompiledLayout;
+import org.wso2.identity.apps.taglibs.layout.controller.core.LayoutRenderCursor;
+import org.wso2.identity.apps.taglibs.layout.controller.core.LocalTemplateEngine;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of rendering a compiled layout completely, handing over to every component on the way.
+ *  - defaultExecutor : Rendering the identifier tree with the {@link DefaultExecutor}.
+ *  - renderCursor    : Rendering the instruction stream with the {@link LayoutRenderCursor}, as done by the tags.
+ *  - generatedLayout : Rendering the class generated for the layout with the {@link LayoutRenderCursor}, as done by
+ *                      the tags with the bytecode executor. Layouts which are too large to be generated as a class
+ *                      fall back to the instruction stream.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LayoutRenderBenchmark {
+
+    @Param({"centered", "left-image", "right-image", "left-aligned", "right-aligned", "synthetic-large",
+            "synthetic-huge"})
+    private String layout;
+
+    private ExecutableIdentifier compiledObject;
+    private CompiledLayout compiledLayout;
+    private Map<String, Object> data;
+    private CountingJspWriter out;
+
+    /**
+     * Compile the layout and prepare the layout data.
+     */
+    @Setup
+    public void setup() {
+
+        compiledObject = LocalTemplateEngine.compile(BenchmarkLayouts.getLayoutFile(layout));
+        compiledLayout = new CompiledLayout(compiledObject);
+        data = BenchmarkLayouts.createData(layout);
+        out = new CountingJspWriter();
+        compiledLayout.getGeneratedLayout();
+    }
+
+    /**
+     * Render the layout with the default executor.
+     *
+     * @return Number of written characters.
+     */
+    @Benchmark
+    public long defaultExecutor() {
+
+        out.reset();
+        DefaultExecutor executor = new DefaultExecutor(data);
+        compiledObject.accept(executor, out);
+        while (executor.componentExecutionEnabled()) {
+            executor.deactivateComponent();
+            compiledObject.accept(executor, out);
+        }
+        return out.getCount();
+    }
+
+    /**
+     * Render the layout with the render cursor.
+     *
+     * @return Number of written characters.
+     * @throws IOException If the layout can't be written.
+     */
+    @Benchmark
+    public long renderCursor() throws IOException {
+
+        out.reset();
+        LayoutRenderCursor cursor = new LayoutRenderCursor(compiledLayout, data);
+        while (cursor.renderUntilNextComponent(out) != null) {
+            // Components are rendered by the JSP, nothing to do here.
+        }
+        return out.getCount();
+    }
+
+    /**
+     * Render the layout with the render cursor, through the class generated for the layout.
+     *
+     * @return Number of written characters.
+     * @throws IOException If the layout can't be written.
+     */
+    @Benchmark
+    public long generatedLayout() throws IOException {
+
+        out.reset();
+        LayoutRenderCursor cursor = new LayoutRenderCursor(compiledLayout, data, true);
+        while (cursor.renderUntilNextComponent(out) != null) {
+            // Components are rendered by the JSP, nothing to do here.
+        }
+        return out.getCount();
+    }
+}
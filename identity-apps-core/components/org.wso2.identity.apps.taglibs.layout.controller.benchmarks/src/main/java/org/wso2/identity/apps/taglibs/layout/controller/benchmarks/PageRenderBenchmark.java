@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.identity.apps.taglibs.layout.controller.MainTagHandler;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.jsp.JspException;
+import javax.servlet.jsp.tagext.Tag;
+
+/**
+ * Benchmark of a complete page render through the "main" tag, the way the JSP runtime drives a pooled tag handler.
+ * Meant to be run with the gc profiler (-prof gc), the allocation per render (gc.alloc.rate.norm) should stay close
+ * to zero and must not grow with the size of the layout.
+ *  - compiledLayout : Rendering a compiled layout file (body.ser) resolved through the servlet context.
+ *  - customLayout   : Rendering custom layout HTML.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PageRenderBenchmark {
+
+    @Param({"centered", "left-image", "right-image", "left-aligned", "right-aligned", "synthetic-large",
+            "synthetic-huge"})
+    private String layout;
+
+    private String compiledLayoutPath;
+    private String layoutHtml;
+    private Map<String, Object> data;
+    private CountingJspWriter out;
+    private MainTagHandler tagHandler;
+
+    /**
+     * Register the compiled layout in the servlet context and prepare the tag handler.
+     */
+    @Setup
+    public void setup() {
+
+        compiledLayoutPath = "/layouts/" + layout + "/body.ser";
+        layoutHtml = BenchmarkLayouts.getLayoutContent(layout);
+        data = BenchmarkLayouts.createData(layout);
+        out = new CountingJspWriter();
+        BenchmarkServletContext servletContext = new BenchmarkServletContext();
+        servletContext.addResource(compiledLayoutPath,
+                BenchmarkLayouts.getCompiledLayoutFile(layout, BenchmarkLayouts.BINARY_FORMAT));
+        tagHandler = new MainTagHandler();
+        tagHandler.setPageContext(new BenchmarkPageContext(out, servletContext));
+    }
+
+    /**
+     * Render the compiled layout.
+     *
+     * @return Number of written characters.
+     * @throws JspException If the layout can't be rendered.
+     */
+    @Benchmark
+    public long compiledLayout() throws JspException {
+
+        tagHandler.setLayoutName(layout);
+        tagHandler.setLayoutFileRelativePath(compiledLayoutPath);
+        tagHandler.setData(data);
+        tagHandler.setCompile(false);
+        return render();
+    }
+
+    /**
+     * Render the custom layout HTML.
+     *
+     * @return Number of written characters.
+     * @throws JspException If the layout can't be rendered.
+     */
+    @Benchmark
+    public long customLayout() throws JspException {
+
+        tagHandler.setLayoutName(layout);
+        tagHandler.setLayoutFileRelativePath(layoutHtml);
+        tagHandler.setData(data);
+        tagHandler.setCompile(false);
+        return render();
+    }
+
+    private long render() throws JspException {
+
+        out.reset();
+        int result = tagHandler.doStartTag();
+        while (result != Tag.SKIP_BODY) {
+            // Components are rendered by the JSP, nothing to do here.
+            result = tagHandler.doAfterBody();
+        }
+        tagHandler.doEndTag();
+        return out.getCount();
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.com).
+ * Copyright (c) 2022-2026, WSO2 Inc. (http://www.wso2.com).
  *
  * WSO2 Inc. licenses this file to you under the Apache License,
  * Version 2.0 (the "License"); you may not use this file except
@@ -25,9 +25,41 @@ public class Constant {
 
     public static final String COMPONENT_NAME_STORING_VAR = "componentLiteralName";
     public static final String DYNAMIC_COMPONENT_FILES_DIRECTORY_PATH = "extensions/";
+    public static final String DYNAMIC_COMPONENT_FILE_EXTENSION = ".jsp";
+    public static final String DYNAMIC_COMPONENT_INDEX_ATTRIBUTE =
+            "org.wso2.identity.apps.taglibs.layout.controller.dynamicComponentIndex";
+    public static final long DYNAMIC_COMPONENT_INDEX_POLLING_INTERVAL = 5000; // Unit is milliseconds.
+    public static final long DYNAMIC_COMPONENT_INDEX_WATCH_SETTLE_TIME = 100; // Unit is milliseconds.
+    public static final String BYTECODE_EXECUTOR = "bytecode";
+    public static final String LAYOUTS_DIRECTORY_PATH = "includes/layouts/";
+    public static final String COMPILED_LAYOUT_FILE_NAME = "body.ser";
+    public static final long COMPILED_LAYOUT_MAX_SIZE = 64L * 1024 * 1024; // Unit is bytes.
+    public static final int COMPILED_LAYOUT_MAX_DEPTH = 64;
+    public static final String LAYOUT_WARM_UP_PARAMETER = "layoutWarmUp";
+    public static final String LAYOUT_WARM_UP_ATTRIBUTE =
+            "org.wso2.identity.apps.taglibs.layout.controller.layoutWarmUp";
+    public static final int LAYOUT_WARM_UP_ITERATIONS = 500;
+    public static final String LAYOUT_WATCH_MODE_PROPERTY = "layout.watch";
+    public static final int LAYOUT_METRICS_MAX_LAYOUTS = 256;
+    public static final String LAYOUT_METRICS_OTHER_LAYOUTS = "other";
+    public static final String LAYOUT_METRICS_MBEAN_DOMAIN = "org.wso2.identity.apps.taglibs.layout.controller";
+    public static final String LAYOUT_METRICS_MBEAN_TYPE = "LayoutMetrics";
     public static final String LAYOUT_CACHE_NAME = "layouts";
     public static final String LAYOUT_CACHE_STORE_DIRECTORY_NAME = "layouts";
     public static final int LAYOUT_CACHE_HEAP_ENTRIES = 20;
     public static final int LAYOUT_CACHE_OFF_HEAP_SIZE = 10; // Unit is MB.
     public static final int LAYOUT_CACHE_DISK_SIZE = 1; // Unit is GB.
+    public static final int COMPILED_LAYOUT_CACHE_MAX_ENTRIES = 256;
+    public static final long COMPILED_LAYOUT_REVALIDATION_INTERVAL = 5000; // Unit is milliseconds.
+    public static final long REMOTE_LAYOUT_CACHE_TTL = 300000; // Unit is milliseconds.
+    public static final int SEGMENTED_LAYOUT_CACHE_MAX_ENTRIES = 128;
+    public static final int SPECIALIZED_LAYOUT_CACHE_MAX_ENTRIES = 512;
+    public static final long REMOTE_LAYOUT_STALE_WHILE_REVALIDATE = 3600000; // Unit is milliseconds.
+    public static final int REMOTE_LAYOUT_CACHE_MAX_ENTRIES = 1024;
+    public static final long REMOTE_LAYOUT_MAX_SIZE = 4L * 1024 * 1024; // Unit is bytes.
+    public static final int SERVLET_CONTEXT_RESOURCE_CACHE_MAX_ENTRIES = 256;
+    public static final int REMOTE_LAYOUT_CONNECT_TIMEOUT = 5000; // Unit is milliseconds.
+    public static final int REMOTE_LAYOUT_READ_TIMEOUT = 10000; // Unit is milliseconds.
+    public static final int REMOTE_LAYOUT_REVALIDATION_THREADS = 2;
+    public static final String REMOTE_LAYOUT_DISK_CACHE_DIRECTORY_PROPERTY = "layout.remote.cache.dir";
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.com).
+ * Copyright (c) 2022-2026, WSO2 Inc. (http://www.wso2.com).
  *
  * WSO2 Inc. licenses this file to you under the Apache License,
  * Version 2.0 (the "License"); you may not use this file except
@@ -18,7 +18,7 @@
 
 package org.wso2.identity.apps.taglibs.layout.controller;
 
-import java.io.File;
+import org.wso2.identity.apps.taglibs.layout.controller.core.DynamicComponentIndex;
 
 import javax.servlet.jsp.JspException;
 import javax.servlet.jsp.tagext.TagSupport;
@@ -53,10 +53,10 @@ public class DynamicComponentTagHandler extends TagSupport {
         if (currentComponentName == null) {
             return SKIP_BODY;
         }
-        String filePath = Constant.DYNAMIC_COMPONENT_FILES_DIRECTORY_PATH + currentComponentName + ".jsp";
-        if (new File(pageContext.getServletContext().getRealPath(filePath)).exists()) {
+        if (DynamicComponentIndex.get(pageContext.getServletContext()).contains(currentComponentName)) {
             pageContext.removeAttribute(Constant.COMPONENT_NAME_STORING_VAR);
-            pageContext.setAttribute(filePathStoringVariableName, filePath);
+            pageContext.setAttribute(filePathStoringVariableName, Constant.DYNAMIC_COMPONENT_FILES_DIRECTORY_PATH
+                    + currentComponentName + Constant.DYNAMIC_COMPONENT_FILE_EXTENSION);
             return EVAL_BODY_INCLUDE;
         }
         return SKIP_BODY;
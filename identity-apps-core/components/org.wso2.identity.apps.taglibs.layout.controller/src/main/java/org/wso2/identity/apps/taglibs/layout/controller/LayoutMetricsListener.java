@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller;
+
+import org.wso2.identity.apps.taglibs.layout.controller.metrics.LayoutMetrics;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+
+/**
+ * Servlet context listener which publishes the layout engine metrics as an MBean when the web application starts,
+ * and removes the MBean when the web application stops. Registered through the tag library descriptor.
+ */
+public class LayoutMetricsListener implements ServletContextListener {
+
+    private ObjectName name;
+
+    /**
+     * Register the layout metrics MBean of the servlet context.
+     *
+     * @param servletContextEvent Servlet context event.
+     */
+    @Override
+    public void contextInitialized(ServletContextEvent servletContextEvent) {
+
+        try {
+            name = LayoutMetrics.register(servletContextEvent.getServletContext().getContextPath());
+        } catch (JMException | SecurityException e) {
+            servletContextEvent.getServletContext().log("Can't register the layout metrics MBean", e);
+        }
+    }
+
+    /**
+     * Unregister the layout metrics MBean of the servlet context.
+     *
+     * @param servletContextEvent Servlet context event.
+     */
+    @Override
+    public void contextDestroyed(ServletContextEvent servletContextEvent) {
+
+        if (name == null) {
+            return;
+        }
+        try {
+            LayoutMetrics.unregister(name);
+        } catch (JMException | SecurityException e) {
+            // Ignore the exception as this is a cleanup operation.
+        }
+        name = null;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller;
+
+import org.wso2.identity.apps.taglibs.layout.controller.core.LayoutWarmUp;
+
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+
+/**
+ * Servlet context listener which starts warming up the bundled layouts when the web application starts, and stops
+ * the warm-up when the web application stops. Registered through the tag library descriptor.
+ */
+public class LayoutWarmUpListener implements ServletContextListener {
+
+    /**
+     * Start warming up the layouts of the servlet context.
+     *
+     * @param servletContextEvent Servlet context event.
+     */
+    @Override
+    public void contextInitialized(ServletContextEvent servletContextEvent) {
+
+        LayoutWarmUp.start(servletContextEvent.getServletContext());
+    }
+
+    /**
+     * Stop the layout warm-up of the servlet context.
+     *
+     * @param servletContextEvent Servlet context event.
+     */
+    @Override
+    public void contextDestroyed(ServletContextEvent servletContextEvent) {
+
+        Object warmUp = servletContextEvent.getServletContext().getAttribute(Constant.LAYOUT_WARM_UP_ATTRIBUTE);
+        servletContextEvent.getServletContext().removeAttribute(Constant.LAYOUT_WARM_UP_ATTRIBUTE);
+        if (warmUp instanceof LayoutWarmUp) {
+            ((LayoutWarmUp) warmUp).close();
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022-2025, WSO2 LLC. (http://www.wso2.com).
+ * Copyright (c) 2022-2026, WSO2 LLC. (http://www.wso2.com).
  *
  * WSO2 LLC. licenses this file to you under the Apache License,
  * Version 2.0 (the "License"); you may not use this file except
@@ -18,7 +18,7 @@
 
 package org.wso2.identity.apps.taglibs.layout.controller;
 
-import org.wso2.identity.apps.taglibs.layout.controller.core.LocalTemplateEngine;
+import org.wso2.identity.apps.taglibs.layout.controller.metrics.LayoutMetrics;
 import org.wso2.identity.apps.taglibs.layout.controller.processor.LayoutContentProcessor;
 import org.wso2.identity.apps.taglibs.layout.controller.processor.LegacyLayoutFileProcessor;
 
@@ -27,6 +27,8 @@ import java.util.HashMap;
 import java.util.Map;
 
 import javax.servlet.jsp.JspException;
+import javax.servlet.jsp.JspWriter;
+import javax.servlet.jsp.tagext.BodyContent;
 import javax.servlet.jsp.tagext.TagSupport;
 
 /**
@@ -39,10 +41,16 @@ public class MainTagHandler extends TagSupport {
     private String layoutFileRelativePath = "";
     private Map<String, Object> data = new HashMap<>();
     private boolean compile = false;
-    private LocalTemplateEngine engine = null;
+    private Map<String, Object> constantData;
+    private String tenantDomain;
+    private String preferenceVersion;
+    private String executor;
+    private boolean earlyFlush = false;
 
     private LayoutContentProcessor layoutProcessor;
     private LegacyLayoutFileProcessor legacyProcessor;
+    private long renderTime;
+    private int componentYields;
 
     /**
      * Set the name of the layout.
@@ -66,6 +74,7 @@ public class MainTagHandler extends TagSupport {
 
     /**
      * Set the map object, consists of data required for the layout.
+     * Values can be {@link java.util.function.Supplier}s, which are resolved only if the layout uses them.
      *
      * @param data Required data for the layout.
      */
@@ -74,6 +83,38 @@ public class MainTagHandler extends TagSupport {
         this.data = data;
     }
 
+    /**
+     * Set the map object, consists of data which is constant for the tenant between preference updates.
+     * Layouts are specialized for these values once per (layout, tenant, preference version).
+     *
+     * @param constantData Constant data for the layout.
+     */
+    public void setConstantData(Map<String, Object> constantData) {
+
+        this.constantData = constantData;
+    }
+
+    /**
+     * Set the tenant domain of the constant data.
+     *
+     * @param tenantDomain Tenant domain.
+     */
+    public void setTenantDomain(String tenantDomain) {
+
+        this.tenantDomain = tenantDomain;
+    }
+
+    /**
+     * Set the version of the preferences the constant data is resolved from. Layouts are specialized only when the
+     * version is known.
+     *
+     * @param preferenceVersion Preference version.
+     */
+    public void setPreferenceVersion(String preferenceVersion) {
+
+        this.preferenceVersion = preferenceVersion;
+    }
+
     /**
      * Set whether to compile the layout or not.
      *
@@ -84,6 +125,31 @@ public class MainTagHandler extends TagSupport {
         this.compile = compile;
     }
 
+    /**
+     * Set the executor of the layout. Use "bytecode" to render the layout through a class generated for the layout.
+     * Layouts which can't be generated as a class are rendered by the default executor.
+     *
+     * @param executor Name of the executor.
+     */
+    public void setExecutor(String executor) {
+
+        this.executor = executor;
+    }
+
+    /**
+     * Set whether to flush the rendered page when the layout reaches the first component. The page content before
+     * the first component (e.g. the head and the style sheet links) is then sent to the browser before the component
+     * bodies are rendered, so the browser can fetch the assets while slow components are being rendered. The
+     * response is committed by the flush, so it can only be enabled for pages whose components don't set headers,
+     * cookies or redirect.
+     *
+     * @param earlyFlush Whether the early flush is enabled or not.
+     */
+    public void setEarlyFlush(boolean earlyFlush) {
+
+        this.earlyFlush = earlyFlush;
+    }
+
     /**
      * This method will execute when the starting point of the "main" tag is reached.
      * based on the nature of layout content switches between legacy or the default rendering.
@@ -92,10 +158,45 @@ public class MainTagHandler extends TagSupport {
      */
     public int doStartTag() throws JspException {
 
+        // Tag handlers can be reused, so the state of the previous render is cleared.
+        legacyProcessor = null;
+        layoutProcessor = null;
+        renderTime = 0;
+        componentYields = 0;
+        long start = System.nanoTime();
+        int result = recordRenderStep(start, startRendering());
+        if (earlyFlush && result != SKIP_BODY) {
+            flush();
+        }
+        return result;
+    }
+
+    /**
+     * Flush the rendered page to the client. Content inside the body of another tag is buffered by that tag, and
+     * can't be flushed.
+     *
+     * @throws JspException If the content can't be flushed.
+     */
+    private void flush() throws JspException {
+
+        JspWriter out = pageContext.getOut();
+        if (out instanceof BodyContent) {
+            return;
+        }
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new JspException("Error flushing the layout content.", e);
+        }
+    }
+
+    private int startRendering() throws JspException {
+
         if (isLikelyRelativePath(layoutFileRelativePath)) {
-            engine = new LocalTemplateEngine();
-            legacyProcessor = new LegacyLayoutFileProcessor(engine, compile, pageContext,
-                layoutName, layoutFileRelativePath, data);
+            legacyProcessor = new LegacyLayoutFileProcessor(compile, pageContext, layoutName,
+                layoutFileRelativePath, data);
+            legacyProcessor.setConstantData(constantData, tenantDomain, preferenceVersion);
+            legacyProcessor.setExecutor(executor);
             return legacyProcessor.startLegacyLayoutRendering();
         } else {
             layoutProcessor = new LayoutContentProcessor(pageContext, layoutFileRelativePath);
@@ -115,6 +216,12 @@ public class MainTagHandler extends TagSupport {
      */
     public int doAfterBody() throws JspException {
 
+        long start = System.nanoTime();
+        return recordRenderStep(start, continueRendering());
+    }
+
+    private int continueRendering() throws JspException {
+
         if (isLikelyRelativePath(layoutFileRelativePath)) {
             if (legacyProcessor == null) {
                 throw new IllegalStateException("Legacy layout processor not initialized.");
@@ -132,6 +239,27 @@ public class MainTagHandler extends TagSupport {
         }
     }
 
+    /**
+     * Record the time spent by the layout engine on a render step, and the render metrics of the layout when the
+     * whole layout is rendered. The component bodies rendered between the steps are not included.
+     *
+     * @param start  Start time of the render step in nanoseconds.
+     * @param result Result of the render step.
+     * @return Result of the render step.
+     */
+    private int recordRenderStep(long start, int result) {
+
+        renderTime += System.nanoTime() - start;
+        if (result != SKIP_BODY) {
+            componentYields++;
+            return result;
+        }
+        long charactersWritten = legacyProcessor != null ? legacyProcessor.getCharactersWritten() :
+                layoutProcessor != null ? layoutProcessor.getCharactersWritten() : 0;
+        LayoutMetrics.getInstance().recordRender(layoutName, renderTime, componentYields, charactersWritten);
+        return result;
+    }
+
     private boolean isLikelyRelativePath(String input) {
 
         return input != null && (input.startsWith("http") || input.startsWith("https") ||
@@ -147,7 +275,11 @@ public class MainTagHandler extends TagSupport {
         layoutName = null;
         layoutFileRelativePath = null;
         data = null;
-        engine = null;
+        constantData = null;
+        tenantDomain = null;
+        preferenceVersion = null;
+        executor = null;
+        earlyFlush = false;
         if (layoutProcessor != null) {
             layoutProcessor.release();
         }
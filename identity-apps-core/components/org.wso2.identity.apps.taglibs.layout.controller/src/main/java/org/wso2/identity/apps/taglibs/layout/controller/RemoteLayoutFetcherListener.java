@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller;
+
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.resolvers.RemoteLayoutFetcher;
+
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+
+/**
+ * Servlet context listener which stops the background revalidations of the remote layouts when the web application
+ * stops, so the revalidation threads don't keep the web application loaded after it is redeployed. Registered
+ * through the tag library descriptor.
+ */
+public class RemoteLayoutFetcherListener implements ServletContextListener {
+
+    /**
+     * Remote layouts are fetched on demand, so nothing is done when the web application starts.
+     *
+     * @param servletContextEvent Servlet context event.
+     */
+    @Override
+    public void contextInitialized(ServletContextEvent servletContextEvent) {
+
+    }
+
+    /**
+     * Stop the background revalidations of the remote layouts.
+     *
+     * @param servletContextEvent Servlet context event.
+     */
+    @Override
+    public void contextDestroyed(ServletContextEvent servletContextEvent) {
+
+        RemoteLayoutFetcher.getInstance().close();
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.com).
+ * Copyright (c) 2022-2026, WSO2 Inc. (http://www.wso2.com).
  *
  * WSO2 Inc. licenses this file to you under the Apache License,
  * Version 2.0 (the "License"); you may not use this file except
@@ -20,15 +20,16 @@ package org.wso2.identity.apps.taglibs.layout.controller.compiler.executors;
 
 import org.apache.commons.lang.StringUtils;
 import org.owasp.encoder.Encode;
-import org.wso2.identity.apps.taglibs.layout.controller.compiler.CompilerException;
 import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.ComponentIdentifier;
 import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.ConditionIdentifier;
 import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.DataIdentifier;
 import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.DefaultIdentifier;
 import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.NoIdentifier;
 import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.NotConditionIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.StyleIdentifier;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Map;
@@ -49,11 +50,11 @@ public class DefaultExecutor implements Executor {
     /**
      * Constructor.
      *
-     * @param data All data required to execute the layout file.
+     * @param data All data required to execute the layout file. Supplier values are resolved on first use.
      */
     public DefaultExecutor(Map<String, Object> data) {
 
-        this.data = data;
+        this.data = LazyLayoutData.forRender(data);
         deepIterationPath = new ArrayList<Integer>();
         iterationLevel = -1;
         componentName = null;
@@ -277,6 +278,20 @@ public class DefaultExecutor implements Executor {
         next();
     }
 
+    /**
+     * Execute the provided style identifier.
+     *
+     * @param identifier Style identifier.
+     * @param out        The output will be written to this writer.
+     */
+    @Override
+    public void execute(StyleIdentifier identifier, Writer out) {
+
+        write(identifier.getText(), out);
+        write(identifier.getStyleElement(), out);
+        next();
+    }
+
     /**
      * Write text content to the output writer.
      *
@@ -288,12 +303,13 @@ public class DefaultExecutor implements Executor {
 
         try {
             if (encode) {
-                out.write(Encode.forHtml(content));
+                Encode.forHtml(out, content);
             } else {
                 out.write(content);
             }
         } catch (IOException e) {
-            throw new CompilerException("Failed to write", e);
+            // Failures of the writer, e.g. an aborted client connection, are not compile failures.
+            throw new UncheckedIOException("Failed to write", e);
         }
     }
 
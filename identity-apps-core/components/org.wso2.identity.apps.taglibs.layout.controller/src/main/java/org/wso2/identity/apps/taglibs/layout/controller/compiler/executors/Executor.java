@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.com).
+ * Copyright (c) 2022-2026, WSO2 Inc. (http://www.wso2.com).
  *
  * WSO2 Inc. licenses this file to you under the Apache License,
  * Version 2.0 (the "License"); you may not use this file except
@@ -24,6 +24,7 @@ import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.Dat
 import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.DefaultIdentifier;
 import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.NoIdentifier;
 import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.NotConditionIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.StyleIdentifier;
 
 import java.io.Serializable;
 import java.io.Writer;
@@ -94,4 +95,12 @@ public interface Executor extends Serializable {
      * @param out        The output will be written to this writer.
      */
     void execute(NoIdentifier identifier, Writer out);
+
+    /**
+     * Execute the provided style identifier.
+     *
+     * @param identifier Style identifier.
+     * @param out        The output will be written to this writer.
+     */
+    void execute(StyleIdentifier identifier, Writer out);
 }
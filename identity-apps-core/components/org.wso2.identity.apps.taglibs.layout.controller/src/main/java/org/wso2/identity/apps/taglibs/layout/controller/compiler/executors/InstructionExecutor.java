@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.compiler.executors;
+
+import org.apache.commons.lang.StringUtils;
+import org.owasp.encoder.Encode;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.CompilerException;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.instructions.LayoutProgram;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * Executes a flat layout program.
+ * The executor is stateless, the render position is a program counter kept by the caller.
+ */
+public final class InstructionExecutor {
+
+    public static final int END_OF_PROGRAM = -1;
+
+    private InstructionExecutor() {
+
+    }
+
+    /**
+     * Execute the program from the given instruction until the next component or the end of the program.
+     *
+     * @param program Layout program.
+     * @param pc      Index of the instruction to start from.
+     * @param data    All data required to execute the layout.
+     * @param out     The output will be written to this writer.
+     * @return Index of the reached component instruction, or {@link #END_OF_PROGRAM}.
+     * @throws IOException If an error occurs while writing the output.
+     */
+    public static int execute(LayoutProgram program, int pc, Map<String, Object> data, Writer out)
+            throws IOException {
+
+        int[] instructions = program.getInstructions();
+        char[] textPool = program.getTextPool();
+        String[] names = program.getNames();
+        int end = instructions.length;
+        int index = pc * LayoutProgram.INSTRUCTION_SIZE;
+        while (index < end) {
+            int firstOperand = instructions[index + 1];
+            switch (instructions[index]) {
+                case LayoutProgram.EMIT_TEXT:
+                    out.write(textPool, firstOperand, instructions[index + 2]);
+                    break;
+                case LayoutProgram.EMIT_DATA:
+                    writeData(data.get(names[firstOperand]), out);
+                    break;
+                case LayoutProgram.BRANCH_IF:
+                    if (!isFalsy(data.get(names[firstOperand]))) {
+                        index = instructions[index + 2] * LayoutProgram.INSTRUCTION_SIZE;
+                        continue;
+                    }
+                    break;
+                case LayoutProgram.BRANCH_IF_NOT:
+                    if (!isTruthy(data.get(names[firstOperand]))) {
+                        index = instructions[index + 2] * LayoutProgram.INSTRUCTION_SIZE;
+                        continue;
+                    }
+                    break;
+                case LayoutProgram.YIELD_COMPONENT:
+                    return index / LayoutProgram.INSTRUCTION_SIZE;
+                default:
+                    throw new CompilerException("Unknown layout instruction: " + instructions[index]);
+            }
+            index += LayoutProgram.INSTRUCTION_SIZE;
+        }
+        return END_OF_PROGRAM;
+    }
+
+    /**
+     * Write the HTML encoded value of a data identifier. Missing values are not written.
+     *
+     * @param value Value of the data.
+     * @param out   The output will be written to this writer.
+     * @throws IOException If an error occurs while writing the output.
+     */
+    public static void writeData(Object value, Writer out) throws IOException {
+
+        if (value != null) {
+            Encode.forHtml(out, value.toString());
+        }
+    }
+
+    /**
+     * Check whether the content of a condition block ({{#name}}) should be rendered for the given value.
+     *
+     * @param value Value of the condition variable.
+     * @return True if the value is true or a non empty string.
+     */
+    public static boolean isTruthy(Object value) {
+
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        if (value instanceof String) {
+            return !StringUtils.EMPTY.equals(value);
+        }
+        return false;
+    }
+
+    /**
+     * Check whether the content of a not condition block ({{^name}}) should be rendered for the given value.
+     *
+     * @param value Value of the not condition variable.
+     * @return True if the value is false, an empty string or missing.
+     */
+    public static boolean isFalsy(Object value) {
+
+        if (value instanceof Boolean) {
+            return !((Boolean) value);
+        }
+        if (value instanceof String) {
+            return StringUtils.EMPTY.equals(value);
+        }
+        return value == null;
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.compiler.executors;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Read only view of the layout data used by a single render.
+ * Values of the layout data can be {@link Supplier}s, so the pages can hand over values which are expensive to
+ * compute without computing them up front. A supplier is called only when the layout reads its key, and at most once
+ * per render. The resolved value is used as the value of the key (a supplier returning null is a missing value).
+ */
+public final class LazyLayoutData extends AbstractMap<String, Object> {
+
+    private final Map<String, Object> data;
+    private Map<Object, Object> resolvedValues;
+
+    private LazyLayoutData(Map<String, Object> data) {
+
+        this.data = data;
+    }
+
+    /**
+     * Create the view of the given layout data for a new render.
+     *
+     * @param data Layout data, which may contain supplier values.
+     * @return Layout data view of the render.
+     */
+    public static Map<String, Object> forRender(Map<String, Object> data) {
+
+        if (data == null) {
+            return Collections.emptyMap();
+        }
+        if (data instanceof LazyLayoutData) {
+            return data;
+        }
+        return new LazyLayoutData(data);
+    }
+
+    /**
+     * Get the value of the given key, resolving it if it is a supplier.
+     *
+     * @param key Data key.
+     * @return Resolved value, or null if the value is missing.
+     */
+    @Override
+    public Object get(Object key) {
+
+        if (resolvedValues != null && resolvedValues.containsKey(key)) {
+            return resolvedValues.get(key);
+        }
+        Object value = data.get(key);
+        if (value instanceof Supplier) {
+            value = ((Supplier<?>) value).get();
+            if (resolvedValues == null) {
+                // Created on the first supplier, so rendering plain data doesn't allocate.
+                resolvedValues = new HashMap<>();
+            }
+            resolvedValues.put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Check whether the layout data has the given key, without resolving its value.
+     *
+     * @param key Data key.
+     * @return Whether the key exists.
+     */
+    @Override
+    public boolean containsKey(Object key) {
+
+        return data.containsKey(key);
+    }
+
+    /**
+     * Get the number of keys of the layout data.
+     *
+     * @return Number of keys.
+     */
+    @Override
+    public int size() {
+
+        return data.size();
+    }
+
+    /**
+     * Get the entries of the layout data. Values are resolved as the entries are read.
+     *
+     * @return Entries of the layout data.
+     */
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+
+        return new AbstractSet<Entry<String, Object>>() {
+
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+
+                Iterator<String> keys = data.keySet().iterator();
+                return new Iterator<Entry<String, Object>>() {
+
+                    @Override
+                    public boolean hasNext() {
+
+                        return keys.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+
+                        String key = keys.next();
+                        return new SimpleImmutableEntry<>(key, get(key));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+
+                return data.size();
+            }
+        };
+    }
+}
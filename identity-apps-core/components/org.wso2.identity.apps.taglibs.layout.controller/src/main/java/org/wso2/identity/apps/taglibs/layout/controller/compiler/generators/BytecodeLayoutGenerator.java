@@ -0,0 +1,534 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.compiler.generators;
+
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.CompilerException;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.instructions.LayoutProgram;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Compiles a {@link LayoutProgram} into a hidden class implementing {@link GeneratedLayout}.
+ * The render method of the generated class is the program as straight-line code -> one write call per text or data
+ * instruction and an inline condition check per branch, with the data and component names as constants. Resuming
+ * after a component is a single switch on the program counter at the start of the method. The JIT can then compile
+ * the whole layout, without the dispatch of the instruction loop.
+ *
+ * The generated class is defined as a hidden class, so it is unloaded together with the compiled layout.
+ * Programs which don't fit in a single JIT compilable method fail with a {@link CompilerException}, and must be
+ * rendered by the {@link org.wso2.identity.apps.taglibs.layout.controller.compiler.executors.InstructionExecutor}.
+ */
+public final class BytecodeLayoutGenerator {
+
+    private static final String PACKAGE = "org/wso2/identity/apps/taglibs/layout/controller/compiler/";
+    private static final String CLASS_NAME = PACKAGE + "generators/GeneratedLayoutImpl";
+    private static final String GENERATED_LAYOUT = PACKAGE + "generators/GeneratedLayout";
+    private static final String INSTRUCTION_EXECUTOR = PACKAGE + "executors/InstructionExecutor";
+    private static final String TEXT_FIELD = "text";
+
+    private static final int CLASS_FILE_VERSION = 52;
+    // HotSpot doesn't JIT compile methods larger than 8000 bytes (HugeMethodLimit), and an interpreted render method
+    // is slower than the instruction loop, so larger programs are not generated.
+    private static final int MAX_CODE_LENGTH = 8000;
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_PRIVATE = 0x0002;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+
+    private static final int ICONST_M1 = 0x02;
+    private static final int ICONST_0 = 0x03;
+    private static final int BIPUSH = 0x10;
+    private static final int SIPUSH = 0x11;
+    private static final int LDC = 0x12;
+    private static final int LDC_W = 0x13;
+    private static final int ILOAD_1 = 0x1b;
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_1 = 0x2b;
+    private static final int ALOAD_2 = 0x2c;
+    private static final int ALOAD_3 = 0x2d;
+    private static final int IFEQ = 0x99;
+    private static final int LOOKUPSWITCH = 0xab;
+    private static final int IRETURN = 0xac;
+    private static final int RETURN = 0xb1;
+    private static final int GETFIELD = 0xb4;
+    private static final int PUTFIELD = 0xb5;
+    private static final int INVOKEVIRTUAL = 0xb6;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKESTATIC = 0xb8;
+    private static final int INVOKEINTERFACE = 0xb9;
+    private static final int SAME_FRAME_EXTENDED = 251;
+
+    private BytecodeLayoutGenerator() {
+
+    }
+
+    /**
+     * Generate the class of the given program and create its instance.
+     *
+     * @param program Layout program.
+     * @return Generated layout.
+     * @throws CompilerException If the program can't be compiled into a class.
+     */
+    public static GeneratedLayout generate(LayoutProgram program) {
+
+        byte[] classFile = toClassFile(program);
+        try {
+            Class<?> generatedClass = MethodHandles.lookup().defineHiddenClass(classFile, true).lookupClass();
+            return (GeneratedLayout) generatedClass.getConstructor(char[].class)
+                    .newInstance((Object) program.getTextPool());
+        } catch (ReflectiveOperationException | LinkageError | IllegalArgumentException e) {
+            throw new CompilerException("Can't define the generated layout class", e);
+        }
+    }
+
+    /**
+     * Generate the class file of the given program.
+     *
+     * @param program Layout program.
+     * @return Class file bytes.
+     * @throws CompilerException If the program doesn't fit in a single method.
+     */
+    static byte[] toClassFile(LayoutProgram program) {
+
+        ConstantPool pool = new ConstantPool();
+        int thisClass = pool.classRef(CLASS_NAME);
+        int superClass = pool.classRef("java/lang/Object");
+        int generatedLayout = pool.classRef(GENERATED_LAYOUT);
+        int textName = pool.utf8(TEXT_FIELD);
+        int textDescriptor = pool.utf8("[C");
+        int codeName = pool.utf8("Code");
+        int stackMapTableName = pool.utf8("StackMapTable");
+        int constructorName = pool.utf8("<init>");
+        int constructorDescriptor = pool.utf8("([C)V");
+        int renderName = pool.utf8("render");
+        int renderDescriptor = pool.utf8("(ILjava/util/Map;Ljava/io/Writer;)I");
+
+        Code constructor = generateConstructor(pool);
+        List<Integer> frames = new ArrayList<>();
+        Code render = generateRender(program, pool, frames);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(render.length + pool.length() + 256);
+        try (DataOutputStream classFile = new DataOutputStream(bytes)) {
+            classFile.writeInt(0xCAFEBABE);
+            classFile.writeShort(0);
+            classFile.writeShort(CLASS_FILE_VERSION);
+            pool.writeTo(classFile);
+            classFile.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+            classFile.writeShort(thisClass);
+            classFile.writeShort(superClass);
+            classFile.writeShort(1);
+            classFile.writeShort(generatedLayout);
+
+            classFile.writeShort(1);
+            classFile.writeShort(ACC_PRIVATE | ACC_FINAL);
+            classFile.writeShort(textName);
+            classFile.writeShort(textDescriptor);
+            classFile.writeShort(0);
+
+            classFile.writeShort(2);
+            writeMethod(classFile, constructorName, constructorDescriptor, codeName, 2, 2, constructor,
+                    stackMapTableName, new ArrayList<>());
+            writeMethod(classFile, renderName, renderDescriptor, codeName, 4, 4, render, stackMapTableName, frames);
+            classFile.writeShort(0);
+        } catch (IOException e) {
+            throw new CompilerException("Can't write the generated layout class", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Code generateConstructor(ConstantPool pool) {
+
+        Code code = new Code();
+        code.u1(ALOAD_0);
+        code.u1(INVOKESPECIAL);
+        code.u2(pool.memberRef(ConstantPool.METHOD_REF, "java/lang/Object", "<init>", "()V"));
+        code.u1(ALOAD_0);
+        code.u1(ALOAD_1);
+        code.u1(PUTFIELD);
+        code.u2(pool.memberRef(ConstantPool.FIELD_REF, CLASS_NAME, TEXT_FIELD, "[C"));
+        code.u1(RETURN);
+        return code;
+    }
+
+    private static Code generateRender(LayoutProgram program, ConstantPool pool, List<Integer> frames) {
+
+        int size = program.size();
+        int[] instructionOffsets = new int[size + 1];
+        TreeSet<Integer> targets = new TreeSet<>();
+        List<int[]> jumps = new ArrayList<>();
+
+        // Resume points -> start of the program and the instruction after each component.
+        List<Integer> resumePoints = new ArrayList<>();
+        resumePoints.add(0);
+        for (int pc = 0; pc < size; pc++) {
+            if (program.getOpcode(pc) == LayoutProgram.YIELD_COMPONENT) {
+                resumePoints.add(pc + 1);
+            }
+        }
+
+        int textField = pool.memberRef(ConstantPool.FIELD_REF, CLASS_NAME, TEXT_FIELD, "[C");
+        int write = pool.memberRef(ConstantPool.METHOD_REF, "java/io/Writer", "write", "([CII)V");
+        int get = pool.memberRef(ConstantPool.INTERFACE_METHOD_REF, "java/util/Map", "get",
+                "(Ljava/lang/Object;)Ljava/lang/Object;");
+        int writeData = pool.memberRef(ConstantPool.METHOD_REF, INSTRUCTION_EXECUTOR, "writeData",
+                "(Ljava/lang/Object;Ljava/io/Writer;)V");
+        int isTruthy = pool.memberRef(ConstantPool.METHOD_REF, INSTRUCTION_EXECUTOR, "isTruthy",
+                "(Ljava/lang/Object;)Z");
+        int isFalsy = pool.memberRef(ConstantPool.METHOD_REF, INSTRUCTION_EXECUTOR, "isFalsy",
+                "(Ljava/lang/Object;)Z");
+
+        Code code = new Code();
+        code.u1(ILOAD_1);
+        int switchOffset = code.length;
+        code.u1(LOOKUPSWITCH);
+        while (code.length % 4 != 0) {
+            code.u1(0);
+        }
+        // Unknown program counters end the render.
+        jumps.add(new int[] {switchOffset, code.length, size, 4});
+        code.u4(0);
+        code.u4(resumePoints.size());
+        for (int resumePoint : resumePoints) {
+            code.u4(resumePoint);
+            jumps.add(new int[] {switchOffset, code.length, resumePoint, 4});
+            code.u4(0);
+            targets.add(resumePoint);
+        }
+
+        for (int pc = 0; pc < size; pc++) {
+            instructionOffsets[pc] = code.length;
+            switch (program.getOpcode(pc)) {
+                case LayoutProgram.EMIT_TEXT:
+                    code.u1(ALOAD_3);
+                    code.u1(ALOAD_0);
+                    code.u1(GETFIELD);
+                    code.u2(textField);
+                    pushInt(code, pool, program.getFirstOperand(pc));
+                    pushInt(code, pool, program.getSecondOperand(pc));
+                    code.u1(INVOKEVIRTUAL);
+                    code.u2(write);
+                    break;
+                case LayoutProgram.EMIT_DATA:
+                    getData(code, pool, get, program.getName(pc));
+                    code.u1(ALOAD_3);
+                    code.u1(INVOKESTATIC);
+                    code.u2(writeData);
+                    break;
+                case LayoutProgram.BRANCH_IF:
+                case LayoutProgram.BRANCH_IF_NOT:
+                    getData(code, pool, get, program.getName(pc));
+                    code.u1(INVOKESTATIC);
+                    code.u2(program.getOpcode(pc) == LayoutProgram.BRANCH_IF ? isFalsy : isTruthy);
+                    int branchOffset = code.length;
+                    code.u1(IFEQ);
+                    jumps.add(new int[] {branchOffset, code.length, program.getSecondOperand(pc), 2});
+                    code.u2(0);
+                    targets.add(program.getSecondOperand(pc));
+                    break;
+                case LayoutProgram.YIELD_COMPONENT:
+                    pushInt(code, pool, pc);
+                    code.u1(IRETURN);
+                    break;
+                default:
+                    throw new CompilerException("Unknown layout instruction: " + program.getOpcode(pc));
+            }
+        }
+        instructionOffsets[size] = code.length;
+        code.u1(ICONST_M1);
+        code.u1(IRETURN);
+        targets.add(size);
+
+        if (code.length > MAX_CODE_LENGTH) {
+            throw new CompilerException("Layout is too large to be generated as a class: " + code.length + " bytes");
+        }
+        for (int[] jump : jumps) {
+            int offset = instructionOffsets[jump[2]] - jump[0];
+            if (jump[3] == 4) {
+                code.patch4(jump[1], offset);
+            } else {
+                code.patch2(jump[1], offset);
+            }
+        }
+        // Locals are the same at every jump target and the stack is empty, so all the frames are "same" frames.
+        for (int target : targets) {
+            frames.add(instructionOffsets[target]);
+        }
+        return code;
+    }
+
+    private static void getData(Code code, ConstantPool pool, int get, String name) {
+
+        code.u1(ALOAD_2);
+        int index = pool.string(name);
+        if (index <= 0xff) {
+            code.u1(LDC);
+            code.u1(index);
+        } else {
+            code.u1(LDC_W);
+            code.u2(index);
+        }
+        code.u1(INVOKEINTERFACE);
+        code.u2(get);
+        code.u1(2);
+        code.u1(0);
+    }
+
+    private static void pushInt(Code code, ConstantPool pool, int value) {
+
+        if (value >= -1 && value <= 5) {
+            code.u1(ICONST_0 + value);
+        } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+            code.u1(BIPUSH);
+            code.u1(value);
+        } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+            code.u1(SIPUSH);
+            code.u2(value);
+        } else {
+            int index = pool.integer(value);
+            if (index <= 0xff) {
+                code.u1(LDC);
+                code.u1(index);
+            } else {
+                code.u1(LDC_W);
+                code.u2(index);
+            }
+        }
+    }
+
+    private static void writeMethod(DataOutputStream classFile, int name, int descriptor, int codeName, int maxStack,
+                                    int maxLocals, Code code, int stackMapTableName, List<Integer> frames)
+            throws IOException {
+
+        ByteArrayOutputStream stackMapTable = new ByteArrayOutputStream();
+        try (DataOutputStream entries = new DataOutputStream(stackMapTable)) {
+            int previous = -1;
+            for (int frame : frames) {
+                int delta = frame - previous - 1;
+                if (delta < 64) {
+                    entries.writeByte(delta);
+                } else {
+                    entries.writeByte(SAME_FRAME_EXTENDED);
+                    entries.writeShort(delta);
+                }
+                previous = frame;
+            }
+        }
+        int stackMapTableLength = frames.isEmpty() ? 0 : 6 + 2 + stackMapTable.size();
+
+        classFile.writeShort(ACC_PUBLIC);
+        classFile.writeShort(name);
+        classFile.writeShort(descriptor);
+        classFile.writeShort(1);
+        classFile.writeShort(codeName);
+        classFile.writeInt(2 + 2 + 4 + code.length + 2 + 2 + stackMapTableLength);
+        classFile.writeShort(maxStack);
+        classFile.writeShort(maxLocals);
+        classFile.writeInt(code.length);
+        classFile.write(code.bytes, 0, code.length);
+        classFile.writeShort(0);
+        if (frames.isEmpty()) {
+            classFile.writeShort(0);
+            return;
+        }
+        classFile.writeShort(1);
+        classFile.writeShort(stackMapTableName);
+        classFile.writeInt(2 + stackMapTable.size());
+        classFile.writeShort(frames.size());
+        stackMapTable.writeTo(classFile);
+    }
+
+    /**
+     * Growable bytecode buffer.
+     */
+    private static final class Code {
+
+        private byte[] bytes = new byte[256];
+        private int length;
+
+        void u1(int value) {
+
+            if (length == bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            bytes[length++] = (byte) value;
+        }
+
+        void u2(int value) {
+
+            u1(value >>> 8);
+            u1(value);
+        }
+
+        void u4(int value) {
+
+            u2(value >>> 16);
+            u2(value);
+        }
+
+        void patch2(int offset, int value) {
+
+            bytes[offset] = (byte) (value >>> 8);
+            bytes[offset + 1] = (byte) value;
+        }
+
+        void patch4(int offset, int value) {
+
+            patch2(offset, value >>> 16);
+            patch2(offset + 2, value);
+        }
+    }
+
+    /**
+     * Constant pool of the generated class. Entries are deduplicated.
+     */
+    private static final class ConstantPool {
+
+        static final int FIELD_REF = 9;
+        static final int METHOD_REF = 10;
+        static final int INTERFACE_METHOD_REF = 11;
+
+        private static final int UTF8 = 1;
+        private static final int INTEGER = 3;
+        private static final int CLASS = 7;
+        private static final int STRING = 8;
+        private static final int NAME_AND_TYPE = 12;
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream entries = new DataOutputStream(bytes);
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private int count = 1;
+
+        int utf8(String value) {
+
+            Integer index = indexes.get("U" + value);
+            if (index != null) {
+                return index;
+            }
+            try {
+                entries.writeByte(UTF8);
+                // Modified UTF-8 of the class file format, limited to 65535 bytes per constant.
+                entries.writeUTF(value);
+            } catch (IOException e) {
+                throw new CompilerException("Can't add a constant to the generated layout class", e);
+            }
+            return add("U" + value);
+        }
+
+        int integer(int value) {
+
+            Integer index = indexes.get("I" + value);
+            if (index != null) {
+                return index;
+            }
+            write(INTEGER, value >>> 16, value & 0xffff);
+            return add("I" + value);
+        }
+
+        int classRef(String internalName) {
+
+            Integer index = indexes.get("C" + internalName);
+            if (index != null) {
+                return index;
+            }
+            int name = utf8(internalName);
+            write(CLASS, name);
+            return add("C" + internalName);
+        }
+
+        int string(String value) {
+
+            Integer index = indexes.get("S" + value);
+            if (index != null) {
+                return index;
+            }
+            int utf8 = utf8(value);
+            write(STRING, utf8);
+            return add("S" + value);
+        }
+
+        int memberRef(int tag, String owner, String name, String descriptor) {
+
+            String key = "M" + tag + owner + '.' + name + descriptor;
+            Integer index = indexes.get(key);
+            if (index != null) {
+                return index;
+            }
+            int ownerIndex = classRef(owner);
+            int nameAndType = nameAndType(name, descriptor);
+            write(tag, ownerIndex, nameAndType);
+            return add(key);
+        }
+
+        int length() {
+
+            return bytes.size();
+        }
+
+        void writeTo(DataOutputStream classFile) throws IOException {
+
+            if (count > 0xffff) {
+                throw new CompilerException("Too many constants in the generated layout class: " + count);
+            }
+            entries.flush();
+            classFile.writeShort(count);
+            bytes.writeTo(classFile);
+        }
+
+        private int nameAndType(String name, String descriptor) {
+
+            String key = "N" + name + ' ' + descriptor;
+            Integer index = indexes.get(key);
+            if (index != null) {
+                return index;
+            }
+            int nameIndex = utf8(name);
+            int descriptorIndex = utf8(descriptor);
+            write(NAME_AND_TYPE, nameIndex, descriptorIndex);
+            return add(key);
+        }
+
+        private void write(int tag, int... values) {
+
+            try {
+                entries.writeByte(tag);
+                for (int value : values) {
+                    entries.writeShort(value);
+                }
+            } catch (IOException e) {
+                throw new CompilerException("Can't add a constant to the generated layout class", e);
+            }
+        }
+
+        private int add(String key) {
+
+            indexes.put(key, count);
+            return count++;
+        }
+    }
+}
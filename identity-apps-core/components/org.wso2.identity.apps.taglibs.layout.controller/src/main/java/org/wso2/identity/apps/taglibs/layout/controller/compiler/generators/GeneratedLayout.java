@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.compiler.generators;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * Layout program compiled into a generated class by the {@link BytecodeLayoutGenerator}.
+ * The generated class is stateless, so an instance can be shared between any number of concurrent renders.
+ */
+public interface GeneratedLayout {
+
+    /**
+     * Render the layout from the given instruction until the next component or the end of the layout. Same contract
+     * as {@link org.wso2.identity.apps.taglibs.layout.controller.compiler.executors.InstructionExecutor#execute}.
+     *
+     * @param pc   Index of the program instruction to start from (0 or the instruction after a component).
+     * @param data All data required to execute the layout.
+     * @param out  The output will be written to this writer.
+     * @return Index of the reached component instruction, or
+     * {@link org.wso2.identity.apps.taglibs.layout.controller.compiler.executors.InstructionExecutor#END_OF_PROGRAM}.
+     * @throws IOException If an error occurs while writing the output.
+     */
+    int render(int pc, Map<String, Object> data, Writer out) throws IOException;
+}
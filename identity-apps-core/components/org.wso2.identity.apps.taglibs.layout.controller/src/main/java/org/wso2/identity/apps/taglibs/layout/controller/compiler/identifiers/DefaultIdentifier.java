@@ -52,15 +52,22 @@ public class DefaultIdentifier implements ExecutableIdentifier {
     public void accept(Executor executor, Writer out) {
 
         executor.execute(this, out);
-        while (true) {
-            if (!executor.continueExecution()) {
-                break;
-            }
-            try {
-                allIdentifiers[executor.getCurrentExecutionIndex()].accept(executor, out);
-            } catch (IndexOutOfBoundsException e) {
+        while (executor.continueExecution()) {
+            int index = executor.getCurrentExecutionIndex();
+            if (index >= allIdentifiers.length) {
                 break;
             }
+            allIdentifiers[index].accept(executor, out);
         }
     }
+
+    /**
+     * Getter to get the identifiers of this group.
+     *
+     * @return Identifiers in the order of the layout.
+     */
+    public ExecutableIdentifier[] getIdentifiers() {
+
+        return allIdentifiers.clone();
+    }
 }
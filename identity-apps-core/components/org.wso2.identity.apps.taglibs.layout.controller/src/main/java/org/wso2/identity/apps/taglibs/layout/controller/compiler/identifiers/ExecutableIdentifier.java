@@ -25,6 +25,7 @@ import java.io.Writer;
 
 /**
  * Interface of the identifiers.
+ * Identifiers are immutable once compiled, all the execution state is kept in the executor.
  */
 public interface ExecutableIdentifier extends Serializable {
 
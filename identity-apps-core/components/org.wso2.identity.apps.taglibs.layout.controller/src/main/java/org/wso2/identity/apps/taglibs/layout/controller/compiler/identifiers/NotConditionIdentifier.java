@@ -30,19 +30,20 @@ public class NotConditionIdentifier implements ExecutableIdentifier {
     private static final long serialVersionUID = 6283176238696651659L;
     private final String identifierName;
     private final String prependText;
-    private ExecutableIdentifier child;
+    private final ExecutableIdentifier child;
 
     /**
      * Constructor.
      *
      * @param identifierName Name of the not condition variable.
      * @param text           Text identified before this not condition identifier.
+     * @param child          Child identifiers of the not condition block.
      */
-    public NotConditionIdentifier(String identifierName, String text) {
+    public NotConditionIdentifier(String identifierName, String text, ExecutableIdentifier child) {
 
         this.prependText = text;
         this.identifierName = identifierName.trim();
-        this.child = null;
+        this.child = child;
     }
 
     /**
@@ -87,16 +88,6 @@ public class NotConditionIdentifier implements ExecutableIdentifier {
         return child;
     }
 
-    /**
-     * Setter to set the child identifier to the not condition identifier.
-     *
-     * @param child Child identifiers of the not condition block.
-     */
-    public void setChild(ExecutableIdentifier child) {
-
-        this.child = child;
-    }
-
     /**
      * Entry point to execute the child identifier.
      *
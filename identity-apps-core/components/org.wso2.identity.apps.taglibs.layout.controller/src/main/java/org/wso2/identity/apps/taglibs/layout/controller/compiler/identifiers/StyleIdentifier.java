@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers;
+
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.executors.Executor;
+
+import java.io.Writer;
+
+/**
+ * Style identifier class -> {{@nameOfTheStyleSheet}}.
+ * Inlines the (critical) style sheet with the given name, e.g. {{@critical}} inlines the "critical.css" file next to
+ * the layout file. The style sheet is read and minified when the layout is compiled, and written as a style element.
+ */
+public class StyleIdentifier implements ExecutableIdentifier {
+
+    private static final long serialVersionUID = -2268491583125873062L;
+    private final String identifierName;
+    private final String prependText;
+    private final String style;
+
+    /**
+     * Constructor.
+     *
+     * @param identifierName Name of the style sheet.
+     * @param text           Text identified before this style identifier.
+     * @param style          Minified content of the style sheet, or null if the style sheet is not available.
+     */
+    public StyleIdentifier(String identifierName, String text, String style) {
+
+        prependText = text;
+        this.identifierName = identifierName.trim();
+        this.style = style;
+    }
+
+    /**
+     * Entry point to execute the current identifier.
+     *
+     * @param executor This the object which is responsible for
+     *                 executing each identifier and generate the page content in-order.
+     * @param out      The output will be written to this writer.
+     */
+    public void accept(Executor executor, Writer out) {
+
+        executor.execute(this, out);
+    }
+
+    /**
+     * Getter to get the text identified before this style identifier.
+     *
+     * @return Text identified before this style identifier.
+     */
+    public String getText() {
+
+        return prependText;
+    }
+
+    /**
+     * Getter to get the style sheet name.
+     *
+     * @return Style sheet name.
+     */
+    public String getIdentifierName() {
+
+        return identifierName;
+    }
+
+    /**
+     * Getter to get the minified content of the style sheet.
+     *
+     * @return Style sheet content, or null if the style sheet is not available.
+     */
+    public String getStyle() {
+
+        return style;
+    }
+
+    /**
+     * Get the markup written for this identifier, without the prepended text.
+     *
+     * @return Style element, or an empty string if the style sheet is not available.
+     */
+    public String getStyleElement() {
+
+        if (style == null || style.isEmpty()) {
+            return "";
+        }
+        // A style element ends at the first "</style", which can't be escaped inside the element.
+        return "<style>" + style.replace("</", "<\\/") + "</style>";
+    }
+}
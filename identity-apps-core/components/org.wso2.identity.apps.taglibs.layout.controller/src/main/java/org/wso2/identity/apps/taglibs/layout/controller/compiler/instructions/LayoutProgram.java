@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.compiler.instructions;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Compiled layout as a flat stream of instructions.
+ * Each instruction takes {@link #INSTRUCTION_SIZE} slots of the instruction array -> [opcode, operand, operand].
+ * All the static text of the layout is kept in a single char pool and referenced by offset and length, and all
+ * the data and component names are kept in a name table and referenced by index.
+ *
+ * Instructions:
+ *  - EMIT_TEXT [offset, length]       : Write the given range of the text pool.
+ *  - EMIT_DATA [name]                 : Write the HTML encoded value of the given data.
+ *  - BRANCH_IF [name, target]         : Jump to the target unless the data is false, empty or missing
+ *                                       ({{^name}} blocks).
+ *  - BRANCH_IF_NOT [name, target]     : Jump to the target unless the data is true or a non empty string
+ *                                       ({{#name}} blocks).
+ *  - YIELD_COMPONENT [name]           : Stop the execution and hand over to the given component.
+ *
+ * A program is immutable, so it can be shared between any number of concurrent renders. The render position is
+ * kept by the caller as a plain program counter (index of the instruction).
+ */
+public final class LayoutProgram {
+
+    public static final int INSTRUCTION_SIZE = 3;
+
+    public static final int EMIT_TEXT = 0;
+    public static final int EMIT_DATA = 1;
+    public static final int BRANCH_IF = 2;
+    public static final int BRANCH_IF_NOT = 3;
+    public static final int YIELD_COMPONENT = 4;
+
+    private final int[] instructions;
+    private final char[] textPool;
+    private final String[] names;
+    private final Set<String> referencedKeys;
+
+    /**
+     * Constructor.
+     *
+     * @param instructions Instruction array.
+     * @param textPool     Static text of the layout.
+     * @param names        Data and component names referenced by the instructions.
+     */
+    public LayoutProgram(int[] instructions, char[] textPool, String[] names) {
+
+        if (instructions.length % INSTRUCTION_SIZE != 0) {
+            throw new IllegalArgumentException("Invalid instruction array length: " + instructions.length);
+        }
+        this.instructions = instructions;
+        this.textPool = textPool;
+        this.names = names;
+        this.referencedKeys = collectReferencedKeys(instructions, names);
+    }
+
+    /**
+     * Get the number of instructions in the program.
+     *
+     * @return Number of instructions.
+     */
+    public int size() {
+
+        return instructions.length / INSTRUCTION_SIZE;
+    }
+
+    /**
+     * Get the opcode of the instruction.
+     *
+     * @param pc Index of the instruction.
+     * @return Opcode.
+     */
+    public int getOpcode(int pc) {
+
+        return instructions[pc * INSTRUCTION_SIZE];
+    }
+
+    /**
+     * Get the first operand of the instruction.
+     *
+     * @param pc Index of the instruction.
+     * @return First operand.
+     */
+    public int getFirstOperand(int pc) {
+
+        return instructions[pc * INSTRUCTION_SIZE + 1];
+    }
+
+    /**
+     * Get the second operand of the instruction.
+     *
+     * @param pc Index of the instruction.
+     * @return Second operand.
+     */
+    public int getSecondOperand(int pc) {
+
+        return instructions[pc * INSTRUCTION_SIZE + 2];
+    }
+
+    /**
+     * Get the name referenced by the first operand of the instruction.
+     *
+     * @param pc Index of the instruction.
+     * @return Data or component name.
+     */
+    public String getName(int pc) {
+
+        return names[getFirstOperand(pc)];
+    }
+
+    /**
+     * Get the data keys read by the program (data and condition names, without the component names), in the order
+     * of their first use.
+     *
+     * @return Referenced data keys.
+     */
+    public Set<String> getReferencedKeys() {
+
+        return referencedKeys;
+    }
+
+    /**
+     * Get the raw instruction array. The returned array must not be modified.
+     *
+     * @return Instruction array.
+     */
+    public int[] getInstructions() {
+
+        return instructions;
+    }
+
+    /**
+     * Get the text pool. The returned array must not be modified.
+     *
+     * @return Text pool.
+     */
+    public char[] getTextPool() {
+
+        return textPool;
+    }
+
+    /**
+     * Get the name table. The returned array must not be modified.
+     *
+     * @return Name table.
+     */
+    public String[] getNames() {
+
+        return names;
+    }
+
+    private static Set<String> collectReferencedKeys(int[] instructions, String[] names) {
+
+        Set<String> keys = new LinkedHashSet<>();
+        for (int index = 0; index < instructions.length; index += INSTRUCTION_SIZE) {
+            int opcode = instructions[index];
+            if (opcode == EMIT_DATA || opcode == BRANCH_IF || opcode == BRANCH_IF_NOT) {
+                keys.add(names[instructions[index + 1]]);
+            }
+        }
+        return Collections.unmodifiableSet(keys);
+    }
+}
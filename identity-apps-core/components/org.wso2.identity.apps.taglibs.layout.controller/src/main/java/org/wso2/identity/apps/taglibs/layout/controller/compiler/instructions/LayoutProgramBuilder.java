@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.compiler.instructions;
+
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.CompilerException;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.ComponentIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.ConditionIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.DataIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.DefaultIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.ExecutableIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.NoIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.NotConditionIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.StyleIdentifier;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Builds a {@link LayoutProgram}, either directly through the emit methods or by lowering a compiled
+ * identifier tree.
+ */
+public class LayoutProgramBuilder {
+
+    private int[] instructions = new int[64 * LayoutProgram.INSTRUCTION_SIZE];
+    private int size = 0;
+    private final StringBuilder textPool = new StringBuilder();
+    private final Map<String, Integer> nameIndexes = new HashMap<>();
+    private String[] names = new String[16];
+    private int nameCount = 0;
+    private int lastLabel = -1;
+
+    /**
+     * Lower the given compiled identifier tree into a flat program.
+     *
+     * @param root Root identifier of the compiled layout.
+     * @return Layout program.
+     */
+    public static LayoutProgram build(ExecutableIdentifier root) {
+
+        LayoutProgramBuilder builder = new LayoutProgramBuilder();
+        builder.lower(root);
+        return builder.build();
+    }
+
+    /**
+     * Emit an instruction to write static text.
+     *
+     * @param text Static text.
+     */
+    public void emitText(String text) {
+
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        int offset = textPool.length();
+        textPool.append(text);
+        int previous = size - 1;
+        if (previous >= 0 && lastLabel != size
+                && instructions[previous * LayoutProgram.INSTRUCTION_SIZE] == LayoutProgram.EMIT_TEXT) {
+            // Extend the previous text instruction, since its range ends where this text starts. Not possible when
+            // a branch jumps right here, as the jump would skip the previous text.
+            instructions[previous * LayoutProgram.INSTRUCTION_SIZE + 2] += text.length();
+            return;
+        }
+        emit(LayoutProgram.EMIT_TEXT, offset, text.length());
+    }
+
+    /**
+     * Emit an instruction to write the value of the given data.
+     *
+     * @param name Data name.
+     */
+    public void emitData(String name) {
+
+        emit(LayoutProgram.EMIT_DATA, nameIndex(name), 0);
+    }
+
+    /**
+     * Emit an instruction to hand over the execution to the given component.
+     *
+     * @param name Component name.
+     */
+    public void emitComponent(String name) {
+
+        emit(LayoutProgram.YIELD_COMPONENT, nameIndex(name), 0);
+    }
+
+    /**
+     * Emit a conditional jump with an unresolved target.
+     *
+     * @param opcode Either {@link LayoutProgram#BRANCH_IF} or {@link LayoutProgram#BRANCH_IF_NOT}.
+     * @param name   Data name of the condition.
+     * @return Index of the emitted instruction, to be resolved with {@link #bindTarget(int)}.
+     */
+    public int emitBranch(int opcode, String name) {
+
+        if (opcode != LayoutProgram.BRANCH_IF && opcode != LayoutProgram.BRANCH_IF_NOT) {
+            throw new IllegalArgumentException("Not a branch opcode: " + opcode);
+        }
+        emit(opcode, nameIndex(name), -1);
+        return size - 1;
+    }
+
+    /**
+     * Resolve the target of the given branch instruction to the next emitted instruction.
+     *
+     * @param branch Index of the branch instruction.
+     */
+    public void bindTarget(int branch) {
+
+        instructions[branch * LayoutProgram.INSTRUCTION_SIZE + 2] = size;
+        lastLabel = size;
+    }
+
+    /**
+     * Create the program.
+     *
+     * @return Layout program.
+     */
+    public LayoutProgram build() {
+
+        char[] pool = new char[textPool.length()];
+        textPool.getChars(0, textPool.length(), pool, 0);
+        return new LayoutProgram(Arrays.copyOf(instructions, size * LayoutProgram.INSTRUCTION_SIZE), pool,
+                Arrays.copyOf(names, nameCount));
+    }
+
+    private void lower(ExecutableIdentifier identifier) {
+
+        if (identifier instanceof DefaultIdentifier) {
+            for (ExecutableIdentifier child : ((DefaultIdentifier) identifier).getIdentifiers()) {
+                lower(child);
+            }
+        } else if (identifier instanceof NoIdentifier) {
+            emitText(((NoIdentifier) identifier).getText());
+        } else if (identifier instanceof StyleIdentifier) {
+            StyleIdentifier style = (StyleIdentifier) identifier;
+            emitText(style.getText());
+            emitText(style.getStyleElement());
+        } else if (identifier instanceof DataIdentifier) {
+            DataIdentifier data = (DataIdentifier) identifier;
+            emitText(data.getText());
+            emitData(data.getIdentifierName());
+        } else if (identifier instanceof ComponentIdentifier) {
+            ComponentIdentifier component = (ComponentIdentifier) identifier;
+            emitText(component.getText());
+            emitComponent(component.getIdentifierName());
+        } else if (identifier instanceof ConditionIdentifier) {
+            ConditionIdentifier condition = (ConditionIdentifier) identifier;
+            emitText(condition.getText());
+            int branch = emitBranch(LayoutProgram.BRANCH_IF_NOT, condition.getIdentifierName());
+            lower(condition.getChild());
+            bindTarget(branch);
+        } else if (identifier instanceof NotConditionIdentifier) {
+            NotConditionIdentifier notCondition = (NotConditionIdentifier) identifier;
+            emitText(notCondition.getText());
+            int branch = emitBranch(LayoutProgram.BRANCH_IF, notCondition.getIdentifierName());
+            lower(notCondition.getChild());
+            bindTarget(branch);
+        } else if (identifier != null) {
+            throw new CompilerException("Unsupported identifier: " + identifier.getClass().getName());
+        }
+    }
+
+    private void emit(int opcode, int firstOperand, int secondOperand) {
+
+        int index = size * LayoutProgram.INSTRUCTION_SIZE;
+        if (index + LayoutProgram.INSTRUCTION_SIZE > instructions.length) {
+            instructions = Arrays.copyOf(instructions, instructions.length * 2);
+        }
+        instructions[index] = opcode;
+        instructions[index + 1] = firstOperand;
+        instructions[index + 2] = secondOperand;
+        size++;
+    }
+
+    private int nameIndex(String name) {
+
+        Integer index = nameIndexes.get(name);
+        if (index == null) {
+            if (nameCount == names.length) {
+                names = Arrays.copyOf(names, nameCount * 2);
+            }
+            names[nameCount] = name;
+            index = nameCount++;
+            nameIndexes.put(name, index);
+        }
+        return index;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.com).
+ * Copyright (c) 2022-2026, WSO2 Inc. (http://www.wso2.com).
  *
  * WSO2 Inc. licenses this file to you under the Apache License,
  * Version 2.0 (the "License"); you may not use this file except
@@ -18,7 +18,6 @@
 
 package org.wso2.identity.apps.taglibs.layout.controller.compiler.parsers;
 
-import org.apache.commons.lang.StringUtils;
 import org.wso2.identity.apps.taglibs.layout.controller.compiler.CompilerException;
 import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.ComponentIdentifier;
 import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.ConditionIdentifier;
@@ -27,24 +26,53 @@ import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.Def
 import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.ExecutableIdentifier;
 import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.NoIdentifier;
 import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.NotConditionIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.StyleIdentifier;
 import org.wso2.identity.apps.taglibs.layout.controller.compiler.resolvers.FileResolver;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.resolvers.RemoteLayoutFetcher;
 import org.wso2.identity.apps.taglibs.layout.controller.compiler.resolvers.Resolver;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.styles.StyleSheetMinifier;
 
-import java.io.BufferedReader;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.net.URL;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * The default parser, use to compile the layout file.
+ * The layout is compiled with a single pass character scanner, which recognizes the below tags.
+ *  - {{name}}   : Data identifier.
+ *  - {{{name}}} : Component identifier.
+ *  - {{#name}}  : Start of a condition block.
+ *  - {{^name}}  : Start of a not condition block.
+ *  - {{/name}}  : End of a block.
+ *  - {{@name}}  : Style identifier, inlines the minified "name.css" file next to the layout file.
+ * Names can contain letters, digits, '-' and '_'. Line terminators are normalized to '\n' and the layout always
+ * ends with a '\n'.
  */
 public class DefaultParser implements Parser {
 
-    private final Pattern pattern = Pattern.compile(
-            "\\{\\{([-_a-zA-Z0-9]+)\\}\\}|" + "\\{\\{\\{([-_a-zA-Z0-9]+)\\}\\}\\}|" + "\\{\\{#([-_a-zA-Z0-9]+)\\}\\}|" +
-                    "\\{\\{/([-_a-zA-Z0-9]+)\\}\\}|" + "\\{\\{\\^([-_a-zA-Z0-9]+)\\}\\}");
+    /**
+     * Version of the output of the parser. It must be increased when a change of the parser or of the style sheet
+     * minifier changes the compiled layout of an unchanged layout file, so the layouts skipped by the incremental
+     * builds are compiled again.
+     */
+    public static final int VERSION = 1;
+
+    private static final int NO_TAG = -1;
+    private static final int DATA_TAG = 0;
+    private static final int COMPONENT_TAG = 1;
+    private static final int CONDITION_TAG = 2;
+    private static final int NOT_CONDITION_TAG = 3;
+    private static final int CLOSING_TAG = 4;
+    private static final int STYLE_TAG = 5;
+
+    private static final int READ_BUFFER_SIZE = 8192;
+
     private final Resolver resolver;
 
     /**
@@ -73,11 +101,10 @@ public class DefaultParser implements Parser {
      */
     @Override
     public ExecutableIdentifier compile(URL file) {
-        ExecutableIdentifier compiledLayout;
+
+        CharBuffer content;
         try {
-            BufferedReader reader = (BufferedReader) resolver.getReader(file);
-            CompileContext context = new CompileContext();
-            compiledLayout = compile(reader, context, null);
+            content = resolver.read(file);
         } catch (RuntimeException e) {
             throw e;
         } catch (Exception e) {
@@ -85,114 +112,180 @@ public class DefaultParser implements Parser {
         } finally {
             resolver.closeResources();
         }
-        return compiledLayout;
+        return compile(content, file);
+    }
+
+    /**
+     * Compile the given layout content. The remaining characters of the buffer are compiled and the position of the
+     * buffer is not changed.
+     *
+     * @param content Layout content.
+     * @return Compiled layout file.
+     */
+    public ExecutableIdentifier compile(CharBuffer content) {
+
+        return compile(content, null);
+    }
+
+    /**
+     * Compile the given layout content of the given layout file. Style sheets of the style identifiers are read
+     * relative to the layout file. The remaining characters of the buffer are compiled and the position of the buffer
+     * is not changed.
+     *
+     * @param content    Layout content.
+     * @param layoutFile Layout file path as a URL object, or null if the style sheets are not available.
+     * @return Compiled layout file.
+     */
+    public ExecutableIdentifier compile(CharBuffer content, URL layoutFile) {
+
+        ScanContext context = new ScanContext(content.slice(), layoutFile);
+        return compile(context, null);
     }
 
     /**
      * Recursive compiling function to compile the layout file.
      *
-     * @param reader         BufferedReader to read the layout file.
-     * @param context        Compiling context.
+     * @param context        Scanning context.
      * @param identifierName Name of the recently identified block identifier
      *                       (Ex:- ConditionIdentifier, NotConditionIdentifier).
      * @return Compiled layout file or block of identifiers.
      */
-    private ExecutableIdentifier compile(BufferedReader reader, CompileContext context, String identifierName) {
+    private ExecutableIdentifier compile(ScanContext context, String identifierName) {
 
         ArrayList<ExecutableIdentifier> allIdentifiers = new ArrayList<>();
-        String currentIdentifierName;
-        while (readLine(reader, context)) {
-            if (context.matcher == null) {
-                context.matcher = pattern.matcher(context.line);
+        CharBuffer content = context.content;
+        int limit = content.limit();
+        while (context.position < limit) {
+            if (content.get(context.position) != '{') {
+                context.position++;
+                continue;
             }
-            if (context.matcher.find(context.start)) {
-                if ((currentIdentifierName = context.matcher.group(1)) != null) {
-                    if (context.textKeeper != null) {
-                        allIdentifiers.add(new DataIdentifier(currentIdentifierName,
-                                context.textKeeper + context.line.substring(context.start, context.matcher.start())));
-                        context.textKeeper = null;
-                    } else {
-                        allIdentifiers.add(new DataIdentifier(currentIdentifierName,
-                                context.line.substring(context.start, context.matcher.start())));
-                    }
-                    context.start = context.matcher.end();
-                } else if ((currentIdentifierName = context.matcher.group(2)) != null) {
-                    if (context.textKeeper != null) {
-                        allIdentifiers.add(new ComponentIdentifier(currentIdentifierName,
-                                context.textKeeper + context.line.substring(context.start, context.matcher.start())));
-                        context.textKeeper = null;
-                    } else {
-                        allIdentifiers.add(new ComponentIdentifier(currentIdentifierName,
-                                context.line.substring(context.start, context.matcher.start())));
-                    }
-                    context.start = context.matcher.end();
-                } else if ((currentIdentifierName = context.matcher.group(3)) != null) {
-                    ConditionIdentifier condition;
-                    if (context.textKeeper != null) {
-                        condition = new ConditionIdentifier(currentIdentifierName,
-                                context.textKeeper + context.line.substring(context.start, context.matcher.start()));
-                        context.textKeeper = null;
-                    } else {
-                        condition = new ConditionIdentifier(currentIdentifierName,
-                                context.line.substring(context.start, context.matcher.start()));
-                    }
-                    context.start = context.matcher.end();
-                    ExecutableIdentifier child = compile(reader, context, currentIdentifierName);
-                    condition.setChild(child);
-                    allIdentifiers.add(condition);
-                } else if ((currentIdentifierName = context.matcher.group(4)) != null) {
-                    if (!identifierName.trim().equals(currentIdentifierName.trim())) {
+            int tag = matchTag(context);
+            if (tag == NO_TAG) {
+                context.position++;
+                continue;
+            }
+            String text = context.text(context.position);
+            String currentIdentifierName = context.name();
+            context.position = context.tagEnd;
+            context.textStart = context.tagEnd;
+            switch (tag) {
+                case DATA_TAG:
+                    allIdentifiers.add(new DataIdentifier(currentIdentifierName, text));
+                    break;
+                case COMPONENT_TAG:
+                    allIdentifiers.add(new ComponentIdentifier(currentIdentifierName, text));
+                    break;
+                case CONDITION_TAG:
+                    allIdentifiers.add(new ConditionIdentifier(currentIdentifierName, text,
+                            compile(context, currentIdentifierName)));
+                    break;
+                case NOT_CONDITION_TAG:
+                    allIdentifiers.add(new NotConditionIdentifier(currentIdentifierName, text,
+                            compile(context, currentIdentifierName)));
+                    break;
+                case STYLE_TAG:
+                    allIdentifiers.add(new StyleIdentifier(currentIdentifierName, text,
+                            readStyleSheet(context.layoutFile, currentIdentifierName)));
+                    break;
+                default:
+                    if (!currentIdentifierName.equals(identifierName)) {
                         throw new IllegalStateException(
                                 "Layout file is not correctly written, " +
                                         "make sure to place closing tags in correct place: " +
                                         currentIdentifierName);
                     }
-                    if (context.textKeeper != null) {
-                        allIdentifiers.add(new NoIdentifier(
-                                context.textKeeper + context.line.substring(context.start, context.matcher.start())));
-                        context.textKeeper = null;
-                    } else {
-                        allIdentifiers.add(
-                                new NoIdentifier(context.line.substring(context.start, context.matcher.start())));
-                    }
-                    context.start = context.matcher.end();
+                    allIdentifiers.add(new NoIdentifier(text));
                     return createCompiledObject(allIdentifiers);
-                } else if ((currentIdentifierName = context.matcher.group(5)) != null) {
-                    NotConditionIdentifier notCondition;
-                    if (context.textKeeper != null) {
-                        notCondition = new NotConditionIdentifier(currentIdentifierName,
-                                context.textKeeper + context.line.substring(context.start, context.matcher.start()));
-                        context.textKeeper = null;
-                    } else {
-                        notCondition = new NotConditionIdentifier(currentIdentifierName,
-                                context.line.substring(context.start, context.matcher.start()));
-                    }
-                    context.start = context.matcher.end();
-                    ExecutableIdentifier child = compile(reader, context, currentIdentifierName);
-                    notCondition.setChild(child);
-                    allIdentifiers.add(notCondition);
-                }
-            } else {
-                if (context.textKeeper == null) {
-                    context.textKeeper = new StringBuilder(context.line.substring(context.start) + "\n");
-                } else {
-                    context.textKeeper.append(context.line.substring(context.start) + "\n");
-                }
-                context.line = StringUtils.EMPTY;
-                context.matcher = null;
-                context.start = 0;
             }
         }
         if (identifierName != null) {
             throw new IllegalStateException(
                     "Layout file is not correctly written, make sure to place closing tags in correct place");
         }
-        if (context.textKeeper != null) {
-            allIdentifiers.add(new NoIdentifier(context.textKeeper.toString()));
+        if (limit > 0) {
+            String text = context.text(limit);
+            char last = content.get(limit - 1);
+            if (last != '\n' && last != '\r') {
+                text = text + "\n";
+            }
+            allIdentifiers.add(new NoIdentifier(text));
         }
         return createCompiledObject(allIdentifiers);
     }
 
+    /**
+     * Match a tag at the current position of the scanning context. On a match, name and end of the tag are kept in
+     * the context.
+     *
+     * @param context Scanning context, positioned at a '{' character.
+     * @return Type of the matched tag or NO_TAG.
+     */
+    private int matchTag(ScanContext context) {
+
+        CharBuffer content = context.content;
+        int limit = content.limit();
+        int index = context.position + 2;
+        if (index >= limit || content.get(context.position + 1) != '{') {
+            return NO_TAG;
+        }
+        int tag;
+        int closingBraces = 2;
+        switch (content.get(index)) {
+            case '{':
+                tag = COMPONENT_TAG;
+                closingBraces = 3;
+                index++;
+                break;
+            case '#':
+                tag = CONDITION_TAG;
+                index++;
+                break;
+            case '^':
+                tag = NOT_CONDITION_TAG;
+                index++;
+                break;
+            case '/':
+                tag = CLOSING_TAG;
+                index++;
+                break;
+            case '@':
+                tag = STYLE_TAG;
+                index++;
+                break;
+            default:
+                tag = DATA_TAG;
+        }
+        int nameStart = index;
+        while (index < limit && isNameCharacter(content.get(index))) {
+            index++;
+        }
+        if (index == nameStart) {
+            return NO_TAG;
+        }
+        int nameEnd = index;
+        for (int i = 0; i < closingBraces; i++, index++) {
+            if (index >= limit || content.get(index) != '}') {
+                return NO_TAG;
+            }
+        }
+        context.nameStart = nameStart;
+        context.nameEnd = nameEnd;
+        context.tagEnd = index;
+        return tag;
+    }
+
+    /**
+     * Check whether the given character is allowed in identifier names.
+     *
+     * @param c Character.
+     * @return Whether the character is allowed.
+     */
+    private static boolean isNameCharacter(char c) {
+
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '-' || c == '_';
+    }
+
     /**
      * Create the final compiled version of the layout file.
      *
@@ -205,35 +298,106 @@ public class DefaultParser implements Parser {
     }
 
     /**
-     * Read a new line from the layout file.
+     * Read and minify the style sheet of a style identifier.
      *
-     * @param reader  BufferedReader to read the layout file.
-     * @param context Compiling context.
-     * @return Whether is there new line to read.
+     * @param layoutFile Layout file path as a URL object, or null.
+     * @param name       Name of the style sheet.
+     * @return Minified style sheet, or null if the style sheet is not available.
      */
-    private boolean readLine(BufferedReader reader, CompileContext context) {
-        if (context != null) {
-            if (StringUtils.EMPTY.equals(context.line)) {
-                try {
-                    context.line = reader.readLine();
-                } catch (IOException e) {
-                    throw new CompilerException("Can't read the file", e);
-                }
+    private static String readStyleSheet(URL layoutFile, String name) {
+
+        if (layoutFile == null) {
+            return null;
+        }
+        try (InputStream inputStream = RemoteLayoutFetcher.openStream(new URL(layoutFile, name + ".css"))) {
+            CharBuffer styleSheet = read(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+            return StyleSheetMinifier.minify(styleSheet);
+        } catch (FileNotFoundException e) {
+            return null;
+        } catch (IOException e) {
+            throw new CompilerException("Can't read the style sheet: " + name, e);
+        }
+    }
+
+    /**
+     * Read the whole layout file into a buffer.
+     *
+     * @param reader Reader of the layout file.
+     * @return Layout content, ready to be read.
+     * @throws IOException If the layout file can't be read.
+     */
+    private static CharBuffer read(Reader reader) throws IOException {
+
+        CharBuffer buffer = CharBuffer.allocate(READ_BUFFER_SIZE);
+        while (true) {
+            if (!buffer.hasRemaining()) {
+                CharBuffer larger = CharBuffer.allocate(buffer.capacity() * 2);
+                buffer.flip();
+                larger.put(buffer);
+                buffer = larger;
+            }
+            if (reader.read(buffer) < 0) {
+                break;
             }
-            return context.line != null;
-        } else {
-            return false;
         }
+        buffer.flip();
+        return buffer;
     }
 
     /**
-     * The inner class, use to keep the data required to compiling process.
+     * The inner class, use to keep the data required to scanning process.
      */
-    private static class CompileContext {
+    private static class ScanContext {
+
+        final CharBuffer content;
+        int position = 0;
+        int textStart = 0;
+        int nameStart = 0;
+        int nameEnd = 0;
+        int tagEnd = 0;
+        char[] scratch = new char[256];
+        final URL layoutFile;
+
+        ScanContext(CharBuffer content, URL layoutFile) {
+
+            this.content = content;
+            this.layoutFile = layoutFile;
+        }
+
+        /**
+         * Get the name of the recently matched tag.
+         *
+         * @return Identifier name.
+         */
+        String name() {
 
-        String line = StringUtils.EMPTY;
-        Matcher matcher = null;
-        int start = 0;
-        StringBuilder textKeeper = null;
+            return content.subSequence(nameStart, nameEnd).toString();
+        }
+
+        /**
+         * Get the text from the end of the previous tag up to the given index, with line terminators normalized.
+         *
+         * @param end End index (exclusive).
+         * @return Text.
+         */
+        String text(int end) {
+
+            int length = end - textStart;
+            if (length > scratch.length) {
+                scratch = new char[Math.max(length, scratch.length * 2)];
+            }
+            int count = 0;
+            for (int i = textStart; i < end; i++) {
+                char c = content.get(i);
+                if (c == '\r') {
+                    c = '\n';
+                    if (i + 1 < end && content.get(i + 1) == '\n') {
+                        i++;
+                    }
+                }
+                scratch[count++] = c;
+            }
+            return new String(scratch, 0, count);
+        }
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.com).
+ * Copyright (c) 2022-2026, WSO2 Inc. (http://www.wso2.com).
  *
  * WSO2 Inc. licenses this file to you under the Apache License,
  * Version 2.0 (the "License"); you may not use this file except
@@ -50,7 +50,7 @@ public class FileResolver implements Resolver {
             throw new CompilerException("Can't find the given file");
         }
         try {
-            inputStream = file.openStream();
+            inputStream = RemoteLayoutFetcher.openStream(file);
             streamReader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
             reader = new BufferedReader(streamReader);
         } catch (RuntimeException e) {
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.compiler.resolvers;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decodes the bytes of layout files for the stateless resolvers.
+ * Decoders are not thread safe, so a new UTF-8 decoder is created per file. Malformed input is replaced, the same as
+ * the reader based {@link FileResolver}.
+ */
+final class LayoutFileDecoder {
+
+    private LayoutFileDecoder() {
+
+    }
+
+    /**
+     * Decode the remaining bytes of the given buffer.
+     *
+     * @param bytes Layout file bytes.
+     * @return Layout content, ready to be read.
+     * @throws CharacterCodingException If the bytes can't be decoded.
+     */
+    static CharBuffer decode(ByteBuffer bytes) throws CharacterCodingException {
+
+        return StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE)
+                .decode(bytes);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.compiler.resolvers;
+
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.CompilerException;
+
+import java.io.CharArrayReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Stateless resolver of local layout files.
+ * Local files are read with a single {@link Files#readAllBytes(Path)} call and decoded straight from the bytes, so the
+ * file is not copied through a stream and a reader. The file is closed before it is decoded, so it can be replaced
+ * while the layout is compiled. Other files (e.g. remote layouts) are read through
+ * {@link RemoteLayoutFetcher#openStream(URL)}. The resolver keeps no state between calls, so a single instance can be
+ * shared by concurrent compiles and {@link #closeResources()} does nothing.
+ */
+public class LocalFileResolver implements Resolver {
+
+    /**
+     * Get a reader of the decoded layout file.
+     *
+     * @param file Layout file path as a URL object.
+     * @return Reader to read the layout file.
+     */
+    @Override
+    public Reader getReader(URL file) {
+
+        try {
+            CharBuffer content = read(file);
+            return new CharArrayReader(content.array(), content.arrayOffset() + content.position(),
+                    content.remaining());
+        } catch (IOException e) {
+            throw new CompilerException("Can't initialize a reader for the given file", e);
+        }
+    }
+
+    /**
+     * Nothing to close, the file is decoded before it is returned.
+     */
+    @Override
+    public void closeResources() {
+
+    }
+
+    /**
+     * Read the whole layout file.
+     *
+     * @param file Layout file path as a URL object.
+     * @return Layout content, ready to be read.
+     * @throws IOException If the layout file can't be read.
+     */
+    @Override
+    public CharBuffer read(URL file) throws IOException {
+
+        if (file == null) {
+            throw new CompilerException("Can't find the given file");
+        }
+        if (!"file".equalsIgnoreCase(file.getProtocol())) {
+            try (InputStream inputStream = RemoteLayoutFetcher.openStream(file)) {
+                return LayoutFileDecoder.decode(ByteBuffer.wrap(inputStream.readAllBytes()));
+            }
+        }
+        return LayoutFileDecoder.decode(ByteBuffer.wrap(Files.readAllBytes(toPath(file))));
+    }
+
+    /**
+     * Convert the given file URL to a path.
+     *
+     * @param file Layout file path as a URL object.
+     * @return Path of the file.
+     */
+    private static Path toPath(URL file) {
+
+        try {
+            return new File(file.toURI()).toPath();
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return new File(file.getPath()).toPath();
+        }
+    }
+}
@@ -0,0 +1,596 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.compiler.resolvers;
+
+import org.apache.commons.lang.StringUtils;
+import org.wso2.identity.apps.taglibs.layout.controller.Constant;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.CompilerException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Fetches the layout files hosted in a remote layout store and keeps them in a bounded in-memory cache, and
+ * optionally in an on-disk cache which survives restarts.
+ *  - A cached layout is served as is within the time to live.
+ *  - After the time to live, the stale layout is still served while it is revalidated in the background, up to the
+ *    stale while revalidate window. After that window, the layout is revalidated before it is served.
+ *  - Revalidation is a conditional request (If-None-Match / If-Modified-Since), so an unchanged layout is not
+ *    downloaded again.
+ *  - Concurrent fetches of the same layout are coalesced into a single request.
+ *  - If the layout store is not reachable, or responds with a layout larger than the maximum size, the last known
+ *    layout is served.
+ * Each distinct content gets a new version number, which can be used to detect changes of the layout.
+ */
+public final class RemoteLayoutFetcher {
+
+    private static final String CONTENT_FILE_EXTENSION = ".layout";
+    private static final String METADATA_FILE_EXTENSION = ".properties";
+    private static final String URL_PROPERTY = "url";
+    private static final String ETAG_PROPERTY = "etag";
+    private static final String LAST_MODIFIED_PROPERTY = "lastModified";
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    private static final RemoteLayoutFetcher INSTANCE = new RemoteLayoutFetcher(Constant.REMOTE_LAYOUT_CACHE_TTL,
+            Constant.REMOTE_LAYOUT_STALE_WHILE_REVALIDATE, Constant.REMOTE_LAYOUT_MAX_SIZE,
+            resolveDiskCacheDirectory(), createRevalidationExecutor(), System::currentTimeMillis);
+
+    private final long timeToLive;
+    private final long staleWhileRevalidate;
+    private final long maxSize;
+    private final Path diskCacheDirectory;
+    private final Executor revalidationExecutor;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries;
+
+    /**
+     * Constructor.
+     *
+     * @param timeToLive           Time a fetched layout is served without revalidation, in milliseconds.
+     * @param staleWhileRevalidate Time a stale layout is served while it is revalidated in the background, in
+     *                             milliseconds.
+     * @param maxSize              Maximum size of a layout in bytes. Larger layouts are rejected.
+     * @param diskCacheDirectory   Directory of the on-disk cache, or null to disable the on-disk cache.
+     * @param revalidationExecutor Executor of the background revalidations.
+     * @param clock                Source of the current time in milliseconds.
+     */
+    RemoteLayoutFetcher(long timeToLive, long staleWhileRevalidate, long maxSize, Path diskCacheDirectory,
+                        Executor revalidationExecutor, LongSupplier clock) {
+
+        this.timeToLive = timeToLive;
+        this.staleWhileRevalidate = staleWhileRevalidate;
+        this.maxSize = maxSize;
+        this.diskCacheDirectory = diskCacheDirectory;
+        this.revalidationExecutor = revalidationExecutor;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 6405717931258428617L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+
+                return size() > Constant.REMOTE_LAYOUT_CACHE_MAX_ENTRIES;
+            }
+        };
+    }
+
+    /**
+     * Get the shared fetcher instance.
+     *
+     * @return Remote layout fetcher.
+     */
+    public static RemoteLayoutFetcher getInstance() {
+
+        return INSTANCE;
+    }
+
+    /**
+     * Check whether the given layout file is hosted in a remote layout store.
+     *
+     * @param layoutFile Layout file path as a URL object.
+     * @return Whether the layout file is a remote layout.
+     */
+    public static boolean isRemoteLayout(URL layoutFile) {
+
+        return "http".equalsIgnoreCase(layoutFile.getProtocol()) || "https".equalsIgnoreCase(layoutFile.getProtocol());
+    }
+
+    /**
+     * Open a stream to read the given layout file. Remote layouts are served through the shared fetcher.
+     *
+     * @param layoutFile Layout file path as a URL object.
+     * @return Stream of the layout file.
+     * @throws IOException If the layout file can't be opened.
+     */
+    public static InputStream openStream(URL layoutFile) throws IOException {
+
+        if (isRemoteLayout(layoutFile)) {
+            return getInstance().fetch(layoutFile).openStream();
+        }
+        return layoutFile.openStream();
+    }
+
+    /**
+     * Fetch the given remote layout file.
+     *
+     * @param layoutFile Remote layout file path as a URL object.
+     * @return Remote layout.
+     */
+    public RemoteLayout fetch(URL layoutFile) {
+
+        String key = layoutFile.toExternalForm();
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry == null) {
+                entry = new Entry();
+                entries.put(key, entry);
+            }
+        }
+
+        if (diskCacheDirectory != null) {
+            loadFromDisk(layoutFile, entry);
+        }
+
+        CompletableFuture<RemoteLayout> revalidation;
+        boolean owner = false;
+        synchronized (entry) {
+            long now = clock.getAsLong();
+            if (entry.layout != null) {
+                long age = now - entry.fetchedAt;
+                if (age < timeToLive) {
+                    return entry.layout;
+                }
+                if (age < timeToLive + staleWhileRevalidate) {
+                    if (entry.revalidation == null) {
+                        CompletableFuture<RemoteLayout> background = new CompletableFuture<>();
+                        entry.revalidation = background;
+                        Entry revalidatingEntry = entry;
+                        try {
+                            revalidationExecutor.execute(() -> revalidate(layoutFile, revalidatingEntry, background));
+                        } catch (RejectedExecutionException e) {
+                            // The fetcher is closed, the stale layout is served without revalidation.
+                            entry.revalidation = null;
+                        }
+                    }
+                    return entry.layout;
+                }
+            }
+            revalidation = entry.revalidation;
+            if (revalidation == null) {
+                revalidation = new CompletableFuture<>();
+                entry.revalidation = revalidation;
+                owner = true;
+            }
+        }
+        if (owner) {
+            revalidate(layoutFile, entry, revalidation);
+        }
+        try {
+            return revalidation.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof CompilerException) {
+                throw (CompilerException) e.getCause();
+            }
+            throw new CompilerException("Can't fetch the remote layout: " + layoutFile, e.getCause());
+        }
+    }
+
+    /**
+     * Stop the background revalidations. Called when the web application stops, so the revalidation threads don't
+     * outlive it. Stale layouts fetched afterwards are not revalidated in the background.
+     */
+    public void close() {
+
+        if (revalidationExecutor instanceof ExecutorService) {
+            ((ExecutorService) revalidationExecutor).shutdownNow();
+        }
+    }
+
+    /**
+     * Remove the given layout file from the in-memory cache.
+     *
+     * @param layoutFile Remote layout file path as a URL object.
+     */
+    public void invalidate(URL layoutFile) {
+
+        synchronized (entries) {
+            entries.remove(layoutFile.toExternalForm());
+        }
+    }
+
+    /**
+     * Remove all the layouts from the in-memory cache.
+     */
+    public void clear() {
+
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Get the number of layouts in the in-memory cache.
+     *
+     * @return Number of cached layouts.
+     */
+    public int size() {
+
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Revalidate the layout and complete the given revalidation with the result.
+     *
+     * @param layoutFile   Remote layout file path as a URL object.
+     * @param entry        Cache entry of the layout.
+     * @param revalidation Revalidation to be completed.
+     */
+    private void revalidate(URL layoutFile, Entry entry, CompletableFuture<RemoteLayout> revalidation) {
+
+        RemoteLayout current;
+        String etag;
+        String lastModified;
+        synchronized (entry) {
+            current = entry.layout;
+            etag = entry.etag;
+            lastModified = entry.lastModified;
+        }
+        try {
+            RemoteLayout result = download(layoutFile, entry, current, etag, lastModified);
+            synchronized (entry) {
+                entry.revalidation = null;
+            }
+            revalidation.complete(result);
+        } catch (IOException | RuntimeException e) {
+            synchronized (entry) {
+                entry.revalidation = null;
+                if (current != null) {
+                    // Keep serving the last known layout, and try again after the time to live.
+                    entry.fetchedAt = clock.getAsLong();
+                }
+            }
+            if (current != null) {
+                revalidation.complete(current);
+            } else {
+                revalidation.completeExceptionally(
+                        new CompilerException("Can't fetch the remote layout: " + layoutFile, e));
+            }
+        }
+    }
+
+    /**
+     * Send a conditional request for the layout and update the cache entry with the response.
+     *
+     * @param layoutFile   Remote layout file path as a URL object.
+     * @param entry        Cache entry of the layout.
+     * @param current      Currently cached layout, or null.
+     * @param etag         ETag of the currently cached layout, or null.
+     * @param lastModified Last modified time of the currently cached layout, or null.
+     * @return Up to date layout.
+     * @throws IOException If the layout can't be fetched, or is larger than the maximum size.
+     */
+    private RemoteLayout download(URL layoutFile, Entry entry, RemoteLayout current, String etag,
+                                  String lastModified) throws IOException {
+
+        URLConnection connection = layoutFile.openConnection();
+        connection.setConnectTimeout(Constant.REMOTE_LAYOUT_CONNECT_TIMEOUT);
+        connection.setReadTimeout(Constant.REMOTE_LAYOUT_READ_TIMEOUT);
+        connection.setUseCaches(false);
+        if (current != null && etag != null) {
+            connection.setRequestProperty("If-None-Match", etag);
+        }
+        if (current != null && lastModified != null) {
+            connection.setRequestProperty("If-Modified-Since", lastModified);
+        }
+        if (connection instanceof HttpURLConnection) {
+            int status = ((HttpURLConnection) connection).getResponseCode();
+            if (status == HttpURLConnection.HTTP_NOT_MODIFIED && current != null) {
+                closeQuietly(((HttpURLConnection) connection).getErrorStream());
+                synchronized (entry) {
+                    entry.fetchedAt = clock.getAsLong();
+                }
+                return current;
+            }
+            if (status != HttpURLConnection.HTTP_OK) {
+                closeQuietly(((HttpURLConnection) connection).getErrorStream());
+                throw new IOException("Unexpected response status " + status + " for the remote layout");
+            }
+        }
+        byte[] content = readContent(connection);
+        RemoteLayout layout;
+        String newEtag = connection.getHeaderField("ETag");
+        String newLastModified = connection.getHeaderField("Last-Modified");
+        synchronized (entry) {
+            if (entry.layout != null && Arrays.equals(entry.layout.content, content)) {
+                // Layout store does not support conditional requests, but the content is the same.
+                layout = entry.layout;
+            } else {
+                layout = new RemoteLayout(content, VERSIONS.incrementAndGet());
+                entry.layout = layout;
+            }
+            entry.etag = newEtag;
+            entry.lastModified = newLastModified;
+            entry.fetchedAt = clock.getAsLong();
+        }
+        // Downloads of an entry are coalesced, so the on-disk cache is written by one thread at a time, without
+        // blocking the readers of the entry.
+        if (diskCacheDirectory != null) {
+            writeToDisk(layoutFile, layout, newEtag, newLastModified);
+        }
+        return layout;
+    }
+
+    /**
+     * Read the response body of the given connection, up to the maximum size.
+     *
+     * @param connection Connection to the remote layout.
+     * @return Response body.
+     * @throws IOException If the response body can't be read, or is larger than the maximum size.
+     */
+    private byte[] readContent(URLConnection connection) throws IOException {
+
+        try (InputStream inputStream = connection.getInputStream()) {
+            long contentLength = connection.getContentLengthLong();
+            if (contentLength > maxSize) {
+                throw new IOException("Remote layout of " + contentLength + " bytes is larger than " + maxSize +
+                        " bytes");
+            }
+            // The content length is not known for chunked responses, so the size is also checked while reading.
+            ByteArrayOutputStream content = new ByteArrayOutputStream(contentLength > 0 ? (int) contentLength : 8192);
+            byte[] buffer = new byte[8192];
+            long size = 0;
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                size += read;
+                if (size > maxSize) {
+                    throw new IOException("Remote layout is larger than " + maxSize + " bytes");
+                }
+                content.write(buffer, 0, read);
+            }
+            return content.toByteArray();
+        }
+    }
+
+    /**
+     * Load the layout from the on-disk cache into the given entry, once per entry. The loaded layout is considered
+     * stale, so it is served right away and revalidated in the background. The file is read outside the lock of the
+     * entry, and only used if the layout is not fetched meanwhile.
+     *
+     * @param layoutFile Remote layout file path as a URL object.
+     * @param entry      Cache entry of the layout.
+     */
+    private void loadFromDisk(URL layoutFile, Entry entry) {
+
+        synchronized (entry) {
+            if (entry.diskCacheRead) {
+                return;
+            }
+            entry.diskCacheRead = true;
+        }
+        Entry diskEntry = readFromDisk(layoutFile);
+        if (diskEntry == null) {
+            return;
+        }
+        synchronized (entry) {
+            if (entry.layout == null) {
+                entry.layout = diskEntry.layout;
+                entry.etag = diskEntry.etag;
+                entry.lastModified = diskEntry.lastModified;
+                entry.fetchedAt = clock.getAsLong() - timeToLive;
+            }
+        }
+    }
+
+    /**
+     * Read the layout from the on-disk cache.
+     *
+     * @param layoutFile Remote layout file path as a URL object.
+     * @return Entry with the layout, its ETag and last modified time, or null if the layout is not in the cache.
+     */
+    private Entry readFromDisk(URL layoutFile) {
+
+        String fileName = diskCacheFileName(layoutFile);
+        Path contentFile = diskCacheDirectory.resolve(fileName + CONTENT_FILE_EXTENSION);
+        Path metadataFile = diskCacheDirectory.resolve(fileName + METADATA_FILE_EXTENSION);
+        if (!Files.isRegularFile(contentFile) || !Files.isRegularFile(metadataFile)) {
+            return null;
+        }
+        try {
+            Properties metadata = new Properties();
+            try (InputStream inputStream = Files.newInputStream(metadataFile)) {
+                metadata.load(inputStream);
+            }
+            if (!layoutFile.toExternalForm().equals(metadata.getProperty(URL_PROPERTY))) {
+                return null;
+            }
+            Entry diskEntry = new Entry();
+            diskEntry.layout = new RemoteLayout(Files.readAllBytes(contentFile), VERSIONS.incrementAndGet());
+            diskEntry.etag = metadata.getProperty(ETAG_PROPERTY);
+            diskEntry.lastModified = metadata.getProperty(LAST_MODIFIED_PROPERTY);
+            return diskEntry;
+        } catch (IOException e) {
+            // On-disk cache is best effort, the layout will be fetched from the layout store.
+            return null;
+        }
+    }
+
+    /**
+     * Write the given layout to the on-disk cache.
+     *
+     * @param layoutFile   Remote layout file path as a URL object.
+     * @param layout       Layout to be written.
+     * @param etag         ETag of the layout, or null.
+     * @param lastModified Last modified time of the layout, or null.
+     */
+    private void writeToDisk(URL layoutFile, RemoteLayout layout, String etag, String lastModified) {
+
+        String fileName = diskCacheFileName(layoutFile);
+        Properties metadata = new Properties();
+        metadata.setProperty(URL_PROPERTY, layoutFile.toExternalForm());
+        if (etag != null) {
+            metadata.setProperty(ETAG_PROPERTY, etag);
+        }
+        if (lastModified != null) {
+            metadata.setProperty(LAST_MODIFIED_PROPERTY, lastModified);
+        }
+        try {
+            Files.createDirectories(diskCacheDirectory);
+            Path contentFile = Files.createTempFile(diskCacheDirectory, fileName, ".tmp");
+            Files.write(contentFile, layout.content);
+            Path metadataFile = Files.createTempFile(diskCacheDirectory, fileName, ".tmp");
+            try (OutputStream outputStream = Files.newOutputStream(metadataFile)) {
+                metadata.store(outputStream, null);
+            }
+            Files.move(contentFile, diskCacheDirectory.resolve(fileName + CONTENT_FILE_EXTENSION),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.move(metadataFile, diskCacheDirectory.resolve(fileName + METADATA_FILE_EXTENSION),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // On-disk cache is best effort, the layout is still served from the in-memory cache.
+        }
+    }
+
+    private static String diskCacheFileName(URL layoutFile) {
+
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(layoutFile.toExternalForm().getBytes(StandardCharsets.UTF_8));
+            StringBuilder fileName = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                fileName.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return fileName.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by the platform", e);
+        }
+    }
+
+    private static void closeQuietly(InputStream inputStream) {
+
+        if (inputStream != null) {
+            try {
+                inputStream.close();
+            } catch (IOException e) {
+                // Ignore the exception as this is a cleanup operation.
+            }
+        }
+    }
+
+    private static Path resolveDiskCacheDirectory() {
+
+        String directory = System.getProperty(Constant.REMOTE_LAYOUT_DISK_CACHE_DIRECTORY_PROPERTY);
+        return StringUtils.isBlank(directory) ? null : Paths.get(directory);
+    }
+
+    private static ExecutorService createRevalidationExecutor() {
+
+        return Executors.newFixedThreadPool(Constant.REMOTE_LAYOUT_REVALIDATION_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "remote-layout-revalidation");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Content of a remote layout file.
+     */
+    public static final class RemoteLayout {
+
+        private final byte[] content;
+        private final long version;
+
+        RemoteLayout(byte[] content, long version) {
+
+            this.content = content;
+            this.version = version;
+        }
+
+        /**
+         * Get the content of the layout file. The returned array must not be modified.
+         *
+         * @return Content of the layout file.
+         */
+        public byte[] getContent() {
+
+            return content;
+        }
+
+        /**
+         * Get the version of the content. Every distinct content fetched by the process gets a new version.
+         *
+         * @return Version of the content.
+         */
+        public long getVersion() {
+
+            return version;
+        }
+
+        /**
+         * Open a stream to read the content of the layout file.
+         *
+         * @return Stream of the content.
+         */
+        public InputStream openStream() {
+
+            return new ByteArrayInputStream(content);
+        }
+    }
+
+    /**
+     * Cache entry of a single remote layout file.
+     */
+    private static final class Entry {
+
+        private RemoteLayout layout;
+        private String etag;
+        private String lastModified;
+        private long fetchedAt;
+        private boolean diskCacheRead;
+        private CompletableFuture<RemoteLayout> revalidation;
+    }
+}
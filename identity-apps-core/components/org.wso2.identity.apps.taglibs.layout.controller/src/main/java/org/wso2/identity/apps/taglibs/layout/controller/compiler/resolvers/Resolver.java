@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.com).
+ * Copyright (c) 2022-2026, WSO2 Inc. (http://www.wso2.com).
  *
  * WSO2 Inc. licenses this file to you under the Apache License,
  * Version 2.0 (the "License"); you may not use this file except
@@ -18,8 +18,10 @@
 
 package org.wso2.identity.apps.taglibs.layout.controller.compiler.resolvers;
 
+import java.io.IOException;
 import java.io.Reader;
 import java.net.URL;
+import java.nio.CharBuffer;
 
 /**
  * Resolver interface to read the layout file.
@@ -38,4 +40,32 @@ public interface Resolver {
      * Close resources related to the reader.
      */
     void closeResources();
+
+    /**
+     * Read the whole layout file. The default implementation reads the file through {@link #getReader(URL)}, the
+     * caller must still call {@link #closeResources()} afterwards. Stateless resolvers override this to decode the
+     * file without a reader, so a single instance can be shared by concurrent compiles.
+     *
+     * @param file Layout file path as a URL object.
+     * @return Layout content, ready to be read.
+     * @throws IOException If the layout file can't be read.
+     */
+    default CharBuffer read(URL file) throws IOException {
+
+        Reader reader = getReader(file);
+        CharBuffer buffer = CharBuffer.allocate(8192);
+        while (true) {
+            if (!buffer.hasRemaining()) {
+                CharBuffer larger = CharBuffer.allocate(buffer.capacity() * 2);
+                buffer.flip();
+                larger.put(buffer);
+                buffer = larger;
+            }
+            if (reader.read(buffer) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
 }
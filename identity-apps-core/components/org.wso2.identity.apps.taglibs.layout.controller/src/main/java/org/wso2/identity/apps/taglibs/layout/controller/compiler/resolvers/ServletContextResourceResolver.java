@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.compiler.resolvers;
+
+import org.wso2.identity.apps.taglibs.layout.controller.Constant;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.CompilerException;
+
+import java.io.CharArrayReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Stateless resolver for the layout files served by the servlet context (e.g. the URLs of
+ * {@code ServletContext#getResource}).
+ * The bytes of the resources are cached together with their last modified time, so recompiling a layout (e.g. after it
+ * is evicted from the compiled layout cache) decodes the cached bytes instead of reading the packaged web application
+ * again. The cache is bounded and keyed by the resource URL. Resources without a known last modified time are not
+ * cached, as their modifications can't be detected. Remote layouts are not cached here, they are read through
+ * {@link RemoteLayoutFetcher#openStream(URL)} which has its own cache. The resolver keeps no per compile state, so a
+ * single instance can be shared by concurrent compiles and {@link #closeResources()} does nothing.
+ */
+public class ServletContextResourceResolver implements Resolver {
+
+    private static final ServletContextResourceResolver INSTANCE =
+            new ServletContextResourceResolver(Constant.SERVLET_CONTEXT_RESOURCE_CACHE_MAX_ENTRIES);
+
+    private final Map<String, CachedResource> resources;
+
+    /**
+     * Constructor.
+     *
+     * @param maxEntries Maximum number of resources kept in the cache.
+     */
+    ServletContextResourceResolver(final int maxEntries) {
+
+        resources = new LinkedHashMap<String, CachedResource>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 4738123306619043507L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResource> eldest) {
+
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Get the shared resolver instance.
+     *
+     * @return Servlet context resource resolver.
+     */
+    public static ServletContextResourceResolver getInstance() {
+
+        return INSTANCE;
+    }
+
+    /**
+     * Get a reader of the decoded layout file.
+     *
+     * @param file Layout file path as a URL object.
+     * @return Reader to read the layout file.
+     */
+    @Override
+    public Reader getReader(URL file) {
+
+        try {
+            CharBuffer content = read(file);
+            return new CharArrayReader(content.array(), content.arrayOffset() + content.position(),
+                    content.remaining());
+        } catch (IOException e) {
+            throw new CompilerException("Can't initialize a reader for the given file", e);
+        }
+    }
+
+    /**
+     * Nothing to close, the resource is decoded before it is returned.
+     */
+    @Override
+    public void closeResources() {
+
+    }
+
+    /**
+     * Read the whole layout file, from the cache if the resource is not modified since it was cached.
+     *
+     * @param file Layout file path as a URL object.
+     * @return Layout content, ready to be read.
+     * @throws IOException If the layout file can't be read.
+     */
+    @Override
+    public CharBuffer read(URL file) throws IOException {
+
+        if (file == null) {
+            throw new CompilerException("Can't find the given file");
+        }
+        if (RemoteLayoutFetcher.isRemoteLayout(file)) {
+            try (InputStream inputStream = RemoteLayoutFetcher.openStream(file)) {
+                return LayoutFileDecoder.decode(ByteBuffer.wrap(inputStream.readAllBytes()));
+            }
+        }
+        String key = file.toExternalForm();
+        long lastModified = resolveLastModified(file);
+        CachedResource resource;
+        synchronized (resources) {
+            resource = resources.get(key);
+        }
+        if (resource == null || resource.lastModified != lastModified) {
+            try (InputStream inputStream = file.openStream()) {
+                resource = new CachedResource(inputStream.readAllBytes(), lastModified);
+            }
+            synchronized (resources) {
+                if (lastModified == 0L) {
+                    resources.remove(key);
+                } else {
+                    resources.put(key, resource);
+                }
+            }
+        }
+        return LayoutFileDecoder.decode(ByteBuffer.wrap(resource.bytes).asReadOnlyBuffer());
+    }
+
+    /**
+     * Get the number of cached resources.
+     *
+     * @return Number of cached resources.
+     */
+    public int size() {
+
+        synchronized (resources) {
+            return resources.size();
+        }
+    }
+
+    /**
+     * Clear the cached resources.
+     */
+    public void clear() {
+
+        synchronized (resources) {
+            resources.clear();
+        }
+    }
+
+    /**
+     * Resolve the last modified time of the given resource, without opening the resource.
+     * Resources packaged in an archive take the last modified time of the archive, so the archive is not opened (and
+     * kept open by the URL connection cache) on every read.
+     *
+     * @param file Layout file path as a URL object.
+     * @return Last modified time, or 0 if it is unknown.
+     */
+    public static long resolveLastModified(URL file) {
+
+        try {
+            if ("file".equalsIgnoreCase(file.getProtocol())) {
+                return getFile(file).lastModified();
+            }
+            URLConnection connection = file.openConnection();
+            if (connection instanceof JarURLConnection) {
+                URL archive = ((JarURLConnection) connection).getJarFileURL();
+                return "file".equalsIgnoreCase(archive.getProtocol()) ? getFile(archive).lastModified() : 0L;
+            }
+            connection.setUseCaches(false);
+            return connection.getLastModified();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    /**
+     * Get the file of the given file URL.
+     *
+     * @param file File URL.
+     * @return File.
+     */
+    private static File getFile(URL file) {
+
+        try {
+            return new File(file.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return new File(file.getPath());
+        }
+    }
+
+    /**
+     * Bytes of a resource, with the last modified time of the resource when it was read.
+     */
+    private static final class CachedResource {
+
+        private final byte[] bytes;
+        private final long lastModified;
+
+        CachedResource(byte[] bytes, long lastModified) {
+
+            this.bytes = bytes;
+            this.lastModified = lastModified;
+        }
+    }
+}
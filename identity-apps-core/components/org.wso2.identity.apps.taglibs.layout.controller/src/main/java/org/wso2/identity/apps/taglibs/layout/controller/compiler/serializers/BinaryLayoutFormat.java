@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.compiler.serializers;
+
+import org.wso2.identity.apps.taglibs.layout.controller.Constant;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.CompilerException;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.ComponentIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.ConditionIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.DataIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.DefaultIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.ExecutableIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.NoIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.NotConditionIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.StyleIdentifier;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary format of the compiled layouts.
+ *
+ * Layout of the file:
+ *  - Magic header     : 4 bytes -> "WLYT".
+ *  - Format version   : unsigned short.
+ *  - String table     : int count, followed by each string as int length and UTF-8 bytes.
+ *  - Instructions     : int count, followed by each instruction as a byte opcode and its operands.
+ *
+ * Instructions are the identifiers of the layout in document order. Block identifiers (condition and not condition)
+ * are followed by the instructions of their content and closed with an END_BLOCK instruction.
+ *  - TEXT [text]
+ *  - DATA [name, text]
+ *  - COMPONENT [name, text]
+ *  - CONDITION [name, text] ... END_BLOCK
+ *  - NOT_CONDITION [name, text] ... END_BLOCK
+ *  - STYLE [name, text, style]  (since version 2)
+ * Operands are int indexes of the string table, -1 for a missing style. Blocks can be nested up to
+ * {@link Constant#COMPILED_LAYOUT_MAX_DEPTH} levels.
+ */
+public final class BinaryLayoutFormat {
+
+    public static final int MAGIC = 0x574C5954;
+    public static final int VERSION = 2;
+
+    private static final byte TEXT = 0;
+    private static final byte DATA = 1;
+    private static final byte COMPONENT = 2;
+    private static final byte CONDITION = 3;
+    private static final byte NOT_CONDITION = 4;
+    private static final byte END_BLOCK = 5;
+    private static final byte STYLE = 6;
+
+    private BinaryLayoutFormat() {
+
+    }
+
+    /**
+     * Check whether the given header belongs to a layout written in this format.
+     *
+     * @param header First four bytes of the file as a big endian int.
+     * @return Whether the header is the magic header of this format.
+     */
+    public static boolean isBinaryLayout(int header) {
+
+        return header == MAGIC;
+    }
+
+    /**
+     * Write the compiled layout.
+     *
+     * @param compiledLayout Compiled layout.
+     * @param outputStream   The compiled layout will be written to this stream.
+     * @throws IOException If the compiled layout can't be written.
+     */
+    public static void write(ExecutableIdentifier compiledLayout, OutputStream outputStream) throws IOException {
+
+        Map<String, Integer> stringIndexes = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        ByteArrayOutputStream instructionBytes = new ByteArrayOutputStream();
+        DataOutputStream instructions = new DataOutputStream(instructionBytes);
+        int instructionCount = writeInstructions(compiledLayout, instructions, stringIndexes, strings);
+        instructions.flush();
+
+        DataOutputStream out = new DataOutputStream(outputStream);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeInt(strings.size());
+        for (String string : strings) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+        out.writeInt(instructionCount);
+        instructionBytes.writeTo(out);
+        out.flush();
+    }
+
+    /**
+     * Read a compiled layout. The stream must be positioned at the magic header.
+     *
+     * @param inputStream Stream of the compiled layout.
+     * @return Compiled layout.
+     * @throws IOException       If the compiled layout can't be read.
+     * @throws CompilerException If the compiled layout is truncated, corrupted, larger than
+     *                           {@link Constant#COMPILED_LAYOUT_MAX_SIZE} or nested deeper than
+     *                           {@link Constant#COMPILED_LAYOUT_MAX_DEPTH}.
+     */
+    public static ExecutableIdentifier read(InputStream inputStream) throws IOException {
+
+        try {
+            return read(new DataInputStream(inputStream));
+        } catch (EOFException e) {
+            throw new CompilerException("Compiled layout file is truncated", e);
+        }
+    }
+
+    private static ExecutableIdentifier read(DataInputStream in) throws IOException {
+
+        if (!isBinaryLayout(in.readInt())) {
+            throw new CompilerException("Not a compiled layout file");
+        }
+        int version = in.readUnsignedShort();
+        if (version > VERSION) {
+            throw new CompilerException("Unsupported compiled layout format version: " + version);
+        }
+        // Counts and lengths are checked against the bytes the file can still hold, so a corrupted or hostile file
+        // can't force a large allocation.
+        long budget = Constant.COMPILED_LAYOUT_MAX_SIZE;
+        // Every string takes at least its 4 byte length.
+        String[] strings = new String[checkSize(in.readInt(), budget / 4)];
+        byte[] buffer = new byte[256];
+        for (int i = 0; i < strings.length; i++) {
+            int length = checkSize(in.readInt(), budget);
+            budget -= 4L + length;
+            if (length > buffer.length) {
+                buffer = new byte[length];
+            }
+            in.readFully(buffer, 0, length);
+            strings[i] = new String(buffer, 0, length, StandardCharsets.UTF_8);
+        }
+        // Every instruction takes at least its 1 byte opcode.
+        int[] remaining = {checkSize(in.readInt(), budget)};
+        ExecutableIdentifier compiledLayout = readBlock(in, strings, remaining, 0);
+        if (remaining[0] != 0) {
+            throw new CompilerException("Compiled layout file is corrupted");
+        }
+        return compiledLayout;
+    }
+
+    private static int writeInstructions(ExecutableIdentifier identifier, DataOutputStream out,
+                                         Map<String, Integer> stringIndexes, List<String> strings)
+            throws IOException {
+
+        int count = 0;
+        if (identifier instanceof DefaultIdentifier) {
+            for (ExecutableIdentifier child : ((DefaultIdentifier) identifier).getIdentifiers()) {
+                count += writeInstructions(child, out, stringIndexes, strings);
+            }
+            return count;
+        }
+        if (identifier instanceof NoIdentifier) {
+            out.writeByte(TEXT);
+            out.writeInt(stringIndex(((NoIdentifier) identifier).getText(), stringIndexes, strings));
+        } else if (identifier instanceof StyleIdentifier) {
+            StyleIdentifier style = (StyleIdentifier) identifier;
+            out.writeByte(STYLE);
+            out.writeInt(stringIndex(style.getIdentifierName(), stringIndexes, strings));
+            out.writeInt(stringIndex(style.getText(), stringIndexes, strings));
+            out.writeInt(style.getStyle() == null ? -1 : stringIndex(style.getStyle(), stringIndexes, strings));
+        } else if (identifier instanceof DataIdentifier) {
+            DataIdentifier data = (DataIdentifier) identifier;
+            out.writeByte(DATA);
+            out.writeInt(stringIndex(data.getIdentifierName(), stringIndexes, strings));
+            out.writeInt(stringIndex(data.getText(), stringIndexes, strings));
+        } else if (identifier instanceof ComponentIdentifier) {
+            ComponentIdentifier component = (ComponentIdentifier) identifier;
+            out.writeByte(COMPONENT);
+            out.writeInt(stringIndex(component.getIdentifierName(), stringIndexes, strings));
+            out.writeInt(stringIndex(component.getText(), stringIndexes, strings));
+        } else if (identifier instanceof ConditionIdentifier) {
+            ConditionIdentifier condition = (ConditionIdentifier) identifier;
+            out.writeByte(CONDITION);
+            out.writeInt(stringIndex(condition.getIdentifierName(), stringIndexes, strings));
+            out.writeInt(stringIndex(condition.getText(), stringIndexes, strings));
+            count += writeInstructions(condition.getChild(), out, stringIndexes, strings);
+            out.writeByte(END_BLOCK);
+            count++;
+        } else if (identifier instanceof NotConditionIdentifier) {
+            NotConditionIdentifier notCondition = (NotConditionIdentifier) identifier;
+            out.writeByte(NOT_CONDITION);
+            out.writeInt(stringIndex(notCondition.getIdentifierName(), stringIndexes, strings));
+            out.writeInt(stringIndex(notCondition.getText(), stringIndexes, strings));
+            count += writeInstructions(notCondition.getChild(), out, stringIndexes, strings);
+            out.writeByte(END_BLOCK);
+            count++;
+        } else {
+            throw new CompilerException("Unsupported identifier: " +
+                    (identifier == null ? null : identifier.getClass().getName()));
+        }
+        return count + 1;
+    }
+
+    private static ExecutableIdentifier readBlock(DataInputStream in, String[] strings, int[] remaining, int depth)
+            throws IOException {
+
+        // Blocks are read recursively, so the depth is limited to fail before the stack overflows.
+        if (depth > Constant.COMPILED_LAYOUT_MAX_DEPTH) {
+            throw new CompilerException("Compiled layout file is nested too deeply");
+        }
+        ArrayList<ExecutableIdentifier> identifiers = new ArrayList<>();
+        while (remaining[0] > 0) {
+            remaining[0]--;
+            byte opcode = in.readByte();
+            switch (opcode) {
+                case TEXT:
+                    identifiers.add(new NoIdentifier(string(strings, in.readInt())));
+                    break;
+                case DATA:
+                    identifiers.add(new DataIdentifier(string(strings, in.readInt()), string(strings, in.readInt())));
+                    break;
+                case COMPONENT:
+                    identifiers.add(new ComponentIdentifier(string(strings, in.readInt()),
+                            string(strings, in.readInt())));
+                    break;
+                case CONDITION: {
+                    String name = string(strings, in.readInt());
+                    String text = string(strings, in.readInt());
+                    identifiers.add(new ConditionIdentifier(name, text, readBlock(in, strings, remaining, depth + 1)));
+                    break;
+                }
+                case NOT_CONDITION: {
+                    String name = string(strings, in.readInt());
+                    String text = string(strings, in.readInt());
+                    identifiers.add(new NotConditionIdentifier(name, text,
+                            readBlock(in, strings, remaining, depth + 1)));
+                    break;
+                }
+                case STYLE: {
+                    String name = string(strings, in.readInt());
+                    String text = string(strings, in.readInt());
+                    int style = in.readInt();
+                    identifiers.add(new StyleIdentifier(name, text, style == -1 ? null : string(strings, style)));
+                    break;
+                }
+                case END_BLOCK:
+                    if (depth == 0) {
+                        throw new CompilerException("Compiled layout file is corrupted");
+                    }
+                    return new DefaultIdentifier(identifiers);
+                default:
+                    throw new CompilerException("Unknown instruction in the compiled layout file: " + opcode);
+            }
+        }
+        if (depth > 0) {
+            throw new CompilerException("Compiled layout file is corrupted");
+        }
+        return new DefaultIdentifier(identifiers);
+    }
+
+    private static int stringIndex(String string, Map<String, Integer> stringIndexes, List<String> strings) {
+
+        Integer index = stringIndexes.get(string);
+        if (index == null) {
+            index = strings.size();
+            strings.add(string);
+            stringIndexes.put(string, index);
+        }
+        return index;
+    }
+
+    private static int checkSize(int size, long maxSize) {
+
+        if (size < 0 || size > maxSize) {
+            throw new CompilerException("Compiled layout file is corrupted");
+        }
+        return size;
+    }
+
+    private static String string(String[] strings, int index) {
+
+        if (index < 0 || index >= strings.length) {
+            throw new CompilerException("Compiled layout file is corrupted");
+        }
+        return strings[index];
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.compiler.specializers;
+
+import org.owasp.encoder.Encode;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.CompilerException;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.executors.InstructionExecutor;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.executors.LazyLayoutData;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.ComponentIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.ConditionIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.DataIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.DefaultIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.ExecutableIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.NoIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.NotConditionIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.StyleIdentifier;
+
+import java.util.ArrayList;
+import java.util.Map;
+
+/**
+ * Partial evaluation of a compiled layout against the data which is constant for a tenant (e.g. branding
+ * preferences), producing a specialized layout where only the truly dynamic holes remain.
+ *  - Condition and not condition blocks of constant data are folded, either into their content or removed.
+ *  - Data identifiers of constant data are inlined as HTML encoded static text.
+ *  - Consecutive static text is merged into the text of the next identifier.
+ * Rendering the specialized layout with the remaining data gives the same output as rendering the original layout
+ * with the constant data and the remaining data together.
+ */
+public final class LayoutSpecializer {
+
+    private LayoutSpecializer() {
+
+    }
+
+    /**
+     * Specialize the given compiled layout.
+     *
+     * @param compiledLayout Root identifier of the compiled layout.
+     * @param constantData   Data which is constant for the specialized layout. Supplier values are resolved once.
+     * @return Root identifier of the specialized layout.
+     */
+    public static ExecutableIdentifier specialize(ExecutableIdentifier compiledLayout,
+                                                  Map<String, Object> constantData) {
+
+        return specializeBlock(compiledLayout, LazyLayoutData.forRender(constantData));
+    }
+
+    private static void specialize(ExecutableIdentifier identifier, Map<String, Object> constants,
+                                   ArrayList<ExecutableIdentifier> identifiers, StringBuilder pendingText) {
+
+        if (identifier instanceof DefaultIdentifier) {
+            for (ExecutableIdentifier child : ((DefaultIdentifier) identifier).getIdentifiers()) {
+                specialize(child, constants, identifiers, pendingText);
+            }
+        } else if (identifier instanceof NoIdentifier) {
+            pendingText.append(((NoIdentifier) identifier).getText());
+        } else if (identifier instanceof StyleIdentifier) {
+            StyleIdentifier style = (StyleIdentifier) identifier;
+            pendingText.append(style.getText()).append(style.getStyleElement());
+        } else if (identifier instanceof DataIdentifier) {
+            DataIdentifier data = (DataIdentifier) identifier;
+            if (constants.containsKey(data.getIdentifierName())) {
+                pendingText.append(data.getText());
+                Object value = constants.get(data.getIdentifierName());
+                if (value != null) {
+                    pendingText.append(Encode.forHtml(value.toString()));
+                }
+            } else {
+                identifiers.add(new DataIdentifier(data.getIdentifierName(), takeText(pendingText, data.getText())));
+            }
+        } else if (identifier instanceof ComponentIdentifier) {
+            ComponentIdentifier component = (ComponentIdentifier) identifier;
+            identifiers.add(new ComponentIdentifier(component.getIdentifierName(),
+                    takeText(pendingText, component.getText())));
+        } else if (identifier instanceof ConditionIdentifier) {
+            ConditionIdentifier condition = (ConditionIdentifier) identifier;
+            if (constants.containsKey(condition.getIdentifierName())) {
+                pendingText.append(condition.getText());
+                if (InstructionExecutor.isTruthy(constants.get(condition.getIdentifierName()))) {
+                    specialize(condition.getChild(), constants, identifiers, pendingText);
+                }
+            } else {
+                identifiers.add(new ConditionIdentifier(condition.getIdentifierName(),
+                        takeText(pendingText, condition.getText()), specializeBlock(condition.getChild(), constants)));
+            }
+        } else if (identifier instanceof NotConditionIdentifier) {
+            NotConditionIdentifier notCondition = (NotConditionIdentifier) identifier;
+            if (constants.containsKey(notCondition.getIdentifierName())) {
+                pendingText.append(notCondition.getText());
+                if (InstructionExecutor.isFalsy(constants.get(notCondition.getIdentifierName()))) {
+                    specialize(notCondition.getChild(), constants, identifiers, pendingText);
+                }
+            } else {
+                identifiers.add(new NotConditionIdentifier(notCondition.getIdentifierName(),
+                        takeText(pendingText, notCondition.getText()),
+                        specializeBlock(notCondition.getChild(), constants)));
+            }
+        } else {
+            throw new CompilerException("Unsupported identifier: " +
+                    (identifier == null ? null : identifier.getClass().getName()));
+        }
+    }
+
+    private static ExecutableIdentifier specializeBlock(ExecutableIdentifier block, Map<String, Object> constants) {
+
+        ArrayList<ExecutableIdentifier> identifiers = new ArrayList<>();
+        StringBuilder pendingText = new StringBuilder();
+        specialize(block, constants, identifiers, pendingText);
+        if (pendingText.length() > 0) {
+            identifiers.add(new NoIdentifier(pendingText.toString()));
+        }
+        return new DefaultIdentifier(identifiers);
+    }
+
+    private static String takeText(StringBuilder pendingText, String text) {
+
+        if (pendingText.length() == 0) {
+            return text;
+        }
+        String mergedText = pendingText.append(text).toString();
+        pendingText.setLength(0);
+        return mergedText;
+    }
+}
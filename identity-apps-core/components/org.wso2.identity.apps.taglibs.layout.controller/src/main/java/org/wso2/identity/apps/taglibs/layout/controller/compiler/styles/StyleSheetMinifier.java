@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.compiler.styles;
+
+/**
+ * Conservative minifier of the layout style sheets.
+ *  - Comments are removed.
+ *  - Runs of whitespace are collapsed, and removed next to '{', '}', ';', ',' and '>', and after ':'.
+ *  - The last ';' of each block is removed.
+ * Strings and the whitespace between the other tokens are kept as is, so the minified style sheet has the same
+ * meaning as the original one (e.g. the descendant combinator in "a :hover" is kept).
+ */
+public final class StyleSheetMinifier {
+
+    private StyleSheetMinifier() {
+
+    }
+
+    /**
+     * Minify the given style sheet.
+     *
+     * @param styleSheet Style sheet content.
+     * @return Minified style sheet.
+     */
+    public static String minify(CharSequence styleSheet) {
+
+        StringBuilder minified = new StringBuilder(styleSheet.length());
+        boolean pendingSpace = false;
+        int length = styleSheet.length();
+        int index = 0;
+        while (index < length) {
+            char c = styleSheet.charAt(index);
+            if (c == '/' && index + 1 < length && styleSheet.charAt(index + 1) == '*') {
+                int end = indexOf(styleSheet, "*/", index + 2);
+                index = end < 0 ? length : end + 2;
+                pendingSpace = true;
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                pendingSpace = true;
+                index++;
+                continue;
+            }
+            if (c == '}' && minified.length() > 0 && minified.charAt(minified.length() - 1) == ';') {
+                minified.setLength(minified.length() - 1);
+            }
+            if (pendingSpace && minified.length() > 0 && !isSeparator(c)
+                    && !isSeparator(minified.charAt(minified.length() - 1))
+                    && minified.charAt(minified.length() - 1) != ':') {
+                minified.append(' ');
+            }
+            pendingSpace = false;
+            if (c == '"' || c == '\'') {
+                int end = index + 1;
+                while (end < length && styleSheet.charAt(end) != c) {
+                    // Escaped characters, including escaped quotes and new lines, are part of the string.
+                    end += styleSheet.charAt(end) == '\\' ? 2 : 1;
+                }
+                end = Math.min(end + 1, length);
+                minified.append(styleSheet, index, end);
+                index = end;
+                continue;
+            }
+            minified.append(c);
+            index++;
+        }
+        return minified.toString();
+    }
+
+    private static boolean isSeparator(char c) {
+
+        return c == '{' || c == '}' || c == ';' || c == ',' || c == '>';
+    }
+
+    private static int indexOf(CharSequence content, String value, int from) {
+
+        for (int index = from; index <= content.length() - value.length(); index++) {
+            if (content.charAt(index) == value.charAt(0) && content.charAt(index + 1) == value.charAt(1)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+}
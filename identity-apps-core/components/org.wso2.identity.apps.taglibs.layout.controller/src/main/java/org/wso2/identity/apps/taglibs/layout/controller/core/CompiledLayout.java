@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.core;
+
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.CompilerException;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.generators.BytecodeLayoutGenerator;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.generators.GeneratedLayout;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.ExecutableIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.instructions.LayoutProgram;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.instructions.LayoutProgramBuilder;
+
+import java.util.Set;
+
+/**
+ * Immutable, thread-safe compiled layout.
+ * A single instance is shared by all the requests rendering the layout, the per request state is kept in a
+ * {@link LayoutRenderCursor}.
+ */
+public final class CompiledLayout {
+
+    private final ExecutableIdentifier root;
+    private final LayoutProgram program;
+    private volatile GeneratedLayout generatedLayout;
+    private volatile boolean generationFailed;
+
+    /**
+     * Constructor.
+     *
+     * @param root Root identifier of the compiled layout.
+     */
+    public CompiledLayout(ExecutableIdentifier root) {
+
+        if (root == null) {
+            throw new IllegalArgumentException("Compiled layout root can't be null");
+        }
+        this.root = root;
+        this.program = LayoutProgramBuilder.build(root);
+    }
+
+    /**
+     * Get the root identifier of the compiled layout.
+     *
+     * @return Root identifier.
+     */
+    public ExecutableIdentifier getRoot() {
+
+        return root;
+    }
+
+    /**
+     * Get the data keys referenced by the layout. Values of the other keys are never read while rendering the layout.
+     *
+     * @return Referenced data keys.
+     */
+    public Set<String> getReferencedKeys() {
+
+        return program.getReferencedKeys();
+    }
+
+    /**
+     * Get the compiled layout as a flat program.
+     *
+     * @return Layout program.
+     */
+    public LayoutProgram getProgram() {
+
+        return program;
+    }
+
+    /**
+     * Get the compiled layout as a generated class. The class is generated on the first call, and shared by all the
+     * later renders.
+     *
+     * @return Generated layout, or null if the layout can't be generated as a class.
+     */
+    public GeneratedLayout getGeneratedLayout() {
+
+        GeneratedLayout current = generatedLayout;
+        if (current != null || generationFailed) {
+            return current;
+        }
+        synchronized (this) {
+            if (generatedLayout == null && !generationFailed) {
+                try {
+                    generatedLayout = BytecodeLayoutGenerator.generate(program);
+                } catch (CompilerException e) {
+                    // Layout is rendered from the program instead.
+                    generationFailed = true;
+                }
+            }
+            return generatedLayout;
+        }
+    }
+}
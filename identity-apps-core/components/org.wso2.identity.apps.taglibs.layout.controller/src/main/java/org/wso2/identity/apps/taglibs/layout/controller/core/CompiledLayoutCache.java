@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.core;
+
+import org.wso2.identity.apps.taglibs.layout.controller.Constant;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.ExecutableIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.resolvers.RemoteLayoutFetcher;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.resolvers.ServletContextResourceResolver;
+import org.wso2.identity.apps.taglibs.layout.controller.metrics.LayoutMetrics;
+
+import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Process wide, bounded cache of compiled layouts.
+ * Layouts are keyed by the resolved layout URL and kept together with a freshness token (last modified time of
+ * a local layout file, or the content version of a remote layout file), so a single compilation or deserialization
+ * serves every request until the layout changes. Layouts whose last modified time is unknown are not revalidated, they
+ * are served from the cache until they are invalidated or evicted.
+ */
+public final class CompiledLayoutCache {
+
+    private static final CompiledLayoutCache INSTANCE =
+            new CompiledLayoutCache(Constant.COMPILED_LAYOUT_CACHE_MAX_ENTRIES);
+
+    private final Map<String, Entry> entries;
+    private final long revalidationInterval;
+
+    /**
+     * Constructor.
+     *
+     * @param maxEntries Maximum number of compiled layouts kept in the cache.
+     */
+    CompiledLayoutCache(final int maxEntries) {
+
+        this(maxEntries, Constant.COMPILED_LAYOUT_REVALIDATION_INTERVAL);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param maxEntries           Maximum number of compiled layouts kept in the cache.
+     * @param revalidationInterval Time a cached layout is served without revalidation, in milliseconds.
+     */
+    CompiledLayoutCache(final int maxEntries, long revalidationInterval) {
+
+        this.revalidationInterval = revalidationInterval;
+        entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 2617386532938371251L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Get the shared cache instance.
+     *
+     * @return Compiled layout cache.
+     */
+    public static CompiledLayoutCache getInstance() {
+
+        return INSTANCE;
+    }
+
+    /**
+     * Get the compiled layout for the given layout file, loading it with the given loader if the layout is not
+     * cached yet or the cached layout is outdated.
+     *
+     * @param layoutFile Layout file path as a URL object.
+     * @param loader     Loader used to compile or read the layout file.
+     * @return Compiled layout.
+     */
+    public CompiledLayout get(URL layoutFile, LayoutLoader loader) {
+
+        return get(layoutFile, loader, false);
+    }
+
+    /**
+     * Get the compiled layout for the given layout file, loading it with the given loader if the layout is not
+     * cached yet. A watched layout is served without revalidation, as it is invalidated by the
+     * {@link LayoutFileWatcher} when the layout file changes. Other layouts are revalidated if the cached layout
+     * is outdated.
+     *
+     * @param layoutFile Layout file path as a URL object.
+     * @param loader     Loader used to compile or read the layout file.
+     * @param watched    Whether the layout file is watched for changes.
+     * @return Compiled layout.
+     */
+    public CompiledLayout get(URL layoutFile, LayoutLoader loader, boolean watched) {
+
+        if (layoutFile == null) {
+            throw new IllegalArgumentException("Layout file URL can't be null");
+        }
+        LayoutMetrics.getInstance().getCompiledLayoutCache().recordLookup();
+        String key = layoutFile.toExternalForm();
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry == null) {
+                entry = new Entry();
+                entries.put(key, entry);
+            }
+        }
+        return entry.get(layoutFile, loader, watched, revalidationInterval);
+    }
+
+    /**
+     * Remove the compiled layout of the given layout file from the cache.
+     *
+     * @param layoutFile Layout file path as a URL object.
+     */
+    public void invalidate(URL layoutFile) {
+
+        synchronized (entries) {
+            entries.remove(layoutFile.toExternalForm());
+        }
+    }
+
+    /**
+     * Remove all the compiled layouts from the cache.
+     */
+    public void clear() {
+
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Get the number of layouts in the cache.
+     *
+     * @return Number of cached layouts.
+     */
+    public int size() {
+
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Loader used to compile or read a layout file when it is not available in the cache.
+     */
+    @FunctionalInterface
+    public interface LayoutLoader {
+
+        /**
+         * Load the compiled layout.
+         *
+         * @param layoutFile Layout file path as a URL object.
+         * @return Compiled layout.
+         */
+        ExecutableIdentifier load(URL layoutFile);
+    }
+
+    /**
+     * Cache entry of a single layout file.
+     */
+    private static final class Entry {
+
+        private volatile CompiledLayout compiledLayout;
+        private volatile long lastValidated;
+        private long freshnessToken;
+
+        CompiledLayout get(URL layoutFile, LayoutLoader loader, boolean watched, long revalidationInterval) {
+
+            long now = System.currentTimeMillis();
+            CompiledLayout current = compiledLayout;
+            if (current != null && (watched || now - lastValidated < revalidationInterval)) {
+                return current;
+            }
+            synchronized (this) {
+                if (watched) {
+                    if (compiledLayout == null) {
+                        compiledLayout = load(layoutFile, loader);
+                    }
+                    return compiledLayout;
+                }
+                if (compiledLayout != null && now - lastValidated < revalidationInterval) {
+                    return compiledLayout;
+                }
+                if (RemoteLayoutFetcher.isRemoteLayout(layoutFile)) {
+                    // Remote layouts are revalidated by the fetcher, and recompiled only when the content changes.
+                    long token = RemoteLayoutFetcher.getInstance().fetch(layoutFile).getVersion();
+                    if (compiledLayout == null || token != freshnessToken) {
+                        compiledLayout = load(layoutFile, loader);
+                        freshnessToken = token;
+                    }
+                } else {
+                    // Last modified time is resolved without opening the layout file. An unknown token means that the
+                    // changes of the layout file can't be detected, so the cached layout is kept instead of being
+                    // compiled again on every revalidation.
+                    long token = ServletContextResourceResolver.resolveLastModified(layoutFile);
+                    if (compiledLayout == null || (token != 0L && token != freshnessToken)) {
+                        compiledLayout = load(layoutFile, loader);
+                        freshnessToken = token;
+                    }
+                }
+                lastValidated = now;
+                return compiledLayout;
+            }
+        }
+
+        private static CompiledLayout load(URL layoutFile, LayoutLoader loader) {
+
+            LayoutMetrics.getInstance().getCompiledLayoutCache().recordMiss();
+            return new CompiledLayout(loader.load(layoutFile));
+        }
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.core;
+
+import org.wso2.identity.apps.taglibs.layout.controller.Constant;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import javax.servlet.ServletContext;
+
+/**
+ * In-memory index of the dynamic component files (.jsp files under the dynamic component files directory).
+ * The index is built once when the servlet context is initialized, so checking whether a component has a dynamic
+ * component file is a hash lookup without any file system access.
+ *  - If the dynamic component files directory is available in the file system (unpacked web application), the index
+ *    is refreshed by a WatchService as files are added or removed.
+ *  - Otherwise, the index is refreshed by polling the resources of the servlet context.
+ */
+public final class DynamicComponentIndex implements Closeable {
+
+    private final Supplier<Set<String>> scanner;
+    private volatile Set<String> components;
+    private volatile Closeable refresher;
+
+    private DynamicComponentIndex(Supplier<Set<String>> scanner) {
+
+        this.scanner = scanner;
+        this.components = scanner.get();
+    }
+
+    /**
+     * Get the index of the given servlet context, building it if it is not built yet.
+     *
+     * @param servletContext Servlet context.
+     * @return Dynamic component index.
+     */
+    public static DynamicComponentIndex get(ServletContext servletContext) {
+
+        Object index = servletContext.getAttribute(Constant.DYNAMIC_COMPONENT_INDEX_ATTRIBUTE);
+        if (index instanceof DynamicComponentIndex) {
+            return (DynamicComponentIndex) index;
+        }
+        synchronized (servletContext) {
+            index = servletContext.getAttribute(Constant.DYNAMIC_COMPONENT_INDEX_ATTRIBUTE);
+            if (index instanceof DynamicComponentIndex) {
+                return (DynamicComponentIndex) index;
+            }
+            DynamicComponentIndex newIndex = create(servletContext);
+            servletContext.setAttribute(Constant.DYNAMIC_COMPONENT_INDEX_ATTRIBUTE, newIndex);
+            return newIndex;
+        }
+    }
+
+    /**
+     * Build the index of the given servlet context.
+     *
+     * @param servletContext Servlet context.
+     * @return Dynamic component index, which must be closed when the servlet context is destroyed.
+     */
+    public static DynamicComponentIndex create(ServletContext servletContext) {
+
+        String realPath = servletContext.getRealPath(Constant.DYNAMIC_COMPONENT_FILES_DIRECTORY_PATH);
+        if (realPath != null && Files.isDirectory(Paths.get(realPath))) {
+            try {
+                return watch(Paths.get(realPath));
+            } catch (IOException | UnsupportedOperationException e) {
+                servletContext.log("Can't watch the dynamic component files, falling back to polling", e);
+            }
+        }
+        return poll(() -> scanResources(servletContext), Constant.DYNAMIC_COMPONENT_INDEX_POLLING_INTERVAL);
+    }
+
+    /**
+     * Build an index of the given directory, refreshed by a WatchService.
+     *
+     * @param directory Dynamic component files directory.
+     * @return Dynamic component index.
+     * @throws IOException If the directory can't be watched.
+     */
+    static DynamicComponentIndex watch(Path directory) throws IOException {
+
+        WatchService watchService = directory.getFileSystem().newWatchService();
+        try {
+            register(directory, watchService);
+        } catch (IOException | RuntimeException e) {
+            watchService.close();
+            throw e;
+        }
+        DynamicComponentIndex index = new DynamicComponentIndex(() -> scanDirectory(directory));
+        Thread watcher = new Thread(() -> index.watchChanges(directory, watchService),
+                "dynamic-component-index-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+        index.refresher = watchService;
+        return index;
+    }
+
+    /**
+     * Build an index from the given scanner, refreshed by polling.
+     *
+     * @param scanner  Scanner which returns the dynamic component names.
+     * @param interval Polling interval in milliseconds.
+     * @return Dynamic component index.
+     */
+    static DynamicComponentIndex poll(Supplier<Set<String>> scanner, long interval) {
+
+        DynamicComponentIndex index = new DynamicComponentIndex(scanner);
+        ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dynamic-component-index-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(index::refresh, interval, interval, TimeUnit.MILLISECONDS);
+        index.refresher = poller::shutdownNow;
+        return index;
+    }
+
+    /**
+     * Check whether the given component has a dynamic component file.
+     *
+     * @param componentName Component name.
+     * @return Whether a dynamic component file exists for the component.
+     */
+    public boolean contains(String componentName) {
+
+        return components.contains(componentName);
+    }
+
+    /**
+     * Rebuild the index. A failed scan keeps the current index.
+     */
+    public void refresh() {
+
+        try {
+            components = scanner.get();
+        } catch (RuntimeException e) {
+            // Keep serving the current index, the next change or poll will rebuild it.
+        }
+    }
+
+    /**
+     * Stop refreshing the index.
+     */
+    @Override
+    public void close() {
+
+        Closeable current = refresher;
+        refresher = null;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                // Ignore the exception as this is a cleanup operation.
+            }
+        }
+    }
+
+    private void watchChanges(Path directory, WatchService watchService) {
+
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                // Drain the events of the same change burst, so the index is rebuilt once per burst.
+                do {
+                    key.pollEvents();
+                    key.reset();
+                    key = watchService.poll(Constant.DYNAMIC_COMPONENT_INDEX_WATCH_SETTLE_TIME, TimeUnit.MILLISECONDS);
+                } while (key != null);
+                try {
+                    // New sub directories need to be registered as the WatchService is not recursive.
+                    register(directory, watchService);
+                } catch (IOException | UncheckedIOException e) {
+                    // The directory is being changed, the next event will register it.
+                }
+                refresh();
+            }
+        } catch (ClosedWatchServiceException e) {
+            // Index is closed.
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void register(Path directory, WatchService watchService) throws IOException {
+
+        try (Stream<Path> directories = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) directories.filter(Files::isDirectory)::iterator) {
+                path.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+            }
+        }
+    }
+
+    private static Set<String> scanDirectory(Path directory) {
+
+        Set<String> components = new HashSet<>();
+        if (!Files.isDirectory(directory)) {
+            return Collections.emptySet();
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.filter(Files::isRegularFile).forEach(file -> {
+                addComponent(components, directory.relativize(file).toString().replace(File.separatorChar, '/'));
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't scan the dynamic component files", e);
+        }
+        return Collections.unmodifiableSet(components);
+    }
+
+    private static Set<String> scanResources(ServletContext servletContext) {
+
+        Set<String> components = new HashSet<>();
+        String root = "/" + Constant.DYNAMIC_COMPONENT_FILES_DIRECTORY_PATH;
+        scanResources(servletContext, root, root.length(), components);
+        return Collections.unmodifiableSet(components);
+    }
+
+    private static void scanResources(ServletContext servletContext, String directory, int rootLength,
+                                      Set<String> components) {
+
+        Set<?> paths = servletContext.getResourcePaths(directory);
+        if (paths == null) {
+            return;
+        }
+        for (Object path : paths) {
+            String resourcePath = String.valueOf(path);
+            if (resourcePath.endsWith("/")) {
+                scanResources(servletContext, resourcePath, rootLength, components);
+            } else {
+                addComponent(components, resourcePath.substring(rootLength));
+            }
+        }
+    }
+
+    private static void addComponent(Set<String> components, String relativePath) {
+
+        if (relativePath.endsWith(Constant.DYNAMIC_COMPONENT_FILE_EXTENSION)) {
+            components.add(relativePath.substring(0,
+                    relativePath.length() - Constant.DYNAMIC_COMPONENT_FILE_EXTENSION.length()));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.servlet.ServletContext;
+
+/**
+ * Resolve the file names of the layout assets written by the layout compiler.
+ * The layout compiler writes the minified style sheet of a layout into a content hashed file (e.g.
+ * "styles.4da1be7d1aff.css") and maps the original file name to it in the "assets.properties" file of the layout.
+ * Layouts are packaged with the web application, so the mappings of each layout are read once.
+ */
+public final class LayoutAssetResolver {
+
+    private static final String ASSETS_FILE_NAME = "assets.properties";
+    private static final Map<String, Properties> ASSETS = new ConcurrentHashMap<>();
+
+    private LayoutAssetResolver() {
+
+    }
+
+    /**
+     * Resolve the path of a layout asset. Falls back to the original file name if the asset is not mapped, e.g. the
+     * layouts are not built by the layout compiler.
+     *
+     * @param servletContext      Servlet context of the web application.
+     * @param layoutDirectoryPath Path of the layout directory relative to the web application root
+     *                            (e.g. "includes/layouts/centered").
+     * @param fileName            Original file name of the asset (e.g. "styles.css").
+     * @return Path of the asset relative to the web application root.
+     */
+    public static String resolve(ServletContext servletContext, String layoutDirectoryPath, String fileName) {
+
+        Properties assets = ASSETS.computeIfAbsent(servletContext.getContextPath() + ":" + layoutDirectoryPath,
+                key -> readAssets(servletContext, layoutDirectoryPath));
+        return layoutDirectoryPath + "/" + assets.getProperty(fileName, fileName);
+    }
+
+    private static Properties readAssets(ServletContext servletContext, String layoutDirectoryPath) {
+
+        Properties assets = new Properties();
+        String assetsFilePath = (layoutDirectoryPath.startsWith("/") ? "" : "/") + layoutDirectoryPath + "/"
+                + ASSETS_FILE_NAME;
+        try (InputStream inputStream = servletContext.getResourceAsStream(assetsFilePath)) {
+            if (inputStream != null) {
+                assets.load(inputStream);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // Original asset files are always available, so a broken assets file only disables the mappings.
+            assets.clear();
+        }
+        return assets;
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.core;
+
+import org.wso2.identity.apps.taglibs.layout.controller.Constant;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Watches the directories of the raw layout files for the layout hot reload (watch mode).
+ * In the watch mode, a raw layout file is compiled once and served from the {@link CompiledLayoutCache} without
+ * checking the file, until the WatchService reports a change in the directory of the layout file. Any change in the
+ * directory (the layout file itself, or a style sheet inlined into the layout) invalidates the layouts of the
+ * directory, so the next request compiles the layout again. The watch mode is enabled with the "layout.watch"
+ * system property, and only applies to the layout files available in the file system (unpacked web applications).
+ */
+public final class LayoutFileWatcher implements Closeable {
+
+    private static volatile LayoutFileWatcher instance;
+    private static volatile boolean unavailable;
+
+    private final WatchService watchService;
+    private final Consumer<URL> listener;
+    private final Map<Path, Set<URL>> layoutFiles = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param listener Listener notified with each layout file of a changed directory.
+     * @throws IOException If the WatchService can't be created.
+     */
+    LayoutFileWatcher(Consumer<URL> listener) throws IOException {
+
+        this.listener = listener;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        Thread watcher = new Thread(this::watchChanges, "layout-file-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    /**
+     * Check whether the watch mode is enabled.
+     *
+     * @return Whether the raw layout files are watched for changes.
+     */
+    public static boolean isEnabled() {
+
+        return Boolean.getBoolean(Constant.LAYOUT_WATCH_MODE_PROPERTY);
+    }
+
+    /**
+     * Watch the given layout file with the shared watcher, which invalidates the compiled layout of the file in the
+     * {@link CompiledLayoutCache} when the file changes.
+     *
+     * @param layoutFile Layout file path as a URL object.
+     * @return Whether the layout file is watched. Layout files which are not watched must be revalidated.
+     */
+    public static boolean watchLayout(URL layoutFile) {
+
+        LayoutFileWatcher watcher = getInstance();
+        return watcher != null && watcher.watch(layoutFile);
+    }
+
+    private static LayoutFileWatcher getInstance() {
+
+        if (instance == null && !unavailable) {
+            synchronized (LayoutFileWatcher.class) {
+                if (instance == null && !unavailable) {
+                    try {
+                        instance = new LayoutFileWatcher(CompiledLayoutCache.getInstance()::invalidate);
+                    } catch (IOException | UnsupportedOperationException e) {
+                        // Layouts are revalidated by the cache when the file system can't be watched.
+                        unavailable = true;
+                    }
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Close the shared watcher, which stops its thread. Called when the web application stops, so the watcher thread
+     * and the WatchService don't outlive it.
+     */
+    public static void shutdown() {
+
+        synchronized (LayoutFileWatcher.class) {
+            if (instance != null) {
+                instance.close();
+                instance = null;
+            }
+        }
+    }
+
+    /**
+     * Watch the directory of the given layout file.
+     *
+     * @param layoutFile Layout file path as a URL object.
+     * @return Whether the layout file is watched.
+     */
+    boolean watch(URL layoutFile) {
+
+        if (!"file".equalsIgnoreCase(layoutFile.getProtocol())) {
+            return false;
+        }
+        Path directory;
+        try {
+            directory = Paths.get(layoutFile.toURI()).getParent();
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return false;
+        }
+        if (directory == null) {
+            return false;
+        }
+        Set<URL> files = layoutFiles.get(directory);
+        if (files == null) {
+            synchronized (layoutFiles) {
+                files = layoutFiles.get(directory);
+                if (files == null) {
+                    try {
+                        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                                StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+                    } catch (IOException | ClosedWatchServiceException e) {
+                        return false;
+                    }
+                    files = ConcurrentHashMap.newKeySet();
+                    layoutFiles.put(directory, files);
+                }
+            }
+        }
+        files.add(layoutFile);
+        return true;
+    }
+
+    /**
+     * Stop watching the layout files.
+     */
+    @Override
+    public void close() {
+
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            // Ignore the exception as this is a cleanup operation.
+        }
+    }
+
+    private void watchChanges() {
+
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                key.pollEvents();
+                Path directory = (Path) key.watchable();
+                if (key.reset()) {
+                    // Invalidation only drops the cache entries, the layouts are compiled by the next requests.
+                    invalidate(layoutFiles.get(directory));
+                } else {
+                    // The directory is removed, it is registered again when a layout of it is requested.
+                    synchronized (layoutFiles) {
+                        invalidate(layoutFiles.remove(directory));
+                    }
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            // Watcher is closed.
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void invalidate(Set<URL> files) {
+
+        if (files != null) {
+            for (URL file : files) {
+                listener.accept(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.core;
+
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.executors.InstructionExecutor;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.executors.LazyLayoutData;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.generators.GeneratedLayout;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.instructions.LayoutProgram;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * Per request render state of a compiled layout.
+ * The cursor renders the layout piece by piece, stopping at each component so the component body can be rendered
+ * by the page. The render position is kept as a program counter of the compiled layout program, so resuming after
+ * a component doesn't traverse the layout again. A cursor must not be shared between requests, create a new one
+ * for each render.
+ * The layout is executed by the {@link InstructionExecutor}, or by the generated class of the layout when the
+ * bytecode executor is selected and the layout can be generated as a class.
+ */
+public class LayoutRenderCursor {
+
+    private final LayoutProgram program;
+    private final Map<String, Object> data;
+    private final GeneratedLayout generatedLayout;
+    private int pc;
+
+    /**
+     * Constructor.
+     *
+     * @param layout Compiled layout to render.
+     * @param data   Data required to execute the layout. Supplier values are resolved on first use.
+     */
+    public LayoutRenderCursor(CompiledLayout layout, Map<String, Object> data) {
+
+        this(layout, data, false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param layout            Compiled layout to render.
+     * @param data              Data required to execute the layout. Supplier values are resolved on first use.
+     * @param generatedExecutor Whether to execute the generated class of the layout instead of the program.
+     */
+    public LayoutRenderCursor(CompiledLayout layout, Map<String, Object> data, boolean generatedExecutor) {
+
+        this.program = layout.getProgram();
+        this.data = LazyLayoutData.forRender(data);
+        this.generatedLayout = generatedExecutor ? layout.getGeneratedLayout() : null;
+        this.pc = 0;
+    }
+
+    /**
+     * Render the layout until the next component or the end of the layout.
+     *
+     * @param out The output will be written to this writer.
+     * @return Name of the next component, or null if the whole layout is rendered.
+     * @throws IOException If an error occurs while writing the output.
+     */
+    public String renderUntilNextComponent(Writer out) throws IOException {
+
+        if (pc == InstructionExecutor.END_OF_PROGRAM) {
+            return null;
+        }
+        int componentPc = generatedLayout == null ? InstructionExecutor.execute(program, pc, data, out) :
+                generatedLayout.render(pc, data, out);
+        if (componentPc == InstructionExecutor.END_OF_PROGRAM) {
+            pc = InstructionExecutor.END_OF_PROGRAM;
+            return null;
+        }
+        pc = componentPc + 1;
+        return program.getName(componentPc);
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.core;
+
+import org.wso2.identity.apps.taglibs.layout.controller.Constant;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import javax.servlet.ServletContext;
+
+/**
+ * Background warm-up of the bundled layouts of a web application.
+ * Each compiled layout (includes/layouts/[name]/body.ser) is loaded into the {@link CompiledLayoutCache} and rendered
+ * a number of times with synthetic data, so the first requests after a deployment or a restart don't pay for
+ * reading the layouts and running the render path in the interpreter. The layouts are warmed up on a background
+ * thread, so the web application starts without waiting for the warm-up and the requests received meanwhile load
+ * the layouts they use. A layout which can't be warmed up is logged, and loaded again by the first request which
+ * uses it.
+ */
+public final class LayoutWarmUp implements Closeable {
+
+    private final Map<String, URL> layouts;
+    private final BiConsumer<String, Throwable> errorLog;
+    private final CountDownLatch completed = new CountDownLatch(1);
+    private volatile Thread thread;
+    private volatile int warmedUpLayoutCount;
+    private volatile int failedLayoutCount;
+
+    private LayoutWarmUp(Map<String, URL> layouts, BiConsumer<String, Throwable> errorLog) {
+
+        this.layouts = layouts;
+        this.errorLog = errorLog;
+    }
+
+    /**
+     * Start warming up the bundled layouts of the given servlet context. The warm-up can be disabled with the
+     * "layoutWarmUp" context parameter set to "false".
+     *
+     * @param servletContext Servlet context.
+     * @return Layout warm-up, which must be closed when the servlet context is destroyed.
+     */
+    public static LayoutWarmUp start(ServletContext servletContext) {
+
+        Map<String, URL> layouts = new LinkedHashMap<>();
+        if (!"false".equalsIgnoreCase(servletContext.getInitParameter(Constant.LAYOUT_WARM_UP_PARAMETER))) {
+            layouts = findLayouts(servletContext);
+        }
+        LayoutWarmUp warmUp = start(layouts, servletContext::log);
+        servletContext.setAttribute(Constant.LAYOUT_WARM_UP_ATTRIBUTE, warmUp);
+        return warmUp;
+    }
+
+    /**
+     * Start warming up the given layouts.
+     *
+     * @param layouts  Compiled layout files by the layout name.
+     * @param errorLog Log of the layouts which can't be warmed up.
+     * @return Layout warm-up.
+     */
+    static LayoutWarmUp start(Map<String, URL> layouts, BiConsumer<String, Throwable> errorLog) {
+
+        LayoutWarmUp warmUp = new LayoutWarmUp(layouts, errorLog);
+        if (layouts.isEmpty()) {
+            warmUp.completed.countDown();
+            return warmUp;
+        }
+        Thread thread = new Thread(warmUp::warmUp, "layout-warm-up");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        warmUp.thread = thread;
+        thread.start();
+        return warmUp;
+    }
+
+    /**
+     * Wait until all the layouts are warmed up or failed.
+     *
+     * @param timeout Maximum time to wait.
+     * @param unit    Unit of the timeout.
+     * @return Whether the warm-up is completed.
+     * @throws InterruptedException If the current thread is interrupted while waiting.
+     */
+    boolean awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+
+        return completed.await(timeout, unit);
+    }
+
+    /**
+     * Get the number of layouts warmed up so far.
+     *
+     * @return Number of warmed up layouts.
+     */
+    public int getWarmedUpLayoutCount() {
+
+        return warmedUpLayoutCount;
+    }
+
+    /**
+     * Get the number of layouts which couldn't be warmed up.
+     *
+     * @return Number of failed layouts.
+     */
+    public int getFailedLayoutCount() {
+
+        return failedLayoutCount;
+    }
+
+    /**
+     * Stop the warm-up. The remaining layouts are loaded by the requests which use them.
+     */
+    @Override
+    public void close() {
+
+        Thread current = thread;
+        thread = null;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    private void warmUp() {
+
+        try {
+            for (Map.Entry<String, URL> layout : layouts.entrySet()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                try {
+                    warmUp(LocalTemplateEngine.getCompiledLayout(layout.getKey(), layout.getValue(), false));
+                    warmedUpLayoutCount++;
+                } catch (IOException | RuntimeException e) {
+                    failedLayoutCount++;
+                    errorLog.accept("Can't warm up the layout: " + layout.getKey(), e);
+                }
+            }
+        } finally {
+            completed.countDown();
+        }
+    }
+
+    /**
+     * Render the given layout with synthetic data. Each data key is set to a flag, a text, or left out in turns,
+     * so both branches of the conditions and the data writes of the layout are executed.
+     *
+     * @param compiledLayout Compiled layout.
+     * @throws IOException If the layout can't be written.
+     */
+    static void warmUp(CompiledLayout compiledLayout) throws IOException {
+
+        List<String> keys = new ArrayList<>(compiledLayout.getReferencedKeys());
+        Writer out = Writer.nullWriter();
+        for (int iteration = 0; iteration < Constant.LAYOUT_WARM_UP_ITERATIONS; iteration++) {
+            Map<String, Object> data = new HashMap<>();
+            for (int index = 0; index < keys.size(); index++) {
+                switch ((iteration + index) % 3) {
+                    case 0:
+                        data.put(keys.get(index), Boolean.TRUE);
+                        break;
+                    case 1:
+                        data.put(keys.get(index), "warm-up");
+                        break;
+                    default:
+                        break;
+                }
+            }
+            LayoutRenderCursor cursor = new LayoutRenderCursor(compiledLayout, data);
+            while (cursor.renderUntilNextComponent(out) != null) {
+                // Components are rendered by the pages, only the layout is warmed up.
+            }
+        }
+    }
+
+    private static Map<String, URL> findLayouts(ServletContext servletContext) {
+
+        Map<String, URL> layouts = new LinkedHashMap<>();
+        Set<?> paths = servletContext.getResourcePaths("/" + Constant.LAYOUTS_DIRECTORY_PATH);
+        if (paths == null) {
+            return layouts;
+        }
+        Set<String> layoutDirectories = new TreeSet<>();
+        for (Object path : paths) {
+            layoutDirectories.add(String.valueOf(path));
+        }
+        for (String layoutDirectory : layoutDirectories) {
+            if (!layoutDirectory.endsWith("/")) {
+                continue;
+            }
+            String layoutName = layoutDirectory.substring(Constant.LAYOUTS_DIRECTORY_PATH.length() + 1,
+                    layoutDirectory.length() - 1);
+            try {
+                // Resolved the same way as the pages resolve the layout file, so the cache entries are shared.
+                URL layoutFile = servletContext.getResource(layoutDirectory.substring(1)
+                        + Constant.COMPILED_LAYOUT_FILE_NAME);
+                if (layoutFile != null) {
+                    layouts.put(layoutName, layoutFile);
+                }
+            } catch (MalformedURLException e) {
+                servletContext.log("Can't resolve the layout file of the layout: " + layoutName, e);
+            }
+        }
+        return layouts;
+    }
+}
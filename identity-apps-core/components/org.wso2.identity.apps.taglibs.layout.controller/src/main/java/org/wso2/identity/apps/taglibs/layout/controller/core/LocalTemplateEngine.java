@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.com).
+ * Copyright (c) 2022-2026, WSO2 Inc. (http://www.wso2.com).
  *
  * WSO2 Inc. licenses this file to you under the Apache License,
  * Version 2.0 (the "License"); you may not use this file except
@@ -18,24 +18,38 @@
 
 package org.wso2.identity.apps.taglibs.layout.controller.core;
 
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.CompilerException;
 import org.wso2.identity.apps.taglibs.layout.controller.compiler.executors.DefaultExecutor;
 import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.ExecutableIdentifier;
 import org.wso2.identity.apps.taglibs.layout.controller.compiler.parsers.DefaultParser;
 import org.wso2.identity.apps.taglibs.layout.controller.compiler.parsers.Parser;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.resolvers.LocalFileResolver;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.resolvers.RemoteLayoutFetcher;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.resolvers.Resolver;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.resolvers.ServletContextResourceResolver;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.serializers.BinaryLayoutFormat;
+import org.wso2.identity.apps.taglibs.layout.controller.metrics.LayoutMetrics;
 
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.ObjectInputFilter;
 import java.io.ObjectInputStream;
 import java.io.Writer;
+import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Caching implementation of the TemplateEngine interface with more controls using local compiler.
+ * Compiled layouts are shared across requests through the {@link CompiledLayoutCache}.
  */
 public class LocalTemplateEngine implements TemplateEngine {
 
     private static final long serialVersionUID = 8574215169965654726L;
+    private static final Resolver LOCAL_FILE_RESOLVER = new LocalFileResolver();
     private ExecutableIdentifier compiledObject = null;
     private DefaultExecutor executor = null;
 
@@ -51,8 +65,7 @@ public class LocalTemplateEngine implements TemplateEngine {
     public void execute(String layoutName, URL layoutFile, Map<String, Object> data, Writer out) {
 
         if (executor == null && compiledObject == null) {
-            Parser parser = new DefaultParser();
-            compiledObject = parser.compile(layoutFile);
+            compiledObject = getCompiledLayout(layoutName, layoutFile, true).getRoot();
             executor = new DefaultExecutor(data);
         }
         compiledObject.accept(executor, out);
@@ -69,20 +82,139 @@ public class LocalTemplateEngine implements TemplateEngine {
     public void executeWithoutCompile(String layoutName, URL layoutFile, Map<String, Object> data, Writer out) {
 
         if (executor == null && compiledObject == null) {
-            try (ObjectInputStream objectReader = new ObjectInputStream(layoutFile.openStream())) {
-                objectReader.setObjectInputFilter(ObjectInputFilter.Config.createFilter(
-                        "org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.*" +
-                        ";java.lang.String" +
-                        ";!*"));
-                compiledObject = (ExecutableIdentifier) objectReader.readObject();
-                executor = new DefaultExecutor(data);
-            } catch (IOException | ClassNotFoundException exception) {
-                throw new RuntimeException("Can't read the layout file: " + layoutName, exception);
-            }
+            compiledObject = getCompiledLayout(layoutName, layoutFile, false).getRoot();
+            executor = new DefaultExecutor(data);
         }
         compiledObject.accept(executor, out);
     }
 
+    /**
+     * Get the shared compiled layout of the given layout file. A compiled layout file which can't be read is compiled
+     * again from the raw ".html" layout file next to it.
+     *
+     * @param layoutName Name of the layout.
+     * @param layoutFile Layout file path as a URL object.
+     * @param compile    Whether the layout file is a raw layout which should be compiled, or an already compiled one.
+     * @return Compiled layout.
+     */
+    public static CompiledLayout getCompiledLayout(String layoutName, URL layoutFile, boolean compile) {
+
+        if (compile) {
+            // In the watch mode, the layout is compiled once and compiled again only when the layout file changes.
+            boolean watched = LayoutFileWatcher.isEnabled() && LayoutFileWatcher.watchLayout(layoutFile);
+            return CompiledLayoutCache.getInstance().get(layoutFile, LocalTemplateEngine::compile, watched);
+        }
+        try {
+            return CompiledLayoutCache.getInstance().get(layoutFile, LocalTemplateEngine::readCompiledLayout);
+        } catch (CompilerException e) {
+            // A corrupted compiled layout is compiled again from the raw layout file next to it, if there is one.
+            URL rawLayoutFile = getRawLayoutFile(layoutFile);
+            if (rawLayoutFile != null) {
+                try {
+                    return getCompiledLayout(layoutName, rawLayoutFile, true);
+                } catch (CompilerException compileException) {
+                    e.addSuppressed(compileException);
+                }
+            }
+            throw new RuntimeException("Can't read the layout file: " + layoutName, e);
+        }
+    }
+
+    /**
+     * Get the raw layout file which the given compiled layout file is compiled from.
+     *
+     * @param layoutFile Compiled layout file path as a URL object.
+     * @return Raw layout file path as a URL object, or null if the compiled layout file isn't a ".ser" file.
+     */
+    private static URL getRawLayoutFile(URL layoutFile) {
+
+        String path = layoutFile == null ? null : layoutFile.getPath();
+        if (path == null || !path.endsWith(".ser")) {
+            return null;
+        }
+        String fileName = path.substring(path.lastIndexOf('/') + 1);
+        try {
+            return new URL(layoutFile, fileName.substring(0, fileName.length() - ".ser".length()) + ".html");
+        } catch (MalformedURLException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Get the data keys referenced by the given layout file, so the pages can skip computing the values which are
+     * never used by the layout.
+     *
+     * @param layoutName Name of the layout.
+     * @param layoutFile Layout file path as a URL object.
+     * @param compile    Whether the layout file is a raw layout which should be compiled, or an already compiled one.
+     * @return Referenced data keys.
+     */
+    public static Set<String> getReferencedKeys(String layoutName, URL layoutFile, boolean compile) {
+
+        return getCompiledLayout(layoutName, layoutFile, compile).getReferencedKeys();
+    }
+
+    /**
+     * Compile the given layout file. Local files are read in one call, and the other files are read through the shared
+     * servlet context resource resolver.
+     *
+     * @param layoutFile Layout file path as a URL object.
+     * @return Compiled layout.
+     */
+    public static ExecutableIdentifier compile(URL layoutFile) {
+
+        long start = System.nanoTime();
+        Resolver resolver = layoutFile != null && "file".equalsIgnoreCase(layoutFile.getProtocol()) ?
+                LOCAL_FILE_RESOLVER : ServletContextResourceResolver.getInstance();
+        Parser parser = new DefaultParser(resolver);
+        ExecutableIdentifier compiledLayout = parser.compile(layoutFile);
+        LayoutMetrics.getInstance().recordCompile(System.nanoTime() - start);
+        return compiledLayout;
+    }
+
+    /**
+     * Read an already compiled layout file. Layouts written in the {@link BinaryLayoutFormat} are detected by the
+     * magic header, otherwise the file is read as a Java serialized layout.
+     *
+     * @param layoutFile Compiled layout file path as a URL object.
+     * @return Compiled layout.
+     */
+    public static ExecutableIdentifier readCompiledLayout(URL layoutFile) {
+
+        long start = System.nanoTime();
+        try (BufferedInputStream inputStream = new BufferedInputStream(RemoteLayoutFetcher.openStream(layoutFile))) {
+            inputStream.mark(4);
+            int header = new DataInputStream(inputStream).readInt();
+            inputStream.reset();
+            ExecutableIdentifier compiledLayout = BinaryLayoutFormat.isBinaryLayout(header) ?
+                    BinaryLayoutFormat.read(inputStream) : readSerializedLayout(inputStream);
+            LayoutMetrics.getInstance().recordDeserialize(System.nanoTime() - start);
+            return compiledLayout;
+        } catch (IOException exception) {
+            throw new CompilerException("Can't read the compiled layout file: " + layoutFile, exception);
+        }
+    }
+
+    /**
+     * Read a Java serialized layout. Kept as a fallback for the layouts compiled before the binary format.
+     *
+     * @param inputStream Stream of the compiled layout file.
+     * @return Compiled layout.
+     * @throws IOException If the compiled layout can't be read.
+     */
+    private static ExecutableIdentifier readSerializedLayout(InputStream inputStream) throws IOException {
+
+        try (ObjectInputStream objectReader = new ObjectInputStream(inputStream)) {
+            objectReader.setObjectInputFilter(ObjectInputFilter.Config.createFilter(
+                    "org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.*" +
+                    ";java.lang.String" +
+                    ";!*"));
+            return (ExecutableIdentifier) objectReader.readObject();
+        } catch (ClassNotFoundException exception) {
+            throw new IOException("Unknown class in the compiled layout file", exception);
+        }
+    }
+
     /**
      * Get the compiled layout file as an object.
      *
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.core;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Custom layout HTML split once into static chunks and component slots.
+ * A layout with n components has n + 1 static chunks and is rendered as
+ * chunk[0], component[0], chunk[1], component[1], ..., chunk[n].
+ *
+ * Segmentation follows the line based processing of the custom layouts:
+ *  - Line terminators are dropped.
+ *  - Only the first "{{{name}}}" of a line is a component slot, the rest of the line is static content.
+ *  - A "{{{" without a closing "}}}" in the same line ends the layout.
+ *
+ * All the static chunks are kept in a single char array and written as char ranges, so rendering a segmented layout
+ * doesn't allocate. Segmented layouts are immutable, so they can be shared between any number of concurrent renders.
+ */
+public final class SegmentedLayout {
+
+    private static final String COMPONENT_START = "{{{";
+    private static final String COMPONENT_END = "}}}";
+
+    private final char[] staticText;
+    private final int[] chunkOffsets;
+    private final String[] componentNames;
+
+    private SegmentedLayout(char[] staticText, int[] chunkOffsets, String[] componentNames) {
+
+        this.staticText = staticText;
+        this.chunkOffsets = chunkOffsets;
+        this.componentNames = componentNames;
+    }
+
+    /**
+     * Split the given layout HTML into static chunks and component slots.
+     *
+     * @param layoutHtml Layout HTML content.
+     * @return Segmented layout.
+     */
+    public static SegmentedLayout segment(String layoutHtml) {
+
+        List<Integer> chunkEnds = new ArrayList<>();
+        List<String> componentNames = new ArrayList<>();
+        StringBuilder staticText = new StringBuilder(layoutHtml.length());
+        int length = layoutHtml.length();
+        int lineStart = 0;
+        while (lineStart < length) {
+            int lineEnd = lineStart;
+            while (lineEnd < length && layoutHtml.charAt(lineEnd) != '\n' && layoutHtml.charAt(lineEnd) != '\r') {
+                lineEnd++;
+            }
+            int start = indexOf(layoutHtml, COMPONENT_START, lineStart, lineEnd);
+            if (start == -1) {
+                staticText.append(layoutHtml, lineStart, lineEnd);
+            } else {
+                int end = indexOf(layoutHtml, COMPONENT_END, start, lineEnd);
+                if (end == -1) {
+                    break;
+                }
+                staticText.append(layoutHtml, lineStart, start);
+                chunkEnds.add(staticText.length());
+                componentNames.add(layoutHtml.substring(start + COMPONENT_START.length(), end).trim());
+                staticText.append(layoutHtml, end + COMPONENT_END.length(), lineEnd);
+            }
+            if (lineEnd < length && layoutHtml.charAt(lineEnd) == '\r' && lineEnd + 1 < length
+                    && layoutHtml.charAt(lineEnd + 1) == '\n') {
+                lineEnd++;
+            }
+            lineStart = lineEnd + 1;
+        }
+        chunkEnds.add(staticText.length());
+        int[] chunkOffsets = new int[chunkEnds.size() + 1];
+        for (int i = 0; i < chunkEnds.size(); i++) {
+            chunkOffsets[i + 1] = chunkEnds.get(i);
+        }
+        char[] text = new char[staticText.length()];
+        staticText.getChars(0, text.length, text, 0);
+        return new SegmentedLayout(text, chunkOffsets, componentNames.toArray(new String[0]));
+    }
+
+    /**
+     * Get the number of component slots in the layout.
+     *
+     * @return Number of components.
+     */
+    public int getComponentCount() {
+
+        return componentNames.length;
+    }
+
+    /**
+     * Get the static chunk rendered before the given component slot. The chunk at index
+     * {@link #getComponentCount()} is the content after the last component.
+     *
+     * @param index Index of the chunk.
+     * @return Static content.
+     */
+    public String getStaticChunk(int index) {
+
+        return new String(staticText, chunkOffsets[index], chunkOffsets[index + 1] - chunkOffsets[index]);
+    }
+
+    /**
+     * Write the static chunk rendered before the given component slot, without copying it.
+     *
+     * @param index Index of the chunk.
+     * @param out   The chunk will be written to this writer.
+     * @throws IOException If the chunk can't be written.
+     */
+    public void writeStaticChunk(int index, Writer out) throws IOException {
+
+        int length = chunkOffsets[index + 1] - chunkOffsets[index];
+        if (length > 0) {
+            out.write(staticText, chunkOffsets[index], length);
+        }
+    }
+
+    /**
+     * Get the name of the component in the given slot.
+     *
+     * @param index Index of the component slot.
+     * @return Component name.
+     */
+    public String getComponentName(int index) {
+
+        return componentNames[index];
+    }
+
+    private static int indexOf(String content, String token, int from, int to) {
+
+        char first = token.charAt(0);
+        for (int i = from; i <= to - token.length(); i++) {
+            if (content.charAt(i) == first && content.startsWith(token, i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.core;
+
+import org.wso2.identity.apps.taglibs.layout.controller.Constant;
+import org.wso2.identity.apps.taglibs.layout.controller.metrics.LayoutMetrics;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Process wide, bounded cache of segmented custom layouts.
+ * Layouts are keyed by the SHA-256 hash of the layout HTML, so each distinct layout is segmented once and shared by
+ * every request (and every tenant) using the same content, without keeping a second copy of the content as the key.
+ * Layout HTML instances seen recently are remembered by identity, so rendering the same (cached) layout HTML again
+ * doesn't hash the content.
+ */
+public final class SegmentedLayoutCache {
+
+    private static final SegmentedLayoutCache INSTANCE =
+            new SegmentedLayoutCache(Constant.SEGMENTED_LAYOUT_CACHE_MAX_ENTRIES);
+
+    private final int maxEntries;
+    private final Map<String, SegmentedLayout> entries;
+    private final Map<String, SegmentedLayout> recentInstances = new IdentityHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param maxEntries Maximum number of segmented layouts kept in the cache.
+     */
+    SegmentedLayoutCache(final int maxEntries) {
+
+        this.maxEntries = maxEntries;
+        entries = new LinkedHashMap<String, SegmentedLayout>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = -3209624829016476389L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SegmentedLayout> eldest) {
+
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Get the shared cache instance.
+     *
+     * @return Segmented layout cache.
+     */
+    public static SegmentedLayoutCache getInstance() {
+
+        return INSTANCE;
+    }
+
+    /**
+     * Get the segmented layout of the given layout HTML, segmenting it if it is not cached yet.
+     *
+     * @param layoutHtml Layout HTML content.
+     * @return Segmented layout.
+     */
+    public SegmentedLayout get(String layoutHtml) {
+
+        if (layoutHtml == null) {
+            throw new IllegalArgumentException("Layout content can't be null");
+        }
+        LayoutMetrics.getInstance().getSegmentedLayoutCache().recordLookup();
+        SegmentedLayout segmentedLayout;
+        synchronized (entries) {
+            segmentedLayout = recentInstances.get(layoutHtml);
+        }
+        if (segmentedLayout != null) {
+            return segmentedLayout;
+        }
+        String key = hash(layoutHtml);
+        synchronized (entries) {
+            segmentedLayout = entries.get(key);
+        }
+        if (segmentedLayout == null) {
+            LayoutMetrics.getInstance().getSegmentedLayoutCache().recordMiss();
+            // Segmenting is done outside the lock. Concurrent misses of the same content segment it more than once,
+            // but all of them produce an equal result.
+            segmentedLayout = SegmentedLayout.segment(layoutHtml);
+            synchronized (entries) {
+                entries.put(key, segmentedLayout);
+            }
+        }
+        synchronized (entries) {
+            if (recentInstances.size() >= maxEntries) {
+                recentInstances.clear();
+            }
+            recentInstances.put(layoutHtml, segmentedLayout);
+        }
+        return segmentedLayout;
+    }
+
+    /**
+     * Remove all the segmented layouts from the cache.
+     */
+    public void clear() {
+
+        synchronized (entries) {
+            entries.clear();
+            recentInstances.clear();
+        }
+    }
+
+    /**
+     * Get the number of layouts in the cache.
+     *
+     * @return Number of cached layouts.
+     */
+    public int size() {
+
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static String hash(String layoutHtml) {
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(layoutHtml.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by the platform", e);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.core;
+
+import org.wso2.identity.apps.taglibs.layout.controller.Constant;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.specializers.LayoutSpecializer;
+import org.wso2.identity.apps.taglibs.layout.controller.metrics.LayoutMetrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Process wide, bounded cache of layouts specialized for the constant data of a tenant.
+ * Layouts are keyed by (layout, tenant, preference version), so a layout is specialized once per branding
+ * preference update of the tenant. A specialized layout is also replaced when the compiled layout it was specialized
+ * from changes.
+ */
+public final class SpecializedLayoutCache {
+
+    private static final SpecializedLayoutCache INSTANCE =
+            new SpecializedLayoutCache(Constant.SPECIALIZED_LAYOUT_CACHE_MAX_ENTRIES);
+
+    private final Map<String, Entry> entries;
+
+    /**
+     * Constructor.
+     *
+     * @param maxEntries Maximum number of specialized layouts kept in the cache.
+     */
+    SpecializedLayoutCache(final int maxEntries) {
+
+        entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = -1744260187468853925L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Get the shared cache instance.
+     *
+     * @return Specialized layout cache.
+     */
+    public static SpecializedLayoutCache getInstance() {
+
+        return INSTANCE;
+    }
+
+    /**
+     * Get the layout specialized for the given constant data, specializing it if it is not cached yet.
+     *
+     * @param compiledLayout    Compiled layout to be specialized.
+     * @param layoutKey         Key of the layout, e.g. the layout file URL.
+     * @param tenantDomain      Tenant domain of the constant data.
+     * @param preferenceVersion Version of the preferences the constant data is resolved from. Without a version, the
+     *                          cached layout can't be told apart from one specialized for older preferences, hence
+     *                          it is required.
+     * @param constantData      Data which is constant for the tenant and the preference version.
+     * @return Specialized layout.
+     */
+    public CompiledLayout get(CompiledLayout compiledLayout, String layoutKey, String tenantDomain,
+                              String preferenceVersion, Map<String, Object> constantData) {
+
+        if (compiledLayout == null || layoutKey == null || tenantDomain == null || preferenceVersion == null) {
+            throw new IllegalArgumentException(
+                    "Compiled layout, layout key, tenant domain and preference version can't be null");
+        }
+        LayoutMetrics.getInstance().getSpecializedLayoutCache().recordLookup();
+        String key = layoutKey + '\n' + tenantDomain + '\n' + preferenceVersion;
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry != null && entry.compiledLayout == compiledLayout) {
+            return entry.specializedLayout;
+        }
+        LayoutMetrics.getInstance().getSpecializedLayoutCache().recordMiss();
+        // Specializing is done outside the lock. Concurrent misses of the same key specialize the layout more than
+        // once, but all of them produce an equal result.
+        entry = new Entry(compiledLayout,
+                new CompiledLayout(LayoutSpecializer.specialize(compiledLayout.getRoot(), constantData)));
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+        return entry.specializedLayout;
+    }
+
+    /**
+     * Remove all the specialized layouts from the cache.
+     */
+    public void clear() {
+
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Get the number of layouts in the cache.
+     *
+     * @return Number of cached layouts.
+     */
+    public int size() {
+
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Cache entry of a single specialized layout.
+     */
+    private static final class Entry {
+
+        private final CompiledLayout compiledLayout;
+        private final CompiledLayout specializedLayout;
+
+        Entry(CompiledLayout compiledLayout, CompiledLayout specializedLayout) {
+
+            this.compiledLayout = compiledLayout;
+            this.specializedLayout = specializedLayout;
+        }
+    }
+}
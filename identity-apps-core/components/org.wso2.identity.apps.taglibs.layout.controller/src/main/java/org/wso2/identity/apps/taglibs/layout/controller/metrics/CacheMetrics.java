@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lookup metrics of a layout cache. Each lookup is recorded, and each lookup which had to load the value is also
+ * recorded as a miss.
+ */
+public final class CacheMetrics {
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Record a lookup of the cache.
+     */
+    public void recordLookup() {
+
+        lookups.increment();
+    }
+
+    /**
+     * Record a lookup which had to load the value.
+     */
+    public void recordMiss() {
+
+        misses.increment();
+    }
+
+    /**
+     * Get the number of lookups.
+     *
+     * @return Lookup count.
+     */
+    public long getLookupCount() {
+
+        return lookups.sum();
+    }
+
+    /**
+     * Get the number of lookups which had to load the value.
+     *
+     * @return Miss count.
+     */
+    public long getMissCount() {
+
+        return misses.sum();
+    }
+
+    /**
+     * Get the ratio of the lookups served from the cache.
+     *
+     * @return Hit ratio between 0 and 1, or 0 if the cache is not used yet.
+     */
+    public double getHitRatio() {
+
+        long lookupCount = lookups.sum();
+        return lookupCount == 0 ? 0 : Math.max(0, 1 - (double) misses.sum() / lookupCount);
+    }
+
+    /**
+     * Clear the metrics.
+     */
+    public void reset() {
+
+        lookups.reset();
+        misses.reset();
+    }
+}
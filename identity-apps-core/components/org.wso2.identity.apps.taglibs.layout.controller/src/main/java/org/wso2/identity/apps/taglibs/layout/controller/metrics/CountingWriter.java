@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writer which counts the characters written to the underlying writer.
+ */
+public final class CountingWriter extends Writer {
+
+    private final Writer out;
+    private long count;
+
+    /**
+     * Constructor.
+     *
+     * @param out Underlying writer.
+     */
+    public CountingWriter(Writer out) {
+
+        this.out = out;
+    }
+
+    /**
+     * Get the number of characters written so far.
+     *
+     * @return Number of characters written.
+     */
+    public long getCount() {
+
+        return count;
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+
+        out.write(c);
+        count++;
+    }
+
+    @Override
+    public void write(char[] buffer, int offset, int length) throws IOException {
+
+        out.write(buffer, offset, length);
+        count += length;
+    }
+
+    @Override
+    public void write(String text, int offset, int length) throws IOException {
+
+        out.write(text, offset, length);
+        count += length;
+    }
+
+    @Override
+    public void flush() throws IOException {
+
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+
+        out.close();
+    }
+}
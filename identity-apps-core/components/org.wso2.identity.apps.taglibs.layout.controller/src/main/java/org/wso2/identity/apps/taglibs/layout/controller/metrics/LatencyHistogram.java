@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock free latency histogram with fixed buckets.
+ * Latencies are counted in the first bucket whose upper bound (in microseconds) is not less than the latency, the
+ * last bucket counts the latencies above all the bounds. Percentiles are estimated as the upper bound of the bucket
+ * they fall into, which is accurate enough to find slow layouts without keeping the individual samples.
+ */
+public final class LatencyHistogram {
+
+    private static final long[] BUCKET_BOUNDS = {50, 100, 250, 500, 1000, 2500, 5000, 10000, 25000, 50000, 100000,
+            250000, 1000000};
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS.length + 1];
+    private final LongAdder totalTime = new LongAdder();
+    private final AtomicLong maxTime = new AtomicLong();
+
+    /**
+     * Constructor.
+     */
+    public LatencyHistogram() {
+
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Get the upper bounds of the buckets, except the last bucket which has no upper bound.
+     *
+     * @return Upper bounds in microseconds.
+     */
+    public static long[] getBucketBounds() {
+
+        return BUCKET_BOUNDS.clone();
+    }
+
+    /**
+     * Record a latency.
+     *
+     * @param nanos Latency in nanoseconds.
+     */
+    public void record(long nanos) {
+
+        long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        int bucket = 0;
+        while (bucket < BUCKET_BOUNDS.length && micros > BUCKET_BOUNDS[bucket]) {
+            bucket++;
+        }
+        buckets[bucket].increment();
+        totalTime.add(micros);
+        long max;
+        while (micros > (max = maxTime.get()) && !maxTime.compareAndSet(max, micros)) {
+            // Retry until the maximum is updated or a larger latency is recorded.
+        }
+    }
+
+    /**
+     * Get the number of recorded latencies in each bucket.
+     *
+     * @return Counts of the buckets, the last count is of the latencies above all the bounds.
+     */
+    public long[] getBucketCounts() {
+
+        long[] counts = new long[buckets.length];
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return counts;
+    }
+
+    /**
+     * Get the total of the recorded latencies.
+     *
+     * @return Total latency in microseconds.
+     */
+    public long getTotalTime() {
+
+        return totalTime.sum();
+    }
+
+    /**
+     * Get the maximum recorded latency.
+     *
+     * @return Maximum latency in microseconds.
+     */
+    public long getMaxTime() {
+
+        return maxTime.get();
+    }
+
+    /**
+     * Estimate the given percentile from the bucket counts.
+     *
+     * @param counts     Counts of the buckets.
+     * @param percentile Percentile between 0 and 100.
+     * @param maxTime    Maximum recorded latency, used for the last bucket.
+     * @return Upper bound of the bucket of the percentile in microseconds, or 0 if no latency is recorded.
+     */
+    static long percentile(long[] counts, double percentile, long maxTime) {
+
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * percentile / 100);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+            seen += counts[i];
+            if (seen >= Math.max(rank, 1)) {
+                return Math.min(BUCKET_BOUNDS[i], maxTime);
+            }
+        }
+        return maxTime;
+    }
+
+    /**
+     * Clear the recorded latencies.
+     */
+    public void reset() {
+
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        totalTime.reset();
+        maxTime.set(0);
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.metrics;
+
+import org.wso2.identity.apps.taglibs.layout.controller.Constant;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Process wide metrics of the layout engine.
+ * The metrics are recorded with lock free counters, and read in-process through the getters of this class or over
+ * JMX (see {@link #register(String)}). Render metrics are kept per layout name, up to a bounded number of layouts so
+ * per tenant custom layouts can't grow the metrics without a limit. The renders of the layouts above the limit are
+ * recorded under {@link Constant#LAYOUT_METRICS_OTHER_LAYOUTS}.
+ */
+public final class LayoutMetrics implements LayoutMetricsMXBean {
+
+    private static final LayoutMetrics INSTANCE = new LayoutMetrics(Constant.LAYOUT_METRICS_MAX_LAYOUTS);
+
+    private final int maxLayouts;
+    private final Map<String, LayoutRenderMetrics> layouts = new ConcurrentHashMap<>();
+    private final LongAdder compileCount = new LongAdder();
+    private final LongAdder compileTime = new LongAdder();
+    private final LongAdder deserializeCount = new LongAdder();
+    private final LongAdder deserializeTime = new LongAdder();
+    private final CacheMetrics compiledLayoutCache = new CacheMetrics();
+    private final CacheMetrics specializedLayoutCache = new CacheMetrics();
+    private final CacheMetrics segmentedLayoutCache = new CacheMetrics();
+
+    /**
+     * Constructor.
+     *
+     * @param maxLayouts Maximum number of layouts with separate render metrics.
+     */
+    LayoutMetrics(int maxLayouts) {
+
+        this.maxLayouts = maxLayouts;
+    }
+
+    /**
+     * Get the shared metrics instance.
+     *
+     * @return Layout metrics.
+     */
+    public static LayoutMetrics getInstance() {
+
+        return INSTANCE;
+    }
+
+    /**
+     * Register the shared metrics instance in the platform MBean server.
+     *
+     * @param context Name of the registering context (e.g. the web application context path), as the metrics can be
+     *                registered by more than one web application.
+     * @return Name of the registered MBean, which must be unregistered when the context is destroyed.
+     * @throws JMException If the MBean can't be registered.
+     */
+    public static ObjectName register(String context) throws JMException {
+
+        ObjectName name = new ObjectName(Constant.LAYOUT_METRICS_MBEAN_DOMAIN + ":type=" +
+                Constant.LAYOUT_METRICS_MBEAN_TYPE + ",context=" + ObjectName.quote(context));
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        if (server.isRegistered(name)) {
+            server.unregisterMBean(name);
+        }
+        server.registerMBean(INSTANCE, name);
+        return name;
+    }
+
+    /**
+     * Unregister the metrics MBean from the platform MBean server.
+     *
+     * @param name Name of the registered MBean.
+     * @throws JMException If the MBean can't be unregistered.
+     */
+    public static void unregister(ObjectName name) throws JMException {
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        if (server.isRegistered(name)) {
+            server.unregisterMBean(name);
+        }
+    }
+
+    /**
+     * Record a layout render.
+     *
+     * @param layoutName        Name of the layout.
+     * @param renderTime        Time spent by the layout engine in nanoseconds, excluding the component bodies.
+     * @param componentYields   Number of times the layout handed over to a component.
+     * @param charactersWritten Number of characters written by the layout.
+     */
+    public void recordRender(String layoutName, long renderTime, int componentYields, long charactersWritten) {
+
+        String name = layoutName == null || layoutName.isEmpty() ? Constant.LAYOUT_METRICS_OTHER_LAYOUTS : layoutName;
+        LayoutRenderMetrics metrics = layouts.get(name);
+        if (metrics == null) {
+            if (layouts.size() >= maxLayouts) {
+                name = Constant.LAYOUT_METRICS_OTHER_LAYOUTS;
+            }
+            metrics = layouts.computeIfAbsent(name, key -> new LayoutRenderMetrics());
+        }
+        metrics.renderTime.record(renderTime);
+        metrics.componentYields.add(componentYields);
+        metrics.charactersWritten.add(charactersWritten);
+    }
+
+    /**
+     * Record the compilation of a raw layout file.
+     *
+     * @param nanos Compile time in nanoseconds.
+     */
+    public void recordCompile(long nanos) {
+
+        compileCount.increment();
+        compileTime.add(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    /**
+     * Record the deserialization of a compiled layout file.
+     *
+     * @param nanos Deserialize time in nanoseconds.
+     */
+    public void recordDeserialize(long nanos) {
+
+        deserializeCount.increment();
+        deserializeTime.add(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    /**
+     * Get the lookup metrics of the compiled layout cache.
+     *
+     * @return Cache metrics.
+     */
+    public CacheMetrics getCompiledLayoutCache() {
+
+        return compiledLayoutCache;
+    }
+
+    /**
+     * Get the lookup metrics of the specialized layout cache.
+     *
+     * @return Cache metrics.
+     */
+    public CacheMetrics getSpecializedLayoutCache() {
+
+        return specializedLayoutCache;
+    }
+
+    /**
+     * Get the lookup metrics of the segmented layout cache.
+     *
+     * @return Cache metrics.
+     */
+    public CacheMetrics getSegmentedLayoutCache() {
+
+        return segmentedLayoutCache;
+    }
+
+    /**
+     * Get the render metrics of the given layout.
+     *
+     * @param layoutName Name of the layout.
+     * @return Render metrics, or null if the layout is not rendered yet.
+     */
+    public LayoutRenderStatistics getLayout(String layoutName) {
+
+        LayoutRenderMetrics metrics = layouts.get(layoutName);
+        return metrics == null ? null : metrics.snapshot(layoutName);
+    }
+
+    @Override
+    public List<LayoutRenderStatistics> getLayouts() {
+
+        List<LayoutRenderStatistics> statistics = new ArrayList<>(layouts.size());
+        for (Map.Entry<String, LayoutRenderMetrics> layout : layouts.entrySet()) {
+            statistics.add(layout.getValue().snapshot(layout.getKey()));
+        }
+        statistics.sort(Comparator.comparingLong(LayoutRenderStatistics::getTotalRenderTime).reversed());
+        return statistics;
+    }
+
+    @Override
+    public long getRenderCount() {
+
+        long count = 0;
+        for (LayoutRenderMetrics metrics : layouts.values()) {
+            for (long bucketCount : metrics.renderTime.getBucketCounts()) {
+                count += bucketCount;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public long getCharactersWritten() {
+
+        long count = 0;
+        for (LayoutRenderMetrics metrics : layouts.values()) {
+            count += metrics.charactersWritten.sum();
+        }
+        return count;
+    }
+
+    @Override
+    public long getComponentYields() {
+
+        long count = 0;
+        for (LayoutRenderMetrics metrics : layouts.values()) {
+            count += metrics.componentYields.sum();
+        }
+        return count;
+    }
+
+    @Override
+    public long getCompileCount() {
+
+        return compileCount.sum();
+    }
+
+    @Override
+    public long getCompileTime() {
+
+        return compileTime.sum();
+    }
+
+    @Override
+    public long getDeserializeCount() {
+
+        return deserializeCount.sum();
+    }
+
+    @Override
+    public long getDeserializeTime() {
+
+        return deserializeTime.sum();
+    }
+
+    @Override
+    public double getCompiledLayoutCacheHitRatio() {
+
+        return compiledLayoutCache.getHitRatio();
+    }
+
+    @Override
+    public double getSpecializedLayoutCacheHitRatio() {
+
+        return specializedLayoutCache.getHitRatio();
+    }
+
+    @Override
+    public double getSegmentedLayoutCacheHitRatio() {
+
+        return segmentedLayoutCache.getHitRatio();
+    }
+
+    @Override
+    public void reset() {
+
+        layouts.clear();
+        compileCount.reset();
+        compileTime.reset();
+        deserializeCount.reset();
+        deserializeTime.reset();
+        compiledLayoutCache.reset();
+        specializedLayoutCache.reset();
+        segmentedLayoutCache.reset();
+    }
+
+    /**
+     * Render metrics of a single layout.
+     */
+    private static final class LayoutRenderMetrics {
+
+        private final LatencyHistogram renderTime = new LatencyHistogram();
+        private final LongAdder componentYields = new LongAdder();
+        private final LongAdder charactersWritten = new LongAdder();
+
+        LayoutRenderStatistics snapshot(String layoutName) {
+
+            return new LayoutRenderStatistics(layoutName, renderTime.getBucketCounts(), renderTime.getTotalTime(),
+                    renderTime.getMaxTime(), componentYields.sum(), charactersWritten.sum());
+        }
+    }
+}
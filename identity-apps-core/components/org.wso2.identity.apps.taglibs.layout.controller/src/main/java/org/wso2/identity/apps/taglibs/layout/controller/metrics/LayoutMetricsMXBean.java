@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.metrics;
+
+import java.util.List;
+
+/**
+ * Management interface of the layout engine metrics. Times are in microseconds.
+ */
+public interface LayoutMetricsMXBean {
+
+    /**
+     * Get the render metrics of the layouts, slowest layouts (by the total render time) first.
+     *
+     * @return Render metrics of the layouts.
+     */
+    List<LayoutRenderStatistics> getLayouts();
+
+    /**
+     * Get the number of layout renders.
+     *
+     * @return Render count.
+     */
+    long getRenderCount();
+
+    /**
+     * Get the number of characters written by all the layouts.
+     *
+     * @return Number of characters written.
+     */
+    long getCharactersWritten();
+
+    /**
+     * Get the number of times the layouts handed over to a component.
+     *
+     * @return Number of component yields.
+     */
+    long getComponentYields();
+
+    /**
+     * Get the number of compiled raw layout files.
+     *
+     * @return Compile count.
+     */
+    long getCompileCount();
+
+    /**
+     * Get the total time spent on compiling raw layout files.
+     *
+     * @return Compile time in microseconds.
+     */
+    long getCompileTime();
+
+    /**
+     * Get the number of deserialized compiled layout files.
+     *
+     * @return Deserialize count.
+     */
+    long getDeserializeCount();
+
+    /**
+     * Get the total time spent on deserializing compiled layout files.
+     *
+     * @return Deserialize time in microseconds.
+     */
+    long getDeserializeTime();
+
+    /**
+     * Get the hit ratio of the compiled layout cache.
+     *
+     * @return Hit ratio between 0 and 1, or 0 if the cache is not used yet.
+     */
+    double getCompiledLayoutCacheHitRatio();
+
+    /**
+     * Get the hit ratio of the specialized layout cache.
+     *
+     * @return Hit ratio between 0 and 1, or 0 if the cache is not used yet.
+     */
+    double getSpecializedLayoutCacheHitRatio();
+
+    /**
+     * Get the hit ratio of the segmented layout cache.
+     *
+     * @return Hit ratio between 0 and 1, or 0 if the cache is not used yet.
+     */
+    double getSegmentedLayoutCacheHitRatio();
+
+    /**
+     * Clear all the metrics.
+     */
+    void reset();
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.metrics;
+
+/**
+ * Snapshot of the render metrics of a single layout.
+ * Render time is the time spent by the layout engine, the component bodies rendered by the page are not included.
+ * All times are in microseconds.
+ */
+public final class LayoutRenderStatistics {
+
+    private final String layoutName;
+    private final long renderCount;
+    private final long totalRenderTime;
+    private final long maxRenderTime;
+    private final long[] renderTimeBucketCounts;
+    private final long componentYields;
+    private final long charactersWritten;
+
+    /**
+     * Constructor.
+     *
+     * @param layoutName             Name of the layout.
+     * @param renderTimeBucketCounts Counts of the render time histogram buckets.
+     * @param totalRenderTime        Total render time.
+     * @param maxRenderTime          Maximum render time.
+     * @param componentYields        Number of times the layout handed over to a component.
+     * @param charactersWritten      Number of characters written by the layout.
+     */
+    public LayoutRenderStatistics(String layoutName, long[] renderTimeBucketCounts, long totalRenderTime,
+                                  long maxRenderTime, long componentYields, long charactersWritten) {
+
+        long count = 0;
+        for (long bucketCount : renderTimeBucketCounts) {
+            count += bucketCount;
+        }
+        this.layoutName = layoutName;
+        this.renderCount = count;
+        this.renderTimeBucketCounts = renderTimeBucketCounts.clone();
+        this.totalRenderTime = totalRenderTime;
+        this.maxRenderTime = maxRenderTime;
+        this.componentYields = componentYields;
+        this.charactersWritten = charactersWritten;
+    }
+
+    /**
+     * Get the name of the layout.
+     *
+     * @return Layout name.
+     */
+    public String getLayoutName() {
+
+        return layoutName;
+    }
+
+    /**
+     * Get the number of renders.
+     *
+     * @return Render count.
+     */
+    public long getRenderCount() {
+
+        return renderCount;
+    }
+
+    /**
+     * Get the total render time.
+     *
+     * @return Total render time in microseconds.
+     */
+    public long getTotalRenderTime() {
+
+        return totalRenderTime;
+    }
+
+    /**
+     * Get the mean render time.
+     *
+     * @return Mean render time in microseconds.
+     */
+    public double getMeanRenderTime() {
+
+        return renderCount == 0 ? 0 : (double) totalRenderTime / renderCount;
+    }
+
+    /**
+     * Get the maximum render time.
+     *
+     * @return Maximum render time in microseconds.
+     */
+    public long getMaxRenderTime() {
+
+        return maxRenderTime;
+    }
+
+    /**
+     * Get the estimated median render time.
+     *
+     * @return Median render time in microseconds.
+     */
+    public long getRenderTimeP50() {
+
+        return LatencyHistogram.percentile(renderTimeBucketCounts, 50, maxRenderTime);
+    }
+
+    /**
+     * Get the estimated 90th percentile render time.
+     *
+     * @return 90th percentile render time in microseconds.
+     */
+    public long getRenderTimeP90() {
+
+        return LatencyHistogram.percentile(renderTimeBucketCounts, 90, maxRenderTime);
+    }
+
+    /**
+     * Get the estimated 99th percentile render time.
+     *
+     * @return 99th percentile render time in microseconds.
+     */
+    public long getRenderTimeP99() {
+
+        return LatencyHistogram.percentile(renderTimeBucketCounts, 99, maxRenderTime);
+    }
+
+    /**
+     * Get the counts of the render time histogram buckets. The bounds of the buckets are given by
+     * {@link LatencyHistogram#getBucketBounds()}.
+     *
+     * @return Bucket counts.
+     */
+    public long[] getRenderTimeBucketCounts() {
+
+        return renderTimeBucketCounts.clone();
+    }
+
+    /**
+     * Get the number of times the layout handed over to a component.
+     *
+     * @return Number of component yields.
+     */
+    public long getComponentYields() {
+
+        return componentYields;
+    }
+
+    /**
+     * Get the number of characters written by the layout, excluding the component bodies.
+     *
+     * @return Number of characters written.
+     */
+    public long getCharactersWritten() {
+
+        return charactersWritten;
+    }
+}
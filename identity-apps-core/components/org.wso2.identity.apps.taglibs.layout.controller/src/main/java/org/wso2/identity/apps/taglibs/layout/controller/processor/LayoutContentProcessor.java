@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ * Copyright (c) 2025-2026, WSO2 LLC. (http://www.wso2.com).
  *
  * WSO2 LLC. licenses this file to you under the Apache License,
  * Version 2.0 (the "License"); you may not use this file except
@@ -19,11 +19,11 @@
 package org.wso2.identity.apps.taglibs.layout.controller.processor;
 
 import org.wso2.identity.apps.taglibs.layout.controller.Constant;
+import org.wso2.identity.apps.taglibs.layout.controller.core.SegmentedLayout;
+import org.wso2.identity.apps.taglibs.layout.controller.core.SegmentedLayoutCache;
+import org.wso2.identity.apps.taglibs.layout.controller.metrics.CountingWriter;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.io.StringReader;
 
 import javax.servlet.jsp.PageContext;
 
@@ -33,14 +33,17 @@ import static javax.servlet.jsp.tagext.Tag.SKIP_BODY;
 
 /**
  * Handles processing of Raw HTML layout templates.
+ * Layout HTML is segmented once into static chunks and component slots through the {@link SegmentedLayoutCache},
+ * and each request renders from the shared segments.
  */
 public class LayoutContentProcessor {
 
     private final PageContext pageContext;
     private final String layoutHtml;
 
-    public BufferedReader reader;
-    public String endContent;
+    private SegmentedLayout segmentedLayout;
+    private CountingWriter out;
+    private int nextChunk;
 
     /**
      * Constructs a LayoutContentProcessor instance.
@@ -52,8 +55,8 @@ public class LayoutContentProcessor {
 
         this.pageContext = pageContext;
         this.layoutHtml = layoutHtml;
-        this.endContent = null;
-        this.reader = null;
+        this.segmentedLayout = null;
+        this.nextChunk = 0;
     }
 
     /**
@@ -66,26 +69,10 @@ public class LayoutContentProcessor {
      */
     public int processLayoutUntilNextComponent() throws IOException {
 
-        PrintWriter writer = new PrintWriter(pageContext.getOut());
-
-        reader = new BufferedReader(new StringReader(layoutHtml));
-        String line;
-        while ((line = reader.readLine()) != null) {
-            if (line.contains("{{{")) {
-                int start = line.indexOf("{{{");
-                int end = line.indexOf("}}}", start);
-                if (end == -1) {
-                    break;
-                }
-                String componentName = line.substring(start + 3, end).trim();
-                writer.write(line.substring(0, start));
-                endContent = line.substring(end + 3);
-                pageContext.setAttribute(Constant.COMPONENT_NAME_STORING_VAR, componentName);
-                return EVAL_BODY_INCLUDE;
-            }
-            writer.write(line);
-        }
-        return SKIP_BODY;
+        segmentedLayout = SegmentedLayoutCache.getInstance().get(layoutHtml);
+        out = new CountingWriter(pageContext.getOut());
+        nextChunk = 0;
+        return renderUntilNextComponent() ? EVAL_BODY_INCLUDE : SKIP_BODY;
     }
 
     /**
@@ -98,32 +85,20 @@ public class LayoutContentProcessor {
      */
     public int processRemainingLayoutAfterComponent() throws IOException {
 
-        PrintWriter writer = new PrintWriter(pageContext.getOut());
-
-        if (endContent != null) {
-            writer.write(endContent);
-            endContent = null;
-        }
-        if (reader == null) {
-            throw new IllegalStateException("Layout content reader is not initialized.");
+        if (segmentedLayout == null) {
+            throw new IllegalStateException("Layout content is not processed yet.");
         }
-        String line;
-        while ((line = reader.readLine()) != null) {
-            if (line.contains("{{{")) {
-                int start = line.indexOf("{{{");
-                int end = line.indexOf("}}}", start);
-                if (end == -1) {
-                    break;
-                }
-                String componentName = line.substring(start + 3, end).trim();
-                writer.write(line.substring(0, start));
-                endContent = line.substring(end + 3);
-                pageContext.setAttribute(Constant.COMPONENT_NAME_STORING_VAR, componentName);
-                return EVAL_BODY_AGAIN;
-            }
-            writer.write(line);
-        }
-        return SKIP_BODY;
+        return renderUntilNextComponent() ? EVAL_BODY_AGAIN : SKIP_BODY;
+    }
+
+    /**
+     * Get the number of characters written by the layout so far, excluding the component bodies.
+     *
+     * @return Number of characters written.
+     */
+    public long getCharactersWritten() {
+
+        return out == null ? 0 : out.getCount();
     }
 
     /**
@@ -132,12 +107,28 @@ public class LayoutContentProcessor {
      */
     public void release() {
 
-        if (reader != null) {
-            try {
-                reader.close();
-            } catch (IOException e) {
-                // Ignore the exception as this is a cleanup operation.
-            }
+        segmentedLayout = null;
+        out = null;
+    }
+
+    /**
+     * Render the next static chunk of the layout and hand over to the component after it, if any.
+     *
+     * @return Whether a component was reached.
+     * @throws IOException If the content can't be written.
+     */
+    private boolean renderUntilNextComponent() throws IOException {
+
+        if (nextChunk > segmentedLayout.getComponentCount()) {
+            return false;
+        }
+        segmentedLayout.writeStaticChunk(nextChunk, out);
+        if (nextChunk == segmentedLayout.getComponentCount()) {
+            nextChunk++;
+            return false;
         }
+        pageContext.setAttribute(Constant.COMPONENT_NAME_STORING_VAR, segmentedLayout.getComponentName(nextChunk));
+        nextChunk++;
+        return true;
     }
 }
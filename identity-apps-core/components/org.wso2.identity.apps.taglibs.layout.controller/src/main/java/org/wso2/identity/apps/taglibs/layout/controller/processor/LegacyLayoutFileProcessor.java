@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ * Copyright (c) 2025-2026, WSO2 LLC. (http://www.wso2.com).
  *
  * WSO2 LLC. licenses this file to you under the Apache License,
  * Version 2.0 (the "License"); you may not use this file except
@@ -19,11 +19,16 @@
 package org.wso2.identity.apps.taglibs.layout.controller.processor;
 
 import org.wso2.identity.apps.taglibs.layout.controller.Constant;
+import org.wso2.identity.apps.taglibs.layout.controller.core.CompiledLayout;
+import org.wso2.identity.apps.taglibs.layout.controller.core.LayoutRenderCursor;
 import org.wso2.identity.apps.taglibs.layout.controller.core.LocalTemplateEngine;
+import org.wso2.identity.apps.taglibs.layout.controller.core.SpecializedLayoutCache;
+import org.wso2.identity.apps.taglibs.layout.controller.metrics.CountingWriter;
 
-import java.io.PrintWriter;
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.HashMap;
 import java.util.Map;
 
 import javax.servlet.jsp.JspException;
@@ -38,17 +43,21 @@ import static javax.servlet.jsp.tagext.Tag.SKIP_BODY;
  */
 public class LegacyLayoutFileProcessor {
 
-    private final LocalTemplateEngine engine;
     private final boolean compile;
     private final PageContext pageContext;
     private final String layoutName;
     private final String layoutFileRelativePath;
     private final Map<String, Object> data;
+    private Map<String, Object> constantData;
+    private String tenantDomain;
+    private String preferenceVersion;
+    private boolean generatedExecutor;
+    private LayoutRenderCursor cursor;
+    private CountingWriter out;
 
     /**
      * Processing and rendering a layout using the relative file path.
      *
-     * @param engine                 The template engine used to process the layout file.
      * @param compile                A boolean flag indicating whether the layout file should be
      *                               compiled or processed without compilation.
      * @param pageContext            The context of the current JSP page where the layout is rendered.
@@ -58,43 +67,116 @@ public class LegacyLayoutFileProcessor {
      * @param data                   A map of data objects required as input while processing
      *                               the layout file.
      */
-    public LegacyLayoutFileProcessor(LocalTemplateEngine engine, boolean compile, PageContext pageContext,
-                                 String layoutName, String layoutFileRelativePath, Map<String, Object> data) {
-        this.engine = engine;
+    public LegacyLayoutFileProcessor(boolean compile, PageContext pageContext, String layoutName,
+                                     String layoutFileRelativePath, Map<String, Object> data) {
         this.compile = compile;
         this.pageContext = pageContext;
         this.layoutName = layoutName;
         this.layoutFileRelativePath = layoutFileRelativePath;
         this.data = data;
+        this.cursor = null;
     }
 
     /**
-     * Processes the layout template file and generates page content using a specified template engine.
-     * Depending on the compile flag, the method either processes a compiled layout file directly or compiles
-     * a raw layout file before processing.
+     * Set the data which is constant for a tenant between preference updates (e.g. branding preferences). With a
+     * tenant domain and a preference version, the layout is specialized for the constant data once per (layout,
+     * tenant, preference version) and only the remaining data is read while rendering. Without either of them, the
+     * constant data is rendered together with the remaining data.
+     * <p>
+     * Data given to the processor takes precedence over the constant data of the same key. Such a layout is not
+     * specialized, as the specialized layout would render the constant value.
      *
-     * @throws JspException If an error occurs during the processing of the layout file.
+     * @param constantData      Data which is constant for the tenant and the preference version.
+     * @param tenantDomain      Tenant domain of the constant data.
+     * @param preferenceVersion Version of the preferences the constant data is resolved from, or null if unknown.
      */
-    private void processLegacyLayoutTemplateFile() throws JspException {
+    public void setConstantData(Map<String, Object> constantData, String tenantDomain, String preferenceVersion) {
 
-        PrintWriter writer = new PrintWriter(pageContext.getOut());
+        this.constantData = constantData;
+        this.tenantDomain = tenantDomain;
+        this.preferenceVersion = preferenceVersion;
+    }
+
+    /**
+     * Set the executor of the layout. With {@link Constant#BYTECODE_EXECUTOR}, the layout is rendered by a class
+     * generated for the layout, falling back to the default executor if the layout can't be generated as a class.
+     *
+     * @param executor Name of the executor, or null for the default executor.
+     */
+    public void setExecutor(String executor) {
+
+        this.generatedExecutor = Constant.BYTECODE_EXECUTOR.equals(executor);
+    }
+
+    /**
+     * Get the number of characters written by the layout so far, excluding the component bodies.
+     *
+     * @return Number of characters written.
+     */
+    public long getCharactersWritten() {
 
+        return out == null ? 0 : out.getCount();
+    }
+
+    /**
+     * Resolves the layout template file. Depending on the compile flag, the method resolves either the compiled
+     * layout file or the raw layout file.
+     *
+     * @return Layout file path as a URL object.
+     * @throws JspException If an error occurs during resolving the layout file.
+     */
+    private URL resolveLayoutFile() throws JspException {
+
+        String layoutFilePath = compile ? layoutFileRelativePath.replaceFirst(".ser", ".html") : layoutFileRelativePath;
         try {
-            if (compile) {
-                String rawLayoutFilePath = layoutFileRelativePath.replaceFirst(".ser", ".html");
-                engine.execute(layoutName,
-                    layoutFileRelativePath.startsWith("http") ? new URL(rawLayoutFilePath) :
-                        pageContext.getServletContext().getResource(rawLayoutFilePath), data, writer);
-            } else {
-                engine.executeWithoutCompile(layoutName,
-                    layoutFileRelativePath.startsWith("http") ? new URL(layoutFileRelativePath) :
-                        pageContext.getServletContext().getResource(layoutFileRelativePath), data, writer);
-            }
+            return layoutFileRelativePath.startsWith("http") ? new URL(layoutFilePath) :
+                pageContext.getServletContext().getResource(layoutFilePath);
         } catch (MalformedURLException e) {
             throw new JspException("Can't create a URL to the given relative path", e);
         }
     }
 
+    /**
+     * Checks whether the data overrides any of the constant data.
+     *
+     * @return Whether a key of the constant data is also in the data.
+     */
+    private boolean isConstantDataOverridden() {
+
+        if (data == null) {
+            return false;
+        }
+        Map<String, Object> smaller = data.size() < constantData.size() ? data : constantData;
+        Map<String, Object> larger = smaller == data ? constantData : data;
+        for (String key : smaller.keySet()) {
+            if (larger.containsKey(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Renders the layout until the next component, and exposes the name of that component to the page.
+     *
+     * @return Whether a component was reached.
+     * @throws JspException If the layout can't be written to the page.
+     */
+    private boolean renderUntilNextComponent() throws JspException {
+
+        String componentName;
+        try {
+            componentName = cursor.renderUntilNextComponent(out);
+        } catch (IOException e) {
+            throw new JspException("Error writing the layout content.", e);
+        }
+        if (componentName != null) {
+            pageContext.setAttribute(Constant.COMPONENT_NAME_STORING_VAR, componentName);
+            return true;
+        }
+        return false;
+    }
+
     /**
      * Initiates the rendering process for legacy layout templates by processing the layout file.
      *
@@ -105,11 +187,21 @@ public class LegacyLayoutFileProcessor {
      */
     public int startLegacyLayoutRendering() throws JspException {
 
-        processLegacyLayoutTemplateFile();
-
-        if (engine.getExecutor().componentExecutionEnabled()) {
-            pageContext.setAttribute(Constant.COMPONENT_NAME_STORING_VAR, engine.getExecutor().getComponentName());
-            engine.getExecutor().deactivateComponent();
+        URL layoutFile = resolveLayoutFile();
+        CompiledLayout compiledLayout = LocalTemplateEngine.getCompiledLayout(layoutName, layoutFile, compile);
+        Map<String, Object> renderData = data;
+        if (constantData != null && tenantDomain != null && preferenceVersion != null && !isConstantDataOverridden()) {
+            compiledLayout = SpecializedLayoutCache.getInstance().get(compiledLayout, layoutFile.toExternalForm(),
+                tenantDomain, preferenceVersion, constantData);
+        } else if (constantData != null) {
+            renderData = new HashMap<>(constantData);
+            if (data != null) {
+                renderData.putAll(data);
+            }
+        }
+        cursor = new LayoutRenderCursor(compiledLayout, renderData, generatedExecutor);
+        out = new CountingWriter(pageContext.getOut());
+        if (renderUntilNextComponent()) {
             return EVAL_BODY_INCLUDE;
         }
         return SKIP_BODY;
@@ -125,11 +217,10 @@ public class LegacyLayoutFileProcessor {
      */
     public int continueLegacyLayoutRendering() throws JspException {
 
-        processLegacyLayoutTemplateFile();
-
-        if (engine.getExecutor().componentExecutionEnabled()) {
-            pageContext.setAttribute(Constant.COMPONENT_NAME_STORING_VAR, engine.getExecutor().getComponentName());
-            engine.getExecutor().deactivateComponent();
+        if (cursor == null) {
+            throw new IllegalStateException("Legacy layout rendering is not started.");
+        }
+        if (renderUntilNextComponent()) {
             return EVAL_BODY_AGAIN;
         }
         pageContext.removeAttribute(Constant.COMPONENT_NAME_STORING_VAR);
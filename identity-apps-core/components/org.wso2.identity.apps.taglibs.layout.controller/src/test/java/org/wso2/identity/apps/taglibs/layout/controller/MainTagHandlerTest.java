@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.MalformedURLException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.servlet.ServletContext;
+import javax.servlet.jsp.JspWriter;
+import javax.servlet.jsp.PageContext;
+import javax.servlet.jsp.tagext.BodyContent;
+
+import static javax.servlet.jsp.tagext.IterationTag.EVAL_BODY_AGAIN;
+import static javax.servlet.jsp.tagext.Tag.EVAL_BODY_INCLUDE;
+import static javax.servlet.jsp.tagext.Tag.SKIP_BODY;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Unit test class for MainTagHandler.
+ */
+public class MainTagHandlerTest extends TemporaryDirectoryTestBase {
+
+    private static final String LAYOUT = "<head>{{title}}</head>{{{Header}}}<main>{{{MainSection}}}</main>\n";
+    private static final String RENDERED_LAYOUT = "<head>Title</head>[Header]<main>[MainSection]</main>\n";
+
+    private StringWriter content;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+
+        Files.createDirectories(directory.resolve("layouts"));
+        Files.write(directory.resolve("layouts/body.html"), LAYOUT.getBytes(StandardCharsets.UTF_8));
+        content = new StringWriter();
+    }
+
+    @Test
+    public void testPageIsFlushedAtFirstComponent() throws Exception {
+
+        JspWriter out = mockWriter(JspWriter.class);
+        PageContext pageContext = mockPageContext(out);
+        MainTagHandler tagHandler = createTagHandler(pageContext, true);
+
+        assertEquals(tagHandler.doStartTag(), EVAL_BODY_INCLUDE);
+        verify(out, times(1)).flush();
+        assertEquals(content.toString(), "<head>Title</head>");
+
+        // The following components don't flush the page again.
+        renderComponentsAndRemainingLayout(tagHandler, pageContext);
+        assertEquals(content.toString(), RENDERED_LAYOUT);
+        verify(out, times(1)).flush();
+    }
+
+    @Test
+    public void testPageIsNotFlushedWithoutEarlyFlush() throws Exception {
+
+        JspWriter out = mockWriter(JspWriter.class);
+        PageContext pageContext = mockPageContext(out);
+        MainTagHandler tagHandler = createTagHandler(pageContext, false);
+
+        assertEquals(tagHandler.doStartTag(), EVAL_BODY_INCLUDE);
+        renderComponentsAndRemainingLayout(tagHandler, pageContext);
+        assertEquals(content.toString(), RENDERED_LAYOUT);
+        verify(out, never()).flush();
+    }
+
+    @Test
+    public void testBodyContentIsNotFlushed() throws Exception {
+
+        // The main tag is rendered inside the body of another tag, which buffers the content.
+        BodyContent out = mockWriter(BodyContent.class);
+        PageContext pageContext = mockPageContext(out);
+        MainTagHandler tagHandler = createTagHandler(pageContext, true);
+
+        assertEquals(tagHandler.doStartTag(), EVAL_BODY_INCLUDE);
+        renderComponentsAndRemainingLayout(tagHandler, pageContext);
+        assertEquals(content.toString(), RENDERED_LAYOUT);
+        verify(out, never()).flush();
+    }
+
+    private MainTagHandler createTagHandler(PageContext pageContext, boolean earlyFlush) {
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("title", "Title");
+        MainTagHandler tagHandler = new MainTagHandler();
+        tagHandler.setPageContext(pageContext);
+        tagHandler.setLayoutName("test");
+        tagHandler.setLayoutFileRelativePath("layouts/body.ser");
+        tagHandler.setData(data);
+        tagHandler.setCompile(true);
+        tagHandler.setEarlyFlush(earlyFlush);
+        return tagHandler;
+    }
+
+    /**
+     * Mock a writer of the given type, which writes the content to the content of the test.
+     *
+     * @param type Type of the writer.
+     * @param <T>  Type of the writer.
+     * @return Mocked writer.
+     * @throws IOException If the writer can't be mocked.
+     */
+    private <T extends JspWriter> T mockWriter(Class<T> type) throws IOException {
+
+        T out = mock(type);
+        doAnswer(invocation -> {
+            content.write(invocation.<Integer>getArgument(0));
+            return null;
+        }).when(out).write(anyInt());
+        doAnswer(invocation -> {
+            content.write(invocation.<char[]>getArgument(0), invocation.getArgument(1), invocation.getArgument(2));
+            return null;
+        }).when(out).write(any(char[].class), anyInt(), anyInt());
+        doAnswer(invocation -> {
+            content.write(invocation.<String>getArgument(0), invocation.getArgument(1), invocation.getArgument(2));
+            return null;
+        }).when(out).write(anyString(), anyInt(), anyInt());
+        doAnswer(invocation -> {
+            content.write(invocation.<String>getArgument(0));
+            return null;
+        }).when(out).print(anyString());
+        return out;
+    }
+
+    /**
+     * Mock a page context which writes to the given writer, and resolves the resources from the temporary directory.
+     *
+     * @param out Writer of the page.
+     * @return Mocked page context.
+     * @throws MalformedURLException If the page context can't be mocked.
+     */
+    private PageContext mockPageContext(JspWriter out) throws MalformedURLException {
+
+        ServletContext servletContext = mock(ServletContext.class);
+        when(servletContext.getResource(anyString())).thenAnswer(invocation -> {
+            Path resource = directory.resolve(invocation.<String>getArgument(0).replaceFirst("^/", ""));
+            return Files.exists(resource) ? resource.toUri().toURL() : null;
+        });
+        Map<String, Object> attributes = new HashMap<>();
+        PageContext pageContext = mock(PageContext.class);
+        when(pageContext.getOut()).thenReturn(out);
+        when(pageContext.getServletContext()).thenReturn(servletContext);
+        doAnswer(invocation -> attributes.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(pageContext).setAttribute(anyString(), any());
+        doAnswer(invocation -> attributes.remove(invocation.<String>getArgument(0)))
+                .when(pageContext).removeAttribute(anyString());
+        when(pageContext.getAttribute(anyString()))
+                .thenAnswer(invocation -> attributes.get(invocation.<String>getArgument(0)));
+        return pageContext;
+    }
+
+    /**
+     * Render the bodies of the components, as the JSP container does, until the whole layout is rendered.
+     *
+     * @param tagHandler  Tag handler which yielded the first component.
+     * @param pageContext Page context of the tag handler.
+     * @throws Exception If the layout can't be rendered.
+     */
+    private static void renderComponentsAndRemainingLayout(MainTagHandler tagHandler, PageContext pageContext)
+            throws Exception {
+
+        int result;
+        do {
+            pageContext.getOut().print("[" + pageContext.getAttribute(Constant.COMPONENT_NAME_STORING_VAR) + "]");
+            result = tagHandler.doAfterBody();
+        } while (result == EVAL_BODY_AGAIN);
+        assertEquals(result, SKIP_BODY);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.compiler.executors;
+
+import org.testng.annotations.Test;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.parsers.DefaultParser;
+import org.wso2.identity.apps.taglibs.layout.controller.core.CompiledLayout;
+import org.wso2.identity.apps.taglibs.layout.controller.core.LayoutRenderCursor;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit test class for LazyLayoutData and the referenced keys of the compiled layouts.
+ */
+public class LazyLayoutDataTest {
+
+    private static final String LAYOUT = "<div>{{title}}</div>\n" +
+            "{{#showFooter}}<footer>{{title}}</footer>{{/showFooter}}\n" +
+            "{{^hideLinks}}<a>{{linkText}}</a>{{/hideLinks}}\n" +
+            "{{{ProductFooter}}}\n";
+
+    @Test
+    public void testSupplierIsResolvedOncePerRender() throws IOException {
+
+        AtomicInteger titleCalls = new AtomicInteger();
+        AtomicInteger unusedCalls = new AtomicInteger();
+        Map<String, Object> data = new HashMap<>();
+        data.put("title", (Supplier<String>) () -> "Title-" + titleCalls.incrementAndGet());
+        data.put("showFooter", (Supplier<Boolean>) () -> true);
+        data.put("hideLinks", true);
+        data.put("linkText", (Supplier<String>) () -> "Link-" + unusedCalls.incrementAndGet());
+
+        StringWriter out = new StringWriter();
+        LayoutRenderCursor cursor = new LayoutRenderCursor(compile(LAYOUT), data);
+        assertEquals(cursor.renderUntilNextComponent(out), "ProductFooter");
+        assertNull(cursor.renderUntilNextComponent(out));
+
+        assertEquals(out.toString(), "<div>Title-1</div>\n<footer>Title-1</footer>\n\n\n");
+        assertEquals(titleCalls.get(), 1);
+        assertEquals(unusedCalls.get(), 0, "Values of the skipped blocks should not be resolved.");
+
+        new LayoutRenderCursor(compile(LAYOUT), data).renderUntilNextComponent(new StringWriter());
+        assertEquals(titleCalls.get(), 2, "Each render should resolve the value again.");
+    }
+
+    @Test
+    public void testSupplierReturningNullIsMissingValue() throws IOException {
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("hideLinks", (Supplier<Object>) () -> null);
+        data.put("linkText", "Link");
+        Map<String, Object> layoutData = LazyLayoutData.forRender(data);
+
+        assertNull(layoutData.get("hideLinks"));
+        assertTrue(layoutData.containsKey("hideLinks"));
+        assertSame(LazyLayoutData.forRender(layoutData), layoutData);
+        assertTrue(LazyLayoutData.forRender(null).isEmpty());
+
+        StringWriter out = new StringWriter();
+        new LayoutRenderCursor(compile(LAYOUT), data).renderUntilNextComponent(out);
+        assertTrue(out.toString().contains("<a>Link</a>"));
+    }
+
+    @Test
+    public void testDefaultExecutorResolvesSuppliers() {
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("title", (Supplier<String>) () -> "<Title>");
+        StringWriter out = new StringWriter();
+        compile(LAYOUT).getRoot().accept(new DefaultExecutor(data), out);
+
+        assertTrue(out.toString().startsWith("<div>&lt;Title&gt;</div>"));
+    }
+
+    @Test
+    public void testReferencedKeys() {
+
+        assertEquals(compile(LAYOUT).getReferencedKeys().toArray(),
+                Arrays.asList("title", "showFooter", "hideLinks", "linkText").toArray());
+    }
+
+    private static CompiledLayout compile(String layout) {
+
+        return new CompiledLayout(new DefaultParser().compile(CharBuffer.wrap(layout)));
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.compiler.generators;
+
+import org.testng.annotations.Test;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.CompilerException;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.parsers.DefaultParser;
+import org.wso2.identity.apps.taglibs.layout.controller.core.CompiledLayout;
+import org.wso2.identity.apps.taglibs.layout.controller.core.LayoutRenderCursor;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Unit test class for BytecodeLayoutGenerator.
+ */
+public class BytecodeLayoutGeneratorTest {
+
+    private static final String LAYOUT = "<html>\n" +
+            "{{#showLogo}}<img src=\"{{logoUrl}}\" alt=\"{{logoAlt}}\">{{/showLogo}}\n" +
+            "{{^hideTitle}}<h1>{{title}}</h1>{{{Title}}}{{/hideTitle}}\n" +
+            "{{#showLogo}}{{^hideTitle}}<span>{{title}}{{{Logo}}} {{logoAlt}}</span>{{/hideTitle}}{{/showLogo}}\n" +
+            "{{{MainSection}}}\n" +
+            "{{#showFooter}}<footer>{{copyright}}{{{ProductFooter}}}</footer>{{/showFooter}}</html>\n";
+
+    private static final String[] KEYS = {"showLogo", "logoUrl", "logoAlt", "hideTitle", "title", "showFooter",
+            "copyright"};
+    private static final Object[] VALUES = {true, false, "", null, "value", "<b>&\"value\"</b>", 42};
+
+    @Test
+    public void testGeneratedLayoutMatchesProgram() {
+
+        CompiledLayout compiledLayout = compile(LAYOUT);
+        assertNotNull(compiledLayout.getGeneratedLayout());
+        Random random = new Random(13);
+        for (int i = 0; i < 1000; i++) {
+            Map<String, Object> data = new HashMap<>();
+            for (String key : KEYS) {
+                if (random.nextBoolean()) {
+                    data.put(key, VALUES[random.nextInt(VALUES.length)]);
+                }
+            }
+            assertEquals(render(compiledLayout, data, true), render(compiledLayout, data, false),
+                    "Data: " + data);
+        }
+    }
+
+    @Test
+    public void testGeneratedLayoutWithManyConstants() {
+
+        // More constants than an ldc can load, in a layout which still fits in a JIT compilable method.
+        StringBuilder layout = new StringBuilder();
+        for (int i = 0; i < 150; i++) {
+            layout.append("<p id=\"").append(i).append("\">{{#flag").append(i).append("}}{{value").append(i)
+                    .append("}}{{/flag").append(i).append("}}{{{Component").append(i % 7).append("}}}</p>\n");
+        }
+        CompiledLayout compiledLayout = compile(layout.toString());
+        Map<String, Object> data = new HashMap<>();
+        for (int i = 0; i < 150; i += 3) {
+            data.put("flag" + i, true);
+            data.put("value" + i, "v" + i);
+        }
+
+        assertNotNull(compiledLayout.getGeneratedLayout());
+        assertEquals(render(compiledLayout, data, true), render(compiledLayout, data, false));
+    }
+
+    @Test
+    public void testEmptyLayout() {
+
+        CompiledLayout compiledLayout = compile("");
+
+        assertNotNull(compiledLayout.getGeneratedLayout());
+        assertEquals(render(compiledLayout, new HashMap<>(), true), "");
+    }
+
+    @Test
+    public void testLargeLayoutFallsBackToProgram() {
+
+        StringBuilder layout = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            layout.append("<p>{{value").append(i).append("}}</p>\n");
+        }
+        CompiledLayout compiledLayout = compile(layout.toString());
+        Map<String, Object> data = new HashMap<>();
+        data.put("value10", "ten");
+
+        try {
+            BytecodeLayoutGenerator.generate(compiledLayout.getProgram());
+            throw new AssertionError("Layout should be too large to be generated as a class.");
+        } catch (CompilerException e) {
+            // Expected.
+        }
+        assertNull(compiledLayout.getGeneratedLayout());
+        assertEquals(render(compiledLayout, data, true), render(compiledLayout, data, false));
+    }
+
+    @Test
+    public void testGeneratedLayoutIsShared() {
+
+        CompiledLayout compiledLayout = compile(LAYOUT);
+
+        assertSame(compiledLayout.getGeneratedLayout(), compiledLayout.getGeneratedLayout());
+    }
+
+    private static String render(CompiledLayout compiledLayout, Map<String, Object> data, boolean generated) {
+
+        StringWriter out = new StringWriter();
+        LayoutRenderCursor cursor = new LayoutRenderCursor(compiledLayout, data, generated);
+        String componentName;
+        try {
+            while ((componentName = cursor.renderUntilNextComponent(out)) != null) {
+                out.write("[" + componentName + "]");
+            }
+        } catch (IOException e) {
+            // A string writer doesn't fail.
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+
+    private static CompiledLayout compile(String layout) {
+
+        return new CompiledLayout(new DefaultParser().compile(CharBuffer.wrap(layout)));
+    }
+}
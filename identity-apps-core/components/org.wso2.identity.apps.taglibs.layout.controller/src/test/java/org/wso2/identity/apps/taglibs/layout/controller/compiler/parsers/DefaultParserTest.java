@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.compiler.parsers;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.ComponentIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.ConditionIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.DataIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.DefaultIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.ExecutableIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.NoIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.NotConditionIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.StyleIdentifier;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit test class for DefaultParser. Compiled layouts are compared through a compact description of the identifier
+ * tree, e.g. [DATA(title, "<p>"), TEXT("</p>\n")].
+ */
+public class DefaultParserTest {
+
+    private static final Path SHIPPED_LAYOUTS_DIRECTORY = Paths.get("..", "login-portal-layouts", "layouts");
+
+    @Test
+    public void testTagForms() {
+
+        assertEquals(describe(compile("a{{data}}b{{{Component}}}c{{#condition}}d{{/condition}}" +
+                        "e{{^notCondition}}f{{/notCondition}}g{{@styles}}h\n")),
+                "[DATA(data, \"a\"), COMPONENT(Component, \"b\"), CONDITION(condition, \"c\", [TEXT(\"d\")]), " +
+                        "NOT_CONDITION(notCondition, \"e\", [TEXT(\"f\")]), STYLE(styles, \"g\", null), " +
+                        "TEXT(\"h\\n\")]");
+    }
+
+    @Test
+    public void testNamesWithAllowedCharacters() {
+
+        assertEquals(describe(compile("{{user_name-2}}{{{Main-Section_1}}}")),
+                "[DATA(user_name-2, \"\"), COMPONENT(Main-Section_1, \"\"), TEXT(\"\\n\")]");
+    }
+
+    @Test
+    public void testNestedBlocks() {
+
+        assertEquals(describe(compile("{{#a}}1{{^b}}2{{#a}}3{{/a}}{{/b}}4{{/a}}\n")),
+                "[CONDITION(a, \"\", [NOT_CONDITION(b, \"1\", [CONDITION(a, \"2\", [TEXT(\"3\")]), TEXT(\"\")]), " +
+                        "TEXT(\"4\")]), TEXT(\"\\n\")]");
+    }
+
+    @Test
+    public void testUnbalancedBracesAreText() {
+
+        assertEquals(describe(compile("{{{a}}\n")), "[DATA(a, \"{\"), TEXT(\"\\n\")]");
+        assertEquals(describe(compile("{{a}}}\n")), "[DATA(a, \"\"), TEXT(\"}\\n\")]");
+        assertEquals(describe(compile("{{}} {{a b}} {{#}} {a} {{a}\n")), "[TEXT(\"{{}} {{a b}} {{#}} {a} {{a}\\n\")]");
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testUnclosedConditionIsRejected() {
+
+        compile("{{#a}}text\n");
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testStrayClosingTagIsRejected() {
+
+        compile("text{{/a}}\n");
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testMismatchedClosingTagIsRejected() {
+
+        compile("{{#a}}text{{/b}}\n");
+    }
+
+    @Test
+    public void testLineTerminatorsAreNormalized() {
+
+        assertEquals(describe(compile("a\r\nb\rc{{x}}d\r\n")), "[DATA(x, \"a\\nb\\nc\"), TEXT(\"d\\n\")]");
+        assertEquals(describe(compile("a\r\n\r\n")), "[TEXT(\"a\\n\\n\")]");
+    }
+
+    @Test
+    public void testTrailingNewLineIsAdded() {
+
+        assertEquals(describe(compile("a{{x}}b")), describe(compile("a{{x}}b\n")));
+        assertEquals(describe(compile("{{x}}")), "[DATA(x, \"\"), TEXT(\"\\n\")]");
+    }
+
+    @Test
+    public void testEmptyLayout() {
+
+        assertEquals(describe(compile("")), "[]");
+    }
+
+    @Test
+    public void testPositionOfBufferIsNotChanged() {
+
+        CharBuffer content = CharBuffer.wrap("skipped{{x}}\n");
+        content.position("skipped".length());
+        assertEquals(describe(new DefaultParser().compile(content)), "[DATA(x, \"\"), TEXT(\"\\n\")]");
+        assertEquals(content.position(), "skipped".length());
+    }
+
+    @DataProvider(name = "layouts")
+    public Object[][] layouts() {
+
+        return new Object[][]{
+                {"<div>{{title}}{{#isError}}<p>{{error}}</p>{{/isError}}{{{MainSection}}}</div>\n"},
+                {"{{^a}}\n  <p>{{b}}</p>\n{{/a}}\n\n"},
+                {"{{{a}}{{b}}}{{}}{{#c}}{{/c}}"},
+                {"line\r\nwith\rcarriage {{x}} returns\r\n"},
+                {"no trailing new line {{x}}"},
+                {""},
+        };
+    }
+
+    @Test(dataProvider = "layouts")
+    public void testLayoutIsCompiledAsRegexParser(String layout) {
+
+        assertEquals(describe(compile(layout)), describe(new RegexParser().compile(layout)));
+    }
+
+    @Test
+    public void testShippedLayoutsAreCompiledAsRegexParser() throws IOException {
+
+        int count = 0;
+        try (DirectoryStream<Path> layoutDirectories = Files.newDirectoryStream(SHIPPED_LAYOUTS_DIRECTORY)) {
+            for (Path layoutDirectory : layoutDirectories) {
+                Path layoutFile = layoutDirectory.resolve("body.html");
+                if (!Files.isRegularFile(layoutFile)) {
+                    continue;
+                }
+                String layout = new String(Files.readAllBytes(layoutFile), StandardCharsets.UTF_8);
+                assertEquals(describe(new DefaultParser().compile(layoutFile.toUri().toURL())),
+                        describe(new RegexParser().compile(layout)), layoutFile.toString());
+                count++;
+            }
+        }
+        assertTrue(count > 0, "No layouts found in " + SHIPPED_LAYOUTS_DIRECTORY.toAbsolutePath());
+    }
+
+    private static ExecutableIdentifier compile(String layout) {
+
+        return new DefaultParser().compile(CharBuffer.wrap(layout));
+    }
+
+    /**
+     * Describe the given identifier tree.
+     *
+     * @param identifier Identifier.
+     * @return Description of the identifier.
+     */
+    private static String describe(ExecutableIdentifier identifier) {
+
+        if (identifier instanceof DefaultIdentifier) {
+            StringBuilder description = new StringBuilder("[");
+            for (ExecutableIdentifier child : ((DefaultIdentifier) identifier).getIdentifiers()) {
+                if (description.length() > 1) {
+                    description.append(", ");
+                }
+                description.append(describe(child));
+            }
+            return description.append(']').toString();
+        }
+        if (identifier instanceof NoIdentifier) {
+            return "TEXT(" + quote(((NoIdentifier) identifier).getText()) + ")";
+        }
+        if (identifier instanceof DataIdentifier) {
+            DataIdentifier data = (DataIdentifier) identifier;
+            return "DATA(" + data.getIdentifierName() + ", " + quote(data.getText()) + ")";
+        }
+        if (identifier instanceof ComponentIdentifier) {
+            ComponentIdentifier component = (ComponentIdentifier) identifier;
+            return "COMPONENT(" + component.getIdentifierName() + ", " + quote(component.getText()) + ")";
+        }
+        if (identifier instanceof ConditionIdentifier) {
+            ConditionIdentifier condition = (ConditionIdentifier) identifier;
+            return "CONDITION(" + condition.getIdentifierName() + ", " + quote(condition.getText()) + ", " +
+                    describe(condition.getChild()) + ")";
+        }
+        if (identifier instanceof NotConditionIdentifier) {
+            NotConditionIdentifier notCondition = (NotConditionIdentifier) identifier;
+            return "NOT_CONDITION(" + notCondition.getIdentifierName() + ", " + quote(notCondition.getText()) + ", " +
+                    describe(notCondition.getChild()) + ")";
+        }
+        if (identifier instanceof StyleIdentifier) {
+            StyleIdentifier style = (StyleIdentifier) identifier;
+            return "STYLE(" + style.getIdentifierName() + ", " + quote(style.getText()) + ", " + style.getStyle() + ")";
+        }
+        throw new AssertionError("Unknown identifier: " + identifier);
+    }
+
+    private static String quote(String text) {
+
+        return "\"" + text.replace("\r", "\\r").replace("\n", "\\n") + "\"";
+    }
+}
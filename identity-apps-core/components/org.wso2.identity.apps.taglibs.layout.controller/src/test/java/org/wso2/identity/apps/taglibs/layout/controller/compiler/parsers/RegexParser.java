@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.compiler.parsers;
+
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.ComponentIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.ConditionIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.DataIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.DefaultIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.ExecutableIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.NoIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.NotConditionIdentifier;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The line based regex parser which was replaced by the character scanner of the DefaultParser. Kept as the reference
+ * of the compiled layouts the DefaultParser must produce for the tags known to both parsers.
+ */
+class RegexParser {
+
+    private final Pattern pattern = Pattern.compile(
+            "\\{\\{([-_a-zA-Z0-9]+)\\}\\}|" + "\\{\\{\\{([-_a-zA-Z0-9]+)\\}\\}\\}|" + "\\{\\{#([-_a-zA-Z0-9]+)\\}\\}|" +
+                    "\\{\\{/([-_a-zA-Z0-9]+)\\}\\}|" + "\\{\\{\\^([-_a-zA-Z0-9]+)\\}\\}");
+
+    /**
+     * Compile the given layout content.
+     *
+     * @param content Layout content.
+     * @return Compiled layout.
+     */
+    ExecutableIdentifier compile(String content) {
+
+        return compile(new BufferedReader(new StringReader(content)), new CompileContext(), null);
+    }
+
+    private ExecutableIdentifier compile(BufferedReader reader, CompileContext context, String identifierName) {
+
+        ArrayList<ExecutableIdentifier> allIdentifiers = new ArrayList<>();
+        String currentIdentifierName;
+        while (readLine(reader, context)) {
+            if (context.matcher == null) {
+                context.matcher = pattern.matcher(context.line);
+            }
+            if (context.matcher.find(context.start)) {
+                String text = context.text(context.line.substring(context.start, context.matcher.start()));
+                context.start = context.matcher.end();
+                if ((currentIdentifierName = context.matcher.group(1)) != null) {
+                    allIdentifiers.add(new DataIdentifier(currentIdentifierName, text));
+                } else if ((currentIdentifierName = context.matcher.group(2)) != null) {
+                    allIdentifiers.add(new ComponentIdentifier(currentIdentifierName, text));
+                } else if ((currentIdentifierName = context.matcher.group(3)) != null) {
+                    allIdentifiers.add(new ConditionIdentifier(currentIdentifierName, text,
+                            compile(reader, context, currentIdentifierName)));
+                } else if ((currentIdentifierName = context.matcher.group(4)) != null) {
+                    if (!identifierName.trim().equals(currentIdentifierName.trim())) {
+                        throw new IllegalStateException("Closing tag in wrong place: " + currentIdentifierName);
+                    }
+                    allIdentifiers.add(new NoIdentifier(text));
+                    return new DefaultIdentifier(allIdentifiers);
+                } else if ((currentIdentifierName = context.matcher.group(5)) != null) {
+                    allIdentifiers.add(new NotConditionIdentifier(currentIdentifierName, text,
+                            compile(reader, context, currentIdentifierName)));
+                }
+            } else {
+                if (context.textKeeper == null) {
+                    context.textKeeper = new StringBuilder();
+                }
+                context.textKeeper.append(context.line.substring(context.start)).append('\n');
+                context.line = "";
+                context.matcher = null;
+                context.start = 0;
+            }
+        }
+        if (identifierName != null) {
+            throw new IllegalStateException("Closing tag is missing: " + identifierName);
+        }
+        if (context.textKeeper != null) {
+            allIdentifiers.add(new NoIdentifier(context.textKeeper.toString()));
+        }
+        return new DefaultIdentifier(allIdentifiers);
+    }
+
+    private boolean readLine(BufferedReader reader, CompileContext context) {
+
+        if ("".equals(context.line)) {
+            try {
+                context.line = reader.readLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return context.line != null;
+    }
+
+    /**
+     * State of the parser across the lines of the layout.
+     */
+    private static class CompileContext {
+
+        String line = "";
+        Matcher matcher = null;
+        int start = 0;
+        StringBuilder textKeeper = null;
+
+        /**
+         * Get the text before a tag, including the lines kept since the previous tag.
+         *
+         * @param text Text of the current line before the tag.
+         * @return Text before the tag.
+         */
+        String text(String text) {
+
+            if (textKeeper == null) {
+                return text;
+            }
+            String keptText = textKeeper + text;
+            textKeeper = null;
+            return keptText;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.compiler.resolvers;
+
+import org.testng.annotations.Test;
+import org.wso2.identity.apps.taglibs.layout.controller.TemporaryDirectoryTestBase;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Unit test class for LocalFileResolver.
+ */
+public class LocalFileResolverTest extends TemporaryDirectoryTestBase {
+
+    private static final String LAYOUT = "<div class=\"ui\">{{title}} \u2013 \u00dc\u00f1\u00ed</div>\r\n" +
+            "<p>\u65e5\u672c\u8a9e</p>\n{{{main}}}\n";
+
+    @Test
+    public void testLocalFileIsDecoded() throws Exception {
+
+        URL layoutFile = write("body.html", LAYOUT);
+        LocalFileResolver resolver = new LocalFileResolver();
+
+        assertEquals(resolver.read(layoutFile).toString(), LAYOUT);
+        assertEquals(resolver.read(write("empty.html", "")).remaining(), 0);
+        try (Reader reader = resolver.getReader(layoutFile)) {
+            char[] content = new char[LAYOUT.length() + 1];
+            assertEquals(reader.read(content), LAYOUT.length());
+            assertEquals(new String(content, 0, LAYOUT.length()), LAYOUT);
+        }
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void testMissingFile() throws Exception {
+
+        new LocalFileResolver().read(directory.resolve("missing.html").toUri().toURL());
+    }
+
+    @Test
+    public void testFileCanBeReplacedAfterRead() throws Exception {
+
+        URL layoutFile = write("body.html", LAYOUT);
+        LocalFileResolver resolver = new LocalFileResolver();
+        assertEquals(resolver.read(layoutFile).toString(), LAYOUT);
+
+        // The file is not kept open or mapped after the read, so it can be deleted and written again right away.
+        Files.delete(directory.resolve("body.html"));
+        write("body.html", "<div>{{title}}</div>\n");
+        assertEquals(resolver.read(layoutFile).toString(), "<div>{{title}}</div>\n");
+    }
+
+    @Test
+    public void testResolverIsSharedByConcurrentReads() throws Exception {
+
+        String otherLayout = "<main>{{#ready}}ready{{/ready}}</main>\n";
+        URL[] layoutFiles = {write("body.html", LAYOUT), write("other.html", otherLayout)};
+        String[] layouts = {LAYOUT, otherLayout};
+        LocalFileResolver resolver = new LocalFileResolver();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                final int index = i % 2;
+                results.add(executor.submit(() -> layouts[index].equals(resolver.read(layoutFiles[index]).toString())));
+            }
+            for (Future<Boolean> result : results) {
+                assertEquals(result.get(), Boolean.TRUE);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private URL write(String fileName, String content) throws IOException {
+
+        return Files.write(directory.resolve(fileName), content.getBytes(StandardCharsets.UTF_8)).toUri().toURL();
+    }
+}
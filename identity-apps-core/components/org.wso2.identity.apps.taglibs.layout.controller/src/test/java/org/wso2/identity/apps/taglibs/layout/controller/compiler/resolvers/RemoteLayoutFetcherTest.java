@@ -0,0 +1,348 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.compiler.resolvers;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.identity.apps.taglibs.layout.controller.TemporaryDirectoryTestBase;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.CompilerException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit test class for RemoteLayoutFetcher, backed by an embedded HTTP server acting as the layout store.
+ */
+public class RemoteLayoutFetcherTest extends TemporaryDirectoryTestBase {
+
+    private static final long TIME_TO_LIVE = 1000;
+    private static final long STALE_WHILE_REVALIDATE = 10000;
+    private static final long MAX_SIZE = 64;
+    private static final String LAYOUT_PATH = "/layouts/custom/body.ser";
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private URL layoutFile;
+    private final AtomicLong clock = new AtomicLong(100000);
+    private final Queue<Runnable> revalidations = new ArrayDeque<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile String content;
+    private volatile String etag;
+    private volatile String lastModified;
+    private volatile int status;
+    private volatile boolean chunked;
+    private volatile String receivedIfNoneMatch;
+    private volatile String receivedIfModifiedSince;
+    private volatile CountDownLatch responseGate;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+
+        content = "layout-v1";
+        etag = "\"v1\"";
+        lastModified = null;
+        status = 200;
+        chunked = false;
+        receivedIfNoneMatch = null;
+        receivedIfModifiedSince = null;
+        responseGate = null;
+        requests.set(0);
+        revalidations.clear();
+
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext(LAYOUT_PATH, this::handle);
+        server.setExecutor(serverExecutor);
+        server.start();
+        layoutFile = new URL("http://127.0.0.1:" + server.getAddress().getPort() + LAYOUT_PATH);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testFreshLayoutIsServedFromCache() {
+
+        RemoteLayoutFetcher fetcher = createFetcher(null);
+        RemoteLayoutFetcher.RemoteLayout first = fetcher.fetch(layoutFile);
+        clock.addAndGet(TIME_TO_LIVE - 1);
+        RemoteLayoutFetcher.RemoteLayout second = fetcher.fetch(layoutFile);
+
+        assertEquals(new String(first.getContent(), StandardCharsets.UTF_8), "layout-v1");
+        assertSame(second, first);
+        assertEquals(requests.get(), 1);
+    }
+
+    @Test
+    public void testRevalidationWithETag() {
+
+        RemoteLayoutFetcher fetcher = createFetcher(null);
+        RemoteLayoutFetcher.RemoteLayout first = fetcher.fetch(layoutFile);
+        assertNull(receivedIfNoneMatch);
+
+        clock.addAndGet(TIME_TO_LIVE + STALE_WHILE_REVALIDATE);
+        RemoteLayoutFetcher.RemoteLayout second = fetcher.fetch(layoutFile);
+
+        assertEquals(receivedIfNoneMatch, "\"v1\"");
+        assertEquals(requests.get(), 2);
+        assertSame(second, first);
+
+        content = "layout-v2";
+        etag = "\"v2\"";
+        clock.addAndGet(TIME_TO_LIVE + STALE_WHILE_REVALIDATE);
+        RemoteLayoutFetcher.RemoteLayout third = fetcher.fetch(layoutFile);
+
+        assertEquals(new String(third.getContent(), StandardCharsets.UTF_8), "layout-v2");
+        assertNotEquals(third.getVersion(), first.getVersion());
+    }
+
+    @Test
+    public void testRevalidationWithLastModified() {
+
+        etag = null;
+        lastModified = "Wed, 21 Oct 2026 07:28:00 GMT";
+        RemoteLayoutFetcher fetcher = createFetcher(null);
+        RemoteLayoutFetcher.RemoteLayout first = fetcher.fetch(layoutFile);
+
+        clock.addAndGet(TIME_TO_LIVE + STALE_WHILE_REVALIDATE);
+        RemoteLayoutFetcher.RemoteLayout second = fetcher.fetch(layoutFile);
+
+        assertEquals(receivedIfModifiedSince, lastModified);
+        assertNull(receivedIfNoneMatch);
+        assertSame(second, first);
+    }
+
+    @Test
+    public void testStaleLayoutIsServedWhileRevalidating() {
+
+        RemoteLayoutFetcher fetcher = createFetcher(null);
+        RemoteLayoutFetcher.RemoteLayout first = fetcher.fetch(layoutFile);
+        content = "layout-v2";
+        etag = "\"v2\"";
+
+        clock.addAndGet(TIME_TO_LIVE);
+        assertSame(fetcher.fetch(layoutFile), first);
+        assertSame(fetcher.fetch(layoutFile), first);
+        assertEquals(revalidations.size(), 1, "Only one background revalidation should be scheduled.");
+        assertEquals(requests.get(), 1);
+
+        revalidations.poll().run();
+        RemoteLayoutFetcher.RemoteLayout revalidated = fetcher.fetch(layoutFile);
+
+        assertEquals(new String(revalidated.getContent(), StandardCharsets.UTF_8), "layout-v2");
+        assertEquals(requests.get(), 2);
+        assertTrue(revalidations.isEmpty());
+    }
+
+    @Test
+    public void testConcurrentFetchesAreCoalesced() throws Exception {
+
+        RemoteLayoutFetcher fetcher = createFetcher(null);
+        responseGate = new CountDownLatch(1);
+        int callers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<RemoteLayoutFetcher.RemoteLayout>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> fetcher.fetch(layoutFile)));
+            }
+            // Give every caller the time to join the in flight request before the layout store responds.
+            Thread.sleep(200);
+            responseGate.countDown();
+            RemoteLayoutFetcher.RemoteLayout first = results.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<RemoteLayoutFetcher.RemoteLayout> result : results) {
+                assertSame(result.get(10, TimeUnit.SECONDS), first);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(requests.get(), 1);
+    }
+
+    @Test
+    public void testLayoutIsServedFromDiskCache() {
+
+        RemoteLayoutFetcher fetcher = createFetcher(directory);
+        fetcher.fetch(layoutFile);
+        assertEquals(requests.get(), 1);
+
+        status = 500;
+        RemoteLayoutFetcher restarted = createFetcher(directory);
+        RemoteLayoutFetcher.RemoteLayout layout = restarted.fetch(layoutFile);
+
+        assertEquals(new String(layout.getContent(), StandardCharsets.UTF_8), "layout-v1");
+        assertEquals(requests.get(), 1, "Layout restored from the disk should be served without a request.");
+        assertEquals(revalidations.size(), 1, "Layout restored from the disk should be revalidated.");
+
+        status = 200;
+        revalidations.poll().run();
+        assertEquals(receivedIfNoneMatch, "\"v1\"");
+    }
+
+    @Test
+    public void testStaleLayoutIsServedWhenLayoutStoreFails() {
+
+        RemoteLayoutFetcher fetcher = createFetcher(null);
+        RemoteLayoutFetcher.RemoteLayout first = fetcher.fetch(layoutFile);
+
+        status = 500;
+        clock.addAndGet(TIME_TO_LIVE + STALE_WHILE_REVALIDATE);
+
+        assertSame(fetcher.fetch(layoutFile), first);
+    }
+
+    @Test(expectedExceptions = CompilerException.class)
+    public void testFetchFailsWithoutCachedLayout() {
+
+        status = 404;
+        createFetcher(null).fetch(layoutFile);
+    }
+
+    @Test
+    public void testInvalidate() {
+
+        RemoteLayoutFetcher fetcher = createFetcher(null);
+        fetcher.fetch(layoutFile);
+        assertEquals(fetcher.size(), 1);
+
+        fetcher.invalidate(layoutFile);
+        assertEquals(fetcher.size(), 0);
+        fetcher.fetch(layoutFile);
+        assertEquals(requests.get(), 2);
+    }
+
+    @Test
+    public void testStaleLayoutIsServedAfterClose() {
+
+        ExecutorService revalidationExecutor = Executors.newSingleThreadExecutor();
+        RemoteLayoutFetcher fetcher = new RemoteLayoutFetcher(TIME_TO_LIVE, STALE_WHILE_REVALIDATE, MAX_SIZE, null,
+                revalidationExecutor, clock::get);
+        RemoteLayoutFetcher.RemoteLayout first = fetcher.fetch(layoutFile);
+
+        fetcher.close();
+        assertTrue(revalidationExecutor.isShutdown());
+        clock.addAndGet(TIME_TO_LIVE);
+        assertSame(fetcher.fetch(layoutFile), first);
+        assertEquals(requests.get(), 1);
+    }
+
+    @Test(expectedExceptions = CompilerException.class)
+    public void testOversizedLayoutIsRejected() {
+
+        content = String.join("", Collections.nCopies((int) MAX_SIZE + 1, "a"));
+        createFetcher(null).fetch(layoutFile);
+    }
+
+    @Test(expectedExceptions = CompilerException.class)
+    public void testOversizedLayoutWithoutContentLengthIsRejected() {
+
+        content = String.join("", Collections.nCopies((int) MAX_SIZE + 1, "a"));
+        chunked = true;
+        createFetcher(null).fetch(layoutFile);
+    }
+
+    @Test
+    public void testStaleLayoutIsServedWhenLayoutIsOversized() {
+
+        RemoteLayoutFetcher fetcher = createFetcher(null);
+        RemoteLayoutFetcher.RemoteLayout first = fetcher.fetch(layoutFile);
+
+        content = String.join("", Collections.nCopies((int) MAX_SIZE + 1, "a"));
+        etag = "\"v2\"";
+        chunked = true;
+        clock.addAndGet(TIME_TO_LIVE + STALE_WHILE_REVALIDATE);
+
+        assertSame(fetcher.fetch(layoutFile), first);
+        assertEquals(requests.get(), 2);
+    }
+
+    private RemoteLayoutFetcher createFetcher(Path diskCache) {
+
+        return new RemoteLayoutFetcher(TIME_TO_LIVE, STALE_WHILE_REVALIDATE, MAX_SIZE, diskCache,
+                revalidations::add, clock::get);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+
+        try {
+            requests.incrementAndGet();
+            receivedIfNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+            receivedIfModifiedSince = exchange.getRequestHeaders().getFirst("If-Modified-Since");
+            CountDownLatch gate = responseGate;
+            if (gate != null) {
+                gate.await(10, TimeUnit.SECONDS);
+            }
+            if (status != 200) {
+                exchange.sendResponseHeaders(status, -1);
+                return;
+            }
+            boolean notModified = (etag != null && etag.equals(receivedIfNoneMatch))
+                    || (etag == null && lastModified != null && lastModified.equals(receivedIfModifiedSince));
+            if (etag != null) {
+                exchange.getResponseHeaders().set("ETag", etag);
+            }
+            if (lastModified != null) {
+                exchange.getResponseHeaders().set("Last-Modified", lastModified);
+            }
+            if (notModified) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            byte[] body = content.getBytes(StandardCharsets.UTF_8);
+            // A zero length sends a chunked response without a content length.
+            exchange.sendResponseHeaders(200, chunked ? 0 : body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.compiler.resolvers;
+
+import org.testng.annotations.Test;
+import org.wso2.identity.apps.taglibs.layout.controller.TemporaryDirectoryTestBase;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Unit test class for ServletContextResourceResolver.
+ */
+public class ServletContextResourceResolverTest extends TemporaryDirectoryTestBase {
+
+    @Test
+    public void testPackagedResourceIsCached() throws Exception {
+
+        Path war = directory.resolve("authenticationendpoint.war");
+        try (JarOutputStream jar = new JarOutputStream(Files.newOutputStream(war))) {
+            jar.putNextEntry(new JarEntry("includes/layouts/centered/body.html"));
+            jar.write("<div>{{title}} \u2013 \u00fc</div>\n".getBytes(StandardCharsets.UTF_8));
+            jar.closeEntry();
+        }
+        URL layoutFile = new URL("jar:" + war.toUri().toURL() + "!/includes/layouts/centered/body.html");
+        ServletContextResourceResolver resolver = new ServletContextResourceResolver(4);
+
+        assertEquals(resolver.read(layoutFile).toString(), "<div>{{title}} \u2013 \u00fc</div>\n");
+        assertEquals(resolver.read(layoutFile).toString(), "<div>{{title}} \u2013 \u00fc</div>\n");
+        assertEquals(resolver.size(), 1);
+    }
+
+    @Test
+    public void testModifiedResourceIsReadAgain() throws Exception {
+
+        Path layoutFile = Files.write(directory.resolve("body.html"), "<div></div>\n".getBytes(StandardCharsets.UTF_8));
+        URL layoutFileURL = layoutFile.toUri().toURL();
+        ServletContextResourceResolver resolver = new ServletContextResourceResolver(4);
+        assertEquals(resolver.read(layoutFileURL).toString(), "<div></div>\n");
+
+        try (OutputStream outputStream = Files.newOutputStream(layoutFile)) {
+            outputStream.write("<main></main>\n".getBytes(StandardCharsets.UTF_8));
+        }
+        layoutFile.toFile().setLastModified(System.currentTimeMillis() + 60000);
+        assertEquals(resolver.read(layoutFileURL).toString(), "<main></main>\n");
+        assertEquals(resolver.size(), 1);
+    }
+
+    @Test
+    public void testCacheIsBounded() throws Exception {
+
+        ServletContextResourceResolver resolver = new ServletContextResourceResolver(2);
+        for (int i = 0; i < 5; i++) {
+            Path layoutFile = Files.write(directory.resolve("body-" + i + ".html"),
+                    ("<div>" + i + "</div>\n").getBytes(StandardCharsets.UTF_8));
+            assertEquals(resolver.read(layoutFile.toUri().toURL()).toString(), "<div>" + i + "</div>\n");
+        }
+        assertEquals(resolver.size(), 2);
+        resolver.clear();
+        assertEquals(resolver.size(), 0);
+    }
+
+    @Test
+    public void testResourceWithoutLastModifiedTimeIsNotCached() throws Exception {
+
+        AtomicInteger reads = new AtomicInteger();
+        URL layoutFile = new URL(null, "bundle://layouts/centered/body.html", new URLStreamHandler() {
+
+            @Override
+            protected URLConnection openConnection(URL url) {
+
+                return new URLConnection(url) {
+
+                    @Override
+                    public void connect() {
+
+                    }
+
+                    @Override
+                    public InputStream getInputStream() {
+
+                        reads.incrementAndGet();
+                        return new ByteArrayInputStream("<div></div>\n".getBytes(StandardCharsets.UTF_8));
+                    }
+                };
+            }
+        });
+        ServletContextResourceResolver resolver = new ServletContextResourceResolver(4);
+
+        assertEquals(resolver.read(layoutFile).toString(), "<div></div>\n");
+        assertEquals(resolver.read(layoutFile).toString(), "<div></div>\n");
+        assertEquals(reads.get(), 2);
+        assertEquals(resolver.size(), 0);
+    }
+}
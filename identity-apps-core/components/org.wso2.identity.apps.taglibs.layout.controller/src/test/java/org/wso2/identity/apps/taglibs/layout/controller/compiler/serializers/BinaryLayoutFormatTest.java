@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.compiler.serializers;
+
+import org.testng.annotations.Test;
+import org.wso2.identity.apps.taglibs.layout.controller.Constant;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.CompilerException;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.ExecutableIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.parsers.DefaultParser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+
+/**
+ * Unit test class for BinaryLayoutFormat.
+ */
+public class BinaryLayoutFormatTest {
+
+    private static final String LAYOUT = "<div>{{title}}{{#isError}}<p>{{error}}</p>{{/isError}}" +
+            "{{{MainSection}}}</div>\n";
+
+    @Test
+    public void testWrittenLayoutIsRead() throws IOException {
+
+        byte[] layout = write();
+        ExecutableIdentifier compiledLayout = BinaryLayoutFormat.read(new ByteArrayInputStream(layout));
+
+        ByteArrayOutputStream rewrittenLayout = new ByteArrayOutputStream();
+        BinaryLayoutFormat.write(compiledLayout, rewrittenLayout);
+        assertEquals(rewrittenLayout.toByteArray(), layout);
+    }
+
+    @Test
+    public void testTruncatedLayoutIsRejected() throws IOException {
+
+        byte[] layout = write();
+        for (int length : new int[]{4, 8, layout.length / 2, layout.length - 1}) {
+            assertRejected(Arrays.copyOf(layout, length));
+        }
+    }
+
+    @Test
+    public void testNegativeStringCountIsRejected() throws IOException {
+
+        assertRejected(header(-1).toByteArray());
+    }
+
+    @Test
+    public void testNegativeStringLengthIsRejected() throws IOException {
+
+        ByteArrayOutputStream layout = header(1);
+        new DataOutputStream(layout).writeInt(-1);
+        assertRejected(layout.toByteArray());
+    }
+
+    @Test
+    public void testOversizedCountsAreRejected() throws IOException {
+
+        assertRejected(header(Integer.MAX_VALUE).toByteArray());
+
+        ByteArrayOutputStream layout = header(1);
+        new DataOutputStream(layout).writeInt(Integer.MAX_VALUE);
+        assertRejected(layout.toByteArray());
+    }
+
+    @Test
+    public void testNegativeInstructionCountIsRejected() throws IOException {
+
+        ByteArrayOutputStream layout = header(0);
+        new DataOutputStream(layout).writeInt(-1);
+        assertRejected(layout.toByteArray());
+    }
+
+    @Test
+    public void testDeeplyNestedLayoutIsRejected() throws IOException {
+
+        assertNotNull(BinaryLayoutFormat.read(new ByteArrayInputStream(nested(Constant.COMPILED_LAYOUT_MAX_DEPTH))));
+        assertRejected(nested(Constant.COMPILED_LAYOUT_MAX_DEPTH + 1));
+        // Deep enough to overflow the stack if the depth isn't limited.
+        assertRejected(nested(1000000));
+    }
+
+    private static byte[] write() throws IOException {
+
+        ByteArrayOutputStream layout = new ByteArrayOutputStream();
+        BinaryLayoutFormat.write(new DefaultParser().compile(CharBuffer.wrap(LAYOUT)), layout);
+        return layout.toByteArray();
+    }
+
+    private static ByteArrayOutputStream header(int stringCount) throws IOException {
+
+        ByteArrayOutputStream layout = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(layout);
+        out.writeInt(BinaryLayoutFormat.MAGIC);
+        out.writeShort(BinaryLayoutFormat.VERSION);
+        out.writeInt(stringCount);
+        return layout;
+    }
+
+    /**
+     * Write a layout of condition blocks nested into each other.
+     *
+     * @param depth Number of nested condition blocks.
+     * @return Compiled layout.
+     * @throws IOException If the layout can't be written.
+     */
+    private static byte[] nested(int depth) throws IOException {
+
+        ByteArrayOutputStream layout = header(1);
+        DataOutputStream out = new DataOutputStream(layout);
+        out.writeInt(1);
+        out.writeByte('c');
+        out.writeInt(depth * 2);
+        for (int i = 0; i < depth; i++) {
+            // CONDITION opcode with the name and the text.
+            out.writeByte(3);
+            out.writeInt(0);
+            out.writeInt(0);
+        }
+        for (int i = 0; i < depth; i++) {
+            // END_BLOCK opcode.
+            out.writeByte(5);
+        }
+        return layout.toByteArray();
+    }
+
+    private static void assertRejected(byte[] layout) throws IOException {
+
+        try {
+            BinaryLayoutFormat.read(new ByteArrayInputStream(layout));
+        } catch (CompilerException e) {
+            return;
+        }
+        throw new AssertionError("Corrupted layout of " + layout.length + " bytes is read");
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.compiler.specializers;
+
+import org.testng.annotations.Test;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.DefaultIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.ExecutableIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.parsers.DefaultParser;
+import org.wso2.identity.apps.taglibs.layout.controller.core.CompiledLayout;
+import org.wso2.identity.apps.taglibs.layout.controller.core.LayoutRenderCursor;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.CharBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit test class for LayoutSpecializer.
+ */
+public class LayoutSpecializerTest {
+
+    private static final String LAYOUT = "<html>\n" +
+            "{{#showLogo}}<img src=\"{{logoUrl}}\" alt=\"{{logoAlt}}\">{{/showLogo}}\n" +
+            "{{^hideTitle}}<h1>{{title}}</h1>{{/hideTitle}}\n" +
+            "{{#showLogo}}{{^hideTitle}}<span>{{title}} {{logoAlt}}</span>{{/hideTitle}}{{/showLogo}}\n" +
+            "{{{MainSection}}}\n" +
+            "{{#showFooter}}<footer>{{copyright}}{{{ProductFooter}}}</footer>{{/showFooter}}</html>\n";
+
+    private static final String[] KEYS = {"showLogo", "logoUrl", "logoAlt", "hideTitle", "title", "showFooter",
+            "copyright"};
+    private static final Object[] VALUES = {true, false, "", null, "value", "<b>&\"value\"</b>"};
+
+    @Test
+    public void testSpecializedRenderMatchesOriginalRender() throws IOException {
+
+        CompiledLayout compiledLayout = compile(LAYOUT);
+        Random random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            Map<String, Object> constantData = new HashMap<>();
+            Map<String, Object> data = new HashMap<>();
+            for (String key : KEYS) {
+                int target = random.nextInt(3);
+                Object value = VALUES[random.nextInt(VALUES.length)];
+                if (target == 0) {
+                    constantData.put(key, value);
+                } else if (target == 1) {
+                    data.put(key, value);
+                }
+            }
+            Map<String, Object> mergedData = new HashMap<>(constantData);
+            mergedData.putAll(data);
+
+            CompiledLayout specializedLayout =
+                    new CompiledLayout(LayoutSpecializer.specialize(compiledLayout.getRoot(), constantData));
+
+            assertEquals(render(specializedLayout, data), render(compiledLayout, mergedData),
+                    "Constant data: " + constantData + ", data: " + data);
+        }
+    }
+
+    @Test
+    public void testConstantDataIsFolded() throws IOException {
+
+        CompiledLayout compiledLayout = compile(LAYOUT);
+        Map<String, Object> constantData = new HashMap<>();
+        constantData.put("showLogo", false);
+        constantData.put("hideTitle", "");
+        constantData.put("showFooter", true);
+        constantData.put("copyright", "&copy;");
+
+        CompiledLayout specializedLayout =
+                new CompiledLayout(LayoutSpecializer.specialize(compiledLayout.getRoot(), constantData));
+
+        assertTrue(countIdentifiers(specializedLayout.getRoot()) < countIdentifiers(compiledLayout.getRoot()));
+        assertEquals(specializedLayout.getReferencedKeys().toArray(), new Object[] {"title"});
+        assertEquals(render(specializedLayout, new HashMap<>()),
+                "<html>\n\n<h1></h1>\n\n[MainSection]\n<footer>&amp;copy;[ProductFooter]</footer></html>\n");
+    }
+
+    @Test
+    public void testSpecializeWithoutConstantData() throws IOException {
+
+        CompiledLayout compiledLayout = compile(LAYOUT);
+        Map<String, Object> data = new HashMap<>();
+        data.put("showLogo", true);
+        data.put("logoUrl", "logo.png");
+        CompiledLayout specializedLayout =
+                new CompiledLayout(LayoutSpecializer.specialize(compiledLayout.getRoot(), null));
+
+        assertEquals(render(specializedLayout, data), render(compiledLayout, data));
+        assertEquals(specializedLayout.getReferencedKeys(), compiledLayout.getReferencedKeys());
+    }
+
+    private static String render(CompiledLayout compiledLayout, Map<String, Object> data) throws IOException {
+
+        StringWriter out = new StringWriter();
+        LayoutRenderCursor cursor = new LayoutRenderCursor(compiledLayout, data);
+        String componentName;
+        while ((componentName = cursor.renderUntilNextComponent(out)) != null) {
+            out.write("[" + componentName + "]");
+        }
+        return out.toString();
+    }
+
+    private static int countIdentifiers(ExecutableIdentifier identifier) {
+
+        if (!(identifier instanceof DefaultIdentifier)) {
+            return 1;
+        }
+        int count = 0;
+        for (ExecutableIdentifier child : ((DefaultIdentifier) identifier).getIdentifiers()) {
+            count += countIdentifiers(child);
+        }
+        return count;
+    }
+
+    private static CompiledLayout compile(String layout) {
+
+        return new CompiledLayout(new DefaultParser().compile(CharBuffer.wrap(layout)));
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.compiler.styles;
+
+import org.testng.annotations.Test;
+import org.wso2.identity.apps.taglibs.layout.controller.TemporaryDirectoryTestBase;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.ExecutableIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.parsers.DefaultParser;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.serializers.BinaryLayoutFormat;
+import org.wso2.identity.apps.taglibs.layout.controller.core.CompiledLayout;
+import org.wso2.identity.apps.taglibs.layout.controller.core.LayoutRenderCursor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Unit test class for StyleSheetMinifier.
+ */
+public class StyleSheetMinifierTest extends TemporaryDirectoryTestBase {
+
+    @Test
+    public void testMinify() {
+
+        String styleSheet = "/* Layout styles */\n" +
+                ".login-portal.layout  .page-wrapper > .ui.container ,\n" +
+                ".footer  a:hover {\n" +
+                "    padding : 0 1em;\n" +
+                "    color: #fff; /* white */\n" +
+                "}\n\n" +
+                "@media (max-width: 767px) {\n" +
+                "    .footer { display: none; }\n" +
+                "}\n";
+
+        assertEquals(StyleSheetMinifier.minify(styleSheet),
+                ".login-portal.layout .page-wrapper>.ui.container,.footer a:hover{padding :0 1em;color:#fff}" +
+                        "@media (max-width:767px){.footer{display:none}}");
+    }
+
+    @Test
+    public void testMinifyKeepsStrings() {
+
+        String styleSheet = ".a::before {\n    content: \"  a  ;  /* b */ \\\" }  \";\n" +
+                "    font-family: 'Open  Sans';\n}";
+
+        assertEquals(StyleSheetMinifier.minify(styleSheet),
+                ".a::before{content:\"  a  ;  /* b */ \\\" }  \";font-family:'Open  Sans'}");
+    }
+
+    @Test
+    public void testMinifyKeepsDescendantCombinators() {
+
+        assertEquals(StyleSheetMinifier.minify("a  :hover , b\t[href] { }"), "a :hover,b [href]{}");
+    }
+
+    @Test
+    public void testCriticalStyleSheetIsInlined() throws IOException {
+
+        Path layoutFile = directory.resolve("body.html");
+        Files.write(directory.resolve("critical.css"),
+                ".a {\n    color: red;\n}\n/* </style><script> */ .b::after { content: \"</style>\"; }\n"
+                        .getBytes(StandardCharsets.UTF_8));
+        String layout = "<head>{{@critical}}{{@missing}}</head>\n";
+        Files.write(layoutFile, layout.getBytes(StandardCharsets.UTF_8));
+
+        ExecutableIdentifier compiledLayout =
+                new DefaultParser().compile(CharBuffer.wrap(layout), layoutFile.toUri().toURL());
+        ByteArrayOutputStream serializedLayout = new ByteArrayOutputStream();
+        BinaryLayoutFormat.write(compiledLayout, serializedLayout);
+        ExecutableIdentifier deserializedLayout =
+                BinaryLayoutFormat.read(new ByteArrayInputStream(serializedLayout.toByteArray()));
+
+        String expected = "<head><style>.a{color:red}.b::after{content:\"<\\/style>\"}</style></head>\n";
+        assertEquals(render(compiledLayout), expected);
+        assertEquals(render(deserializedLayout), expected);
+        assertEquals(render(new DefaultParser().compile(CharBuffer.wrap(layout))), "<head></head>\n");
+    }
+
+    private static String render(ExecutableIdentifier layout) throws IOException {
+
+        StringWriter out = new StringWriter();
+        LayoutRenderCursor cursor = new LayoutRenderCursor(new CompiledLayout(layout), new HashMap<>());
+        while (cursor.renderUntilNextComponent(out) != null) {
+            out.write("[component]");
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.core;
+
+import org.testng.annotations.Test;
+import org.wso2.identity.apps.taglibs.layout.controller.TemporaryDirectoryTestBase;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.identifiers.ExecutableIdentifier;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.parsers.DefaultParser;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Unit test class for CompiledLayoutCache. The layouts are revalidated on every read.
+ */
+public class CompiledLayoutCacheTest extends TemporaryDirectoryTestBase {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final AtomicInteger streams = new AtomicInteger();
+
+    @Test
+    public void testModifiedLayoutIsLoadedAgain() throws Exception {
+
+        Path layoutFile = Files.write(directory.resolve("body.html"), "<div></div>\n".getBytes(StandardCharsets.UTF_8));
+        URL layoutFileURL = layoutFile.toUri().toURL();
+        CompiledLayoutCache cache = new CompiledLayoutCache(4, 0);
+
+        CompiledLayout compiledLayout = cache.get(layoutFileURL, this::load);
+        assertSame(cache.get(layoutFileURL, this::load), compiledLayout);
+        assertEquals(loads.get(), 1);
+
+        layoutFile.toFile().setLastModified(System.currentTimeMillis() + 60000);
+        assertNotSame(cache.get(layoutFileURL, this::load), compiledLayout);
+        assertEquals(loads.get(), 2);
+    }
+
+    @Test
+    public void testLayoutWithoutLastModifiedTimeIsNotLoadedAgain() throws Exception {
+
+        URL layoutFile = new URL(null, "bundle://layouts/centered/body.html", new URLStreamHandler() {
+
+            @Override
+            protected URLConnection openConnection(URL url) {
+
+                return new URLConnection(url) {
+
+                    @Override
+                    public void connect() {
+
+                    }
+
+                    @Override
+                    public InputStream getInputStream() {
+
+                        streams.incrementAndGet();
+                        return new ByteArrayInputStream(new byte[0]);
+                    }
+                };
+            }
+        });
+        CompiledLayoutCache cache = new CompiledLayoutCache(4, 0);
+
+        CompiledLayout compiledLayout = cache.get(layoutFile, this::load);
+        for (int i = 0; i < 3; i++) {
+            assertSame(cache.get(layoutFile, this::load), compiledLayout);
+        }
+        assertEquals(loads.get(), 1);
+        // The layout file is revalidated without being opened.
+        assertEquals(streams.get(), 0);
+
+        cache.invalidate(layoutFile);
+        assertNotSame(cache.get(layoutFile, this::load), compiledLayout);
+        assertEquals(loads.get(), 2);
+    }
+
+    private ExecutableIdentifier load(URL layoutFile) {
+
+        loads.incrementAndGet();
+        return new DefaultParser().compile(CharBuffer.wrap("<div>{{title}}</div>\n"));
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.core;
+
+import org.testng.annotations.Test;
+import org.wso2.identity.apps.taglibs.layout.controller.TemporaryDirectoryTestBase;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit test class for DynamicComponentIndex.
+ */
+public class DynamicComponentIndexTest extends TemporaryDirectoryTestBase {
+
+    private static final long TIMEOUT = 10000;
+
+    @Test
+    public void testIndexIsBuiltFromDirectory() throws IOException {
+
+        Files.createFile(directory.resolve("ProductHeader.jsp"));
+        Files.createFile(directory.resolve("README.md"));
+        Files.createDirectories(directory.resolve("footer"));
+        Files.createFile(directory.resolve("footer").resolve("ProductFooter.jsp"));
+
+        try (DynamicComponentIndex index = DynamicComponentIndex.watch(directory)) {
+            assertTrue(index.contains("ProductHeader"));
+            assertTrue(index.contains("footer/ProductFooter"));
+            assertFalse(index.contains("README"));
+            assertFalse(index.contains("ProductFooter"));
+        }
+    }
+
+    @Test
+    public void testIndexIsRefreshedOnChanges() throws Exception {
+
+        Path header = Files.createFile(directory.resolve("ProductHeader.jsp"));
+        try (DynamicComponentIndex index = DynamicComponentIndex.watch(directory)) {
+            Files.createFile(directory.resolve("ProductFooter.jsp"));
+            assertTrue(waitFor(() -> index.contains("ProductFooter")), "Added component should be indexed.");
+
+            Files.delete(header);
+            assertTrue(waitFor(() -> !index.contains("ProductHeader")), "Removed component should be dropped.");
+
+            Path subDirectory = Files.createDirectories(directory.resolve("custom"));
+            assertTrue(waitFor(() -> {
+                try {
+                    if (!Files.exists(subDirectory.resolve("Banner.jsp"))) {
+                        Files.createFile(subDirectory.resolve("Banner.jsp"));
+                    }
+                } catch (IOException e) {
+                    return false;
+                }
+                return index.contains("custom/Banner");
+            }), "Component added to a new sub directory should be indexed.");
+        }
+    }
+
+    @Test
+    public void testIndexIsRefreshedByPolling() throws Exception {
+
+        Set<String> components = Collections.synchronizedSet(new HashSet<>());
+        components.add("ProductHeader");
+        try (DynamicComponentIndex index = DynamicComponentIndex.poll(() -> new HashSet<>(components), 10)) {
+            assertTrue(index.contains("ProductHeader"));
+            assertFalse(index.contains("ProductFooter"));
+
+            components.add("ProductFooter");
+            assertTrue(waitFor(() -> index.contains("ProductFooter")), "Polling should pick the new component.");
+        }
+    }
+
+    @Test
+    public void testFailedScanKeepsIndex() {
+
+        boolean[] fail = {false};
+        DynamicComponentIndex index = DynamicComponentIndex.poll(() -> {
+            if (fail[0]) {
+                throw new IllegalStateException("Scan failed");
+            }
+            return Collections.singleton("ProductHeader");
+        }, TIMEOUT);
+        try {
+            fail[0] = true;
+            index.refresh();
+            assertTrue(index.contains("ProductHeader"));
+        } finally {
+            index.close();
+        }
+    }
+
+    private static boolean waitFor(BooleanSupplier condition) throws InterruptedException {
+
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        while (System.currentTimeMillis() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(20);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.core;
+
+import org.testng.annotations.Test;
+import org.wso2.identity.apps.taglibs.layout.controller.TemporaryDirectoryTestBase;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.parsers.DefaultParser;
+
+import java.net.URL;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit test class for LayoutFileWatcher.
+ */
+public class LayoutFileWatcherTest extends TemporaryDirectoryTestBase {
+
+    private static final long TIMEOUT = 10000;
+
+    @Test
+    public void testChangedLayoutIsReported() throws Exception {
+
+        Path layoutFile = Files.write(directory.resolve("body.html"), "<div></div>\n".getBytes(StandardCharsets.UTF_8));
+        URL layoutFileURL = layoutFile.toUri().toURL();
+        Set<URL> changedFiles = ConcurrentHashMap.newKeySet();
+
+        try (LayoutFileWatcher watcher = new LayoutFileWatcher(changedFiles::add)) {
+            assertTrue(watcher.watch(layoutFileURL));
+            Files.write(layoutFile, "<div>{{title}}</div>\n".getBytes(StandardCharsets.UTF_8));
+            assertTrue(waitFor(() -> changedFiles.contains(layoutFileURL)));
+
+            changedFiles.clear();
+            Files.write(directory.resolve("critical.css"), ".a{}".getBytes(StandardCharsets.UTF_8));
+            assertTrue(waitFor(() -> changedFiles.contains(layoutFileURL)));
+        }
+    }
+
+    @Test
+    public void testRemoteLayoutIsNotWatched() throws Exception {
+
+        try (LayoutFileWatcher watcher = new LayoutFileWatcher(file -> { })) {
+            assertFalse(watcher.watch(new URL("https://localhost/layouts/centered/body.html")));
+        }
+    }
+
+    @Test
+    public void testWatchedLayoutIsCompiledOnceUntilInvalidated() throws Exception {
+
+        Path layoutFile = Files.write(directory.resolve("body.html"), "<div></div>\n".getBytes(StandardCharsets.UTF_8));
+        URL layoutFileURL = layoutFile.toUri().toURL();
+        AtomicInteger compilations = new AtomicInteger();
+        CompiledLayoutCache.LayoutLoader loader = file -> {
+            compilations.incrementAndGet();
+            return new DefaultParser().compile(CharBuffer.wrap("<div></div>\n"));
+        };
+        CompiledLayoutCache cache = new CompiledLayoutCache(4);
+
+        try (LayoutFileWatcher watcher = new LayoutFileWatcher(cache::invalidate)) {
+            assertTrue(watcher.watch(layoutFileURL));
+            CompiledLayout compiledLayout = cache.get(layoutFileURL, loader, true);
+            assertTrue(layoutFile.toFile().setLastModified(System.currentTimeMillis() - 60000));
+            // A watched layout is not revalidated, only the watcher invalidates it.
+            assertTrue(waitFor(() -> cache.size() == 0));
+            assertNotSame(cache.get(layoutFileURL, loader, true), compiledLayout);
+            compiledLayout = cache.get(layoutFileURL, loader, true);
+            for (int i = 0; i < 100; i++) {
+                assertSame(cache.get(layoutFileURL, loader, true), compiledLayout);
+            }
+            assertEquals(compilations.get(), 2);
+        }
+    }
+
+    @Test
+    public void testSharedWatcherIsShutDown() throws Exception {
+
+        Path layoutFile = Files.write(directory.resolve("body.html"), "<div></div>\n".getBytes(StandardCharsets.UTF_8));
+        assertTrue(LayoutFileWatcher.watchLayout(layoutFile.toUri().toURL()));
+        assertTrue(isWatcherThreadAlive());
+
+        LayoutFileWatcher.shutdown();
+        assertTrue(waitFor(() -> !isWatcherThreadAlive()));
+    }
+
+    private static boolean isWatcherThreadAlive() {
+
+        return Thread.getAllStackTraces().keySet().stream()
+                .anyMatch(thread -> "layout-file-watcher".equals(thread.getName()) && thread.isAlive());
+    }
+
+    private static boolean waitFor(BooleanSupplier condition) throws InterruptedException {
+
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        while (System.currentTimeMillis() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(20);
+        }
+        return condition.getAsBoolean();
+    }
+}
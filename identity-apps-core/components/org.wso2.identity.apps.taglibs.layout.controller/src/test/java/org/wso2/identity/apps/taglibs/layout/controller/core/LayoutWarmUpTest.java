@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.core;
+
+import org.testng.annotations.Test;
+import org.wso2.identity.apps.taglibs.layout.controller.TemporaryDirectoryTestBase;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.parsers.DefaultParser;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.serializers.BinaryLayoutFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.CharBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit test class for LayoutWarmUp.
+ */
+public class LayoutWarmUpTest extends TemporaryDirectoryTestBase {
+
+    private static final long TIMEOUT = 10000;
+
+    @Test
+    public void testLayoutsAreLoadedIntoCache() throws Exception {
+
+        Map<String, URL> layouts = new LinkedHashMap<>();
+        layouts.put("centered", writeLayout("centered",
+                "<div>{{#isErrorResponse}}{{message}}{{/isErrorResponse}}{{{MainSection}}}</div>\n"));
+        layouts.put("left-image", writeLayout("left-image", "{{^isPolicyPage}}<img>{{/isPolicyPage}}{{{Footer}}}\n"));
+
+        LayoutWarmUp warmUp = LayoutWarmUp.start(layouts, (message, error) -> { });
+
+        assertTrue(warmUp.awaitCompletion(TIMEOUT, TimeUnit.MILLISECONDS));
+        assertEquals(warmUp.getWarmedUpLayoutCount(), 2);
+        assertEquals(warmUp.getFailedLayoutCount(), 0);
+        for (Map.Entry<String, URL> layout : layouts.entrySet()) {
+            CompiledLayout compiledLayout = CompiledLayoutCache.getInstance().get(layout.getValue(), layoutFile -> {
+                throw new AssertionError("Layout should be loaded by the warm-up: " + layout.getKey());
+            });
+            assertSame(LocalTemplateEngine.getCompiledLayout(layout.getKey(), layout.getValue(), false),
+                    compiledLayout);
+        }
+    }
+
+    @Test
+    public void testFailedLayoutDoesNotStopWarmUp() throws Exception {
+
+        Map<String, URL> layouts = new LinkedHashMap<>();
+        layouts.put("missing", directory.resolve("missing").resolve("body.ser").toUri().toURL());
+        layouts.put("centered", writeLayout("centered", "<div>{{title}}</div>\n"));
+        List<String> errors = Collections.synchronizedList(new ArrayList<>());
+
+        LayoutWarmUp warmUp = LayoutWarmUp.start(layouts, (message, error) -> errors.add(message));
+
+        assertTrue(warmUp.awaitCompletion(TIMEOUT, TimeUnit.MILLISECONDS));
+        assertEquals(warmUp.getWarmedUpLayoutCount(), 1);
+        assertEquals(warmUp.getFailedLayoutCount(), 1);
+        assertEquals(errors, Collections.singletonList("Can't warm up the layout: missing"));
+    }
+
+    @Test
+    public void testWarmUpWithoutLayoutsIsCompleted() throws Exception {
+
+        LayoutWarmUp warmUp = LayoutWarmUp.start(Collections.emptyMap(), (message, error) -> { });
+
+        assertTrue(warmUp.awaitCompletion(0, TimeUnit.MILLISECONDS));
+        assertEquals(warmUp.getWarmedUpLayoutCount(), 0);
+    }
+
+    private URL writeLayout(String name, String layout) throws IOException {
+
+        Path layoutFile = Files.createDirectories(directory.resolve(name)).resolve("body.ser");
+        try (OutputStream outputStream = Files.newOutputStream(layoutFile)) {
+            BinaryLayoutFormat.write(new DefaultParser().compile(CharBuffer.wrap(layout)), outputStream);
+        }
+        return layoutFile.toUri().toURL();
+    }
+}
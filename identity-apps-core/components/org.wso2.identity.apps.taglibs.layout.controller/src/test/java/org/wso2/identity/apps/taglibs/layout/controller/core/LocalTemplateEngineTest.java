@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.core;
+
+import org.testng.annotations.Test;
+import org.wso2.identity.apps.taglibs.layout.controller.TemporaryDirectoryTestBase;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.serializers.BinaryLayoutFormat;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Unit test class for LocalTemplateEngine.
+ */
+public class LocalTemplateEngineTest extends TemporaryDirectoryTestBase {
+
+    @Test
+    public void testCorruptedCompiledLayoutIsCompiledFromRawLayout() throws IOException {
+
+        Path compiledLayoutFile = writeCorruptedCompiledLayout();
+        Files.write(directory.resolve("body.html"), "<div>{{title}}</div>\n".getBytes(StandardCharsets.UTF_8));
+
+        CompiledLayout compiledLayout = LocalTemplateEngine.getCompiledLayout("centered",
+                compiledLayoutFile.toUri().toURL(), false);
+
+        StringWriter out = new StringWriter();
+        assertNull(new LayoutRenderCursor(compiledLayout, Collections.singletonMap("title", "Title"))
+                .renderUntilNextComponent(out));
+        assertEquals(out.toString(), "<div>Title</div>\n");
+    }
+
+    @Test(expectedExceptions = RuntimeException.class)
+    public void testCorruptedCompiledLayoutWithoutRawLayoutIsRejected() throws IOException {
+
+        URL compiledLayoutFile = writeCorruptedCompiledLayout().toUri().toURL();
+        LocalTemplateEngine.getCompiledLayout("centered", compiledLayoutFile, false);
+    }
+
+    /**
+     * Write a compiled layout file which is nested deeper than the binary format allows.
+     *
+     * @return Compiled layout file.
+     * @throws IOException If the file can't be written.
+     */
+    private Path writeCorruptedCompiledLayout() throws IOException {
+
+        Path compiledLayoutFile = directory.resolve("body.ser");
+        try (OutputStream outputStream = Files.newOutputStream(compiledLayoutFile)) {
+            DataOutputStream out = new DataOutputStream(outputStream);
+            out.writeInt(BinaryLayoutFormat.MAGIC);
+            out.writeShort(BinaryLayoutFormat.VERSION);
+            out.writeInt(1);
+            out.writeInt(1);
+            out.writeByte('c');
+            out.writeInt(20000);
+            for (int i = 0; i < 10000; i++) {
+                // CONDITION opcode with the name and the text.
+                out.writeByte(3);
+                out.writeInt(0);
+                out.writeInt(0);
+            }
+            for (int i = 0; i < 10000; i++) {
+                // END_BLOCK opcode.
+                out.writeByte(5);
+            }
+            out.flush();
+        }
+        return compiledLayoutFile;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.core;
+
+import org.testng.annotations.Test;
+import org.wso2.identity.apps.taglibs.layout.controller.compiler.parsers.DefaultParser;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.CharBuffer;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Unit test class for SpecializedLayoutCache.
+ */
+public class SpecializedLayoutCacheTest {
+
+    private static final String LAYOUT = "{{#showLogo}}<img src=\"{{logoUrl}}\">{{/showLogo}}<h1>{{title}}</h1>\n";
+
+    @Test
+    public void testSpecializedLayoutIsCachedPerPreferenceVersion() throws IOException {
+
+        SpecializedLayoutCache cache = new SpecializedLayoutCache(8);
+        CompiledLayout compiledLayout = compile(LAYOUT);
+        Map<String, Object> constantData = Collections.singletonMap("showLogo", false);
+
+        CompiledLayout first = cache.get(compiledLayout, "layout", "carbon.super", "1", constantData);
+        assertSame(cache.get(compiledLayout, "layout", "carbon.super", "1", constantData), first);
+        assertEquals(render(first, Collections.singletonMap("title", "Title")), "<h1>Title</h1>\n");
+
+        CompiledLayout updated = cache.get(compiledLayout, "layout", "carbon.super", "2",
+                Collections.singletonMap("showLogo", true));
+        assertNotSame(updated, first);
+        assertEquals(render(updated, Collections.singletonMap("logoUrl", "logo.png")),
+                "<img src=\"logo.png\"><h1></h1>\n");
+
+        assertNotSame(cache.get(compiledLayout, "layout", "wso2.com", "1", constantData), first);
+        assertEquals(cache.size(), 3);
+    }
+
+    @Test
+    public void testSpecializedLayoutIsReplacedWhenCompiledLayoutChanges() throws IOException {
+
+        SpecializedLayoutCache cache = new SpecializedLayoutCache(8);
+        Map<String, Object> constantData = Collections.singletonMap("showLogo", false);
+        CompiledLayout first = cache.get(compile(LAYOUT), "layout", "carbon.super", "1", constantData);
+        CompiledLayout second = cache.get(compile("<p>{{title}}</p>\n"), "layout", "carbon.super", "1", constantData);
+
+        assertNotSame(second, first);
+        assertEquals(render(second, Collections.singletonMap("title", "Title")), "<p>Title</p>\n");
+        assertEquals(cache.size(), 1);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedLayoutIsEvicted() {
+
+        SpecializedLayoutCache cache = new SpecializedLayoutCache(2);
+        CompiledLayout compiledLayout = compile(LAYOUT);
+        Map<String, Object> constantData = Collections.emptyMap();
+        CompiledLayout first = cache.get(compiledLayout, "layout", "tenant-1", "1", constantData);
+        cache.get(compiledLayout, "layout", "tenant-2", "1", constantData);
+        assertSame(cache.get(compiledLayout, "layout", "tenant-1", "1", constantData), first);
+        cache.get(compiledLayout, "layout", "tenant-3", "1", constantData);
+
+        assertEquals(cache.size(), 2);
+        assertSame(cache.get(compiledLayout, "layout", "tenant-1", "1", constantData), first);
+        cache.clear();
+        assertEquals(cache.size(), 0);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testLayoutIsNotSpecializedWithoutPreferenceVersion() {
+
+        new SpecializedLayoutCache(8).get(compile(LAYOUT), "layout", "carbon.super", null,
+                Collections.singletonMap("showLogo", false));
+    }
+
+    private static String render(CompiledLayout compiledLayout, Map<String, Object> data) throws IOException {
+
+        StringWriter out = new StringWriter();
+        new LayoutRenderCursor(compiledLayout, data).renderUntilNextComponent(out);
+        return out.toString();
+    }
+
+    private static CompiledLayout compile(String layout) {
+
+        return new CompiledLayout(new DefaultParser().compile(CharBuffer.wrap(layout)));
+    }
+}
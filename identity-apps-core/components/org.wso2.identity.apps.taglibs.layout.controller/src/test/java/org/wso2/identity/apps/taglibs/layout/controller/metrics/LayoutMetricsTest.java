@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.metrics;
+
+import org.testng.annotations.Test;
+import org.wso2.identity.apps.taglibs.layout.controller.Constant;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit test class for LayoutMetrics.
+ */
+public class LayoutMetricsTest {
+
+    @Test
+    public void testRenderMetrics() {
+
+        LayoutMetrics metrics = new LayoutMetrics(8);
+        for (int i = 0; i < 98; i++) {
+            metrics.recordRender("centered", TimeUnit.MICROSECONDS.toNanos(80), 3, 1000);
+        }
+        metrics.recordRender("centered", TimeUnit.MICROSECONDS.toNanos(4000), 3, 1000);
+        metrics.recordRender("centered", TimeUnit.MICROSECONDS.toNanos(30000), 3, 1000);
+        metrics.recordRender("left-image", TimeUnit.MICROSECONDS.toNanos(20), 1, 10);
+
+        LayoutRenderStatistics centered = metrics.getLayout("centered");
+        assertEquals(centered.getRenderCount(), 100);
+        assertEquals(centered.getRenderTimeP50(), 100);
+        assertEquals(centered.getRenderTimeP90(), 100);
+        assertEquals(centered.getRenderTimeP99(), 5000);
+        assertEquals(centered.getMaxRenderTime(), 30000);
+        assertEquals(centered.getTotalRenderTime(), 98 * 80 + 4000 + 30000);
+        assertEquals(centered.getComponentYields(), 300);
+        assertEquals(centered.getCharactersWritten(), 100000);
+        assertEquals(metrics.getLayout("left-image").getRenderTimeP99(), 20);
+        assertNull(metrics.getLayout("right-image"));
+
+        assertEquals(metrics.getRenderCount(), 101);
+        assertEquals(metrics.getComponentYields(), 301);
+        assertEquals(metrics.getCharactersWritten(), 100010);
+        List<LayoutRenderStatistics> layouts = metrics.getLayouts();
+        assertEquals(layouts.get(0).getLayoutName(), "centered");
+        assertEquals(layouts.get(1).getLayoutName(), "left-image");
+    }
+
+    @Test
+    public void testLayoutsAboveLimitAreGrouped() {
+
+        LayoutMetrics metrics = new LayoutMetrics(2);
+        metrics.recordRender("centered", 1000, 1, 1);
+        metrics.recordRender("left-image", 1000, 1, 1);
+        metrics.recordRender("custom-tenant-1", 1000, 1, 1);
+        metrics.recordRender("custom-tenant-2", 1000, 1, 1);
+        metrics.recordRender("centered", 1000, 1, 1);
+
+        assertEquals(metrics.getLayout("centered").getRenderCount(), 2);
+        assertNull(metrics.getLayout("custom-tenant-1"));
+        assertEquals(metrics.getLayout(Constant.LAYOUT_METRICS_OTHER_LAYOUTS).getRenderCount(), 2);
+        assertEquals(metrics.getLayouts().size(), 3);
+    }
+
+    @Test
+    public void testCacheAndCompileMetrics() {
+
+        LayoutMetrics metrics = new LayoutMetrics(8);
+        assertEquals(metrics.getCompiledLayoutCacheHitRatio(), 0.0);
+        for (int i = 0; i < 4; i++) {
+            metrics.getCompiledLayoutCache().recordLookup();
+        }
+        metrics.getCompiledLayoutCache().recordMiss();
+        metrics.recordCompile(TimeUnit.MILLISECONDS.toNanos(3));
+        metrics.recordDeserialize(TimeUnit.MILLISECONDS.toNanos(1));
+        metrics.recordDeserialize(TimeUnit.MILLISECONDS.toNanos(1));
+
+        assertEquals(metrics.getCompiledLayoutCacheHitRatio(), 0.75);
+        assertEquals(metrics.getCompileCount(), 1);
+        assertEquals(metrics.getCompileTime(), 3000);
+        assertEquals(metrics.getDeserializeCount(), 2);
+        assertEquals(metrics.getDeserializeTime(), 2000);
+
+        metrics.reset();
+        assertEquals(metrics.getCompileCount(), 0);
+        assertEquals(metrics.getCompiledLayoutCacheHitRatio(), 0.0);
+    }
+
+    @Test
+    public void testMetricsArePublishedOverJmx() throws Exception {
+
+        LayoutMetrics.getInstance().recordRender("jmx-test-layout", 1000, 2, 42);
+        ObjectName name = LayoutMetrics.register("/test");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            assertTrue(server.isRegistered(name));
+            CompositeData[] layouts = (CompositeData[]) server.getAttribute(name, "Layouts");
+            CompositeData layout = null;
+            for (CompositeData candidate : layouts) {
+                if ("jmx-test-layout".equals(candidate.get("layoutName"))) {
+                    layout = candidate;
+                }
+            }
+            assertNotNull(layout);
+            assertEquals(layout.get("componentYields"), 2L);
+            assertEquals(layout.get("charactersWritten"), 42L);
+            assertNotNull(server.getAttribute(name, "CompiledLayoutCacheHitRatio"));
+        } finally {
+            LayoutMetrics.unregister(name);
+        }
+        assertFalse(server.isRegistered(name));
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.apps.taglibs.layout.controller.processor;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.identity.apps.taglibs.layout.controller.Constant;
+import org.wso2.identity.apps.taglibs.layout.controller.TemporaryDirectoryTestBase;
+import org.wso2.identity.apps.taglibs.layout.controller.core.SpecializedLayoutCache;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.servlet.ServletContext;
+import javax.servlet.jsp.JspException;
+import javax.servlet.jsp.JspWriter;
+import javax.servlet.jsp.PageContext;
+
+import static javax.servlet.jsp.tagext.Tag.SKIP_BODY;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Unit test class for LegacyLayoutFileProcessor.
+ */
+public class LegacyLayoutFileProcessorTest extends TemporaryDirectoryTestBase {
+
+    private static final String LAYOUT = "<h1>{{title}}</h1>{{{MainSection}}}<p>{{footer}}</p>\n";
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+
+        Files.createDirectories(directory.resolve("layouts"));
+        Files.write(directory.resolve("layouts/body.html"), LAYOUT.getBytes(StandardCharsets.UTF_8));
+        SpecializedLayoutCache.getInstance().clear();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        SpecializedLayoutCache.getInstance().clear();
+    }
+
+    @Test
+    public void testDataTakesPrecedenceOverConstantData() throws Exception {
+
+        Map<String, Object> constantData = new HashMap<>();
+        constantData.put("title", "Constant");
+        constantData.put("footer", "Footer");
+        Map<String, Object> data = new HashMap<>();
+        data.put("title", "Request");
+
+        String expected = "<h1>Request</h1>[MainSection]<p>Footer</p>\n";
+        assertEquals(render(data, constantData, "carbon.super", "1"), expected);
+        assertEquals(render(data, constantData, "carbon.super", null), expected);
+        assertEquals(render(data, constantData, null, null), expected);
+        assertEquals(SpecializedLayoutCache.getInstance().size(), 0);
+    }
+
+    @Test
+    public void testLayoutIsSpecializedForConstantData() throws Exception {
+
+        Map<String, Object> constantData = new HashMap<>();
+        constantData.put("footer", "Footer");
+        Map<String, Object> data = new HashMap<>();
+        data.put("title", "Request");
+
+        String expected = "<h1>Request</h1>[MainSection]<p>Footer</p>\n";
+        assertEquals(render(data, constantData, "carbon.super", "1"), expected);
+        assertEquals(render(data, constantData, "carbon.super", "1"), expected);
+        assertEquals(SpecializedLayoutCache.getInstance().size(), 1);
+        assertEquals(render(data, constantData, null, null), expected);
+    }
+
+    @Test(expectedExceptions = JspException.class)
+    public void testWriteFailureIsThrownAsJspException() throws Exception {
+
+        // The writer fails as the client has closed the connection.
+        JspWriter out = mock(JspWriter.class);
+        doThrow(new IOException("Broken pipe")).when(out).write(any(char[].class), anyInt(), anyInt());
+        doThrow(new IOException("Broken pipe")).when(out).write(anyString(), anyInt(), anyInt());
+        LegacyLayoutFileProcessor processor = new LegacyLayoutFileProcessor(true, mockPageContext(out), "test",
+                "layouts/body.ser", new HashMap<>());
+        processor.startLegacyLayoutRendering();
+    }
+
+    private String render(Map<String, Object> data, Map<String, Object> constantData, String tenantDomain,
+                          String preferenceVersion) throws Exception {
+
+        StringWriter content = new StringWriter();
+        JspWriter out = mockWriter(content);
+        PageContext pageContext = mockPageContext(out);
+        LegacyLayoutFileProcessor processor =
+                new LegacyLayoutFileProcessor(true, pageContext, "test", "layouts/body.ser", data);
+        processor.setConstantData(constantData, tenantDomain, preferenceVersion);
+        int result = processor.startLegacyLayoutRendering();
+        while (result != SKIP_BODY) {
+            out.print("[" + pageContext.getAttribute(Constant.COMPONENT_NAME_STORING_VAR) + "]");
+            result = processor.continueLegacyLayoutRendering();
+        }
+        return content.toString();
+    }
+
+    /**
+     * Mock a writer which writes to the given content.
+     *
+     * @param content Content of the page.
+     * @return Mocked writer.
+     * @throws IOException If the writer can't be mocked.
+     */
+    private static JspWriter mockWriter(StringWriter content) throws IOException {
+
+        JspWriter out = mock(JspWriter.class);
+        doAnswer(invocation -> {
+            content.write(invocation.<Integer>getArgument(0));
+            return null;
+        }).when(out).write(anyInt());
+        doAnswer(invocation -> {
+            content.write(invocation.<char[]>getArgument(0), invocation.getArgument(1), invocation.getArgument(2));
+            return null;
+        }).when(out).write(any(char[].class), anyInt(), anyInt());
+        doAnswer(invocation -> {
+            content.write(invocation.<String>getArgument(0), invocation.getArgument(1), invocation.getArgument(2));
+            return null;
+        }).when(out).write(anyString(), anyInt(), anyInt());
+        doAnswer(invocation -> {
+            content.write(invocation.<String>getArgument(0));
+            return null;
+        }).when(out).print(anyString());
+        return out;
+    }
+
+    /**
+     * Mock a page context which writes to the given writer, and resolves the resources from the temporary directory.
+     *
+     * @param out Writer of the page.
+     * @return Mocked page context.
+     * @throws Exception If the page context can't be mocked.
+     */
+    private PageContext mockPageContext(JspWriter out) throws Exception {
+
+        ServletContext servletContext = mock(ServletContext.class);
+        when(servletContext.getResource(anyString())).thenAnswer(invocation -> {
+            Path resource = directory.resolve(invocation.<String>getArgument(0).replaceFirst("^/", ""));
+            return Files.exists(resource) ? resource.toUri().toURL() : null;
+        });
+        Map<String, Object> attributes = new HashMap<>();
+        PageContext pageContext = mock(PageContext.class);
+        when(pageContext.getOut()).thenReturn(out);
+        when(pageContext.getServletContext()).thenReturn(servletContext);
+        doAnswer(invocation -> attributes.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(pageContext).setAttribute(anyString(), any());
+        doAnswer(invocation -> attributes.remove(invocation.<String>getArgument(0)))
+                .when(pageContext).removeAttribute(anyString());
+        when(pageContext.getAttribute(anyString()))
+                .thenAnswer(invocation -> attributes.get(invocation.<String>getArgument(0)));
+        return pageContext;
+    }
+}